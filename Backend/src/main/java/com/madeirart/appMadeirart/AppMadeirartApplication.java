@@ -2,12 +2,14 @@ package com.madeirart.appMadeirart;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class AppMadeirartApplication {
 
 	public static void main(String[] args) {
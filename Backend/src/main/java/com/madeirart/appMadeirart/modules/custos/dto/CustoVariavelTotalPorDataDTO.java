@@ -0,0 +1,12 @@
+package com.madeirart.appMadeirart.modules.custos.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO com a soma dos valores dos custos variáveis lançados em uma mesma data
+ */
+public record CustoVariavelTotalPorDataDTO(
+        LocalDate dataLancamento,
+        BigDecimal valorTotal) {
+}
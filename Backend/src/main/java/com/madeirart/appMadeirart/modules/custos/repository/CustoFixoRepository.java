@@ -1,11 +1,20 @@
 package com.madeirart.appMadeirart.modules.custos.repository;
 
+import com.madeirart.appMadeirart.modules.custos.dto.CustoFixoResponseDTO;
 import com.madeirart.appMadeirart.modules.custos.entity.CustoFixo;
 import com.madeirart.appMadeirart.shared.enums.StatusCusto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository para acesso aos dados de custos fixos
@@ -37,4 +46,21 @@ public interface CustoFixoRepository extends JpaRepository<CustoFixo, Long> {
      * Busca custos fixos por status
      */
     List<CustoFixo> findByStatus(StatusCusto status);
+
+    /**
+     * Soma o valor mensal de todos os custos fixos ativos
+     */
+    @Query("SELECT COALESCE(SUM(c.valor), 0) FROM CustoFixo c WHERE c.ativo = true")
+    BigDecimal somarValorAtivos();
+
+    /**
+     * Lê os custos fixos com ID maior que o informado, em ordem de ID, sem
+     * carregar entidades. O Stream deve ser fechado e consumido dentro de uma
+     * transação
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.madeirart.appMadeirart.modules.custos.dto.CustoFixoResponseDTO("
+            + "c.id, c.nome, c.valor, c.diaVencimento, c.descricao, c.ativo, c.status, c.createdAt, c.updatedAt) "
+            + "FROM CustoFixo c WHERE c.id > :ultimoId ORDER BY c.id")
+    Stream<CustoFixoResponseDTO> exportarApos(@Param("ultimoId") Long ultimoId, Limit limite);
 }
@@ -1,12 +1,22 @@
 package com.madeirart.appMadeirart.modules.custos.repository;
 
+import com.madeirart.appMadeirart.modules.custos.dto.CustoVariavelResponseDTO;
+import com.madeirart.appMadeirart.modules.custos.dto.CustoVariavelTotalPorDataDTO;
 import com.madeirart.appMadeirart.modules.custos.entity.CustoVariavel;
 import com.madeirart.appMadeirart.shared.enums.StatusCusto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository para acesso aos dados de custos variáveis
@@ -28,4 +38,51 @@ public interface CustoVariavelRepository extends JpaRepository<CustoVariavel, Lo
      * Busca custos variáveis por status e data de lançamento anterior a uma data específica
      */
     List<CustoVariavel> findByStatusAndDataLancamentoBefore(StatusCusto status, LocalDate data);
+
+    /**
+     * Busca custos variáveis por status
+     */
+    List<CustoVariavel> findByStatus(StatusCusto status);
+
+    /**
+     * Busca custos variáveis fora de um status lançados até uma data (inclusive),
+     * ordenados por data de lançamento
+     */
+    List<CustoVariavel> findByStatusNotAndDataLancamentoLessThanEqualOrderByDataLancamento(StatusCusto status,
+            LocalDate data);
+
+    /**
+     * Soma o valor dos custos variáveis com um status
+     */
+    @Query("SELECT COALESCE(SUM(c.valor), 0) FROM CustoVariavel c WHERE c.status = :status")
+    BigDecimal somarValorPorStatus(@Param("status") StatusCusto status);
+
+    /**
+     * Soma o valor dos custos variáveis lançados em um período
+     */
+    @Query("SELECT COALESCE(SUM(c.valor), 0) FROM CustoVariavel c "
+            + "WHERE c.dataLancamento BETWEEN :dataInicio AND :dataFim")
+    BigDecimal somarValorNoPeriodo(@Param("dataInicio") LocalDate dataInicio, @Param("dataFim") LocalDate dataFim);
+
+    /**
+     * Soma o valor dos custos variáveis do período agrupados por data de lançamento
+     */
+    @Query("SELECT new com.madeirart.appMadeirart.modules.custos.dto.CustoVariavelTotalPorDataDTO("
+            + "c.dataLancamento, SUM(c.valor)) FROM CustoVariavel c "
+            + "WHERE c.dataLancamento BETWEEN :dataInicio AND :dataFim "
+            + "GROUP BY c.dataLancamento")
+    List<CustoVariavelTotalPorDataDTO> somarValorPorDataNoPeriodo(@Param("dataInicio") LocalDate dataInicio,
+            @Param("dataFim") LocalDate dataFim);
+
+    /**
+     * Lê os custos variáveis com ID maior que o informado, em ordem de ID, sem
+     * carregar entidades. O Stream deve ser fechado e consumido dentro de uma
+     * transação
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.madeirart.appMadeirart.modules.custos.dto.CustoVariavelResponseDTO("
+            + "c.id, c.nome, c.valor, c.dataLancamento, c.descricao, c.status, c.parcelado, c.numeroParcela, "
+            + "c.totalParcelas, c.custoOrigemId, c.createdAt, c.updatedAt) "
+            + "FROM CustoVariavel c WHERE c.id > :ultimoId ORDER BY c.id")
+    Stream<CustoVariavelResponseDTO> exportarApos(@Param("ultimoId") Long ultimoId, Limit limite);
 }
@@ -4,10 +4,13 @@ import com.madeirart.appMadeirart.modules.custos.dto.CustoFixoRequestDTO;
 import com.madeirart.appMadeirart.modules.custos.dto.CustoFixoResponseDTO;
 import com.madeirart.appMadeirart.modules.custos.entity.CustoFixo;
 import com.madeirart.appMadeirart.modules.custos.repository.CustoFixoRepository;
+import com.madeirart.appMadeirart.modules.financeiro.service.LivroCaixaService;
 import com.madeirart.appMadeirart.shared.enums.StatusCusto;
+import com.madeirart.appMadeirart.shared.event.DadosFinanceirosAlteradosEvent;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +26,8 @@ import java.util.stream.Collectors;
 public class CustoFixoService {
 
     private final CustoFixoRepository custoFixoRepository;
+    private final LivroCaixaService livroCaixaService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Lista todos os custos fixos
@@ -94,6 +99,7 @@ public class CustoFixoService {
                 .build();
 
         CustoFixo saved = custoFixoRepository.save(custoFixo);
+        eventPublisher.publishEvent(DadosFinanceirosAlteradosEvent.deTodosOsMeses());
         log.info("Custo fixo criado com sucesso - ID: {}", saved.getId());
         return convertToDTO(saved);
     }
@@ -114,6 +120,8 @@ public class CustoFixoService {
         custoFixo.setDescricao(dto.descricao());
 
         CustoFixo saved = custoFixoRepository.save(custoFixo);
+        livroCaixaService.registrarAlteracaoCustoFixo(saved);
+        eventPublisher.publishEvent(DadosFinanceirosAlteradosEvent.deTodosOsMeses());
         log.info("Custo fixo atualizado com sucesso - ID: {}", saved.getId());
         return convertToDTO(saved);
     }
@@ -130,6 +138,7 @@ public class CustoFixoService {
 
         custoFixo.setAtivo(false);
         custoFixoRepository.save(custoFixo);
+        eventPublisher.publishEvent(DadosFinanceirosAlteradosEvent.deTodosOsMeses());
         log.info("Custo fixo desativado com sucesso - ID: {}", id);
     }
 
@@ -145,6 +154,7 @@ public class CustoFixoService {
 
         custoFixo.setAtivo(true);
         CustoFixo saved = custoFixoRepository.save(custoFixo);
+        eventPublisher.publishEvent(DadosFinanceirosAlteradosEvent.deTodosOsMeses());
         log.info("Custo fixo reativado com sucesso - ID: {}", id);
         return convertToDTO(saved);
     }
@@ -156,11 +166,12 @@ public class CustoFixoService {
     public void excluir(Long id) {
         log.info("Excluindo custo fixo ID: {}", id);
 
-        if (!custoFixoRepository.existsById(id)) {
-            throw new EntityNotFoundException("Custo fixo não encontrado com ID: " + id);
-        }
+        CustoFixo custoFixo = custoFixoRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Custo fixo não encontrado com ID: " + id));
 
-        custoFixoRepository.deleteById(id);
+        livroCaixaService.registrarExclusaoCustoFixo(custoFixo);
+        custoFixoRepository.delete(custoFixo);
+        eventPublisher.publishEvent(DadosFinanceirosAlteradosEvent.deTodosOsMeses());
         log.info("Custo fixo excluído com sucesso - ID: {}", id);
     }
 
@@ -176,6 +187,9 @@ public class CustoFixoService {
 
         custoFixo.setStatus(StatusCusto.PAGO);
         CustoFixo saved = custoFixoRepository.save(custoFixo);
+        // O livro caixa registra um pagamento por mês (ignora se o do mês atual já consta)
+        livroCaixaService.registrarPagamentoCustoFixo(saved);
+        eventPublisher.publishEvent(DadosFinanceirosAlteradosEvent.deTodosOsMeses());
         log.info("Custo fixo marcado como PAGO - ID: {}", id);
         return convertToDTO(saved);
     }
@@ -196,6 +210,9 @@ public class CustoFixoService {
             custoFixo.setStatus(StatusCusto.PENDENTE);
         }
         CustoFixo saved = custoFixoRepository.save(custoFixo);
+        // Estorna só o pagamento do mês atual; voltar a PENDENTE em um mês novo não é estorno
+        livroCaixaService.registrarEstornoCustoFixo(saved);
+        eventPublisher.publishEvent(DadosFinanceirosAlteradosEvent.deTodosOsMeses());
         log.info("Custo fixo marcado como {} - ID: {}", custoFixo.getStatus(), id);
         return convertToDTO(saved);
     }
@@ -230,6 +247,7 @@ public class CustoFixoService {
         custosAtrasados.forEach(custo -> custo.setStatus(StatusCusto.ATRASADO));
         custoFixoRepository.saveAll(custosAtrasados);
 
+        eventPublisher.publishEvent(DadosFinanceirosAlteradosEvent.deTodosOsMeses());
         log.info("Total de {} custo(s) fixo(s) atualizado(s) para status ATRASADO", custosAtrasados.size());
         return custosAtrasados.size();
     }
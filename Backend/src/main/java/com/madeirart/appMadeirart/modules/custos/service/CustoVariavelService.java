@@ -4,10 +4,13 @@ import com.madeirart.appMadeirart.modules.custos.dto.CustoVariavelRequestDTO;
 import com.madeirart.appMadeirart.modules.custos.dto.CustoVariavelResponseDTO;
 import com.madeirart.appMadeirart.modules.custos.entity.CustoVariavel;
 import com.madeirart.appMadeirart.modules.custos.repository.CustoVariavelRepository;
+import com.madeirart.appMadeirart.modules.financeiro.service.LivroCaixaService;
 import com.madeirart.appMadeirart.shared.enums.StatusCusto;
+import com.madeirart.appMadeirart.shared.event.DadosFinanceirosAlteradosEvent;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,6 +30,8 @@ import java.util.stream.Collectors;
 public class CustoVariavelService {
 
     private final CustoVariavelRepository custoVariavelRepository;
+    private final LivroCaixaService livroCaixaService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Lista todos os custos variáveis
@@ -128,6 +133,8 @@ public class CustoVariavelService {
             log.info("Custo variável parcelado criado com sucesso - {} parcelas geradas", quantidadeParcelas);
         }
 
+        eventPublisher.publishEvent(DadosFinanceirosAlteradosEvent.dasDatas(
+                custosCreated.stream().map(CustoVariavelResponseDTO::dataLancamento).toList()));
         return custosCreated;
     }
 
@@ -148,12 +155,16 @@ public class CustoVariavelService {
         CustoVariavel custoVariavel = custoVariavelRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Custo variável não encontrado com ID: " + id));
 
+        LocalDate dataLancamentoAnterior = custoVariavel.getDataLancamento();
         custoVariavel.setNome(dto.nome());
         custoVariavel.setValor(dto.valor());
         custoVariavel.setDataLancamento(dto.dataLancamento());
         custoVariavel.setDescricao(dto.descricao());
 
         CustoVariavel saved = custoVariavelRepository.save(custoVariavel);
+        livroCaixaService.registrarAlteracaoCustoVariavel(saved);
+        eventPublisher.publishEvent(
+                DadosFinanceirosAlteradosEvent.dasDatas(dataLancamentoAnterior, saved.getDataLancamento()));
         log.info("Custo variável atualizado com sucesso - ID: {}", saved.getId());
         return convertToDTO(saved);
     }
@@ -165,11 +176,13 @@ public class CustoVariavelService {
     public void excluir(Long id) {
         log.info("Excluindo custo variável ID: {}", id);
 
-        if (!custoVariavelRepository.existsById(id)) {
-            throw new EntityNotFoundException("Custo variável não encontrado com ID: " + id);
-        }
+        CustoVariavel custoVariavel = custoVariavelRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Custo variável não encontrado com ID: " + id));
 
-        custoVariavelRepository.deleteById(id);
+        livroCaixaService.registrarExclusaoCustoVariavel(custoVariavel);
+        custoVariavelRepository.delete(custoVariavel);
+        // A data do custo excluído não é carregada; invalida todos os meses
+        eventPublisher.publishEvent(DadosFinanceirosAlteradosEvent.deTodosOsMeses());
         log.info("Custo variável excluído com sucesso - ID: {}", id);
     }
 
@@ -183,8 +196,13 @@ public class CustoVariavelService {
         CustoVariavel custoVariavel = custoVariavelRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Custo variável não encontrado com ID: " + id));
 
+        boolean jaPago = custoVariavel.getStatus() == StatusCusto.PAGO;
         custoVariavel.setStatus(StatusCusto.PAGO);
         CustoVariavel saved = custoVariavelRepository.save(custoVariavel);
+        if (!jaPago) {
+            livroCaixaService.registrarPagamentoCustoVariavel(saved);
+        }
+        eventPublisher.publishEvent(DadosFinanceirosAlteradosEvent.dasDatas(saved.getDataLancamento()));
         log.info("Custo variável marcado como PAGO - ID: {}", id);
         return convertToDTO(saved);
     }
@@ -199,12 +217,17 @@ public class CustoVariavelService {
         CustoVariavel custoVariavel = custoVariavelRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Custo variável não encontrado com ID: " + id));
 
+        boolean estavaPago = custoVariavel.getStatus() == StatusCusto.PAGO;
         if (custoVariavel.getDataLancamento().isBefore(LocalDate.now())) {
             custoVariavel.setStatus(StatusCusto.ATRASADO);
         } else {
             custoVariavel.setStatus(StatusCusto.PENDENTE);
         }
         CustoVariavel saved = custoVariavelRepository.save(custoVariavel);
+        if (estavaPago) {
+            livroCaixaService.registrarEstornoCustoVariavel(saved);
+        }
+        eventPublisher.publishEvent(DadosFinanceirosAlteradosEvent.dasDatas(saved.getDataLancamento()));
         log.info("Custo variável marcado como {} - ID: {}", custoVariavel.getStatus(), id);
         return convertToDTO(saved);
     }
@@ -232,6 +255,8 @@ public class CustoVariavelService {
         // Atualiza o status para ATRASADO
         custosAtrasados.forEach(custo -> custo.setStatus(StatusCusto.ATRASADO));
         custoVariavelRepository.saveAll(custosAtrasados);
+        eventPublisher.publishEvent(DadosFinanceirosAlteradosEvent.dasDatas(
+                custosAtrasados.stream().map(CustoVariavel::getDataLancamento).toList()));
 
         log.info("Total de {} custo(s) variável(is) atualizado(s) para status ATRASADO", custosAtrasados.size());
         return custosAtrasados.size();
@@ -1,12 +1,22 @@
 package com.madeirart.appMadeirart.modules.dashboard.controller;
 
 import com.madeirart.appMadeirart.modules.dashboard.dto.DashboardResumoDTO;
+import com.madeirart.appMadeirart.modules.dashboard.dto.DashboardSnapshotDTO;
 import com.madeirart.appMadeirart.modules.dashboard.dto.ProjecaoFinanceiraDTO;
 import com.madeirart.appMadeirart.modules.dashboard.service.DashboardService;
+import com.madeirart.appMadeirart.modules.dashboard.service.DashboardSnapshotService;
+import com.madeirart.appMadeirart.modules.dashboard.service.DashboardStreamService;
+import com.madeirart.appMadeirart.modules.financeiro.service.ProjecaoCaixaService;
 import com.madeirart.appMadeirart.modules.dashboard.service.ProjecaoFinanceiraService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.YearMonth;
+import java.util.List;
 
 /**
  * Controller REST para o dashboard e funcionalidades financeiras
@@ -19,14 +29,24 @@ public class DashboardController {
 
     private final DashboardService dashboardService;
     private final ProjecaoFinanceiraService projecaoFinanceiraService;
+    private final DashboardSnapshotService dashboardSnapshotService;
+    private final DashboardStreamService dashboardStreamService;
 
     /**
      * Retorna o resumo de orçamentos para o dashboard
-     * GET /api/dashboard/resumo
+     * GET /api/dashboard/resumo?diasEntrega=5
+     *
+     * diasEntrega define a janela dos orçamentos próximos da entrega (padrão 5)
      */
     @GetMapping("/resumo")
-    public ResponseEntity<DashboardResumoDTO> getResumo() {
-        DashboardResumoDTO resumo = dashboardService.getResumoOrcamentos();
+    public ResponseEntity<DashboardResumoDTO> getResumo(
+            @RequestParam(defaultValue = "" + DashboardService.DIAS_ENTREGA_PADRAO) int diasEntrega) {
+
+        if (diasEntrega < 0 || diasEntrega > 365) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        DashboardResumoDTO resumo = dashboardService.getResumoOrcamentos(diasEntrega);
         return ResponseEntity.ok(resumo);
     }
 
@@ -46,4 +66,65 @@ public class DashboardController {
         ProjecaoFinanceiraDTO projecao = projecaoFinanceiraService.calcularProjecaoMensal(mes, ano);
         return ResponseEntity.ok(projecao);
     }
+
+    /**
+     * Retorna a projeção financeira dos doze meses de um ano
+     * GET /api/dashboard/projecao/anual?ano=2026
+     */
+    @GetMapping("/projecao/anual")
+    public ResponseEntity<List<ProjecaoFinanceiraDTO>> getProjecaoAnual(@RequestParam int ano) {
+        if (ano < 1 || ano > 9999) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<ProjecaoFinanceiraDTO> projecoes = projecaoFinanceiraService.calcularProjecaoAnual(ano);
+        return ResponseEntity.ok(projecoes);
+    }
+
+    /**
+     * Retorna em uma única requisição o resumo, a projeção e o calendário do mês
+     * e a projeção de caixa
+     * GET /api/dashboard/snapshot?mes=2&ano=2026&meses=2&diasEntrega=5
+     *
+     * Sem mês e ano, considera o mês atual
+     */
+    @GetMapping("/snapshot")
+    public ResponseEntity<DashboardSnapshotDTO> getSnapshot(
+            @RequestParam(required = false) Integer mes,
+            @RequestParam(required = false) Integer ano,
+            @RequestParam(defaultValue = "2") int meses,
+            @RequestParam(defaultValue = "" + DashboardService.DIAS_ENTREGA_PADRAO) int diasEntrega) {
+
+        YearMonth mesAtual = YearMonth.now();
+        int mesSnapshot = mes != null ? mes : mesAtual.getMonthValue();
+        int anoSnapshot = ano != null ? ano : mesAtual.getYear();
+
+        if (mesSnapshot < 1 || mesSnapshot > 12 || anoSnapshot < 1 || anoSnapshot > 9999
+                || meses < 1 || meses > ProjecaoCaixaService.MESES_PROJECAO_MAXIMO
+                || diasEntrega < 0 || diasEntrega > 365) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        DashboardSnapshotDTO snapshot = dashboardSnapshotService.getSnapshot(
+                YearMonth.of(anoSnapshot, mesSnapshot), meses, diasEntrega);
+        return ResponseEntity.ok(snapshot);
+    }
+
+    /**
+     * Stream (Server-Sent Events) com as alterações do dashboard
+     * GET /api/dashboard/stream
+     *
+     * Cada evento tem o nome do tipo da alteração (SALDO_ALTERADO,
+     * PARCELA_ATRASADA, ORCAMENTO_CRIADO, PROJECAO_ALTERADA, ...) e os dados
+     * mínimos em JSON. RESSINCRONIZAR indica que o cliente deve recarregar o
+     * dashboard inteiro
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream() {
+        try {
+            return ResponseEntity.ok(dashboardStreamService.conectar());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
 }
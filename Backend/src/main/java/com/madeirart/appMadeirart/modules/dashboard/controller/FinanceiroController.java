@@ -3,9 +3,13 @@ package com.madeirart.appMadeirart.modules.dashboard.controller;
 import com.madeirart.appMadeirart.modules.dashboard.dto.CalendarioDTO;
 import com.madeirart.appMadeirart.modules.dashboard.service.CalendarioFinanceiroService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.YearMonth;
+import java.util.List;
+
 /**
  * Controller REST para operações financeiras (calendário, extrato, etc)
  */
@@ -33,4 +37,23 @@ public class FinanceiroController {
         CalendarioDTO calendario = calendarioFinanceiroService.getCalendarioMensal(mes, ano);
         return ResponseEntity.ok(calendario);
     }
+
+    /**
+     * Retorna o calendário financeiro de cada mês de um intervalo (máximo 36 meses)
+     * GET /api/financeiro/calendario/intervalo?inicio=2026-01&fim=2026-12
+     */
+    @GetMapping("/calendario/intervalo")
+    public ResponseEntity<List<CalendarioDTO>> getCalendarioIntervalo(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth inicio,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth fim) {
+
+        try {
+            calendarioFinanceiroService.validarIntervalo(inicio, fim);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<CalendarioDTO> calendarios = calendarioFinanceiroService.getCalendarioIntervalo(inicio, fim);
+        return ResponseEntity.ok(calendarios);
+    }
 }
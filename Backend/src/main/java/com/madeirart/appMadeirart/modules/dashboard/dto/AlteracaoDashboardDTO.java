@@ -0,0 +1,16 @@
+package com.madeirart.appMadeirart.modules.dashboard.dto;
+
+import com.madeirart.appMadeirart.shared.enums.TipoAlteracaoDashboard;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * DTO de uma alteração enviada pelo stream do dashboard
+ */
+public record AlteracaoDashboardDTO(
+        TipoAlteracaoDashboard tipo,
+        Long id,
+        Map<String, Object> dados,
+        LocalDateTime dataAlteracao) {
+}
@@ -0,0 +1,18 @@
+package com.madeirart.appMadeirart.modules.dashboard.dto;
+
+import com.madeirart.appMadeirart.modules.financeiro.dto.ProjecaoCaixaDTO;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO com todos os dados exibidos na abertura do dashboard
+ */
+@Builder
+public record DashboardSnapshotDTO(
+        DashboardResumoDTO resumo,
+        ProjecaoFinanceiraDTO projecao,
+        CalendarioDTO calendario,
+        ProjecaoCaixaDTO projecaoCaixa,
+        LocalDateTime dataCalculo) {
+}
@@ -11,14 +11,20 @@ import com.madeirart.appMadeirart.modules.orcamento.entity.Parcela;
 import com.madeirart.appMadeirart.modules.orcamento.repository.ParcelaRepository;
 import com.madeirart.appMadeirart.shared.enums.OrigemTransacao;
 import com.madeirart.appMadeirart.shared.enums.TipoTransacao;
+import com.madeirart.appMadeirart.shared.config.CacheConfig;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Service para geração do calendário financeiro
@@ -27,148 +33,208 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class CalendarioFinanceiroService {
 
+    public static final int MESES_INTERVALO_MAXIMO = 36;
+
     private final ParcelaRepository parcelaRepository;
     private final CustoFixoRepository custoFixoRepository;
     private final CustoVariavelRepository custoVariavelRepository;
 
     /**
      * Obtém o calendário financeiro de um mês específico
+     * Cada fonte é lida com uma consulta limitada ao mês (3 consultas no total)
+     * O resultado fica em cache por mês até uma escrita afetá-lo
      */
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.CALENDARIO_FINANCEIRO, key = "T(java.time.YearMonth).of(#ano, #mes)")
     public CalendarioDTO getCalendarioMensal(int mes, int ano) {
-        YearMonth yearMonth = YearMonth.of(ano, mes);
-        LocalDate inicioDomes = yearMonth.atDay(1);
-        LocalDate fimDoMes = yearMonth.atEndOfMonth();
+        return montarCalendario(carregarDadosDoMes(YearMonth.of(ano, mes)));
+    }
 
-        Map<Integer, DiaDadosDTO> diasMap = new HashMap<>();
+    /**
+     * Carrega as parcelas, os custos fixos ativos e os custos variáveis de um mês
+     * Cada fonte é lida com uma consulta limitada ao mês
+     */
+    @Transactional(readOnly = true)
+    DadosFinanceirosMes carregarDadosDoMes(YearMonth mes) {
+        LocalDate inicioDomes = mes.atDay(1);
+        LocalDate fimDoMes = mes.atEndOfMonth();
+
+        return new DadosFinanceirosMes(
+                mes,
+                parcelaRepository.findComOrcamentoPorDataReferenciaBetween(inicioDomes, fimDoMes),
+                custoFixoRepository.findByAtivoTrueOrderByDiaVencimento(),
+                custoVariavelRepository.findByDataLancamentoBetween(inicioDomes, fimDoMes));
+    }
+
+    /**
+     * Monta o calendário de um mês a partir de dados já carregados
+     */
+    CalendarioDTO montarCalendario(DadosFinanceirosMes dados) {
+        return montarCalendario(dados.mes(), dados.parcelas(), dados.custosFixos(), dados.custosVariaveis());
+    }
+
+    /**
+     * Obtém o calendário financeiro de cada mês de um intervalo (inclusive)
+     * Cada fonte é lida com uma única consulta para o intervalo inteiro; os dados
+     * são particionados por mês e os meses são montados em paralelo
+     */
+    @Transactional(readOnly = true)
+    public List<CalendarioDTO> getCalendarioIntervalo(YearMonth inicio, YearMonth fim) {
+        validarIntervalo(inicio, fim);
+
+        LocalDate dataInicio = inicio.atDay(1);
+        LocalDate dataFim = fim.atEndOfMonth();
+
+        Map<YearMonth, List<Parcela>> parcelasPorMes = parcelaRepository
+                .findComOrcamentoPorDataReferenciaBetween(dataInicio, dataFim).stream()
+                .collect(Collectors.groupingBy(p -> YearMonth.from(dataReferencia(p))));
+        Map<YearMonth, List<CustoVariavel>> variaveisPorMes = custoVariavelRepository
+                .findByDataLancamentoBetween(dataInicio, dataFim).stream()
+                .collect(Collectors.groupingBy(c -> YearMonth.from(c.getDataLancamento())));
+        List<CustoFixo> custosFixos = custoFixoRepository.findByAtivoTrueOrderByDiaVencimento();
+
+        List<YearMonth> meses = new ArrayList<>();
+        for (YearMonth mes = inicio; !mes.isAfter(fim); mes = mes.plusMonths(1)) {
+            meses.add(mes);
+        }
+
+        // Montagem só lê as listas já carregadas; a ordem dos meses é preservada
+        return meses.parallelStream()
+                .map(mes -> montarCalendario(
+                        mes,
+                        parcelasPorMes.getOrDefault(mes, List.of()),
+                        custosFixos,
+                        variaveisPorMes.getOrDefault(mes, List.of())))
+                .toList();
+    }
+
+    /**
+     * Valida o intervalo de meses solicitado
+     */
+    public void validarIntervalo(YearMonth inicio, YearMonth fim) {
+        if (inicio == null || fim == null || inicio.isAfter(fim)) {
+            throw new IllegalArgumentException("Mês inicial deve ser anterior ou igual ao mês final");
+        }
+        if (ChronoUnit.MONTHS.between(inicio, fim) >= MESES_INTERVALO_MAXIMO) {
+            throw new IllegalArgumentException(
+                    "Intervalo do calendário deve ter no máximo " + MESES_INTERVALO_MAXIMO + " meses");
+        }
+    }
+
+    /**
+     * Monta o calendário de um mês a partir das transações já carregadas
+     */
+    private CalendarioDTO montarCalendario(YearMonth mes, List<Parcela> parcelas, List<CustoFixo> custosFixos,
+            List<CustoVariavel> custosVariaveis) {
+        // Acumuladores mutáveis indexados pelo dia (1..31), convertidos uma única vez no final
+        DiaAcumulador[] dias = new DiaAcumulador[32];
 
         // Processar parcelas (entradas)
-        processarParcelas(diasMap, inicioDomes, fimDoMes);
+        processarParcelas(dias, parcelas);
 
         // Processar custos fixos (saídas)
-        processarCustosFixos(diasMap, mes);
+        processarCustosFixos(dias, custosFixos);
 
         // Processar custos variáveis (saídas)
-        processarCustosVariaveis(diasMap, inicioDomes, fimDoMes);
+        processarCustosVariaveis(dias, custosVariaveis);
 
-        return new CalendarioDTO(ano, mes, diasMap);
+        return new CalendarioDTO(mes.getYear(), mes.getMonthValue(), converterDias(dias));
     }
 
     /**
      * Processa as parcelas e adiciona como entradas no calendário
      */
-    private void processarParcelas(Map<Integer, DiaDadosDTO> diasMap, LocalDate inicio, LocalDate fim) {
-        List<Parcela> parcelas = parcelaRepository.findAll().stream()
-                .filter(p -> {
-                    LocalDate dataReferencia = p.getDataPagamento() != null
-                            ? p.getDataPagamento()
-                            : p.getDataVencimento();
-                    return !dataReferencia.isBefore(inicio) && !dataReferencia.isAfter(fim);
-                })
-                .toList();
-
+    private void processarParcelas(DiaAcumulador[] dias, List<Parcela> parcelas) {
         for (Parcela parcela : parcelas) {
-            LocalDate dataReferencia = parcela.getDataPagamento() != null
-                    ? parcela.getDataPagamento()
-                    : parcela.getDataVencimento();
-            int dia = dataReferencia.getDayOfMonth();
-
-            DiaDadosDTO diaDados = diasMap.getOrDefault(dia, new DiaDadosDTO(dia));
-
-            TransacaoDTO transacao = new TransacaoDTO(
+            acumulador(dias, dataReferencia(parcela).getDayOfMonth()).entradas.add(new TransacaoDTO(
                     parcela.getId(),
                     TipoTransacao.ENTRADA,
                     "Parcela " + parcela.getNumeroParcela() + " - " +
                             parcela.getOrcamento().getCliente(),
                     parcela.getValor(),
                     OrigemTransacao.PARCELA,
-                    parcela.getStatus().getDescricao());
-
-            // Criar nova lista com a transação adicionada
-            List<TransacaoDTO> novasEntradas = new java.util.ArrayList<>(diaDados.entradas());
-            novasEntradas.add(transacao);
-
-            DiaDadosDTO novoDia = new DiaDadosDTO(
-                    dia,
-                    true,
-                    diaDados.temSaidas(),
-                    novasEntradas,
-                    diaDados.saidas());
-            diasMap.put(dia, novoDia);
+                    parcela.getStatus().getDescricao()));
         }
     }
 
     /**
      * Processa os custos fixos e adiciona como saídas no calendário
      */
-    private void processarCustosFixos(Map<Integer, DiaDadosDTO> diasMap, int mes) {
-        List<CustoFixo> custosFixos = custoFixoRepository.findAll().stream()
-                .filter(CustoFixo::getAtivo)
-                .toList();
-
+    private void processarCustosFixos(DiaAcumulador[] dias, List<CustoFixo> custosFixos) {
         for (CustoFixo custo : custosFixos) {
-            int dia = custo.getDiaVencimento();
-
-            DiaDadosDTO diaDados = diasMap.getOrDefault(dia, new DiaDadosDTO(dia));
-
-            TransacaoDTO transacao = new TransacaoDTO(
+            acumulador(dias, custo.getDiaVencimento()).saidas.add(new TransacaoDTO(
                     custo.getId(),
                     TipoTransacao.SAIDA,
                     custo.getNome(),
                     custo.getValor(),
                     OrigemTransacao.CUSTO_FIXO,
-                    custo.getStatus().getDescricao());
-
-            // Criar nova lista com a transação adicionada
-            List<TransacaoDTO> novasSaidas = new java.util.ArrayList<>(diaDados.saidas());
-            novasSaidas.add(transacao);
-
-            DiaDadosDTO novoDia = new DiaDadosDTO(
-                    dia,
-                    diaDados.temEntradas(),
-                    true,
-                    diaDados.entradas(),
-                    novasSaidas);
-            diasMap.put(dia, novoDia);
+                    custo.getStatus().getDescricao()));
         }
     }
 
     /**
      * Processa os custos variáveis e adiciona como saídas no calendário
      */
-    private void processarCustosVariaveis(Map<Integer, DiaDadosDTO> diasMap, LocalDate inicio, LocalDate fim) {
-        List<CustoVariavel> custosVariaveis = custoVariavelRepository.findAll().stream()
-                .filter(c -> !c.getDataLancamento().isBefore(inicio) && !c.getDataLancamento().isAfter(fim))
-                .toList();
-
+    private void processarCustosVariaveis(DiaAcumulador[] dias, List<CustoVariavel> custosVariaveis) {
         for (CustoVariavel custo : custosVariaveis) {
-            int dia = custo.getDataLancamento().getDayOfMonth();
-
-            DiaDadosDTO diaDados = diasMap.getOrDefault(dia, new DiaDadosDTO(dia));
-
             String descricao = custo.getNome();
             if (Boolean.TRUE.equals(custo.getParcelado())) {
                 descricao += " (Parcela " + custo.getNumeroParcela() + "/" + custo.getTotalParcelas() + ")";
             }
 
-            TransacaoDTO transacao = new TransacaoDTO(
+            acumulador(dias, custo.getDataLancamento().getDayOfMonth()).saidas.add(new TransacaoDTO(
                     custo.getId(),
                     TipoTransacao.SAIDA,
                     descricao,
                     custo.getValor(),
                     OrigemTransacao.CUSTO_VARIAVEL,
-                    custo.getStatus().getDescricao());
-
-            // Criar nova lista com a transação adicionada
-            List<TransacaoDTO> novasSaidas = new java.util.ArrayList<>(diaDados.saidas());
-            novasSaidas.add(transacao);
-
-            DiaDadosDTO novoDia = new DiaDadosDTO(
-                    dia,
-                    diaDados.temEntradas(),
-                    true,
-                    diaDados.entradas(),
-                    novasSaidas);
-            diasMap.put(dia, novoDia);
+                    custo.getStatus().getDescricao()));
         }
     }
+
+    /**
+     * Data de referência da parcela: pagamento, ou vencimento se não paga
+     */
+    private LocalDate dataReferencia(Parcela parcela) {
+        return parcela.getDataPagamento() != null ? parcela.getDataPagamento() : parcela.getDataVencimento();
+    }
+
+    /**
+     * Retorna o acumulador do dia, criando-o no primeiro uso
+     */
+    private DiaAcumulador acumulador(DiaAcumulador[] dias, int dia) {
+        DiaAcumulador acumulador = dias[dia];
+        if (acumulador == null) {
+            acumulador = new DiaAcumulador();
+            dias[dia] = acumulador;
+        }
+        return acumulador;
+    }
+
+    /**
+     * Converte os acumuladores em DiaDadosDTO (apenas dias com transações)
+     */
+    private Map<Integer, DiaDadosDTO> converterDias(DiaAcumulador[] dias) {
+        Map<Integer, DiaDadosDTO> diasMap = new HashMap<>();
+        for (int dia = 1; dia < dias.length; dia++) {
+            DiaAcumulador acumulador = dias[dia];
+            if (acumulador != null) {
+                diasMap.put(dia, new DiaDadosDTO(
+                        dia,
+                        !acumulador.entradas.isEmpty(),
+                        !acumulador.saidas.isEmpty(),
+                        acumulador.entradas,
+                        acumulador.saidas));
+            }
+        }
+        return diasMap;
+    }
+
+    /**
+     * Entradas e saídas de um dia enquanto o calendário é montado
+     */
+    private static final class DiaAcumulador {
+        private final List<TransacaoDTO> entradas = new ArrayList<>();
+        private final List<TransacaoDTO> saidas = new ArrayList<>();
+    }
 }
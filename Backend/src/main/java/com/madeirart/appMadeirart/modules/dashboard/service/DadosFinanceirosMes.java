@@ -0,0 +1,24 @@
+package com.madeirart.appMadeirart.modules.dashboard.service;
+
+import com.madeirart.appMadeirart.modules.custos.entity.CustoFixo;
+import com.madeirart.appMadeirart.modules.custos.entity.CustoVariavel;
+import com.madeirart.appMadeirart.modules.orcamento.entity.Parcela;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Linhas financeiras de um mês já carregadas do banco
+ * Compartilhadas entre o calendário e a projeção mensal para que ambos sejam
+ * montados a partir de uma única leitura
+ *
+ * @param parcelas        parcelas com data de referência no mês (orçamento já carregado)
+ * @param custosFixos     custos fixos ativos
+ * @param custosVariaveis custos variáveis lançados no mês
+ */
+record DadosFinanceirosMes(
+        YearMonth mes,
+        List<Parcela> parcelas,
+        List<CustoFixo> custosFixos,
+        List<CustoVariavel> custosVariaveis) {
+}
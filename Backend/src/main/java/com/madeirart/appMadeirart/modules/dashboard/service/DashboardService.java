@@ -7,10 +7,10 @@ import com.madeirart.appMadeirart.modules.orcamento.repository.OrcamentoReposito
 import com.madeirart.appMadeirart.shared.enums.StatusOrcamento;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service para operações de resumo do dashboard
@@ -19,39 +19,54 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class DashboardService {
 
+    public static final int DIAS_ENTREGA_PADRAO = 5;
+
     private final OrcamentoRepository orcamentoRepository;
 
     /**
      * Obtém o resumo de orçamentos para o dashboard
+     * Considera a janela padrão de entrega (5 dias)
      */
     public DashboardResumoDTO getResumoOrcamentos() {
-        List<Orcamento> orcamentosAtivos = orcamentoRepository.findByStatus(StatusOrcamento.AGUARDANDO);
-        List<Orcamento> orcamentosEmProducao = orcamentoRepository.findByStatus(StatusOrcamento.INICIADA);
+        return getResumoOrcamentos(DIAS_ENTREGA_PADRAO);
+    }
+
+    /**
+     * Obtém o resumo de orçamentos para o dashboard
+     *
+     * @param diasEntrega Número de dias de antecedência para os próximos a entregar
+     */
+    @Transactional(readOnly = true)
+    public DashboardResumoDTO getResumoOrcamentos(int diasEntrega) {
+        long orcamentosAtivos = orcamentoRepository.countByStatus(StatusOrcamento.AGUARDANDO);
+        long orcamentosEmProducao = orcamentoRepository.countByStatus(StatusOrcamento.INICIADA);
 
-        // Próximos orçamentos a vencer (5 dias)
-        List<OrcamentoResumoDTO> orcamentosProximos = getOrcamentosProximosEntrega(5);
+        List<OrcamentoResumoDTO> orcamentosProximos = getOrcamentosProximosEntrega(diasEntrega);
 
         return new DashboardResumoDTO(
-                (long) orcamentosAtivos.size(),
-                (long) orcamentosEmProducao.size(),
+                orcamentosAtivos,
+                orcamentosEmProducao,
                 orcamentosProximos);
     }
 
     /**
-     * Obtém orçamentos que estão próximos da data de entrega
+     * Obtém orçamentos em produção que estão próximos da data de entrega
+     * (inclui os atrasados), ordenados pela previsão de entrega
      * 
      * @param dias Número de dias de antecedência
      */
+    @Transactional(readOnly = true)
     public List<OrcamentoResumoDTO> getOrcamentosProximosEntrega(int dias) {
+        if (dias < 0) {
+            throw new IllegalArgumentException("Número de dias deve ser maior ou igual a zero");
+        }
         LocalDate dataLimite = LocalDate.now().plusDays(dias);
 
-        return orcamentoRepository.findAll().stream()
-                .filter(o -> o.getPrevisaoEntrega() != null)
-                .filter(o -> o.getStatus() == StatusOrcamento.INICIADA)
-                .filter(o -> !o.getPrevisaoEntrega().isAfter(dataLimite))
-                .sorted((o1, o2) -> o1.getPrevisaoEntrega().compareTo(o2.getPrevisaoEntrega()))
+        return orcamentoRepository
+                .findByStatusAndPrevisaoEntregaLessThanEqualOrderByPrevisaoEntrega(StatusOrcamento.INICIADA, dataLimite)
+                .stream()
                 .map(this::toOrcamentoResumoDTO)
-                .collect(Collectors.toList());
+                .toList();
     }
 
     /**
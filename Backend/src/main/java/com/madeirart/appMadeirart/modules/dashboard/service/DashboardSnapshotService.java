@@ -0,0 +1,136 @@
+package com.madeirart.appMadeirart.modules.dashboard.service;
+
+import com.madeirart.appMadeirart.modules.dashboard.dto.CalendarioDTO;
+import com.madeirart.appMadeirart.modules.dashboard.dto.DashboardResumoDTO;
+import com.madeirart.appMadeirart.modules.dashboard.dto.DashboardSnapshotDTO;
+import com.madeirart.appMadeirart.modules.dashboard.dto.ProjecaoFinanceiraDTO;
+import com.madeirart.appMadeirart.modules.financeiro.dto.ProjecaoCaixaDTO;
+import com.madeirart.appMadeirart.modules.financeiro.service.ProjecaoCaixaService;
+import com.madeirart.appMadeirart.shared.config.CacheConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service que monta o snapshot do dashboard em uma única requisição
+ * Resumo de orçamentos, dados do mês (calendário + projeção mensal) e projeção
+ * de caixa são independentes e rodam em paralelo em um pool limitado. O
+ * calendário e a projeção mensal são montados a partir da mesma leitura das
+ * linhas do mês
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardSnapshotService {
+
+    /**
+     * Uma thread por parte independente do snapshot
+     */
+    private static final int THREADS = 3;
+
+    /**
+     * Partes aguardando uma thread livre; acima disso a thread da requisição
+     * executa a parte (contrapressão em vez de rejeição)
+     */
+    private static final int FILA_MAXIMA = 30;
+
+    private final DashboardService dashboardService;
+    private final ProjecaoFinanceiraService projecaoFinanceiraService;
+    private final CalendarioFinanceiroService calendarioFinanceiroService;
+    private final ProjecaoCaixaService projecaoCaixaService;
+    private final CacheManager cacheManager;
+
+    private final ExecutorService executor = new ThreadPoolExecutor(
+            THREADS, THREADS, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(FILA_MAXIMA),
+            new CustomizableThreadFactory("dashboard-snapshot-"),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+
+    /**
+     * Monta o snapshot do dashboard
+     *
+     * @param mes                   mês do calendário e da projeção mensal
+     * @param mesesProjecaoCaixa    horizonte da projeção de caixa
+     * @param diasEntrega           janela dos orçamentos próximos da entrega
+     */
+    public DashboardSnapshotDTO getSnapshot(YearMonth mes, int mesesProjecaoCaixa, int diasEntrega) {
+        long inicio = System.nanoTime();
+
+        CompletableFuture<DashboardResumoDTO> resumo = CompletableFuture.supplyAsync(
+                () -> dashboardService.getResumoOrcamentos(diasEntrega), executor);
+        CompletableFuture<DadosDoMes> dadosDoMes = CompletableFuture.supplyAsync(
+                () -> montarDadosDoMes(mes), executor);
+        CompletableFuture<ProjecaoCaixaDTO> projecaoCaixa = CompletableFuture.supplyAsync(
+                () -> projecaoCaixaService.getProjecaoCaixa(mesesProjecaoCaixa), executor);
+
+        try {
+            DashboardSnapshotDTO snapshot = DashboardSnapshotDTO.builder()
+                    .resumo(resumo.join())
+                    .projecao(dadosDoMes.join().projecao())
+                    .calendario(dadosDoMes.join().calendario())
+                    .projecaoCaixa(projecaoCaixa.join())
+                    .dataCalculo(LocalDateTime.now())
+                    .build();
+
+            log.info("Snapshot do dashboard de {} montado em {} ms", mes, (System.nanoTime() - inicio) / 1_000_000);
+            return snapshot;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Obtém o calendário e a projeção do mês
+     * Usa os caches mensais quando ambos estão preenchidos; caso contrário lê as
+     * linhas do mês uma vez, monta os dois e preenche os caches
+     */
+    private DadosDoMes montarDadosDoMes(YearMonth mes) {
+        Cache cacheCalendario = cacheManager.getCache(CacheConfig.CALENDARIO_FINANCEIRO);
+        Cache cacheProjecao = cacheManager.getCache(CacheConfig.PROJECAO_FINANCEIRA);
+
+        CalendarioDTO calendario = cacheCalendario != null ? cacheCalendario.get(mes, CalendarioDTO.class) : null;
+        ProjecaoFinanceiraDTO projecao = cacheProjecao != null
+                ? cacheProjecao.get(mes, ProjecaoFinanceiraDTO.class)
+                : null;
+        if (calendario != null && projecao != null) {
+            return new DadosDoMes(calendario, projecao);
+        }
+
+        DadosFinanceirosMes dados = calendarioFinanceiroService.carregarDadosDoMes(mes);
+        calendario = calendarioFinanceiroService.montarCalendario(dados);
+        projecao = projecaoFinanceiraService.calcularProjecaoMensal(dados);
+
+        // Descartados pelo cache se o mês foi invalidado depois das consultas acima
+        if (cacheCalendario != null) {
+            cacheCalendario.put(mes, calendario);
+        }
+        if (cacheProjecao != null) {
+            cacheProjecao.put(mes, projecao);
+        }
+        return new DadosDoMes(calendario, projecao);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdown();
+    }
+
+    private record DadosDoMes(CalendarioDTO calendario, ProjecaoFinanceiraDTO projecao) {
+    }
+}
@@ -0,0 +1,276 @@
+package com.madeirart.appMadeirart.modules.dashboard.service;
+
+import com.madeirart.appMadeirart.modules.dashboard.dto.AlteracaoDashboardDTO;
+import com.madeirart.appMadeirart.shared.enums.TipoAlteracaoDashboard;
+import com.madeirart.appMadeirart.shared.event.DadosFinanceirosAlteradosEvent;
+import com.madeirart.appMadeirart.shared.event.DashboardAlteradoEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Service do stream de alterações do dashboard (Server-Sent Events)
+ * Cada alteração confirmada vira uma mensagem pequena para os clientes
+ * conectados, que atualizam só a parte afetada da tela em vez de recarregar o
+ * dashboard inteiro
+ *
+ * Cada cliente tem uma fila limitada que agrupa alterações do mesmo registro
+ * (fica só a mais recente). Se a fila enche, as pendentes são descartadas e o
+ * cliente recebe um único RESSINCRONIZAR. O envio roda em um pool próprio,
+ * nunca na thread que confirmou a transação
+ */
+@Slf4j
+@Service
+public class DashboardStreamService {
+
+    public static final int MAX_CLIENTES = 16;
+    public static final int MAX_PENDENTES_POR_CLIENTE = 64;
+
+    private static final int THREADS_ENVIO = 2;
+
+    private final Set<Cliente> clientes = new CopyOnWriteArraySet<>();
+    private final Executor envio;
+
+    public DashboardStreamService() {
+        this(Executors.newFixedThreadPool(THREADS_ENVIO, new CustomizableThreadFactory("dashboard-stream-")));
+    }
+
+    /**
+     * Cada cliente tem no máximo um envio agendado por vez, então a fila do
+     * executor é limitada pela quantidade de clientes
+     */
+    DashboardStreamService(Executor envio) {
+        this.envio = envio;
+    }
+
+    /**
+     * Conecta um novo cliente ao stream
+     *
+     * @throws IllegalStateException se o limite de clientes foi atingido
+     */
+    public SseEmitter conectar() {
+        if (clientes.size() >= MAX_CLIENTES) {
+            throw new IllegalStateException("Limite de " + MAX_CLIENTES + " clientes do stream atingido");
+        }
+
+        SseEmitter emitter = new SseEmitter(0L);
+        Cliente cliente = registrar(emitter);
+        try {
+            emitter.send(SseEmitter.event().comment("conectado"));
+        } catch (IOException e) {
+            remover(cliente);
+        }
+        return emitter;
+    }
+
+    /**
+     * Registra o emitter de um cliente, removendo-o quando a conexão termina
+     */
+    Cliente registrar(SseEmitter emitter) {
+        Cliente cliente = new Cliente(emitter);
+        emitter.onCompletion(() -> remover(cliente));
+        emitter.onTimeout(() -> remover(cliente));
+        emitter.onError(erro -> remover(cliente));
+        clientes.add(cliente);
+        log.info("Cliente conectado ao stream do dashboard ({} conectado(s))", clientes.size());
+        return cliente;
+    }
+
+    public int quantidadeClientes() {
+        return clientes.size();
+    }
+
+    /**
+     * Envia a alteração após o commit da transação que a gerou
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publicar(DashboardAlteradoEvent event) {
+        distribuir(new AlteracaoDashboardDTO(event.tipo(), event.id(), event.dados(), LocalDateTime.now()));
+    }
+
+    /**
+     * Envia os meses cujas projeções mudaram (uma mensagem por mês)
+     * Eventos só de saldo são ignorados; o saldo chega por SALDO_ALTERADO
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publicar(DadosFinanceirosAlteradosEvent event) {
+        LocalDateTime agora = LocalDateTime.now();
+        if (event.todosOsMeses()) {
+            distribuir(new AlteracaoDashboardDTO(TipoAlteracaoDashboard.PROJECAO_ALTERADA, null,
+                    Map.of("todosOsMeses", true), agora));
+            return;
+        }
+        for (YearMonth mes : event.meses()) {
+            distribuir(new AlteracaoDashboardDTO(TipoAlteracaoDashboard.PROJECAO_ALTERADA, null,
+                    Map.of("mes", mes.toString()), agora));
+        }
+    }
+
+    /**
+     * Mantém as conexões ativas e detecta clientes desconectados
+     */
+    @Scheduled(fixedRate = 30_000)
+    public void enviarHeartbeat() {
+        for (Cliente cliente : clientes) {
+            if (cliente.agendarHeartbeat()) {
+                envio.execute(() -> drenar(cliente));
+            }
+        }
+    }
+
+    private void distribuir(AlteracaoDashboardDTO alteracao) {
+        if (clientes.isEmpty()) {
+            return;
+        }
+        String chave = chaveDeAgrupamento(alteracao);
+        for (Cliente cliente : clientes) {
+            if (cliente.oferecer(chave, alteracao)) {
+                envio.execute(() -> drenar(cliente));
+            }
+        }
+    }
+
+    /**
+     * Alterações com a mesma chave se substituem enquanto aguardam envio
+     */
+    private String chaveDeAgrupamento(AlteracaoDashboardDTO alteracao) {
+        return switch (alteracao.tipo()) {
+            case SALDO_ALTERADO -> "SALDO";
+            case PROJECAO_ALTERADA -> "PROJECAO:" + alteracao.dados().getOrDefault("mes", "*");
+            default -> alteracao.tipo() + ":" + alteracao.id();
+        };
+    }
+
+    /**
+     * Envia tudo o que estiver pendente para o cliente, até a fila esvaziar
+     */
+    private void drenar(Cliente cliente) {
+        List<SseEmitter.SseEventBuilder> eventos;
+        while ((eventos = cliente.retirarPendentes()) != null) {
+            try {
+                for (SseEmitter.SseEventBuilder evento : eventos) {
+                    cliente.emitter.send(evento);
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Falha ao enviar para cliente do stream, removendo: {}", e.getMessage());
+                remover(cliente);
+                return;
+            }
+        }
+    }
+
+    private void remover(Cliente cliente) {
+        if (clientes.remove(cliente)) {
+            try {
+                cliente.emitter.complete();
+            } catch (IllegalStateException e) {
+                // Conexão já encerrada
+            }
+            log.info("Cliente desconectado do stream do dashboard ({} conectado(s))", clientes.size());
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        clientes.forEach(this::remover);
+        if (envio instanceof ExecutorService executor) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Cliente conectado e sua fila de alterações pendentes
+     */
+    static final class Cliente {
+
+        private final SseEmitter emitter;
+        private final LinkedHashMap<String, AlteracaoDashboardDTO> pendentes = new LinkedHashMap<>();
+        private boolean ressincronizar;
+        private boolean heartbeat;
+        private boolean agendado;
+
+        private Cliente(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * Enfileira uma alteração
+         *
+         * @return true se o chamador deve agendar o envio
+         */
+        synchronized boolean oferecer(String chave, AlteracaoDashboardDTO alteracao) {
+            if (!ressincronizar) {
+                if (!pendentes.containsKey(chave) && pendentes.size() >= MAX_PENDENTES_POR_CLIENTE) {
+                    pendentes.clear();
+                    ressincronizar = true;
+                } else {
+                    pendentes.put(chave, alteracao);
+                }
+            }
+            return agendar();
+        }
+
+        synchronized boolean agendarHeartbeat() {
+            heartbeat = true;
+            return agendar();
+        }
+
+        private boolean agendar() {
+            if (agendado) {
+                return false;
+            }
+            agendado = true;
+            return true;
+        }
+
+        /**
+         * Retira os eventos pendentes, ou null (liberando o agendamento) se não
+         * houver nada a enviar
+         */
+        synchronized List<SseEmitter.SseEventBuilder> retirarPendentes() {
+            if (pendentes.isEmpty() && !ressincronizar && !heartbeat) {
+                agendado = false;
+                return null;
+            }
+
+            List<SseEmitter.SseEventBuilder> eventos = new ArrayList<>(pendentes.size() + 1);
+            if (ressincronizar) {
+                eventos.add(evento(new AlteracaoDashboardDTO(TipoAlteracaoDashboard.RESSINCRONIZAR, null,
+                        Map.of(), LocalDateTime.now())));
+            }
+            pendentes.values().forEach(alteracao -> eventos.add(evento(alteracao)));
+            if (heartbeat && eventos.isEmpty()) {
+                eventos.add(SseEmitter.event().comment("heartbeat"));
+            }
+
+            pendentes.clear();
+            ressincronizar = false;
+            heartbeat = false;
+            return eventos;
+        }
+
+        private static SseEmitter.SseEventBuilder evento(AlteracaoDashboardDTO alteracao) {
+            return SseEmitter.event()
+                    .name(alteracao.tipo().name())
+                    .data(alteracao, MediaType.APPLICATION_JSON);
+        }
+    }
+}
@@ -1,25 +1,35 @@
 package com.madeirart.appMadeirart.modules.dashboard.service;
 
+import com.madeirart.appMadeirart.modules.custos.dto.CustoVariavelTotalPorDataDTO;
 import com.madeirart.appMadeirart.modules.custos.entity.CustoFixo;
 import com.madeirart.appMadeirart.modules.custos.entity.CustoVariavel;
 import com.madeirart.appMadeirart.modules.custos.repository.CustoFixoRepository;
 import com.madeirart.appMadeirart.modules.custos.repository.CustoVariavelRepository;
 import com.madeirart.appMadeirart.modules.dashboard.dto.ProjecaoFinanceiraDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.TotalParcelasPorDataDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.TotalParcelasPorStatusDTO;
 import com.madeirart.appMadeirart.modules.orcamento.entity.Parcela;
 import com.madeirart.appMadeirart.modules.orcamento.repository.ParcelaRepository;
+import com.madeirart.appMadeirart.shared.config.CacheConfig;
 import com.madeirart.appMadeirart.shared.enums.StatusParcela;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 
 /**
  * Service para cálculo de projeções financeiras
+ * Os totais vêm de consultas agregadas limitadas ao mês, sem carregar entidades
  */
 @Service
 @RequiredArgsConstructor
@@ -31,24 +41,118 @@ public class ProjecaoFinanceiraService {
 
     /**
      * Calcula a projeção financeira para um mês específico
+     * Usa três consultas agregadas: parcelas por status, custos fixos ativos e
+     * custos variáveis do mês
+     * O resultado fica em cache por mês até uma escrita afetá-lo
      */
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.PROJECAO_FINANCEIRA, key = "T(java.time.YearMonth).of(#ano, #mes)")
     public ProjecaoFinanceiraDTO calcularProjecaoMensal(int mes, int ano) {
         YearMonth yearMonth = YearMonth.of(ano, mes);
         LocalDate inicioDomes = yearMonth.atDay(1);
         LocalDate fimDoMes = yearMonth.atEndOfMonth();
 
-        BigDecimal receitaPrevista = calcularReceitaPrevista(inicioDomes, fimDoMes);
+        List<TotalParcelasPorStatusDTO> parcelasPorStatus = parcelaRepository
+                .somarValorPorStatusNoPeriodo(inicioDomes, fimDoMes, StatusParcela.PAGO);
 
-        BigDecimal receitaRecebida = calcularReceitaRecebida(inicioDomes, fimDoMes);
+        // Receita prevista: parcelas PENDENTES com vencimento no mês
+        BigDecimal receitaPrevista = totalDoStatus(parcelasPorStatus, StatusParcela.PENDENTE);
 
-        BigDecimal despesaPrevista = calcularDespesaPrevista(inicioDomes, fimDoMes, mes);
+        // Receita recebida: parcelas PAGAS com pagamento no mês
+        BigDecimal receitaRecebida = totalDoStatus(parcelasPorStatus, StatusParcela.PAGO);
 
+        BigDecimal despesaPrevista = calcularDespesaPrevista(inicioDomes, fimDoMes);
+
+        return montarProjecao(yearMonth, receitaPrevista, receitaRecebida, despesaPrevista);
+    }
+
+    /**
+     * Calcula a projeção financeira de um mês a partir de linhas já carregadas
+     * Mesmos critérios das consultas agregadas: parcelas PENDENTES entram como
+     * receita prevista, PAGAS com data de pagamento como receita recebida
+     */
+    ProjecaoFinanceiraDTO calcularProjecaoMensal(DadosFinanceirosMes dados) {
+        BigDecimal receitaPrevista = BigDecimal.ZERO;
+        BigDecimal receitaRecebida = BigDecimal.ZERO;
+        for (Parcela parcela : dados.parcelas()) {
+            if (parcela.getStatus() == StatusParcela.PENDENTE) {
+                receitaPrevista = receitaPrevista.add(parcela.getValor());
+            } else if (parcela.getStatus() == StatusParcela.PAGO && parcela.getDataPagamento() != null) {
+                receitaRecebida = receitaRecebida.add(parcela.getValor());
+            }
+        }
+
+        BigDecimal despesaCustosFixos = dados.custosFixos().stream()
+                .map(CustoFixo::getValor)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal despesaCustosVariaveis = dados.custosVariaveis().stream()
+                .map(CustoVariavel::getValor)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        return montarProjecao(
+                dados.mes(),
+                normalizarValor(receitaPrevista),
+                normalizarValor(receitaRecebida),
+                normalizarValor(despesaCustosFixos).add(normalizarValor(despesaCustosVariaveis)));
+    }
+
+    /**
+     * Calcula as projeções financeiras dos doze meses de um ano
+     * Usa uma consulta por fonte para o ano inteiro: parcelas por data e status,
+     * custos fixos ativos e custos variáveis por data. As linhas são somadas por
+     * mês em memória
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.PROJECAO_FINANCEIRA_ANUAL, key = "#ano")
+    public List<ProjecaoFinanceiraDTO> calcularProjecaoAnual(int ano) {
+        LocalDate inicioDoAno = LocalDate.of(ano, 1, 1);
+        LocalDate fimDoAno = LocalDate.of(ano, 12, 31);
+
+        BigDecimal[] receitaPrevista = mesesZerados();
+        BigDecimal[] receitaRecebida = mesesZerados();
+        BigDecimal[] despesaVariavel = mesesZerados();
+
+        for (TotalParcelasPorDataDTO total : parcelaRepository
+                .somarValorPorDataEStatusNoPeriodo(inicioDoAno, fimDoAno, StatusParcela.PAGO)) {
+            int mes = total.data().getMonthValue() - 1;
+            if (total.status() == StatusParcela.PENDENTE) {
+                receitaPrevista[mes] = receitaPrevista[mes].add(total.total());
+            } else if (total.status() == StatusParcela.PAGO) {
+                receitaRecebida[mes] = receitaRecebida[mes].add(total.total());
+            }
+        }
+
+        for (CustoVariavelTotalPorDataDTO total : custoVariavelRepository
+                .somarValorPorDataNoPeriodo(inicioDoAno, fimDoAno)) {
+            int mes = total.dataLancamento().getMonthValue() - 1;
+            despesaVariavel[mes] = despesaVariavel[mes].add(total.valorTotal());
+        }
+
+        // Todos os custos fixos ativos entram em todos os meses
+        BigDecimal despesaCustosFixos = normalizarValor(custoFixoRepository.somarValorAtivos());
+
+        List<ProjecaoFinanceiraDTO> projecoes = new ArrayList<>(12);
+        for (int mes = 0; mes < 12; mes++) {
+            projecoes.add(montarProjecao(
+                    YearMonth.of(ano, mes + 1),
+                    normalizarValor(receitaPrevista[mes]),
+                    normalizarValor(receitaRecebida[mes]),
+                    despesaCustosFixos.add(normalizarValor(despesaVariavel[mes]))));
+        }
+        return projecoes;
+    }
+
+    /**
+     * Monta o DTO da projeção de um mês a partir dos totais já calculados
+     */
+    private ProjecaoFinanceiraDTO montarProjecao(YearMonth yearMonth, BigDecimal receitaPrevista,
+            BigDecimal receitaRecebida, BigDecimal despesaPrevista) {
         BigDecimal saldoProjetado = receitaPrevista.add(receitaRecebida).subtract(despesaPrevista);
 
         Locale localeBR = Locale.forLanguageTag("pt-BR");
         String mesReferencia = yearMonth.getMonth()
                 .getDisplayName(TextStyle.FULL, localeBR)
-                + " de " + ano;
+                + " de " + yearMonth.getYear();
 
         return new ProjecaoFinanceiraDTO(
                 receitaPrevista,
@@ -58,68 +162,39 @@ public class ProjecaoFinanceiraService {
                 mesReferencia);
     }
 
-    /**
-     * Calcula a receita prevista baseada em parcelas PENDENTES do período
-     */
-    private BigDecimal calcularReceitaPrevista(LocalDate inicio, LocalDate fim) {
-        List<Parcela> parcelas = parcelaRepository.findAll().stream()
-                .filter(p -> p.getStatus() == StatusParcela.PENDENTE)
-                .filter(p -> !p.getDataVencimento().isBefore(inicio) && !p.getDataVencimento().isAfter(fim))
-                .toList();
-
-        return parcelas.stream()
-                .map(Parcela::getValor)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private BigDecimal[] mesesZerados() {
+        BigDecimal[] valores = new BigDecimal[12];
+        Arrays.fill(valores, BigDecimal.ZERO);
+        return valores;
     }
 
     /**
-     * Calcula a receita recebida baseada em parcelas PAGAS do período
+     * Retorna o total agregado de um status (zero se não houver parcelas)
      */
-    private BigDecimal calcularReceitaRecebida(LocalDate inicio, LocalDate fim) {
-        List<Parcela> parcelas = parcelaRepository.findAll().stream()
-                .filter(p -> p.getStatus() == StatusParcela.PAGO)
-                .filter(p -> p.getDataPagamento() != null)
-                .filter(p -> !p.getDataPagamento().isBefore(inicio) && !p.getDataPagamento().isAfter(fim))
-                .toList();
-
-        return parcelas.stream()
-                .map(Parcela::getValor)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private BigDecimal totalDoStatus(List<TotalParcelasPorStatusDTO> totais, StatusParcela status) {
+        return totais.stream()
+                .filter(total -> total.status() == status)
+                .map(TotalParcelasPorStatusDTO::total)
+                .map(this::normalizarValor)
+                .findFirst()
+                .orElse(normalizarValor(BigDecimal.ZERO));
     }
 
     /**
      * Calcula a despesa prevista baseada em custos fixos e variáveis do período
+     * Todos os custos fixos ativos entram em todos os meses
      */
-    private BigDecimal calcularDespesaPrevista(LocalDate inicio, LocalDate fim, int mes) {
-        BigDecimal despesaCustosFixos = calcularDespesaCustosFixos(mes);
-        BigDecimal despesaCustosVariaveis = calcularDespesaCustosVariaveis(inicio, fim);
+    private BigDecimal calcularDespesaPrevista(LocalDate inicio, LocalDate fim) {
+        BigDecimal despesaCustosFixos = normalizarValor(custoFixoRepository.somarValorAtivos());
+        BigDecimal despesaCustosVariaveis = normalizarValor(custoVariavelRepository.somarValorNoPeriodo(inicio, fim));
 
         return despesaCustosFixos.add(despesaCustosVariaveis);
     }
 
     /**
-     * Calcula a despesa com custos fixos do mês
-     */
-    private BigDecimal calcularDespesaCustosFixos(int mes) {
-        List<CustoFixo> custosFixos = custoFixoRepository.findAll().stream()
-                .filter(CustoFixo::getAtivo)
-                .toList();
-
-        return custosFixos.stream()
-                .map(CustoFixo::getValor)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-
-    /**
-     * Calcula a despesa com custos variáveis do período
+     * Normaliza o resultado de um SUM do SQLite para escala monetária (2 casas)
      */
-    private BigDecimal calcularDespesaCustosVariaveis(LocalDate inicio, LocalDate fim) {
-        List<CustoVariavel> custosVariaveis = custoVariavelRepository.findAll().stream()
-                .filter(c -> !c.getDataLancamento().isBefore(inicio) && !c.getDataLancamento().isAfter(fim))
-                .toList();
-
-        return custosVariaveis.stream()
-                .map(CustoVariavel::getValor)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private BigDecimal normalizarValor(BigDecimal valor) {
+        return valor == null ? BigDecimal.ZERO.setScale(2) : valor.setScale(2, RoundingMode.HALF_UP);
     }
 }
@@ -0,0 +1,64 @@
+package com.madeirart.appMadeirart.modules.exportacao.controller;
+
+import com.madeirart.appMadeirart.modules.exportacao.service.ExportacaoService;
+import com.madeirart.appMadeirart.shared.enums.FormatoArquivo;
+import com.madeirart.appMadeirart.shared.enums.RecursoExportacao;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Controller REST para exportação de dados
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ExportacaoController {
+
+    private final ExportacaoService exportacaoService;
+
+    /**
+     * Exporta orçamentos (com itens), parcelas, custos fixos ou custos variáveis
+     * GET /api/export/{orcamentos|parcelas|custos-fixos|custos-variaveis}?formato=csv|ndjson
+     *
+     * Sem formato, exporta em CSV. Os registros são lidos do banco em fatias e
+     * escritos na resposta fatia a fatia, em ordem de ID; o CSV de orçamentos pode
+     * ser importado de volta pelo POST /api/orcamentos/import, exceto
+     * orçamentos sem itens, que o cadastro não aceita
+     */
+    @GetMapping("/{recurso}")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @PathVariable String recurso,
+            @RequestParam(defaultValue = "csv") String formato) {
+        RecursoExportacao recursoExportacao;
+        FormatoArquivo formatoArquivo;
+        try {
+            recursoExportacao = RecursoExportacao.deCaminho(recurso);
+            formatoArquivo = FormatoArquivo.deNome(formato);
+        } catch (IllegalArgumentException e) {
+            log.warn("Exportação inválida: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        log.info("GET /api/export/{} - Exportando em {}", recurso, formatoArquivo);
+
+        String arquivo = recursoExportacao.getCaminho() + "." + formatoArquivo.name().toLowerCase(Locale.ROOT);
+        StreamingResponseBody corpo = saida -> exportacaoService.exportar(recursoExportacao, formatoArquivo, saida);
+
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.parseMediaType(formatoArquivo.getTipoConteudo()),
+                        StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(arquivo).build()
+                        .toString())
+                .body(corpo);
+    }
+}
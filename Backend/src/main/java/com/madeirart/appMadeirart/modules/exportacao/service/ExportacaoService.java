@@ -0,0 +1,375 @@
+package com.madeirart.appMadeirart.modules.exportacao.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.madeirart.appMadeirart.modules.custos.dto.CustoFixoResponseDTO;
+import com.madeirart.appMadeirart.modules.custos.dto.CustoVariavelResponseDTO;
+import com.madeirart.appMadeirart.modules.custos.repository.CustoFixoRepository;
+import com.madeirart.appMadeirart.modules.custos.repository.CustoVariavelRepository;
+import com.madeirart.appMadeirart.modules.orcamento.dto.ItemMaterialDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.LinhaExportacaoOrcamentoDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoResponseDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.ParcelaResponseDTO;
+import com.madeirart.appMadeirart.modules.orcamento.repository.OrcamentoRepository;
+import com.madeirart.appMadeirart.modules.orcamento.repository.ParcelaRepository;
+import com.madeirart.appMadeirart.shared.enums.FormatoArquivo;
+import com.madeirart.appMadeirart.shared.enums.RecursoExportacao;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+/**
+ * Service da exportação de dados em CSV ou NDJSON
+ *
+ * A leitura é feita em fatias de cerca de TAMANHO_FATIA linhas por ID, sem
+ * carregar entidades: cada fatia é lida em uma transação curta e só escrita
+ * na saída depois do commit. Uma transação aberta enquanto o cliente lê a
+ * resposta seguraria o banco e bloquearia as gravações pelo tempo do
+ * download. Por isso a exportação não é um retrato de um único instante: um
+ * registro sai como estava quando sua fatia foi lida
+ */
+@Slf4j
+@Service
+public class ExportacaoService {
+
+    static final int TAMANHO_FATIA = 1000;
+
+    static final List<String> COLUNAS_ORCAMENTO = List.of("orcamento", "cliente", "moveis", "data",
+            "previsaoEntrega", "fatorMaoDeObra", "custosExtras", "cpc", "status", "subtotalMateriais",
+            "valorMaoDeObra", "valorTotal", "createdAt", "updatedAt", "quantidade", "descricao", "valorUnitario");
+    static final List<String> COLUNAS_PARCELA = List.of("id", "orcamentoId", "numeroParcela", "valor",
+            "dataVencimento", "dataPagamento", "status", "createdAt");
+    static final List<String> COLUNAS_CUSTO_FIXO = List.of("id", "nome", "valor", "diaVencimento", "descricao",
+            "ativo", "status", "createdAt", "updatedAt");
+    static final List<String> COLUNAS_CUSTO_VARIAVEL = List.of("id", "nome", "valor", "dataLancamento",
+            "descricao", "status", "parcelado", "numeroParcela", "totalParcelas", "custoOrigemId", "createdAt",
+            "updatedAt");
+
+    private static final char SEPARADOR_CSV = ',';
+
+    private final OrcamentoRepository orcamentoRepository;
+    private final ParcelaRepository parcelaRepository;
+    private final CustoFixoRepository custoFixoRepository;
+    private final CustoVariavelRepository custoVariavelRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter escritorJson;
+    private final TransactionTemplate leitura;
+
+    public ExportacaoService(OrcamentoRepository orcamentoRepository, ParcelaRepository parcelaRepository,
+            CustoFixoRepository custoFixoRepository, CustoVariavelRepository custoVariavelRepository,
+            ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.orcamentoRepository = orcamentoRepository;
+        this.parcelaRepository = parcelaRepository;
+        this.custoFixoRepository = custoFixoRepository;
+        this.custoVariavelRepository = custoVariavelRepository;
+        this.objectMapper = objectMapper;
+        // Um objeto por linha, sem campos nulos e sem flush a cada objeto
+        this.escritorJson = objectMapper.copy()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+    }
+
+    /**
+     * Escreve o recurso na saída, em ordem de ID
+     * O CSV de orçamentos tem uma linha por item, no formato aceito pela
+     * importação (orçamentos sem itens ocupam uma linha com as colunas do item
+     * vazias; a importação os rejeita, como o cadastro); o NDJSON tem um
+     * orçamento por linha, com os itens
+     *
+     * @return quantidade de registros exportados (orçamentos, parcelas ou custos)
+     */
+    public long exportar(RecursoExportacao recurso, FormatoArquivo formato, OutputStream saida) throws IOException {
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        Saida destino = formato == FormatoArquivo.CSV
+                ? new SaidaCsv(escritor, colunas(recurso))
+                : new SaidaNdjson(escritor);
+
+        long registros;
+        try {
+            registros = switch (recurso) {
+                case ORCAMENTOS -> exportarOrcamentos(destino, formato);
+                case PARCELAS -> exportarTabela(parcelaRepository::exportarApos, ParcelaResponseDTO::id, destino,
+                        parcela -> Arrays.asList(parcela.id(), parcela.orcamentoId(), parcela.numeroParcela(),
+                                parcela.valor(), parcela.dataVencimento(), parcela.dataPagamento(),
+                                parcela.status(), parcela.createdAt()));
+                case CUSTOS_FIXOS -> exportarTabela(custoFixoRepository::exportarApos, CustoFixoResponseDTO::id,
+                        destino,
+                        custo -> Arrays.asList(custo.id(), custo.nome(), custo.valor(), custo.diaVencimento(),
+                                custo.descricao(), custo.ativo(), custo.status(), custo.createdAt(),
+                                custo.updatedAt()));
+                case CUSTOS_VARIAVEIS -> exportarTabela(custoVariavelRepository::exportarApos,
+                        CustoVariavelResponseDTO::id, destino,
+                        custo -> Arrays.asList(custo.id(), custo.nome(), custo.valor(), custo.dataLancamento(),
+                                custo.descricao(), custo.status(), custo.parcelado(), custo.numeroParcela(),
+                                custo.totalParcelas(), custo.custoOrigemId(), custo.createdAt(),
+                                custo.updatedAt()));
+            };
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        destino.concluir();
+
+        log.info("Exportação de {} em {} concluída: {} registros", recurso.getCaminho(), formato, registros);
+        return registros;
+    }
+
+    private List<String> colunas(RecursoExportacao recurso) {
+        return switch (recurso) {
+            case ORCAMENTOS -> COLUNAS_ORCAMENTO;
+            case PARCELAS -> COLUNAS_PARCELA;
+            case CUSTOS_FIXOS -> COLUNAS_CUSTO_FIXO;
+            case CUSTOS_VARIAVEIS -> COLUNAS_CUSTO_VARIAVEL;
+        };
+    }
+
+    /**
+     * Exporta uma tabela em fatias por ID, cada fatia lida em uma transação e
+     * escrita depois dela
+     *
+     * @param consulta lê até o limite de registros com ID maior que o informado
+     */
+    private <T> long exportarTabela(BiFunction<Long, Limit, Stream<T>> consulta, ToLongFunction<T> id,
+            Saida destino, Function<T, List<?>> valores) {
+        long registros = 0;
+        long ultimoId = 0;
+        while (true) {
+            long inicio = ultimoId;
+            List<T> fatia = leitura.execute(status -> {
+                try (Stream<T> linhas = consulta.apply(inicio, Limit.of(TAMANHO_FATIA))) {
+                    return linhas.toList();
+                }
+            });
+
+            fatia.forEach(linha -> escrever(destino, linha, valores.apply(linha)));
+            registros += fatia.size();
+            if (fatia.size() < TAMANHO_FATIA) {
+                return registros;
+            }
+            ultimoId = id.applyAsLong(fatia.get(fatia.size() - 1));
+        }
+    }
+
+    /**
+     * Exporta os orçamentos em fatias de TAMANHO_FATIA linhas (itens), sem
+     * dividir um orçamento entre duas fatias
+     */
+    private long exportarOrcamentos(Saida destino, FormatoArquivo formato) {
+        long registros = 0;
+        long ultimoId = 0;
+        while (true) {
+            long inicio = ultimoId;
+            FatiaOrcamentos fatia = leitura.execute(status -> lerOrcamentos(inicio));
+
+            if (formato == FormatoArquivo.CSV) {
+                fatia.linhas().forEach(linha -> escrever(destino, linha, valores(linha)));
+            } else {
+                escreverAgrupados(fatia.linhas(), destino);
+            }
+            registros += fatia.orcamentos();
+            if (!fatia.temMais()) {
+                return registros;
+            }
+            ultimoId = fatia.linhas().get(fatia.linhas().size() - 1).id();
+        }
+    }
+
+    /**
+     * Lê as linhas dos orçamentos com ID maior que o informado até juntar
+     * TAMANHO_FATIA linhas, completando o último orçamento
+     */
+    private FatiaOrcamentos lerOrcamentos(long ultimoId) {
+        List<LinhaExportacaoOrcamentoDTO> linhas = new ArrayList<>();
+        int orcamentos = 0;
+        try (Stream<LinhaExportacaoOrcamentoDTO> consulta = orcamentoRepository.exportarComItens(ultimoId)) {
+            Iterator<LinhaExportacaoOrcamentoDTO> iterador = consulta.iterator();
+            while (iterador.hasNext()) {
+                LinhaExportacaoOrcamentoDTO linha = iterador.next();
+                if (linhas.isEmpty() || !linhas.get(linhas.size() - 1).id().equals(linha.id())) {
+                    if (linhas.size() >= TAMANHO_FATIA) {
+                        return new FatiaOrcamentos(linhas, orcamentos, true);
+                    }
+                    orcamentos++;
+                }
+                linhas.add(linha);
+            }
+        }
+        return new FatiaOrcamentos(linhas, orcamentos, false);
+    }
+
+    /**
+     * Junta as linhas consecutivas do mesmo orçamento e escreve um orçamento
+     * por vez
+     */
+    private void escreverAgrupados(List<LinhaExportacaoOrcamentoDTO> linhas, Saida destino) {
+        List<LinhaExportacaoOrcamentoDTO> orcamento = new ArrayList<>();
+        linhas.forEach(linha -> {
+            if (!orcamento.isEmpty() && !orcamento.get(0).id().equals(linha.id())) {
+                escrever(destino, paraOrcamento(orcamento), null);
+                orcamento.clear();
+            }
+            orcamento.add(linha);
+        });
+        if (!orcamento.isEmpty()) {
+            escrever(destino, paraOrcamento(orcamento), null);
+        }
+    }
+
+    private OrcamentoResponseDTO paraOrcamento(List<LinhaExportacaoOrcamentoDTO> linhas) {
+        LinhaExportacaoOrcamentoDTO primeira = linhas.get(0);
+        List<ItemMaterialDTO> itens = linhas.stream()
+                .filter(linha -> linha.itemId() != null)
+                .map(linha -> new ItemMaterialDTO(linha.itemId(), linha.quantidade(), linha.descricao(),
+                        linha.valorUnitario(), linha.quantidade().multiply(linha.valorUnitario())))
+                .toList();
+
+        return OrcamentoResponseDTO.builder()
+                .id(primeira.id())
+                .cliente(primeira.cliente())
+                .moveis(primeira.moveis())
+                .data(primeira.data())
+                .previsaoEntrega(primeira.previsaoEntrega())
+                .fatorMaoDeObra(primeira.fatorMaoDeObra())
+                .custosExtras(primeira.custosExtras())
+                .cpc(primeira.cpc())
+                .status(primeira.status())
+                .itens(itens)
+                .subtotalMateriais(primeira.subtotalMateriais())
+                .valorMaoDeObra(primeira.valorMaoDeObra())
+                .valorTotal(primeira.valorTotal())
+                .createdAt(primeira.createdAt())
+                .updatedAt(primeira.updatedAt())
+                .build();
+    }
+
+    private List<?> valores(LinhaExportacaoOrcamentoDTO linha) {
+        return Arrays.asList(linha.id(), linha.cliente(), linha.moveis(), linha.data(), linha.previsaoEntrega(),
+                linha.fatorMaoDeObra(), linha.custosExtras(), linha.cpc(), linha.status(),
+                linha.subtotalMateriais(), linha.valorMaoDeObra(), linha.valorTotal(), linha.createdAt(),
+                linha.updatedAt(), linha.quantidade(), linha.descricao(), linha.valorUnitario());
+    }
+
+    private static void escrever(Saida destino, Object registro, List<?> valores) {
+        try {
+            destino.escrever(registro, valores);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Destino dos registros exportados, conforme o formato
+     */
+    private interface Saida {
+
+        /**
+         * Escreve um registro
+         *
+         * @param valores colunas do CSV, na ordem do cabeçalho
+         */
+        void escrever(Object registro, List<?> valores) throws IOException;
+
+        void concluir() throws IOException;
+    }
+
+    private static final class SaidaCsv implements Saida {
+
+        private final Writer escritor;
+
+        SaidaCsv(Writer escritor, List<String> colunas) throws IOException {
+            this.escritor = escritor;
+            escreverLinha(colunas);
+        }
+
+        @Override
+        public void escrever(Object registro, List<?> valores) throws IOException {
+            escreverLinha(valores);
+        }
+
+        @Override
+        public void concluir() throws IOException {
+            escritor.flush();
+        }
+
+        private void escreverLinha(List<?> valores) throws IOException {
+            for (int i = 0; i < valores.size(); i++) {
+                if (i > 0) {
+                    escritor.write(SEPARADOR_CSV);
+                }
+                escritor.write(formatar(valores.get(i)));
+            }
+            escritor.write("\r\n");
+        }
+
+        /**
+         * Números sem notação científica, datas ISO e enums pelo nome; textos
+         * com separador, aspas ou quebra de linha vão entre aspas
+         */
+        private static String formatar(Object valor) {
+            if (valor == null) {
+                return "";
+            }
+            String texto = valor instanceof BigDecimal numero ? numero.toPlainString()
+                    : valor instanceof Enum<?> constante ? constante.name()
+                    : valor.toString();
+            if (texto.indexOf(SEPARADOR_CSV) < 0 && texto.indexOf('"') < 0
+                    && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+                return texto;
+            }
+            return '"' + texto.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private final class SaidaNdjson implements Saida {
+
+        private final JsonGenerator gerador;
+
+        SaidaNdjson(Writer escritor) throws IOException {
+            this.gerador = objectMapper.getFactory().createGenerator(escritor);
+            // Cada objeto termina com a própria quebra de linha
+            this.gerador.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void escrever(Object registro, List<?> valores) throws IOException {
+            escritorJson.writeValue(gerador, registro);
+            gerador.writeRaw('\n');
+        }
+
+        @Override
+        public void concluir() throws IOException {
+            gerador.flush();
+        }
+    }
+
+    /**
+     * Linhas de uma fatia de orçamentos e se há orçamentos depois dela
+     */
+    private record FatiaOrcamentos(List<LinhaExportacaoOrcamentoDTO> linhas, int orcamentos, boolean temMais) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.madeirart.appMadeirart.modules.financeiro.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.madeirart.appMadeirart.modules.financeiro.dto.ResumoFluxoDiarioDTO;
+import com.madeirart.appMadeirart.modules.financeiro.service.FluxoCaixaDiarioService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+
+/**
+ * Controller REST para o fluxo de caixa diário
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/financeiro")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class FluxoCaixaDiarioController {
+
+    private final FluxoCaixaDiarioService fluxoCaixaDiarioService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Retorna a curva de saldo dia a dia do período
+     * GET /api/financeiro/fluxo-diario?inicio=2026-01-01&fim=2026-12-31
+     *
+     * Sem parâmetros, considera de hoje até 90 dias à frente. A resposta é
+     * escrita à medida que os dias são calculados:
+     * { "dias": [ { data, entradas, saidas, saldo }, ... ],
+     * "resumo": { saldoInicial, saldoFinal, dataMenorSaldo, menorSaldo,
+     * primeiraDataNegativa } }
+     */
+    @GetMapping("/fluxo-diario")
+    public ResponseEntity<StreamingResponseBody> getFluxoDiario(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+        LocalDate dataInicio = inicio != null ? inicio : LocalDate.now();
+        LocalDate dataFim = fim != null ? fim : dataInicio.plusDays(90);
+        log.info("GET /api/financeiro/fluxo-diario - Gerando fluxo diário de {} a {}", dataInicio, dataFim);
+
+        try {
+            fluxoCaixaDiarioService.validarPeriodo(dataInicio, dataFim);
+        } catch (IllegalArgumentException e) {
+            log.warn("Período inválido para o fluxo diário: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Sem flush a cada dia; o gerador descarrega o buffer conforme enche
+        ObjectWriter escritor = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody corpo = saida -> {
+            try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+                gerador.writeStartObject();
+                gerador.writeArrayFieldStart("dias");
+
+                ResumoFluxoDiarioDTO resumo = fluxoCaixaDiarioService.gerarFluxoDiario(dataInicio, dataFim, dia -> {
+                    try {
+                        escritor.writeValue(gerador, dia);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+
+                gerador.writeEndArray();
+                gerador.writeFieldName("resumo");
+                escritor.writeValue(gerador, resumo);
+                gerador.writeEndObject();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(corpo);
+    }
+}
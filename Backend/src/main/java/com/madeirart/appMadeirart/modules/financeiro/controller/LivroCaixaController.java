@@ -0,0 +1,54 @@
+package com.madeirart.appMadeirart.modules.financeiro.controller;
+
+import com.madeirart.appMadeirart.modules.financeiro.dto.ConsistenciaLivroCaixaDTO;
+import com.madeirart.appMadeirart.modules.financeiro.dto.LivroCaixaResumoDTO;
+import com.madeirart.appMadeirart.modules.financeiro.service.LivroCaixaService;
+import com.madeirart.appMadeirart.modules.financeiro.service.ProjecaoCaixaService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller REST para o livro caixa
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/financeiro/livro-caixa")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class LivroCaixaController {
+
+    private final LivroCaixaService livroCaixaService;
+    private final ProjecaoCaixaService projecaoCaixaService;
+
+    /**
+     * Retorna o resumo do livro caixa (saldo atual e total de movimentações)
+     * GET /api/financeiro/livro-caixa
+     */
+    @GetMapping
+    public ResponseEntity<LivroCaixaResumoDTO> getResumo() {
+        log.info("GET /api/financeiro/livro-caixa - Buscando resumo do livro caixa");
+        return ResponseEntity.ok(livroCaixaService.getResumo());
+    }
+
+    /**
+     * Reconstrói o livro caixa reprocessando todo o histórico
+     * POST /api/financeiro/livro-caixa/reconstruir
+     */
+    @PostMapping("/reconstruir")
+    public ResponseEntity<LivroCaixaResumoDTO> reconstruir() {
+        log.info("POST /api/financeiro/livro-caixa/reconstruir - Reconstruindo livro caixa");
+        return ResponseEntity.ok(livroCaixaService.reconstruir());
+    }
+
+    /**
+     * Verifica se o saldo do livro caixa bate com a fórmula de saldo
+     * GET /api/financeiro/livro-caixa/consistencia
+     */
+    @GetMapping("/consistencia")
+    public ResponseEntity<ConsistenciaLivroCaixaDTO> verificarConsistencia() {
+        log.info("GET /api/financeiro/livro-caixa/consistencia - Verificando consistência do livro caixa");
+        return ResponseEntity.ok(projecaoCaixaService.verificarConsistenciaLivroCaixa());
+    }
+}
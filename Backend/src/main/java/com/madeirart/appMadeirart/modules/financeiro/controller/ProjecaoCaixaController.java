@@ -1,9 +1,12 @@
 package com.madeirart.appMadeirart.modules.financeiro.controller;
 
+import com.madeirart.appMadeirart.modules.financeiro.dto.ParametrosSimulacaoDTO;
 import com.madeirart.appMadeirart.modules.financeiro.dto.ProjecaoCaixaDTO;
 import com.madeirart.appMadeirart.modules.financeiro.dto.SaldoInicialRequestDTO;
 import com.madeirart.appMadeirart.modules.financeiro.dto.SaldoInicialResponseDTO;
+import com.madeirart.appMadeirart.modules.financeiro.dto.SimulacaoCaixaDTO;
 import com.madeirart.appMadeirart.modules.financeiro.service.ProjecaoCaixaService;
+import com.madeirart.appMadeirart.modules.financeiro.service.SimulacaoCaixaService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -23,23 +26,71 @@ import org.springframework.web.bind.annotation.*;
 public class ProjecaoCaixaController {
 
     private final ProjecaoCaixaService projecaoCaixaService;
+    private final SimulacaoCaixaService simulacaoCaixaService;
 
     /**
      * Retorna a projeção completa de caixa
      * GET /api/financeiro/projecao-caixa
+     * GET /api/financeiro/projecao-caixa?meses=12
      * 
      * Retorna:
      * - Saldo atual acumulado
      * - Saldo inicial cadastrado
-     * - Projeção dos próximos 2 meses com detalhamento de entradas e saídas
+     * - Projeção dos próximos N meses (padrão 2, máximo 36) com detalhamento de
+     * entradas e saídas
      */
     @GetMapping("/projecao-caixa")
-    public ResponseEntity<ProjecaoCaixaDTO> getProjecaoCaixa() {
-        log.info("GET /api/financeiro/projecao-caixa - Buscando projeção de caixa");
-        ProjecaoCaixaDTO projecao = projecaoCaixaService.getProjecaoCaixa();
+    public ResponseEntity<ProjecaoCaixaDTO> getProjecaoCaixa(
+            @RequestParam(defaultValue = "2") int meses) {
+        log.info("GET /api/financeiro/projecao-caixa - Buscando projeção de caixa para {} mês(es)", meses);
+
+        if (meses < 1 || meses > ProjecaoCaixaService.MESES_PROJECAO_MAXIMO) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        ProjecaoCaixaDTO projecao = projecaoCaixaService.getProjecaoCaixa(meses);
         return ResponseEntity.ok(projecao);
     }
 
+    /**
+     * Simula o risco do fluxo de caixa (Monte Carlo) sobre a projeção
+     * GET /api/financeiro/projecao-caixa/simulacao
+     * GET /api/financeiro/projecao-caixa/simulacao?cenarios=10000&meses=12&probabilidadeAtraso=0.2&probabilidadeInadimplencia=0.05&mesesAtraso=1
+     * 
+     * Em cada cenário, cada parcela pendente é paga em dia, com atraso de N meses
+     * ou não é paga, conforme as probabilidades informadas
+     * 
+     * Retorna:
+     * - Percentis (5, 25, 50, 75, 95) do saldo ao fim de cada mês
+     * - Probabilidade de saldo negativo por mês e no horizonte inteiro
+     */
+    @GetMapping("/projecao-caixa/simulacao")
+    public ResponseEntity<SimulacaoCaixaDTO> simularProjecaoCaixa(
+            @RequestParam(defaultValue = "10000") int cenarios,
+            @RequestParam(defaultValue = "12") int meses,
+            @RequestParam(defaultValue = "0.2") double probabilidadeAtraso,
+            @RequestParam(defaultValue = "0.05") double probabilidadeInadimplencia,
+            @RequestParam(defaultValue = "1") int mesesAtraso,
+            @RequestParam(required = false) Long semente) {
+        log.info("GET /api/financeiro/projecao-caixa/simulacao - {} cenário(s) para {} mês(es)", cenarios, meses);
+
+        ParametrosSimulacaoDTO parametros = ParametrosSimulacaoDTO.builder()
+                .quantidadeCenarios(cenarios)
+                .meses(meses)
+                .probabilidadeAtraso(probabilidadeAtraso)
+                .probabilidadeInadimplencia(probabilidadeInadimplencia)
+                .mesesAtraso(mesesAtraso)
+                .semente(semente)
+                .build();
+
+        try {
+            return ResponseEntity.ok(simulacaoCaixaService.simular(parametros));
+        } catch (IllegalArgumentException e) {
+            log.warn("Parâmetros de simulação inválidos: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Cadastra ou atualiza o saldo inicial do sistema
      * POST /api/financeiro/saldo-inicial
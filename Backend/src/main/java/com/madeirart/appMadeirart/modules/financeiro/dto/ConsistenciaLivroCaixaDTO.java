@@ -0,0 +1,19 @@
+package com.madeirart.appMadeirart.modules.financeiro.dto;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO com o resultado da verificação do livro caixa contra a fórmula de saldo
+ * (Saldo Inicial + Parcelas PAGAS - Custos até hoje)
+ */
+@Builder
+public record ConsistenciaLivroCaixaDTO(
+        BigDecimal saldoLivroCaixa,
+        BigDecimal saldoFormula,
+        BigDecimal diferenca,
+        Boolean consistente,
+        LocalDateTime dataVerificacao) {
+}
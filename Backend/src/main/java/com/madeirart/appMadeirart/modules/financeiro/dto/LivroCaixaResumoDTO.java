@@ -0,0 +1,16 @@
+package com.madeirart.appMadeirart.modules.financeiro.dto;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO com o resumo do livro caixa (saldo corrente e volume de movimentações)
+ */
+@Builder
+public record LivroCaixaResumoDTO(
+        BigDecimal saldoAtual,
+        Long totalMovimentacoes,
+        LocalDateTime ultimaMovimentacao) {
+}
@@ -0,0 +1,20 @@
+package com.madeirart.appMadeirart.modules.financeiro.dto;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO com as faixas de percentis do saldo simulado ao fim de um mês
+ */
+@Builder
+public record MesSimulacaoDTO(
+        Integer mesReferencia,
+        Integer anoReferencia,
+        BigDecimal saldoPercentil5,
+        BigDecimal saldoPercentil25,
+        BigDecimal saldoMediano,
+        BigDecimal saldoPercentil75,
+        BigDecimal saldoPercentil95,
+        Double probabilidadeSaldoNegativo) {
+}
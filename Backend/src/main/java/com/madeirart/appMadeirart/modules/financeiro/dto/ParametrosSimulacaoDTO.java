@@ -0,0 +1,23 @@
+package com.madeirart.appMadeirart.modules.financeiro.dto;
+
+import lombok.Builder;
+
+/**
+ * DTO com os parâmetros da simulação de risco do fluxo de caixa
+ *
+ * @param quantidadeCenarios        quantidade de cenários simulados
+ * @param meses                     horizonte da simulação em meses
+ * @param probabilidadeAtraso       chance de uma parcela pendente ser paga com atraso
+ * @param probabilidadeInadimplencia chance de uma parcela pendente não ser paga
+ * @param mesesAtraso               quantos meses uma parcela atrasada é adiada
+ * @param semente                   semente aleatória (mesma semente, mesmo resultado)
+ */
+@Builder
+public record ParametrosSimulacaoDTO(
+        Integer quantidadeCenarios,
+        Integer meses,
+        Double probabilidadeAtraso,
+        Double probabilidadeInadimplencia,
+        Integer mesesAtraso,
+        Long semente) {
+}
@@ -0,0 +1,21 @@
+package com.madeirart.appMadeirart.modules.financeiro.dto;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO com o resumo do fluxo de caixa diário (ponto mais baixo e primeira data
+ * com saldo negativo)
+ */
+@Builder
+public record ResumoFluxoDiarioDTO(
+        LocalDate inicio,
+        LocalDate fim,
+        BigDecimal saldoInicial,
+        BigDecimal saldoFinal,
+        LocalDate dataMenorSaldo,
+        BigDecimal menorSaldo,
+        LocalDate primeiraDataNegativa) {
+}
@@ -0,0 +1,14 @@
+package com.madeirart.appMadeirart.modules.financeiro.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO com o saldo projetado ao fim de um dia do fluxo de caixa diário
+ */
+public record SaldoDiarioDTO(
+        LocalDate data,
+        BigDecimal entradas,
+        BigDecimal saidas,
+        BigDecimal saldo) {
+}
@@ -0,0 +1,20 @@
+package com.madeirart.appMadeirart.modules.financeiro.dto;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO para resposta da simulação de risco do fluxo de caixa (Monte Carlo)
+ * A probabilidade de saldo negativo considera qualquer mês do horizonte
+ */
+@Builder
+public record SimulacaoCaixaDTO(
+        ParametrosSimulacaoDTO parametros,
+        BigDecimal saldoAtual,
+        Double probabilidadeSaldoNegativo,
+        List<MesSimulacaoDTO> mesesSimulados,
+        LocalDateTime dataCalculo) {
+}
@@ -0,0 +1,74 @@
+package com.madeirart.appMadeirart.modules.financeiro.entity;
+
+import com.madeirart.appMadeirart.shared.enums.OrigemTransacao;
+import com.madeirart.appMadeirart.shared.enums.TipoTransacao;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Entidade que representa uma movimentação real de caixa (livro caixa)
+ * Cada registro guarda o saldo acumulado após a movimentação, de modo que o
+ * saldo atual é sempre o saldo da última linha
+ */
+@Entity
+@Table(name = "livro_caixa")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovimentacaoCaixa {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull(message = "Data da movimentação é obrigatória")
+    @Column(name = "data_movimento", nullable = false)
+    private LocalDate dataMovimento;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TipoTransacao tipo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrigemTransacao origem;
+
+    @Column(name = "origem_id")
+    private Long origemId;
+
+    /**
+     * Mês de referência (primeiro dia) de movimentações de custo fixo, que é
+     * pago uma vez por mês; nulo nas demais origens
+     */
+    @Column(name = "competencia")
+    private LocalDate competencia;
+
+    @NotNull(message = "Valor da movimentação é obrigatório")
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal valor;
+
+    @Column(name = "saldo_apos", nullable = false, precision = 14, scale = 2)
+    private BigDecimal saldoApos;
+
+    @Column(length = 500)
+    private String descricao;
+
+    @Column(name = "data_registro", nullable = false, updatable = false)
+    private LocalDateTime dataRegistro;
+
+    @PrePersist
+    protected void onCreate() {
+        if (dataRegistro == null) {
+            dataRegistro = LocalDateTime.now();
+        }
+    }
+}
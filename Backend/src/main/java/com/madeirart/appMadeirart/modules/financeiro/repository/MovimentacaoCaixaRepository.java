@@ -0,0 +1,70 @@
+package com.madeirart.appMadeirart.modules.financeiro.repository;
+
+import com.madeirart.appMadeirart.modules.financeiro.entity.MovimentacaoCaixa;
+import com.madeirart.appMadeirart.shared.enums.OrigemTransacao;
+import com.madeirart.appMadeirart.shared.enums.TipoTransacao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository para a entidade MovimentacaoCaixa (livro caixa)
+ */
+@Repository
+public interface MovimentacaoCaixaRepository extends JpaRepository<MovimentacaoCaixa, Long> {
+
+    /**
+     * Busca a última movimentação registrada (contém o saldo atual)
+     */
+    Optional<MovimentacaoCaixa> findTopByOrderByIdDesc();
+
+    /**
+     * Soma o efeito no caixa das movimentações de um registro de origem
+     * (entradas positivas, saídas negativas)
+     */
+    @Query("SELECT COALESCE(SUM(CASE WHEN m.tipo = :entrada THEN m.valor ELSE -m.valor END), 0) "
+            + "FROM MovimentacaoCaixa m WHERE m.origem = :origem AND m.origemId = :origemId")
+    BigDecimal somarEfeitoPorOrigem(@Param("origem") OrigemTransacao origem, @Param("origemId") Long origemId,
+            @Param("entrada") TipoTransacao entrada);
+
+    /**
+     * Soma o efeito no caixa das movimentações de uma origem (entradas
+     * positivas, saídas negativas)
+     */
+    @Query("SELECT COALESCE(SUM(CASE WHEN m.tipo = :entrada THEN m.valor ELSE -m.valor END), 0) "
+            + "FROM MovimentacaoCaixa m WHERE m.origem = :origem")
+    BigDecimal somarEfeitoPorOrigem(@Param("origem") OrigemTransacao origem,
+            @Param("entrada") TipoTransacao entrada);
+
+    /**
+     * Soma o efeito no caixa das movimentações de um registro de origem em um
+     * mês de competência (entradas positivas, saídas negativas)
+     */
+    @Query("SELECT COALESCE(SUM(CASE WHEN m.tipo = :entrada THEN m.valor ELSE -m.valor END), 0) "
+            + "FROM MovimentacaoCaixa m WHERE m.origem = :origem AND m.origemId = :origemId "
+            + "AND m.competencia = :competencia")
+    BigDecimal somarEfeitoPorOrigemECompetencia(@Param("origem") OrigemTransacao origem,
+            @Param("origemId") Long origemId, @Param("competencia") LocalDate competencia,
+            @Param("entrada") TipoTransacao entrada);
+
+    /**
+     * Apaga todas as movimentações e limpa o contexto de persistência
+     * O SQLite reaproveita os IDs depois de apagar as linhas, e as
+     * movimentações já carregadas não podem continuar associadas a eles
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM MovimentacaoCaixa m")
+    void apagarTodas();
+
+    /**
+     * Busca as movimentações de uma origem em ordem de registro
+     */
+    List<MovimentacaoCaixa> findByOrigemOrderById(OrigemTransacao origem);
+}
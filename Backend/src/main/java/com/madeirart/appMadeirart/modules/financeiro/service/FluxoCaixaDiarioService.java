@@ -0,0 +1,204 @@
+package com.madeirart.appMadeirart.modules.financeiro.service;
+
+import com.madeirart.appMadeirart.modules.custos.entity.CustoFixo;
+import com.madeirart.appMadeirart.modules.custos.entity.CustoVariavel;
+import com.madeirart.appMadeirart.modules.custos.repository.CustoFixoRepository;
+import com.madeirart.appMadeirart.modules.custos.repository.CustoVariavelRepository;
+import com.madeirart.appMadeirart.modules.financeiro.dto.ResumoFluxoDiarioDTO;
+import com.madeirart.appMadeirart.modules.financeiro.dto.SaldoDiarioDTO;
+import com.madeirart.appMadeirart.modules.orcamento.entity.Parcela;
+import com.madeirart.appMadeirart.modules.orcamento.repository.ParcelaRepository;
+import com.madeirart.appMadeirart.shared.enums.StatusCusto;
+import com.madeirart.appMadeirart.shared.enums.StatusParcela;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Service para o fluxo de caixa diário
+ * Combina parcelas pendentes, vencimentos de custos fixos e lançamentos de
+ * custos variáveis em uma única varredura ordenada por data, entregando o saldo
+ * de cada dia ao consumidor assim que é calculado (sem acumular a curva)
+ */
+@Slf4j
+@Service
+public class FluxoCaixaDiarioService {
+
+    public static final long DIAS_MAXIMO = 3660;
+
+    private final ParcelaRepository parcelaRepository;
+    private final CustoFixoRepository custoFixoRepository;
+    private final CustoVariavelRepository custoVariavelRepository;
+    private final LivroCaixaService livroCaixaService;
+    private final TransactionTemplate leitura;
+
+    public FluxoCaixaDiarioService(ParcelaRepository parcelaRepository, CustoFixoRepository custoFixoRepository,
+            CustoVariavelRepository custoVariavelRepository, LivroCaixaService livroCaixaService,
+            PlatformTransactionManager transactionManager) {
+        this.parcelaRepository = parcelaRepository;
+        this.custoFixoRepository = custoFixoRepository;
+        this.custoVariavelRepository = custoVariavelRepository;
+        this.livroCaixaService = livroCaixaService;
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+    }
+
+    /**
+     * Gera o fluxo diário entre as datas informadas
+     * A varredura parte do saldo atual do livro caixa na data de hoje, como a
+     * projeção de caixa; datas anteriores a hoje não são projetadas, e custos
+     * variáveis atrasados e não pagos saem hoje. Dias entre hoje e o início
+     * afetam o saldo, mas não são entregues ao consumidor
+     * Os dados são lidos em uma transação curta; a varredura e o consumidor,
+     * que escreve na resposta, rodam depois dela
+     *
+     * @param consumidor recebe o saldo de cada dia, em ordem
+     * @return resumo com o menor saldo e a primeira data negativa
+     */
+    public ResumoFluxoDiarioDTO gerarFluxoDiario(LocalDate inicio, LocalDate fim, Consumer<SaldoDiarioDTO> consumidor) {
+        validarPeriodo(inicio, fim);
+
+        LocalDate hoje = LocalDate.now();
+        LocalDate inicioEfetivo = inicio.isBefore(hoje) ? hoje : inicio;
+
+        DadosFluxo dados = leitura.execute(status -> new DadosFluxo(
+                livroCaixaService.getSaldoAtual(),
+                parcelaRepository.findByStatusAndDataVencimentoBetweenOrderByDataVencimento(
+                        StatusParcela.PENDENTE, hoje, fim),
+                custoVariavelRepository.findByStatusNotAndDataLancamentoLessThanEqualOrderByDataLancamento(
+                        StatusCusto.PAGO, fim),
+                custoFixoRepository.findByAtivoTrueOrderByDiaVencimento()));
+
+        Iterator<Parcela> proximaParcela = dados.parcelas().iterator();
+        Iterator<CustoVariavel> proximoVariavel = dados.custosVariaveis().iterator();
+        Parcela parcela = proximaParcela.hasNext() ? proximaParcela.next() : null;
+        CustoVariavel variavel = proximoVariavel.hasNext() ? proximoVariavel.next() : null;
+
+        long saldo = emCentavos(dados.saldoAtual());
+        long saldoInicial = saldo;
+        long menorSaldo = Long.MAX_VALUE;
+        LocalDate dataMenorSaldo = null;
+        LocalDate primeiraDataNegativa = null;
+
+        YearMonth mesCorrente = null;
+        long[] fixosPorDia = null;
+
+        for (LocalDate dia = hoje; !dia.isAfter(fim); dia = dia.plusDays(1)) {
+            YearMonth mes = YearMonth.from(dia);
+            if (!mes.equals(mesCorrente)) {
+                mesCorrente = mes;
+                fixosPorDia = custosFixosPorDia(dados.custosFixos(), mes, hoje);
+            }
+
+            long entradas = 0;
+            long saidas = fixosPorDia[dia.getDayOfMonth()];
+
+            while (parcela != null && !parcela.getDataVencimento().isAfter(dia)) {
+                entradas += emCentavos(parcela.getValor());
+                parcela = proximaParcela.hasNext() ? proximaParcela.next() : null;
+            }
+            while (variavel != null && !variavel.getDataLancamento().isAfter(dia)) {
+                saidas += emCentavos(variavel.getValor());
+                variavel = proximoVariavel.hasNext() ? proximoVariavel.next() : null;
+            }
+
+            saldo += entradas - saidas;
+
+            if (dia.isBefore(inicioEfetivo)) {
+                saldoInicial = saldo;
+                continue;
+            }
+
+            if (saldo < menorSaldo) {
+                menorSaldo = saldo;
+                dataMenorSaldo = dia;
+            }
+            if (saldo < 0 && primeiraDataNegativa == null) {
+                primeiraDataNegativa = dia;
+            }
+
+            consumidor.accept(new SaldoDiarioDTO(dia, emReais(entradas), emReais(saidas), emReais(saldo)));
+        }
+
+        log.info("Fluxo diário gerado de {} a {} - menor saldo {} em {}, primeira data negativa: {}",
+                inicioEfetivo, fim, emReais(menorSaldo), dataMenorSaldo, primeiraDataNegativa);
+
+        return ResumoFluxoDiarioDTO.builder()
+                .inicio(inicioEfetivo)
+                .fim(fim)
+                .saldoInicial(emReais(saldoInicial))
+                .saldoFinal(emReais(saldo))
+                .dataMenorSaldo(dataMenorSaldo)
+                .menorSaldo(dataMenorSaldo != null ? emReais(menorSaldo) : null)
+                .primeiraDataNegativa(primeiraDataNegativa)
+                .build();
+    }
+
+    /**
+     * Valida o período solicitado
+     */
+    public void validarPeriodo(LocalDate inicio, LocalDate fim) {
+        if (inicio == null || fim == null || inicio.isAfter(fim)) {
+            throw new IllegalArgumentException("Data de início deve ser anterior ou igual à data de fim");
+        }
+        if (ChronoUnit.DAYS.between(inicio, fim) > DIAS_MAXIMO) {
+            throw new IllegalArgumentException("Período do fluxo diário deve ter no máximo " + DIAS_MAXIMO + " dias");
+        }
+        if (fim.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Data de fim deve ser hoje ou posterior");
+        }
+    }
+
+    /**
+     * Distribui os custos fixos ativos pelos dias de vencimento de um mês
+     * No mês atual, custos já pagos são ignorados e custos atrasados vencem hoje
+     */
+    private long[] custosFixosPorDia(List<CustoFixo> custosFixos, YearMonth mes, LocalDate hoje) {
+        long[] porDia = new long[32];
+        boolean mesAtual = mes.equals(YearMonth.from(hoje));
+
+        for (CustoFixo custo : custosFixos) {
+            if (custo.getCreatedAt() != null && YearMonth.from(custo.getCreatedAt()).isAfter(mes)) {
+                continue;
+            }
+
+            int dia = Math.min(custo.getDiaVencimento(), mes.lengthOfMonth());
+            if (mesAtual) {
+                if (custo.getStatus() == StatusCusto.PAGO) {
+                    continue;
+                }
+                dia = Math.max(dia, hoje.getDayOfMonth());
+            }
+            porDia[dia] += emCentavos(custo.getValor());
+        }
+
+        return porDia;
+    }
+
+    /**
+     * Dados lidos na transação: saldo do livro caixa, parcelas pendentes,
+     * custos variáveis não pagos (já pagos estão no livro caixa) e custos
+     * fixos ativos
+     */
+    private record DadosFluxo(BigDecimal saldoAtual, List<Parcela> parcelas, List<CustoVariavel> custosVariaveis,
+            List<CustoFixo> custosFixos) {
+    }
+
+    private static long emCentavos(BigDecimal valor) {
+        return valor == null ? 0L : valor.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal emReais(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+}
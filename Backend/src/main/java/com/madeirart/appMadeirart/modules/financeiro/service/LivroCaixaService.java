@@ -0,0 +1,436 @@
+package com.madeirart.appMadeirart.modules.financeiro.service;
+
+import com.madeirart.appMadeirart.modules.custos.entity.CustoFixo;
+import com.madeirart.appMadeirart.modules.custos.entity.CustoVariavel;
+import com.madeirart.appMadeirart.modules.custos.repository.CustoFixoRepository;
+import com.madeirart.appMadeirart.modules.custos.repository.CustoVariavelRepository;
+import com.madeirart.appMadeirart.modules.financeiro.dto.LivroCaixaResumoDTO;
+import com.madeirart.appMadeirart.modules.financeiro.entity.MovimentacaoCaixa;
+import com.madeirart.appMadeirart.modules.financeiro.entity.SaldoInicial;
+import com.madeirart.appMadeirart.modules.financeiro.repository.MovimentacaoCaixaRepository;
+import com.madeirart.appMadeirart.modules.financeiro.repository.SaldoInicialRepository;
+import com.madeirart.appMadeirart.modules.orcamento.entity.Parcela;
+import com.madeirart.appMadeirart.modules.orcamento.repository.ParcelaRepository;
+import com.madeirart.appMadeirart.shared.enums.OrigemTransacao;
+import com.madeirart.appMadeirart.shared.enums.StatusCusto;
+import com.madeirart.appMadeirart.shared.enums.StatusParcela;
+import com.madeirart.appMadeirart.shared.enums.TipoTransacao;
+import com.madeirart.appMadeirart.shared.event.DadosFinanceirosAlteradosEvent;
+import com.madeirart.appMadeirart.shared.event.DashboardAlteradoEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service para o livro caixa (registro incremental das movimentações reais de
+ * caixa com saldo acumulado)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LivroCaixaService {
+
+    private final MovimentacaoCaixaRepository movimentacaoCaixaRepository;
+    private final SaldoInicialRepository saldoInicialRepository;
+    private final ParcelaRepository parcelaRepository;
+    private final CustoFixoRepository custoFixoRepository;
+    private final CustoVariavelRepository custoVariavelRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Retorna o saldo atual do caixa (saldo da última movimentação)
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getSaldoAtual() {
+        return movimentacaoCaixaRepository.findTopByOrderByIdDesc()
+                .map(MovimentacaoCaixa::getSaldoApos)
+                .orElse(BigDecimal.ZERO);
+    }
+
+    /**
+     * Retorna o total líquido pago de custos fixos registrado no livro caixa
+     * (pagamentos menos estornos e acertos)
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getTotalPagoCustosFixos() {
+        BigDecimal efeito = movimentacaoCaixaRepository.somarEfeitoPorOrigem(OrigemTransacao.CUSTO_FIXO,
+                TipoTransacao.ENTRADA);
+        return efeito == null ? BigDecimal.ZERO : efeito.negate().setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Retorna o resumo do livro caixa
+     */
+    @Transactional(readOnly = true)
+    public LivroCaixaResumoDTO getResumo() {
+        return movimentacaoCaixaRepository.findTopByOrderByIdDesc()
+                .map(ultima -> LivroCaixaResumoDTO.builder()
+                        .saldoAtual(ultima.getSaldoApos())
+                        .totalMovimentacoes(movimentacaoCaixaRepository.count())
+                        .ultimaMovimentacao(ultima.getDataRegistro())
+                        .build())
+                .orElse(LivroCaixaResumoDTO.builder()
+                        .saldoAtual(BigDecimal.ZERO)
+                        .totalMovimentacoes(0L)
+                        .build());
+    }
+
+    /**
+     * Registra o recebimento de uma parcela
+     */
+    @Transactional
+    public MovimentacaoCaixa registrarRecebimentoParcela(Parcela parcela) {
+        return registrar(TipoTransacao.ENTRADA, OrigemTransacao.PARCELA, parcela.getId(), parcela.getValor(),
+                parcela.getDataPagamento(), descricaoParcela(parcela));
+    }
+
+    /**
+     * Registra o pagamento de um custo variável
+     */
+    @Transactional
+    public MovimentacaoCaixa registrarPagamentoCustoVariavel(CustoVariavel custo) {
+        return registrar(TipoTransacao.SAIDA, OrigemTransacao.CUSTO_VARIAVEL, custo.getId(), custo.getValor(),
+                LocalDate.now(), descricaoCustoVariavel(custo));
+    }
+
+    /**
+     * Registra o estorno de um custo variável que deixou de estar pago
+     */
+    @Transactional
+    public MovimentacaoCaixa registrarEstornoCustoVariavel(CustoVariavel custo) {
+        return registrar(TipoTransacao.ENTRADA, OrigemTransacao.CUSTO_VARIAVEL, custo.getId(), custo.getValor(),
+                LocalDate.now(), "Estorno - " + descricaoCustoVariavel(custo));
+    }
+
+    /**
+     * Registra o acerto de um custo variável pago cujo valor foi alterado
+     * A movimentação corresponde à diferença entre o valor novo e o já pago
+     */
+    @Transactional
+    public Optional<MovimentacaoCaixa> registrarAlteracaoCustoVariavel(CustoVariavel custo) {
+        if (custo.getStatus() != StatusCusto.PAGO) {
+            return Optional.empty();
+        }
+        return acertar(OrigemTransacao.CUSTO_VARIAVEL, custo.getId(), null, custo.getValor().negate(),
+                descricaoCustoVariavel(custo));
+    }
+
+    /**
+     * Registra o estorno de tudo o que foi pago de um custo variável excluído
+     */
+    @Transactional
+    public Optional<MovimentacaoCaixa> registrarExclusaoCustoVariavel(CustoVariavel custo) {
+        return acertar(OrigemTransacao.CUSTO_VARIAVEL, custo.getId(), null, BigDecimal.ZERO,
+                descricaoCustoVariavel(custo));
+    }
+
+    /**
+     * Registra o pagamento de um custo fixo no mês atual
+     * Não registra nada se o pagamento do mês já consta no livro caixa
+     */
+    @Transactional
+    public Optional<MovimentacaoCaixa> registrarPagamentoCustoFixo(CustoFixo custo) {
+        return acertar(OrigemTransacao.CUSTO_FIXO, custo.getId(), competenciaAtual(), custo.getValor().negate(),
+                descricaoCustoFixo(custo));
+    }
+
+    /**
+     * Registra o estorno do pagamento de um custo fixo no mês atual
+     * O custo volta a PENDENTE também quando começa um mês novo; nesse caso o
+     * pagamento é de um mês anterior e não há o que estornar
+     */
+    @Transactional
+    public Optional<MovimentacaoCaixa> registrarEstornoCustoFixo(CustoFixo custo) {
+        return acertar(OrigemTransacao.CUSTO_FIXO, custo.getId(), competenciaAtual(), BigDecimal.ZERO,
+                descricaoCustoFixo(custo));
+    }
+
+    /**
+     * Registra o acerto do pagamento do mês atual de um custo fixo cujo valor
+     * foi alterado; os meses anteriores foram pagos com o valor antigo
+     */
+    @Transactional
+    public Optional<MovimentacaoCaixa> registrarAlteracaoCustoFixo(CustoFixo custo) {
+        LocalDate competencia = competenciaAtual();
+        if (efeitoNoCaixa(OrigemTransacao.CUSTO_FIXO, custo.getId(), competencia).signum() == 0) {
+            return Optional.empty();
+        }
+        return acertar(OrigemTransacao.CUSTO_FIXO, custo.getId(), competencia, custo.getValor().negate(),
+                descricaoCustoFixo(custo));
+    }
+
+    /**
+     * Registra o estorno de todos os meses pagos de um custo fixo excluído
+     */
+    @Transactional
+    public Optional<MovimentacaoCaixa> registrarExclusaoCustoFixo(CustoFixo custo) {
+        return acertar(OrigemTransacao.CUSTO_FIXO, custo.getId(), null, BigDecimal.ZERO,
+                descricaoCustoFixo(custo));
+    }
+
+    /**
+     * Registra o estorno do recebimento de uma parcela excluída com o orçamento
+     */
+    @Transactional
+    public Optional<MovimentacaoCaixa> registrarExclusaoParcela(Parcela parcela) {
+        return acertar(OrigemTransacao.PARCELA, parcela.getId(), null, BigDecimal.ZERO, descricaoParcela(parcela));
+    }
+
+    /**
+     * Registra o ajuste causado pela alteração do saldo inicial
+     * A movimentação corresponde à diferença entre o valor novo e o anterior
+     */
+    @Transactional
+    public void registrarAjusteSaldoInicial(Long saldoInicialId, BigDecimal valorAnterior, BigDecimal valorNovo) {
+        BigDecimal diferenca = valorNovo.subtract(valorAnterior);
+        if (diferenca.signum() == 0) {
+            return;
+        }
+
+        TipoTransacao tipo = diferenca.signum() > 0 ? TipoTransacao.ENTRADA : TipoTransacao.SAIDA;
+        registrar(tipo, OrigemTransacao.SALDO_INICIAL, saldoInicialId, diferenca.abs(), LocalDate.now(),
+                "Ajuste de saldo inicial");
+    }
+
+    /**
+     * Reconstrói o livro caixa a partir do histórico
+     * Reprocessa saldo inicial, parcelas PAGAS, custos variáveis PAGOS e os
+     * meses pagos de cada custo fixo em ordem cronológica, recalculando o saldo
+     * acumulado de cada movimentação. Os meses pagos dos custos fixos só
+     * existem no próprio livro caixa: são lidos dele antes de apagá-lo, e um
+     * custo PAGO sem pagamento registrado conta no mês da última alteração
+     */
+    @Transactional
+    public LivroCaixaResumoDTO reconstruir() {
+        log.info("Reconstruindo livro caixa a partir do histórico");
+
+        List<MovimentacaoCaixa> eventos = new ArrayList<>(pagamentosDeCustosFixos());
+
+        movimentacaoCaixaRepository.apagarTodas();
+
+        List<MovimentacaoCaixa> movimentacoes = new ArrayList<>();
+
+        saldoInicialRepository.findFirst()
+                .filter(saldo -> saldo.getValor().signum() != 0)
+                .map(this::movimentacaoDoSaldoInicial)
+                .ifPresent(movimentacoes::add);
+
+        for (Parcela parcela : parcelaRepository.findByStatus(StatusParcela.PAGO)) {
+            LocalDate data = parcela.getDataPagamento() != null
+                    ? parcela.getDataPagamento()
+                    : parcela.getDataVencimento();
+            eventos.add(novaMovimentacao(TipoTransacao.ENTRADA, OrigemTransacao.PARCELA, parcela.getId(),
+                    parcela.getValor(), data, descricaoParcela(parcela)));
+        }
+        for (CustoVariavel custo : custoVariavelRepository.findByStatus(StatusCusto.PAGO)) {
+            LocalDate data = custo.getUpdatedAt() != null ? custo.getUpdatedAt() : custo.getDataLancamento();
+            eventos.add(novaMovimentacao(TipoTransacao.SAIDA, OrigemTransacao.CUSTO_VARIAVEL, custo.getId(),
+                    custo.getValor(), data, descricaoCustoVariavel(custo)));
+        }
+
+        eventos.sort(Comparator.comparing(MovimentacaoCaixa::getDataMovimento));
+        movimentacoes.addAll(eventos);
+
+        BigDecimal saldo = BigDecimal.ZERO;
+        for (MovimentacaoCaixa movimentacao : movimentacoes) {
+            saldo = aplicar(saldo, movimentacao.getTipo(), movimentacao.getValor());
+            movimentacao.setSaldoApos(saldo);
+        }
+
+        movimentacaoCaixaRepository.saveAll(movimentacoes);
+        eventPublisher.publishEvent(DadosFinanceirosAlteradosEvent.doSaldo());
+        eventPublisher.publishEvent(DashboardAlteradoEvent.saldoAlterado(saldo));
+
+        log.info("Livro caixa reconstruído - {} movimentação(ões), saldo atual: {}", movimentacoes.size(), saldo);
+
+        return LivroCaixaResumoDTO.builder()
+                .saldoAtual(saldo)
+                .totalMovimentacoes((long) movimentacoes.size())
+                .ultimaMovimentacao(movimentacoes.isEmpty() ? null
+                        : movimentacoes.get(movimentacoes.size() - 1).getDataRegistro())
+                .build();
+    }
+
+    /**
+     * Reconstrói o livro caixa apenas se ele ainda não possuir movimentações
+     *
+     * @return true se a reconstrução foi executada
+     */
+    @Transactional
+    public boolean reconstruirSeVazio() {
+        if (movimentacaoCaixaRepository.count() > 0) {
+            return false;
+        }
+        reconstruir();
+        return true;
+    }
+
+    /**
+     * Um pagamento por custo fixo existente e mês de competência, com o valor
+     * líquido registrado no livro caixa (pagamentos menos estornos e acertos)
+     */
+    private List<MovimentacaoCaixa> pagamentosDeCustosFixos() {
+        Map<Long, CustoFixo> custos = custoFixoRepository.findAll().stream()
+                .collect(Collectors.toMap(CustoFixo::getId, Function.identity()));
+
+        Map<Long, Map<LocalDate, MovimentacaoCaixa>> pagamentos = new LinkedHashMap<>();
+        for (MovimentacaoCaixa registrada : movimentacaoCaixaRepository.findByOrigemOrderById(
+                OrigemTransacao.CUSTO_FIXO)) {
+            CustoFixo custo = custos.get(registrada.getOrigemId());
+            if (custo == null) {
+                continue;
+            }
+            LocalDate competencia = registrada.getCompetencia() != null
+                    ? registrada.getCompetencia()
+                    : registrada.getDataMovimento().withDayOfMonth(1);
+            MovimentacaoCaixa pagamento = pagamentos.computeIfAbsent(custo.getId(), id -> new HashMap<>())
+                    .computeIfAbsent(competencia, mes -> novaMovimentacaoCustoFixo(custo, BigDecimal.ZERO,
+                            registrada.getDataMovimento(), mes));
+            pagamento.setValor(registrada.getTipo() == TipoTransacao.SAIDA
+                    ? pagamento.getValor().add(registrada.getValor())
+                    : pagamento.getValor().subtract(registrada.getValor()));
+        }
+
+        for (CustoFixo custo : custos.values()) {
+            if (custo.getStatus() != StatusCusto.PAGO) {
+                continue;
+            }
+            LocalDate data = custo.getUpdatedAt() != null ? custo.getUpdatedAt() : custo.getCreatedAt();
+            data = data != null ? data : LocalDate.now();
+            pagamentos.computeIfAbsent(custo.getId(), id -> new HashMap<>())
+                    .putIfAbsent(data.withDayOfMonth(1),
+                            novaMovimentacaoCustoFixo(custo, custo.getValor(), data, data.withDayOfMonth(1)));
+        }
+
+        return pagamentos.values().stream()
+                .flatMap(porMes -> porMes.values().stream())
+                .filter(pagamento -> pagamento.getValor().signum() > 0)
+                .toList();
+    }
+
+    private MovimentacaoCaixa novaMovimentacaoCustoFixo(CustoFixo custo, BigDecimal valor, LocalDate data,
+            LocalDate competencia) {
+        MovimentacaoCaixa movimentacao = novaMovimentacao(TipoTransacao.SAIDA, OrigemTransacao.CUSTO_FIXO,
+                custo.getId(), valor, data, descricaoCustoFixo(custo));
+        movimentacao.setCompetencia(competencia);
+        return movimentacao;
+    }
+
+    /**
+     * Leva o efeito no caixa de um registro de origem (no mês de competência,
+     * se informado) ao valor esperado, registrando a diferença: saída ao pagar,
+     * entrada ao estornar, uma ou outra ao acertar um valor alterado
+     *
+     * @param efeitoEsperado efeito total esperado (entradas positivas, saídas negativas)
+     */
+    private Optional<MovimentacaoCaixa> acertar(OrigemTransacao origem, Long origemId, LocalDate competencia,
+            BigDecimal efeitoEsperado, String descricao) {
+        BigDecimal diferenca = efeitoEsperado.subtract(efeitoNoCaixa(origem, origemId, competencia));
+        if (diferenca.signum() == 0) {
+            return Optional.empty();
+        }
+
+        TipoTransacao tipo = diferenca.signum() > 0 ? TipoTransacao.ENTRADA : TipoTransacao.SAIDA;
+        String prefixo = efeitoEsperado.signum() == 0 ? "Estorno - "
+                : efeitoEsperado.abs().compareTo(diferenca.abs()) == 0 ? "" : "Acerto - ";
+        return Optional.of(registrar(tipo, origem, origemId, diferenca.abs(), LocalDate.now(), competencia,
+                prefixo + descricao));
+    }
+
+    /**
+     * Efeito já registrado no caixa por um registro de origem (no mês de
+     * competência, se informado), em escala monetária
+     */
+    private BigDecimal efeitoNoCaixa(OrigemTransacao origem, Long origemId, LocalDate competencia) {
+        BigDecimal efeito = competencia == null
+                ? movimentacaoCaixaRepository.somarEfeitoPorOrigem(origem, origemId, TipoTransacao.ENTRADA)
+                : movimentacaoCaixaRepository.somarEfeitoPorOrigemECompetencia(origem, origemId, competencia,
+                        TipoTransacao.ENTRADA);
+        return efeito == null ? BigDecimal.ZERO : efeito.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private LocalDate competenciaAtual() {
+        return LocalDate.now().withDayOfMonth(1);
+    }
+
+    /**
+     * Registra uma movimentação calculando o saldo a partir da última linha
+     */
+    private MovimentacaoCaixa registrar(TipoTransacao tipo, OrigemTransacao origem, Long origemId,
+            BigDecimal valor, LocalDate data, String descricao) {
+        return registrar(tipo, origem, origemId, valor, data, null, descricao);
+    }
+
+    private MovimentacaoCaixa registrar(TipoTransacao tipo, OrigemTransacao origem, Long origemId,
+            BigDecimal valor, LocalDate data, LocalDate competencia, String descricao) {
+        BigDecimal saldoAnterior = getSaldoAtual();
+
+        MovimentacaoCaixa movimentacao = novaMovimentacao(tipo, origem, origemId, valor, data, descricao);
+        movimentacao.setCompetencia(competencia);
+        movimentacao.setSaldoApos(aplicar(saldoAnterior, tipo, valor));
+
+        MovimentacaoCaixa saved = movimentacaoCaixaRepository.save(movimentacao);
+        // A projeção de caixa, e com ela o dashboard, lê o saldo do livro caixa:
+        // o cache é invalidado junto com o envio do novo saldo
+        eventPublisher.publishEvent(DadosFinanceirosAlteradosEvent.doSaldo());
+        eventPublisher.publishEvent(DashboardAlteradoEvent.saldoAlterado(saved.getSaldoApos()));
+        log.info("Movimentação registrada no livro caixa - {} {} de {} (origem {} #{}), saldo: {}",
+                tipo, valor, data, origem, origemId, saved.getSaldoApos());
+        return saved;
+    }
+
+    /**
+     * Cria a movimentação equivalente ao saldo inicial cadastrado
+     */
+    private MovimentacaoCaixa movimentacaoDoSaldoInicial(SaldoInicial saldoInicial) {
+        TipoTransacao tipo = saldoInicial.getValor().signum() > 0 ? TipoTransacao.ENTRADA : TipoTransacao.SAIDA;
+        LocalDate data = saldoInicial.getDataRegistro() != null
+                ? saldoInicial.getDataRegistro().toLocalDate()
+                : LocalDate.now();
+        return novaMovimentacao(tipo, OrigemTransacao.SALDO_INICIAL, saldoInicial.getId(),
+                saldoInicial.getValor().abs(), data, "Saldo inicial");
+    }
+
+    private String descricaoParcela(Parcela parcela) {
+        return "Parcela " + parcela.getNumeroParcela() + " - Orçamento #" + parcela.getOrcamento().getId();
+    }
+
+    private String descricaoCustoVariavel(CustoVariavel custo) {
+        return custo.getNome() + " (Variável)";
+    }
+
+    private String descricaoCustoFixo(CustoFixo custo) {
+        return custo.getNome() + " (Fixo)";
+    }
+
+    private MovimentacaoCaixa novaMovimentacao(TipoTransacao tipo, OrigemTransacao origem, Long origemId,
+            BigDecimal valor, LocalDate data, String descricao) {
+        return MovimentacaoCaixa.builder()
+                .tipo(tipo)
+                .origem(origem)
+                .origemId(origemId)
+                .valor(valor)
+                .dataMovimento(data)
+                .descricao(descricao)
+                .build();
+    }
+
+    private BigDecimal aplicar(BigDecimal saldo, TipoTransacao tipo, BigDecimal valor) {
+        return tipo == TipoTransacao.ENTRADA ? saldo.add(valor) : saldo.subtract(valor);
+    }
+}
@@ -1,28 +1,33 @@
 package com.madeirart.appMadeirart.modules.financeiro.service;
 
 import com.madeirart.appMadeirart.modules.custos.entity.CustoFixo;
-import com.madeirart.appMadeirart.modules.custos.entity.CustoVariavel;
 import com.madeirart.appMadeirart.modules.custos.repository.CustoFixoRepository;
 import com.madeirart.appMadeirart.modules.custos.repository.CustoVariavelRepository;
 import com.madeirart.appMadeirart.modules.financeiro.dto.*;
 import com.madeirart.appMadeirart.modules.financeiro.entity.SaldoInicial;
 import com.madeirart.appMadeirart.modules.financeiro.repository.SaldoInicialRepository;
-import com.madeirart.appMadeirart.modules.orcamento.entity.Parcela;
 import com.madeirart.appMadeirart.modules.orcamento.repository.ParcelaRepository;
+import com.madeirart.appMadeirart.shared.config.CacheConfig;
 import com.madeirart.appMadeirart.shared.enums.OrigemTransacao;
+import com.madeirart.appMadeirart.shared.enums.StatusCusto;
 import com.madeirart.appMadeirart.shared.enums.StatusParcela;
+import com.madeirart.appMadeirart.shared.event.DadosFinanceirosAlteradosEvent;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -34,10 +39,17 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ProjecaoCaixaService {
 
+    /**
+     * Quantidade máxima de meses aceita na projeção de caixa
+     */
+    public static final int MESES_PROJECAO_MAXIMO = 36;
+
     private final SaldoInicialRepository saldoInicialRepository;
     private final ParcelaRepository parcelaRepository;
     private final CustoFixoRepository custoFixoRepository;
     private final CustoVariavelRepository custoVariavelRepository;
+    private final LivroCaixaService livroCaixaService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Busca o saldo inicial cadastrado
@@ -49,41 +61,55 @@ public class ProjecaoCaixaService {
     }
 
     /**
-     * Calcula o saldo atual acumulado
-     * Fórmula: Saldo Inicial + Parcelas PAGAS - Custos até hoje
+     * Calcula o saldo acumulado pela fórmula, a partir dos registros de origem
+     * Fórmula: Saldo Inicial + Parcelas PAGAS - Custos variáveis PAGOS - Custos
+     * fixos pagos
+     * É a referência na verificação de consistência do livro caixa e segue a
+     * mesma definição dele: só conta o que foi marcado como pago. Os meses
+     * pagos de cada custo fixo só existem no livro caixa, então o total pago de
+     * custos fixos vem dele
      */
-    private BigDecimal calcularSaldoAtual(BigDecimal saldoInicial) {
-        LocalDate hoje = LocalDate.now();
+    private BigDecimal calcularSaldoPelaFormula(BigDecimal saldoInicial) {
+        // Somar todas as parcelas já pagas (agregado no banco)
+        BigDecimal totalParcelasPagas = normalizarValor(parcelaRepository.somarValorPorStatus(StatusParcela.PAGO));
 
-        // Somar todas as parcelas já pagas
-        BigDecimal totalParcelasPagas = parcelaRepository.findAll().stream()
-                .filter(p -> p.getStatus() == StatusParcela.PAGO)
-                .map(Parcela::getValor)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Somar todos os custos variáveis pagos (agregado no banco)
+        BigDecimal totalCustosVariaveis = normalizarValor(
+                custoVariavelRepository.somarValorPorStatus(StatusCusto.PAGO));
 
-        // Somar todos os custos variáveis até hoje
-        BigDecimal totalCustosVariaveis = custoVariavelRepository.findAll().stream()
-                .filter(c -> !c.getDataLancamento().isAfter(hoje))
-                .map(CustoVariavel::getValor)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Calcular custos fixos de todos os meses passados até hoje
-        BigDecimal totalCustosFixosPassados = calcularCustosFixosAteHoje(hoje);
+        // Total líquido pago dos custos fixos, mês a mês
+        BigDecimal totalCustosFixosPagos = livroCaixaService.getTotalPagoCustosFixos();
 
         // Fórmula final
         BigDecimal saldoAtual = saldoInicial
                 .add(totalParcelasPagas)
                 .subtract(totalCustosVariaveis)
-                .subtract(totalCustosFixosPassados);
+                .subtract(totalCustosFixosPagos);
 
         log.info("Saldo calculado - Inicial: {}, Pagas: {}, Custos Var: {}, Custos Fixos: {}, Saldo Atual: {}",
-                saldoInicial, totalParcelasPagas, totalCustosVariaveis, totalCustosFixosPassados, saldoAtual);
+                saldoInicial, totalParcelasPagas, totalCustosVariaveis, totalCustosFixosPagos, saldoAtual);
 
         return saldoAtual;
     }
 
+    /**
+     * Normaliza o resultado de um SUM do SQLite para escala monetária (2 casas)
+     * O SQLite armazena DECIMAL como REAL, então a soma pode trazer resíduo de
+     * ponto flutuante
+     */
+    private BigDecimal normalizarValor(BigDecimal valor) {
+        return valor == null ? BigDecimal.ZERO : valor.setScale(2, RoundingMode.HALF_UP);
+    }
+
     /**
      * Projeta os próximos N meses
+     * Parcelas pendentes e custos variáveis do horizonte inteiro são buscados com
+     * uma única consulta cada e agrupados por mês em uma só passada; os custos
+     * fixos ativos são buscados uma vez e expandidos para cada mês
+     * O saldo de partida é o do livro caixa, que só contém o que já foi pago. O
+     * que ainda está em aberto no mês atual (parcelas pendentes a partir de
+     * hoje, custos fixos não pagos do mês e custos variáveis não pagos,
+     * inclusive os atrasados) entra no primeiro mês projetado
      */
     private List<MesProjecaoDTO> projetarProximosMeses(int quantidadeMeses, BigDecimal saldoInicialProjecao) {
         List<MesProjecaoDTO> meses = new ArrayList<>();
@@ -92,22 +118,27 @@ public class ProjecaoCaixaService {
 
         // Começar do próximo mês
         YearMonth mesInicio = YearMonth.from(hoje).plusMonths(1);
+        YearMonth mesFim = mesInicio.plusMonths(quantidadeMeses - 1L);
+
+        Map<YearMonth, List<ItemProjecaoDTO>> entradasPorMes = buscarEntradasPrevistas(hoje, mesFim, mesInicio);
+        Map<YearMonth, List<ItemProjecaoDTO>> variaveisPorMes = buscarCustosVariaveisPrevistos(mesFim, mesInicio);
+        List<CustoFixo> custosFixos = custoFixoRepository.findByAtivoTrueOrderByDiaVencimento();
 
         for (int i = 0; i < quantidadeMeses; i++) {
             YearMonth mesProjetado = mesInicio.plusMonths(i);
 
-            // Buscar entradas previstas (parcelas PENDENTES)
-            List<ItemProjecaoDTO> entradas = buscarEntradasPrevistas(mesProjetado);
-            BigDecimal totalEntradas = entradas.stream()
-                    .map(ItemProjecaoDTO::valor)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            // Entradas previstas (parcelas PENDENTES)
+            List<ItemProjecaoDTO> entradas = entradasPorMes.getOrDefault(mesProjetado, List.of());
+            BigDecimal totalEntradas = somarItens(entradas);
 
-            // Buscar saídas previstas (custos fixos projetados + custos variáveis
-            // cadastrados)
-            List<ItemProjecaoDTO> saidas = buscarSaidasPrevistas(mesProjetado);
-            BigDecimal totalSaidas = saidas.stream()
-                    .map(ItemProjecaoDTO::valor)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            // Saídas previstas (custos fixos projetados + custos variáveis não pagos)
+            List<ItemProjecaoDTO> saidas = new ArrayList<>();
+            if (i == 0) {
+                saidas.addAll(custosFixosEmAberto(custosFixos, hoje));
+            }
+            saidas.addAll(projetarCustosFixos(custosFixos, mesProjetado));
+            saidas.addAll(variaveisPorMes.getOrDefault(mesProjetado, List.of()));
+            BigDecimal totalSaidas = somarItens(saidas);
 
             // Calcular saldo final do mês
             BigDecimal saldoFinal = saldoAcumulado.add(totalEntradas).subtract(totalSaidas);
@@ -133,19 +164,34 @@ public class ProjecaoCaixaService {
     }
 
     /**
-     * Retorna a projeção completa de caixa
+     * Soma os valores de uma lista de itens da projeção
+     */
+    private BigDecimal somarItens(List<ItemProjecaoDTO> itens) {
+        return itens.stream()
+                .map(ItemProjecaoDTO::valor)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    /**
+     * Retorna a projeção completa de caixa para os próximos N meses
+     * O resultado fica em cache por horizonte até uma escrita afetá-lo
      */
     @Transactional(readOnly = true)
-    public ProjecaoCaixaDTO getProjecaoCaixa() {
-        log.info("Calculando projeção de caixa");
+    @Cacheable(value = CacheConfig.PROJECAO_CAIXA, key = "#quantidadeMeses")
+    public ProjecaoCaixaDTO getProjecaoCaixa(int quantidadeMeses) {
+        if (quantidadeMeses < 1 || quantidadeMeses > MESES_PROJECAO_MAXIMO) {
+            throw new IllegalArgumentException(
+                    "Quantidade de meses da projeção deve estar entre 1 e " + MESES_PROJECAO_MAXIMO);
+        }
+
+        log.info("Calculando projeção de caixa para {} mês(es)", quantidadeMeses);
 
         BigDecimal saldoInicialCadastrado = buscarSaldoInicial();
 
-        // Calcular saldo atual
-        BigDecimal saldoAtual = calcularSaldoAtual(saldoInicialCadastrado);
+        // Saldo atual do livro caixa
+        BigDecimal saldoAtual = livroCaixaService.getSaldoAtual();
 
-        // Projetar próximos 2 meses
-        List<MesProjecaoDTO> mesesProjetados = projetarProximosMeses(2, saldoAtual);
+        List<MesProjecaoDTO> mesesProjetados = projetarProximosMeses(quantidadeMeses, saldoAtual);
 
         return ProjecaoCaixaDTO.builder()
                 .saldoAtual(saldoAtual)
@@ -156,47 +202,39 @@ public class ProjecaoCaixaService {
     }
 
     /**
-     * Calcula o total de custos fixos desde o início até hoje
+     * Compara o saldo do livro caixa com o saldo calculado pela fórmula
      */
-    private BigDecimal calcularCustosFixosAteHoje(LocalDate hoje) {
-        List<CustoFixo> custosFixosAtivos = custoFixoRepository.findByAtivoTrueOrderByDiaVencimento();
-
-        if (custosFixosAtivos.isEmpty()) {
-            return BigDecimal.ZERO;
-        }
-
-        BigDecimal total = BigDecimal.ZERO;
-
-        // Assumir que o sistema começou no mês/ano do primeiro custo fixo criado
-        // ou usar uma data fixa como referência
-        // Para simplificar, vamos calcular desde janeiro do ano passado até o mês atual
-        LocalDate dataInicio = LocalDate.of(hoje.getYear() - 1, 1, 1);
-        YearMonth mesAtual = YearMonth.from(hoje);
-
-        for (YearMonth mes = YearMonth.from(dataInicio); !mes.isAfter(mesAtual); mes = mes.plusMonths(1)) {
-            for (CustoFixo custo : custosFixosAtivos) {
-                // Verificar se a data de criação do custo é antes ou no mês atual da iteração
-                if (custo.getCreatedAt() != null && YearMonth.from(custo.getCreatedAt()).isAfter(mes)) {
-                    continue; // Custo ainda não existia nesse mês
-                }
-
-                total = total.add(custo.getValor());
-            }
+    @Transactional(readOnly = true)
+    public ConsistenciaLivroCaixaDTO verificarConsistenciaLivroCaixa() {
+        BigDecimal saldoLivroCaixa = livroCaixaService.getSaldoAtual();
+        BigDecimal saldoFormula = calcularSaldoPelaFormula(buscarSaldoInicial());
+        BigDecimal diferenca = saldoLivroCaixa.subtract(saldoFormula);
+        boolean consistente = diferenca.signum() == 0;
+
+        if (!consistente) {
+            log.warn("Livro caixa divergente da fórmula - Livro: {}, Fórmula: {}, Diferença: {}",
+                    saldoLivroCaixa, saldoFormula, diferenca);
         }
 
-        return total;
+        return ConsistenciaLivroCaixaDTO.builder()
+                .saldoLivroCaixa(saldoLivroCaixa)
+                .saldoFormula(saldoFormula)
+                .diferenca(diferenca)
+                .consistente(consistente)
+                .dataVerificacao(LocalDateTime.now())
+                .build();
     }
 
     /**
-     * Busca as entradas previstas para um mês específico
+     * Busca as entradas previstas (parcelas PENDENTES) de hoje até o fim do
+     * período, agrupadas por mês de vencimento; as do mês atual ficam no
+     * primeiro mês projetado
      */
-    private List<ItemProjecaoDTO> buscarEntradasPrevistas(YearMonth mes) {
-        LocalDate primeiroDia = mes.atDay(1);
-        LocalDate ultimoDia = mes.atEndOfMonth();
-
-        return parcelaRepository.findAll().stream()
-                .filter(p -> p.getStatus() == StatusParcela.PENDENTE)
-                .filter(p -> !p.getDataVencimento().isBefore(primeiroDia) && !p.getDataVencimento().isAfter(ultimoDia))
+    private Map<YearMonth, List<ItemProjecaoDTO>> buscarEntradasPrevistas(LocalDate hoje, YearMonth mesFim,
+            YearMonth mesInicio) {
+        return parcelaRepository.findByStatusAndDataVencimentoBetweenOrderByDataVencimento(
+                StatusParcela.PENDENTE, hoje, mesFim.atEndOfMonth())
+                .stream()
                 .map(p -> ItemProjecaoDTO.builder()
                         .id(p.getId())
                         .descricao("Parcela " + p.getNumeroParcela() + " - Orçamento #" + p.getOrcamento().getId())
@@ -205,46 +243,91 @@ public class ProjecaoCaixaService {
                         .origem(OrigemTransacao.PARCELA)
                         .status(p.getStatus().name())
                         .build())
-                .collect(Collectors.toList());
+                .collect(Collectors.groupingBy(item -> mesNaProjecao(item.data(), mesInicio)));
+    }
+
+    /**
+     * Busca os custos variáveis não pagos lançados até o fim do período,
+     * agrupados por mês de lançamento; os do mês atual e os atrasados ficam no
+     * primeiro mês projetado
+     */
+    private Map<YearMonth, List<ItemProjecaoDTO>> buscarCustosVariaveisPrevistos(YearMonth mesFim,
+            YearMonth mesInicio) {
+        return custoVariavelRepository.findByStatusNotAndDataLancamentoLessThanEqualOrderByDataLancamento(
+                StatusCusto.PAGO, mesFim.atEndOfMonth())
+                .stream()
+                .map(custo -> ItemProjecaoDTO.builder()
+                        .id(custo.getId())
+                        .descricao(custo.getNome() + " (Variável)")
+                        .valor(custo.getValor())
+                        .data(custo.getDataLancamento())
+                        .origem(OrigemTransacao.CUSTO_VARIAVEL)
+                        .status("PREVISTO")
+                        .build())
+                .collect(Collectors.groupingBy(item -> mesNaProjecao(item.data(), mesInicio)));
     }
 
     /**
-     * Busca as saídas previstas para um mês específico
+     * Mês da projeção em que entra um item: o do próprio item, ou o primeiro
+     * mês projetado para itens de antes dele
      */
-    private List<ItemProjecaoDTO> buscarSaidasPrevistas(YearMonth mes) {
+    private YearMonth mesNaProjecao(LocalDate data, YearMonth mesInicio) {
+        YearMonth mes = YearMonth.from(data);
+        return mes.isBefore(mesInicio) ? mesInicio : mes;
+    }
+
+    /**
+     * Custos fixos ativos ainda não pagos no mês atual; os já vencidos vencem
+     * hoje
+     */
+    private List<ItemProjecaoDTO> custosFixosEmAberto(List<CustoFixo> custosFixos, LocalDate hoje) {
+        YearMonth mesAtual = YearMonth.from(hoje);
         List<ItemProjecaoDTO> saidas = new ArrayList<>();
-        LocalDate primeiroDia = mes.atDay(1);
-        LocalDate ultimoDia = mes.atEndOfMonth();
 
-        // Adicionar custos fixos projetados
-        List<CustoFixo> custosFixos = custoFixoRepository.findByAtivoTrueOrderByDiaVencimento();
         for (CustoFixo custo : custosFixos) {
-            if (custo.getCreatedAt() != null && YearMonth.from(custo.getCreatedAt()).isAfter(mes)) {
+            if (custo.getStatus() == StatusCusto.PAGO) {
+                continue;
+            }
+            if (custo.getCreatedAt() != null && YearMonth.from(custo.getCreatedAt()).isAfter(mesAtual)) {
                 continue;
             }
 
-            int diaVencimento = Math.min(custo.getDiaVencimento(), mes.lengthOfMonth());
-            LocalDate dataVencimento = mes.atDay(diaVencimento);
+            int diaVencimento = Math.max(Math.min(custo.getDiaVencimento(), mesAtual.lengthOfMonth()),
+                    hoje.getDayOfMonth());
 
             saidas.add(ItemProjecaoDTO.builder()
                     .id(custo.getId())
                     .descricao(custo.getNome() + " (Fixo)")
                     .valor(custo.getValor())
-                    .data(dataVencimento)
+                    .data(mesAtual.atDay(diaVencimento))
                     .origem(OrigemTransacao.CUSTO_FIXO)
-                    .status("PREVISTO")
+                    .status(custo.getStatus().name())
                     .build());
         }
 
-        List<CustoVariavel> custosVariaveis = custoVariavelRepository.findByDataLancamentoBetween(primeiroDia,
-                ultimoDia);
-        for (CustoVariavel custo : custosVariaveis) {
+        return saidas;
+    }
+
+    /**
+     * Projeta os custos fixos ativos para um mês específico
+     */
+    private List<ItemProjecaoDTO> projetarCustosFixos(List<CustoFixo> custosFixos, YearMonth mes) {
+        List<ItemProjecaoDTO> saidas = new ArrayList<>();
+
+        for (CustoFixo custo : custosFixos) {
+            if (custo.getCreatedAt() != null && YearMonth.from(custo.getCreatedAt()).isAfter(mes)) {
+                continue;
+            }
+
+            int diaVencimento = Math.min(custo.getDiaVencimento(), mes.lengthOfMonth());
+            LocalDate dataVencimento = mes.atDay(diaVencimento);
+
             saidas.add(ItemProjecaoDTO.builder()
                     .id(custo.getId())
-                    .descricao(custo.getNome() + " (Variável)")
+                    .descricao(custo.getNome() + " (Fixo)")
                     .valor(custo.getValor())
-                    .data(custo.getDataLancamento())
-                    .origem(OrigemTransacao.CUSTO_VARIAVEL)
+                    .data(dataVencimento)
+                    .origem(OrigemTransacao.CUSTO_FIXO)
                     .status("PREVISTO")
                     .build());
         }
@@ -262,8 +345,10 @@ public class ProjecaoCaixaService {
         Optional<SaldoInicial> existente = saldoInicialRepository.findFirst();
 
         SaldoInicial saldoInicial;
+        BigDecimal valorAnterior = BigDecimal.ZERO;
         if (existente.isPresent()) {
             saldoInicial = existente.get();
+            valorAnterior = saldoInicial.getValor();
             saldoInicial.setValor(dto.valor());
             saldoInicial.setObservacao(dto.observacao());
         } else {
@@ -274,6 +359,8 @@ public class ProjecaoCaixaService {
         }
 
         saldoInicial = saldoInicialRepository.save(saldoInicial);
+        livroCaixaService.registrarAjusteSaldoInicial(saldoInicial.getId(), valorAnterior, dto.valor());
+        eventPublisher.publishEvent(DadosFinanceirosAlteradosEvent.doSaldo());
 
         return convertToDTO(saldoInicial);
     }
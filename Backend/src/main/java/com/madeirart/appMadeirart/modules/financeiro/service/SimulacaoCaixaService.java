@@ -0,0 +1,241 @@
+package com.madeirart.appMadeirart.modules.financeiro.service;
+
+import com.madeirart.appMadeirart.modules.financeiro.dto.ItemProjecaoDTO;
+import com.madeirart.appMadeirart.modules.financeiro.dto.MesProjecaoDTO;
+import com.madeirart.appMadeirart.modules.financeiro.dto.MesSimulacaoDTO;
+import com.madeirart.appMadeirart.modules.financeiro.dto.ParametrosSimulacaoDTO;
+import com.madeirart.appMadeirart.modules.financeiro.dto.ProjecaoCaixaDTO;
+import com.madeirart.appMadeirart.modules.financeiro.dto.SimulacaoCaixaDTO;
+import com.madeirart.appMadeirart.shared.enums.OrigemTransacao;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Service para simulação de risco do fluxo de caixa (Monte Carlo)
+ * Parte da projeção de caixa e sorteia, em cada cenário, se cada parcela
+ * pendente é paga em dia, com atraso ou não é paga. Os cenários rodam em
+ * paralelo sobre arrays de centavos (long), sem criar BigDecimal no laço
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SimulacaoCaixaService {
+
+    public static final int CENARIOS_MAXIMO = 100_000;
+
+    /**
+     * Quantidade de cenários processados por tarefa paralela
+     */
+    private static final int CENARIOS_POR_BLOCO = 512;
+
+    private final ProjecaoCaixaService projecaoCaixaService;
+
+    /**
+     * Executa a simulação de risco para os parâmetros informados
+     */
+    public SimulacaoCaixaDTO simular(ParametrosSimulacaoDTO parametros) {
+        validar(parametros);
+
+        long inicio = System.nanoTime();
+        int meses = parametros.meses();
+        int cenarios = parametros.quantidadeCenarios();
+
+        ProjecaoCaixaDTO projecao = projecaoCaixaService.getProjecaoCaixa(meses);
+        List<MesProjecaoDTO> mesesProjetados = projecao.mesesProjetados();
+
+        // Saídas são determinísticas; parcelas pendentes viram pares (mês, centavos)
+        long[] saidasPorMes = new long[meses];
+        List<long[]> parcelas = new ArrayList<>();
+        for (int m = 0; m < meses; m++) {
+            MesProjecaoDTO mes = mesesProjetados.get(m);
+            saidasPorMes[m] = emCentavos(mes.totalSaidasPrevistas());
+            for (ItemProjecaoDTO entrada : mes.detalhesEntradas()) {
+                if (entrada.origem() == OrigemTransacao.PARCELA) {
+                    parcelas.add(new long[] { m, emCentavos(entrada.valor()) });
+                }
+            }
+        }
+        int[] mesParcela = new int[parcelas.size()];
+        long[] valorParcela = new long[parcelas.size()];
+        for (int i = 0; i < parcelas.size(); i++) {
+            mesParcela[i] = (int) parcelas.get(i)[0];
+            valorParcela[i] = parcelas.get(i)[1];
+        }
+
+        Cenarios simulacao = new Cenarios(emCentavos(projecao.saldoAtual()), saidasPorMes, mesParcela,
+                valorParcela, parametros);
+
+        // saldos[m][c] = saldo ao fim do mês m no cenário c
+        long[][] saldos = new long[meses][cenarios];
+        int blocos = (cenarios + CENARIOS_POR_BLOCO - 1) / CENARIOS_POR_BLOCO;
+        long cenariosNegativos = IntStream.range(0, blocos)
+                .parallel()
+                .mapToLong(bloco -> simulacao.executarBloco(bloco, saldos))
+                .sum();
+
+        List<MesSimulacaoDTO> mesesSimulados = new ArrayList<>(meses);
+        for (int m = 0; m < meses; m++) {
+            long[] saldosDoMes = saldos[m];
+            Arrays.parallelSort(saldosDoMes);
+            MesProjecaoDTO mes = mesesProjetados.get(m);
+            mesesSimulados.add(MesSimulacaoDTO.builder()
+                    .mesReferencia(mes.mesReferencia())
+                    .anoReferencia(mes.anoReferencia())
+                    .saldoPercentil5(emReais(percentil(saldosDoMes, 5)))
+                    .saldoPercentil25(emReais(percentil(saldosDoMes, 25)))
+                    .saldoMediano(emReais(percentil(saldosDoMes, 50)))
+                    .saldoPercentil75(emReais(percentil(saldosDoMes, 75)))
+                    .saldoPercentil95(emReais(percentil(saldosDoMes, 95)))
+                    .probabilidadeSaldoNegativo((double) contarNegativos(saldosDoMes) / cenarios)
+                    .build());
+        }
+
+        log.info("Simulação de caixa concluída - {} cenário(s), {} mês(es), {} parcela(s) em {} ms",
+                cenarios, meses, valorParcela.length, (System.nanoTime() - inicio) / 1_000_000);
+
+        return SimulacaoCaixaDTO.builder()
+                .parametros(parametros)
+                .saldoAtual(projecao.saldoAtual())
+                .probabilidadeSaldoNegativo((double) cenariosNegativos / cenarios)
+                .mesesSimulados(mesesSimulados)
+                .dataCalculo(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Valida os parâmetros da simulação
+     */
+    private void validar(ParametrosSimulacaoDTO parametros) {
+        if (parametros.quantidadeCenarios() == null || parametros.quantidadeCenarios() < 1
+                || parametros.quantidadeCenarios() > CENARIOS_MAXIMO) {
+            throw new IllegalArgumentException(
+                    "Quantidade de cenários deve estar entre 1 e " + CENARIOS_MAXIMO);
+        }
+        if (parametros.meses() == null || parametros.meses() < 1
+                || parametros.meses() > ProjecaoCaixaService.MESES_PROJECAO_MAXIMO) {
+            throw new IllegalArgumentException(
+                    "Quantidade de meses da simulação deve estar entre 1 e "
+                            + ProjecaoCaixaService.MESES_PROJECAO_MAXIMO);
+        }
+        if (!probabilidadeValida(parametros.probabilidadeAtraso())
+                || !probabilidadeValida(parametros.probabilidadeInadimplencia())
+                || parametros.probabilidadeAtraso() + parametros.probabilidadeInadimplencia() > 1.0) {
+            throw new IllegalArgumentException(
+                    "Probabilidades de atraso e inadimplência devem estar entre 0 e 1 e somar no máximo 1");
+        }
+        // Limitado ao horizonte máximo: o mês deslocado é somado ao índice da parcela
+        if (parametros.mesesAtraso() == null || parametros.mesesAtraso() < 1
+                || parametros.mesesAtraso() > ProjecaoCaixaService.MESES_PROJECAO_MAXIMO) {
+            throw new IllegalArgumentException(
+                    "Meses de atraso deve estar entre 1 e " + ProjecaoCaixaService.MESES_PROJECAO_MAXIMO);
+        }
+    }
+
+    private boolean probabilidadeValida(Double probabilidade) {
+        return probabilidade != null && probabilidade >= 0.0 && probabilidade <= 1.0;
+    }
+
+    /**
+     * Percentil pelo método do posto mais próximo (array já ordenado)
+     */
+    private static long percentil(long[] ordenados, int percentil) {
+        int posicao = (int) Math.ceil(percentil / 100.0 * ordenados.length) - 1;
+        return ordenados[Math.max(0, Math.min(posicao, ordenados.length - 1))];
+    }
+
+    /**
+     * Conta os saldos negativos de um array ordenado
+     */
+    private static int contarNegativos(long[] ordenados) {
+        int posicao = Arrays.binarySearch(ordenados, 0L);
+        if (posicao < 0) {
+            return -posicao - 1;
+        }
+        // Recua até o primeiro zero quando há saldos iguais a zero
+        while (posicao > 0 && ordenados[posicao - 1] == 0L) {
+            posicao--;
+        }
+        return posicao;
+    }
+
+    private static long emCentavos(BigDecimal valor) {
+        return valor == null ? 0L : valor.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal emReais(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    /**
+     * Dados imutáveis da simulação, compartilhados entre as tarefas paralelas
+     */
+    private record Cenarios(
+            long saldoInicial,
+            long[] saidasPorMes,
+            int[] mesParcela,
+            long[] valorParcela,
+            ParametrosSimulacaoDTO parametros) {
+
+        /**
+         * Executa um bloco de cenários, gravando os saldos mensais em posições
+         * exclusivas do bloco
+         *
+         * @return quantidade de cenários do bloco com saldo negativo em algum mês
+         */
+        long executarBloco(int bloco, long[][] saldos) {
+            int meses = saidasPorMes.length;
+            int inicio = bloco * CENARIOS_POR_BLOCO;
+            int fim = Math.min(inicio + CENARIOS_POR_BLOCO, saldos[0].length);
+
+            // Semente por bloco: o resultado não depende da ordem de execução das threads
+            SplittableRandom random = parametros.semente() != null
+                    ? new SplittableRandom(parametros.semente() * 0x9E3779B97F4A7C15L + bloco)
+                    : new SplittableRandom();
+            double probabilidadeInadimplencia = parametros.probabilidadeInadimplencia();
+            double limiteAtraso = probabilidadeInadimplencia + parametros.probabilidadeAtraso();
+            int mesesAtraso = parametros.mesesAtraso();
+
+            long[] variacao = new long[meses];
+            long negativos = 0;
+
+            for (int cenario = inicio; cenario < fim; cenario++) {
+                for (int m = 0; m < meses; m++) {
+                    variacao[m] = -saidasPorMes[m];
+                }
+
+                for (int p = 0; p < mesParcela.length; p++) {
+                    double sorteio = random.nextDouble();
+                    if (sorteio < probabilidadeInadimplencia) {
+                        continue;
+                    }
+                    int mes = sorteio < limiteAtraso ? mesParcela[p] + mesesAtraso : mesParcela[p];
+                    if (mes < meses) {
+                        variacao[mes] += valorParcela[p];
+                    }
+                }
+
+                long saldo = saldoInicial;
+                boolean ficouNegativo = false;
+                for (int m = 0; m < meses; m++) {
+                    saldo += variacao[m];
+                    saldos[m][cenario] = saldo;
+                    ficouNegativo |= saldo < 0;
+                }
+                if (ficouNegativo) {
+                    negativos++;
+                }
+            }
+            return negativos;
+        }
+    }
+}
@@ -1,18 +1,35 @@
 package com.madeirart.appMadeirart.modules.orcamento.controller;
 
+import com.madeirart.appMadeirart.modules.orcamento.dto.EstatisticasFilaAuditoriaDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.EstatisticasItensOrcamentoDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.FiltroOrcamentoDTO;
 import com.madeirart.appMadeirart.modules.orcamento.dto.IniciarProducaoDTO;
 import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoAuditoriaDTO;
 import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoRequestDTO;
 import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoResponseDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.PaginaHistoricoDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.PaginaOrcamentosDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.ResultadoBuscaOrcamentoDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.ResultadoImportacaoDTO;
+import com.madeirart.appMadeirart.modules.orcamento.service.BuscaOrcamentoService;
+import com.madeirart.appMadeirart.modules.orcamento.service.FilaAuditoriaService;
+import com.madeirart.appMadeirart.modules.orcamento.service.ImportacaoOrcamentoService;
+import com.madeirart.appMadeirart.modules.orcamento.service.OrcamentoAuditoriaService;
 import com.madeirart.appMadeirart.modules.orcamento.service.OrcamentoService;
+import com.madeirart.appMadeirart.shared.enums.FormatoArquivo;
 import com.madeirart.appMadeirart.shared.enums.StatusOrcamento;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -21,10 +38,16 @@ import java.util.List;
 @RestController
 @RequestMapping("/api/orcamentos")
 @RequiredArgsConstructor
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = {OrcamentoController.HEADER_TOTAL, OrcamentoController.HEADER_PROXIMO_CURSOR})
 public class OrcamentoController {
 
+    public static final String HEADER_TOTAL = "X-Total-Count";
+    public static final String HEADER_PROXIMO_CURSOR = "X-Proximo-Cursor";
+
     private final OrcamentoService orcamentoService;
+    private final BuscaOrcamentoService buscaOrcamentoService;
+    private final FilaAuditoriaService filaAuditoria;
+    private final ImportacaoOrcamentoService importacaoService;
 
     /**
      * Cria um novo orçamento
@@ -36,6 +59,32 @@ public class OrcamentoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Importa orçamentos em massa a partir do corpo da requisição
+     * POST /api/orcamentos/import?formato=CSV
+     *
+     * Sem formato, usa o Content-Type: text/csv é CSV e o resto é NDJSON (um
+     * orçamento por linha, no formato do POST /api/orcamentos). Registros
+     * inválidos são rejeitados com o número da linha sem interromper a
+     * importação
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ResultadoImportacaoDTO> importarOrcamentos(
+            @RequestParam(required = false) String formato,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String tipoConteudo,
+            InputStream corpo) throws IOException {
+        try {
+            FormatoArquivo formatoArquivo = formato != null
+                    ? FormatoArquivo.deNome(formato)
+                    : tipoConteudo != null && tipoConteudo.startsWith(FormatoArquivo.CSV.getTipoConteudo())
+                            ? FormatoArquivo.CSV
+                            : FormatoArquivo.NDJSON;
+            return ResponseEntity.ok(importacaoService.importar(corpo, formatoArquivo));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Busca um orçamento por ID
      * GET /api/orcamentos/{id}
@@ -54,17 +103,77 @@ public class OrcamentoController {
      * Lista todos os orçamentos ou filtra por status
      * GET /api/orcamentos
      * GET /api/orcamentos?status=AGUARDANDO
+     *
+     * Com limite, cursor ou qualquer outro filtro, retorna uma página (data
+     * desc, id desc):
+     * GET /api/orcamentos?limite=50&cliente=silva&dataInicio=2025-01-01&dataFim=2025-12-31
+     * &entregaInicio=2026-01-01&entregaFim=2026-01-31&cursor=...
+     * O header X-Proximo-Cursor traz o cursor da próxima página (ausente na
+     * última) e X-Total-Count o total do filtro (só na primeira página)
      */
     @GetMapping
     public ResponseEntity<List<OrcamentoResponseDTO>> listarOrcamentos(
-            @RequestParam(required = false) StatusOrcamento status) {
-        List<OrcamentoResponseDTO> response;
-        if (status != null) {
-            response = orcamentoService.listarPorStatus(status);
-        } else {
-            response = orcamentoService.listarTodos();
+            @RequestParam(required = false) StatusOrcamento status,
+            @RequestParam(required = false) String cliente,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate entregaInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate entregaFim,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite) {
+        boolean paginado = limite != null || cursor != null || cliente != null
+                || dataInicio != null || dataFim != null || entregaInicio != null || entregaFim != null;
+        if (!paginado) {
+            List<OrcamentoResponseDTO> response;
+            if (status != null) {
+                response = orcamentoService.listarPorStatus(status);
+            } else {
+                response = orcamentoService.listarTodos();
+            }
+            return ResponseEntity.ok(response);
+        }
+
+        FiltroOrcamentoDTO filtro = FiltroOrcamentoDTO.builder()
+                .status(status)
+                .cliente(cliente)
+                .dataInicio(dataInicio)
+                .dataFim(dataFim)
+                .entregaInicio(entregaInicio)
+                .entregaFim(entregaFim)
+                .build();
+
+        PaginaOrcamentosDTO pagina;
+        try {
+            pagina = orcamentoService.listarPagina(filtro, cursor,
+                    limite != null ? limite : OrcamentoService.LIMITE_PAGINA_PADRAO);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (pagina.total() != null) {
+            resposta.header(HEADER_TOTAL, String.valueOf(pagina.total()));
+        }
+        if (pagina.proximoCursor() != null) {
+            resposta.header(HEADER_PROXIMO_CURSOR, pagina.proximoCursor());
+        }
+        return resposta.body(pagina.orcamentos());
+    }
+
+    /**
+     * Busca orçamentos por texto no cliente, nos móveis e nos itens, do mais
+     * relevante para o menos relevante
+     * GET /api/orcamentos/busca?q=armário cozinha MDF branco&limite=20
+     */
+    @GetMapping("/busca")
+    public ResponseEntity<List<ResultadoBuscaOrcamentoDTO>> buscar(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "" + BuscaOrcamentoService.LIMITE_PADRAO) int limite) {
+        try {
+            return ResponseEntity.ok(buscaOrcamentoService.buscar(q, limite));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
-        return ResponseEntity.ok(response);
     }
 
     /**
@@ -118,17 +227,74 @@ public class OrcamentoController {
     /**
      * Busca o histórico de auditoria de um orçamento
      * GET /api/orcamentos/{id}/historico
+     *
+     * Com limite ou cursor, retorna uma página só com os dados de cada versão
+     * (id, versão, data, descrição e campos alterados), da mais recente para a
+     * mais antiga:
+     * GET /api/orcamentos/{id}/historico?limite=20&cursor=...
+     * Os headers X-Proximo-Cursor e X-Total-Count seguem a listagem de
+     * orçamentos. O snapshot de cada versão é buscado em /historico/{auditoriaId}
      */
     @GetMapping("/{id}/historico")
-    public ResponseEntity<List<OrcamentoAuditoriaDTO>> buscarHistorico(@PathVariable Long id) {
+    public ResponseEntity<List<?>> buscarHistorico(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite) {
         try {
-            List<OrcamentoAuditoriaDTO> historico = orcamentoService.buscarHistorico(id);
-            return ResponseEntity.ok(historico);
+            if (limite == null && cursor == null) {
+                return ResponseEntity.ok(orcamentoService.buscarHistorico(id));
+            }
+
+            PaginaHistoricoDTO pagina = orcamentoService.buscarHistoricoPagina(id, cursor,
+                    limite != null ? limite : OrcamentoAuditoriaService.LIMITE_PAGINA_PADRAO);
+            ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+            if (pagina.total() != null) {
+                resposta.header(HEADER_TOTAL, String.valueOf(pagina.total()));
+            }
+            if (pagina.proximoCursor() != null) {
+                resposta.header(HEADER_PROXIMO_CURSOR, pagina.proximoCursor());
+            }
+            return resposta.body(pagina.alteracoes());
         } catch (EntityNotFoundException e) {
             return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
     }
 
+    /**
+     * Busca uma versão do histórico de um orçamento com o snapshot completo
+     * GET /api/orcamentos/{id}/historico/{auditoriaId}
+     */
+    @GetMapping("/{id}/historico/{auditoriaId}")
+    public ResponseEntity<OrcamentoAuditoriaDTO> buscarVersaoHistorico(@PathVariable Long id,
+            @PathVariable Long auditoriaId) {
+        try {
+            return ResponseEntity.ok(orcamentoService.buscarVersaoHistorico(id, auditoriaId));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Retorna as métricas da fila de gravação da auditoria
+     * GET /api/orcamentos/auditoria/fila
+     */
+    @GetMapping("/auditoria/fila")
+    public ResponseEntity<EstatisticasFilaAuditoriaDTO> getEstatisticasFilaAuditoria() {
+        return ResponseEntity.ok(filaAuditoria.getEstatisticas());
+    }
+
+    /**
+     * Retorna as linhas de itens inseridas, alteradas e removidas pelas
+     * atualizações de orçamentos desde o início da aplicação
+     * GET /api/orcamentos/itens/estatisticas
+     */
+    @GetMapping("/itens/estatisticas")
+    public ResponseEntity<EstatisticasItensOrcamentoDTO> getEstatisticasItens() {
+        return ResponseEntity.ok(orcamentoService.getEstatisticasItens());
+    }
+
     /**
      * Altera o status de um orçamento
      * PATCH /api/orcamentos/{id}/status?novoStatus=FINALIZADA
@@ -0,0 +1,12 @@
+package com.madeirart.appMadeirart.modules.orcamento.dto;
+
+/**
+ * DTO de um registro rejeitado na importação
+ *
+ * @param linha    linha do arquivo onde o registro começa (a partir de 1)
+ * @param mensagem motivo da rejeição
+ */
+public record ErroImportacaoDTO(
+        long linha,
+        String mensagem) {
+}
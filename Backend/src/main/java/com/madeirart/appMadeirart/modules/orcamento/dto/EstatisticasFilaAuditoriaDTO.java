@@ -0,0 +1,26 @@
+package com.madeirart.appMadeirart.modules.orcamento.dto;
+
+import lombok.Builder;
+
+/**
+ * DTO com as métricas da fila de gravação da auditoria
+ *
+ * @param pendentes         registros aguardando gravação
+ * @param capacidade        capacidade máxima da fila
+ * @param maiorProfundidade maior quantidade de pendentes já observada
+ * @param gravados          registros gravados
+ * @param lotes             lotes (transações) gravados
+ * @param gravadosSemFila   registros gravados na thread da requisição porque a
+ *                          fila estava encerrada
+ * @param falhas            registros que não puderam ser gravados
+ */
+@Builder
+public record EstatisticasFilaAuditoriaDTO(
+    int pendentes,
+    int capacidade,
+    int maiorProfundidade,
+    long gravados,
+    long lotes,
+    long gravadosSemFila,
+    long falhas
+) {}
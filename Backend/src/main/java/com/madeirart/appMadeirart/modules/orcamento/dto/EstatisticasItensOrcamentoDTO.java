@@ -0,0 +1,22 @@
+package com.madeirart.appMadeirart.modules.orcamento.dto;
+
+import lombok.Builder;
+
+/**
+ * DTO com as linhas de itens afetadas pelas atualizações de orçamentos,
+ * acumuladas desde o início da aplicação
+ *
+ * @param atualizacoes quantidade de orçamentos atualizados
+ * @param inseridos    itens inseridos (INSERT)
+ * @param alterados    itens com algum campo alterado (UPDATE)
+ * @param removidos    itens removidos (DELETE)
+ * @param inalterados  itens recebidos sem alteração (nenhum comando)
+ */
+@Builder
+public record EstatisticasItensOrcamentoDTO(
+    long atualizacoes,
+    long inseridos,
+    long alterados,
+    long removidos,
+    long inalterados
+) {}
@@ -0,0 +1,20 @@
+package com.madeirart.appMadeirart.modules.orcamento.dto;
+
+import com.madeirart.appMadeirart.shared.enums.StatusOrcamento;
+import lombok.Builder;
+
+import java.time.LocalDate;
+
+/**
+ * DTO com os filtros da listagem paginada de orçamentos
+ * Campos nulos não filtram
+ */
+@Builder
+public record FiltroOrcamentoDTO(
+        StatusOrcamento status,
+        String cliente,
+        LocalDate dataInicio,
+        LocalDate dataFim,
+        LocalDate entregaInicio,
+        LocalDate entregaFim) {
+}
@@ -0,0 +1,31 @@
+package com.madeirart.appMadeirart.modules.orcamento.dto;
+
+import com.madeirart.appMadeirart.shared.enums.StatusOrcamento;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Linha da exportação de orçamentos: dados do orçamento e de um dos seus
+ * itens (campos do item nulos se o orçamento não tiver itens)
+ */
+public record LinhaExportacaoOrcamentoDTO(
+        Long id,
+        String cliente,
+        String moveis,
+        LocalDate data,
+        LocalDate previsaoEntrega,
+        BigDecimal fatorMaoDeObra,
+        BigDecimal custosExtras,
+        BigDecimal cpc,
+        StatusOrcamento status,
+        BigDecimal subtotalMateriais,
+        BigDecimal valorMaoDeObra,
+        BigDecimal valorTotal,
+        LocalDate createdAt,
+        LocalDate updatedAt,
+        Long itemId,
+        BigDecimal quantidade,
+        String descricao,
+        BigDecimal valorUnitario) {
+}
@@ -0,0 +1,16 @@
+package com.madeirart.appMadeirart.modules.orcamento.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * DTO de uma página do histórico de auditoria de um orçamento
+ * proximoCursor é nulo na última página; total só é calculado na primeira
+ */
+@Builder
+public record PaginaHistoricoDTO(
+        List<ResumoAuditoriaDTO> alteracoes,
+        String proximoCursor,
+        Long total) {
+}
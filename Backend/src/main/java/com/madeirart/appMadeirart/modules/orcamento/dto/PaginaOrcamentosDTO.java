@@ -0,0 +1,16 @@
+package com.madeirart.appMadeirart.modules.orcamento.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * DTO de uma página da listagem de orçamentos
+ * proximoCursor é nulo na última página; total só é calculado na primeira
+ */
+@Builder
+public record PaginaOrcamentosDTO(
+        List<OrcamentoResponseDTO> orcamentos,
+        String proximoCursor,
+        Long total) {
+}
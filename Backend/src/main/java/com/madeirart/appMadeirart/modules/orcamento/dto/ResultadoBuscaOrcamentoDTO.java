@@ -0,0 +1,22 @@
+package com.madeirart.appMadeirart.modules.orcamento.dto;
+
+import com.madeirart.appMadeirart.shared.enums.StatusOrcamento;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO de um resultado da busca textual de orçamentos
+ * trecho traz o fragmento encontrado com os termos entre colchetes
+ */
+@Builder
+public record ResultadoBuscaOrcamentoDTO(
+        Long id,
+        String cliente,
+        String moveis,
+        LocalDate data,
+        StatusOrcamento status,
+        BigDecimal valorTotal,
+        String trecho) {
+}
@@ -0,0 +1,21 @@
+package com.madeirart.appMadeirart.modules.orcamento.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * DTO com o resultado de uma importação de orçamentos
+ *
+ * @param importados orçamentos gravados
+ * @param itens      itens gravados
+ * @param rejeitados registros rejeitados
+ * @param erros      motivo de cada rejeição, até o limite configurado
+ */
+@Builder
+public record ResultadoImportacaoDTO(
+        int importados,
+        int itens,
+        int rejeitados,
+        List<ErroImportacaoDTO> erros) {
+}
@@ -0,0 +1,35 @@
+package com.madeirart.appMadeirart.modules.orcamento.dto;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * DTO com os dados de uma versão do histórico, sem o snapshot
+ * O snapshot é carregado sob demanda em /api/orcamentos/{id}/historico/{auditoriaId}
+ *
+ * @param camposAlterados campos que mudaram em relação à versão anterior
+ *                        (nulo quando não há versão anterior registrada)
+ */
+@Builder
+public record ResumoAuditoriaDTO(
+        Long id,
+        Long orcamentoId,
+        Integer versao,
+        LocalDateTime dataAlteracao,
+        String descricaoAlteracao,
+        List<String> camposAlterados) {
+
+    /**
+     * Construtor usado pela consulta de projeção, com os campos alterados
+     * como gravados na coluna
+     */
+    public ResumoAuditoriaDTO(Long id, Long orcamentoId, Integer versao, LocalDateTime dataAlteracao,
+            String descricaoAlteracao, String camposAlterados) {
+        this(id, orcamentoId, versao, dataAlteracao, descricaoAlteracao,
+                camposAlterados == null ? null
+                        : camposAlterados.isEmpty() ? List.of() : Arrays.asList(camposAlterados.split(",")));
+    }
+}
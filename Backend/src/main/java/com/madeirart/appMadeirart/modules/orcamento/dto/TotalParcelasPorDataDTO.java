@@ -0,0 +1,16 @@
+package com.madeirart.appMadeirart.modules.orcamento.dto;
+
+import com.madeirart.appMadeirart.shared.enums.StatusParcela;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO com a soma dos valores das parcelas de um status em uma mesma data de
+ * referência (pagamento, ou vencimento se não paga)
+ */
+public record TotalParcelasPorDataDTO(
+        LocalDate data,
+        StatusParcela status,
+        BigDecimal total) {
+}
@@ -0,0 +1,13 @@
+package com.madeirart.appMadeirart.modules.orcamento.dto;
+
+import com.madeirart.appMadeirart.shared.enums.StatusParcela;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO com a soma dos valores das parcelas de um status
+ */
+public record TotalParcelasPorStatusDTO(
+        StatusParcela status,
+        BigDecimal total) {
+}
@@ -14,7 +14,9 @@ import java.math.BigDecimal;
  * Entidade que representa um item de material do orçamento
  */
 @Entity
-@Table(name = "itens_material")
+@Table(name = "itens_material", indexes = {
+        @Index(name = "idx_itens_material_orcamento_posicao", columnList = "orcamento_id, posicao")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -38,6 +40,13 @@ public class ItemMaterial {
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal valorUnitario;
 
+    /**
+     * Posição do item no orçamento, na ordem em que os itens foram informados
+     * (nula nos itens gravados antes da coluna existir, que seguem a ordem do ID)
+     */
+    @Column
+    private Integer posicao;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "orcamento_id", nullable = false)
     private Orcamento orcamento;
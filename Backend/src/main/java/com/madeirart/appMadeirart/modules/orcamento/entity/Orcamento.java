@@ -19,7 +19,10 @@ import java.util.List;
  * Entidade que representa um orçamento
  */
 @Entity
-@Table(name = "orcamentos")
+@Table(name = "orcamentos", indexes = {
+        @Index(name = "idx_orcamentos_status_previsao_entrega", columnList = "status, previsao_entrega"),
+        @Index(name = "idx_orcamentos_data_id", columnList = "data, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -62,8 +65,22 @@ public class Orcamento {
     @Column(nullable = false, length = 20)
     private StatusOrcamento status;
 
+    /**
+     * Totais persistidos, mantidos por recalcularTotais() a cada escrita
+     * Permitem listar, ordenar e somar valores sem carregar os itens
+     */
+    @Column(precision = 12, scale = 2, name = "subtotal_materiais")
+    private BigDecimal subtotalMateriais;
+
+    @Column(precision = 12, scale = 2, name = "valor_mao_obra")
+    private BigDecimal valorMaoDeObra;
+
+    @Column(precision = 12, scale = 2, name = "valor_total")
+    private BigDecimal valorTotal;
+
     @Builder.Default
     @OneToMany(mappedBy = "orcamento", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("posicao ASC, id ASC")
     private List<ItemMaterial> itens = new ArrayList<>();
 
     @Column(name = "created_at", updatable = false)
@@ -85,6 +102,9 @@ public class Orcamento {
         if (cpc == null) {
             cpc = BigDecimal.ZERO;
         }
+        if (valorTotal == null) {
+            recalcularTotais();
+        }
     }
 
     @PreUpdate
@@ -94,8 +114,12 @@ public class Orcamento {
 
     /**
      * Adiciona um item ao orçamento mantendo a relação bidirecional
+     * Sem posição definida, o item vai para o fim da lista
      */
     public void adicionarItem(ItemMaterial item) {
+        if (item.getPosicao() == null) {
+            item.setPosicao(itens.size());
+        }
         itens.add(item);
         item.setOrcamento(this);
     }
@@ -121,8 +145,7 @@ public class Orcamento {
      * Calcula o valor da mão de obra (subtotal × fator)
      */
     public BigDecimal calcularValorMaoDeObra() {
-        BigDecimal subtotal = calcularSubtotalMateriais();
-        return subtotal.multiply(fatorMaoDeObra);
+        return calcularValorMaoDeObra(calcularSubtotalMateriais());
     }
 
     /**
@@ -131,10 +154,28 @@ public class Orcamento {
      */
     public BigDecimal calcularValorTotal() {
         BigDecimal subtotal = calcularSubtotalMateriais();
-        BigDecimal maoDeObra = calcularValorMaoDeObra();
+        return calcularValorTotal(subtotal, calcularValorMaoDeObra(subtotal));
+    }
+
+    /**
+     * Recalcula os totais persistidos percorrendo os itens uma única vez
+     * Deve ser chamado após alterar itens, fator de mão de obra, custos extras
+     * ou CPC
+     */
+    public void recalcularTotais() {
+        subtotalMateriais = calcularSubtotalMateriais();
+        valorMaoDeObra = calcularValorMaoDeObra(subtotalMateriais);
+        valorTotal = calcularValorTotal(subtotalMateriais, valorMaoDeObra);
+    }
+
+    private BigDecimal calcularValorMaoDeObra(BigDecimal subtotal) {
+        return subtotal.multiply(fatorMaoDeObra);
+    }
+
+    private BigDecimal calcularValorTotal(BigDecimal subtotal, BigDecimal maoDeObra) {
         BigDecimal extras = custosExtras != null ? custosExtras : BigDecimal.ZERO;
         BigDecimal cpcValor = cpc != null ? cpc : BigDecimal.ZERO;
-        
+
         return subtotal.add(maoDeObra).add(extras).add(cpcValor);
     }
 }
@@ -1,5 +1,6 @@
 package com.madeirart.appMadeirart.modules.orcamento.entity;
 
+import com.madeirart.appMadeirart.shared.enums.TipoSnapshotAuditoria;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -10,9 +11,16 @@ import java.time.LocalDateTime;
 
 /**
  * Entidade que armazena o histórico de alterações de orçamentos
+ *
+ * Cada linha guarda o estado do orçamento antes de uma alteração. Linhas
+ * COMPLETO têm o snapshot inteiro; linhas DIFERENCA só os campos que mudaram em
+ * relação à linha anterior do mesmo orçamento. Linhas gravadas antes dessas
+ * colunas (tipo nulo) são snapshots completos sem compactação
  */
 @Entity
-@Table(name = "orcamentos_auditoria")
+@Table(name = "orcamentos_auditoria", indexes = {
+        @Index(name = "idx_auditoria_orcamento_data", columnList = "orcamento_id, data_alteracao")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,19 +34,48 @@ public class OrcamentoAuditoria {
     @Column(name = "orcamento_id", nullable = false)
     private Long orcamentoId;
 
+    /**
+     * Conteúdo do snapshot: JSON, ou JSON compactado com GZIP em Base64 quando
+     * compactado é true
+     */
     @Column(name = "snapshot_json", columnDefinition = "TEXT", nullable = false)
     private String snapshotJson;
 
+    @Column(name = "versao")
+    private Integer versao;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_snapshot", length = 20)
+    private TipoSnapshotAuditoria tipoSnapshot;
+
+    @Column(name = "compactado")
+    private Boolean compactado;
+
     @Column(name = "data_alteracao", nullable = false)
     private LocalDateTime dataAlteracao;
 
     @Column(name = "descricao_alteracao", length = 500)
     private String descricaoAlteracao;
 
+    /**
+     * Campos do orçamento que mudaram em relação à versão anterior, separados
+     * por vírgula (nulo na primeira versão e em linhas antigas)
+     * Permite listar o histórico sem ler o snapshot
+     */
+    @Column(name = "campos_alterados", length = 1000)
+    private String camposAlterados;
+
     @PrePersist
     protected void onCreate() {
         if (dataAlteracao == null) {
             dataAlteracao = LocalDateTime.now();
         }
     }
+
+    /**
+     * Indica se a linha tem o snapshot inteiro (inclui linhas antigas)
+     */
+    public boolean isCompleto() {
+        return tipoSnapshot != TipoSnapshotAuditoria.DIFERENCA;
+    }
 }
@@ -1,9 +1,15 @@
 package com.madeirart.appMadeirart.modules.orcamento.repository;
 
+import com.madeirart.appMadeirart.modules.orcamento.dto.ResumoAuditoriaDTO;
 import com.madeirart.appMadeirart.modules.orcamento.entity.OrcamentoAuditoria;
+import com.madeirart.appMadeirart.shared.enums.TipoSnapshotAuditoria;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -17,4 +23,61 @@ public interface OrcamentoAuditoriaRepository extends JpaRepository<OrcamentoAud
      * Ordenado por data de alteração (mais recente primeiro)
      */
     List<OrcamentoAuditoria> findByOrcamentoIdOrderByDataAlteracaoDesc(Long orcamentoId);
+
+    /**
+     * Busca todo o histórico de um orçamento na ordem de gravação, para
+     * reconstruir as versões em sequência
+     */
+    List<OrcamentoAuditoria> findByOrcamentoIdOrderByIdAsc(Long orcamentoId);
+
+    /**
+     * Busca o ID do último snapshot completo de um orçamento até a linha
+     * informada (inclusive), ou nulo se não houver
+     * Linhas antigas, gravadas sem tipo, são snapshots completos
+     */
+    @Query("SELECT MAX(a.id) FROM OrcamentoAuditoria a "
+            + "WHERE a.orcamentoId = :orcamentoId AND a.id <= :id "
+            + "AND (a.tipoSnapshot IS NULL OR a.tipoSnapshot <> :diferenca)")
+    Long buscarUltimoCompletoAte(@Param("orcamentoId") Long orcamentoId, @Param("id") Long id,
+            @Param("diferenca") TipoSnapshotAuditoria diferenca);
+
+    /**
+     * Busca as linhas de um orçamento entre dois IDs (inclusive), da mais
+     * recente para a mais antiga
+     */
+    List<OrcamentoAuditoria> findByOrcamentoIdAndIdBetweenOrderByIdDesc(Long orcamentoId, Long inicio, Long fim);
+
+    /**
+     * Busca as últimas linhas de um orçamento, da mais recente para a mais
+     * antiga
+     */
+    List<OrcamentoAuditoria> findByOrcamentoIdOrderByIdDesc(Long orcamentoId, Limit limite);
+
+    /**
+     * Conta as linhas de histórico de um orçamento
+     */
+    long countByOrcamentoId(Long orcamentoId);
+
+    /**
+     * Lista os dados das versões de um orçamento sem ler o snapshot, da mais
+     * recente para a mais antiga (usa o índice de orcamento_id, data_alteracao)
+     */
+    @Query("SELECT new com.madeirart.appMadeirart.modules.orcamento.dto.ResumoAuditoriaDTO("
+            + "a.id, a.orcamentoId, a.versao, a.dataAlteracao, a.descricaoAlteracao, a.camposAlterados) "
+            + "FROM OrcamentoAuditoria a "
+            + "WHERE a.orcamentoId = :orcamentoId "
+            + "ORDER BY a.dataAlteracao DESC, a.id DESC")
+    List<ResumoAuditoriaDTO> listarResumos(@Param("orcamentoId") Long orcamentoId, Limit limite);
+
+    /**
+     * Como listarResumos, a partir da versão seguinte à posição (data, id)
+     */
+    @Query("SELECT new com.madeirart.appMadeirart.modules.orcamento.dto.ResumoAuditoriaDTO("
+            + "a.id, a.orcamentoId, a.versao, a.dataAlteracao, a.descricaoAlteracao, a.camposAlterados) "
+            + "FROM OrcamentoAuditoria a "
+            + "WHERE a.orcamentoId = :orcamentoId "
+            + "AND (a.dataAlteracao < :data OR (a.dataAlteracao = :data AND a.id < :id)) "
+            + "ORDER BY a.dataAlteracao DESC, a.id DESC")
+    List<ResumoAuditoriaDTO> listarResumosApos(@Param("orcamentoId") Long orcamentoId,
+            @Param("data") LocalDateTime data, @Param("id") Long id, Limit limite);
 }
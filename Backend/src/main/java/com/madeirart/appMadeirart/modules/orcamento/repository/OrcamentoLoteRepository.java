@@ -0,0 +1,86 @@
+package com.madeirart.appMadeirart.modules.orcamento.repository;
+
+import com.madeirart.appMadeirart.modules.orcamento.entity.ItemMaterial;
+import com.madeirart.appMadeirart.modules.orcamento.entity.Orcamento;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Repository para gravação de orçamentos em lote via JDBC
+ *
+ * Com ids IDENTITY o Hibernate grava um orçamento e cada item com um INSERT
+ * separado, para ler o id gerado. Aqui os ids dos orçamentos são reservados
+ * antes, a partir do maior id atual (a mesma regra do SQLite para colunas
+ * INTEGER PRIMARY KEY), e orçamentos e itens vão em comandos em lote
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrcamentoLoteRepository {
+
+    private static final String INSERIR_ORCAMENTO = "INSERT INTO orcamentos "
+            + "(id, cliente, moveis, data, previsao_entrega, fator_mao_obra, custos_extras, cpc, status, "
+            + "subtotal_materiais, valor_mao_obra, valor_total, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERIR_ITEM = "INSERT INTO itens_material "
+            + "(descricao, quantidade, valor_unitario, orcamento_id, posicao) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insere os orçamentos e seus itens em uma única transação e preenche o id
+     * de cada orçamento
+     * As transações começam reservando a escrita (BEGIN IMMEDIATE), então
+     * nenhum outro INSERT acontece entre a leitura do maior id e os INSERTs
+     *
+     * @param loteItens quantidade máxima de itens por comando em lote
+     * @return quantidade de itens inseridos
+     */
+    @Transactional
+    public int inserir(List<Orcamento> orcamentos, int loteItens) {
+        Long maiorId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM orcamentos", Long.class);
+        long proximoId = maiorId + 1;
+        for (Orcamento orcamento : orcamentos) {
+            orcamento.setId(proximoId++);
+        }
+
+        jdbcTemplate.batchUpdate(INSERIR_ORCAMENTO, orcamentos, orcamentos.size(), (comando, orcamento) -> {
+            comando.setLong(1, orcamento.getId());
+            comando.setString(2, orcamento.getCliente());
+            comando.setString(3, orcamento.getMoveis());
+            comando.setDate(4, data(orcamento.getData()));
+            comando.setDate(5, data(orcamento.getPrevisaoEntrega()));
+            comando.setBigDecimal(6, orcamento.getFatorMaoDeObra());
+            comando.setBigDecimal(7, orcamento.getCustosExtras());
+            comando.setBigDecimal(8, orcamento.getCpc());
+            comando.setString(9, orcamento.getStatus().name());
+            comando.setBigDecimal(10, orcamento.getSubtotalMateriais());
+            comando.setBigDecimal(11, orcamento.getValorMaoDeObra());
+            comando.setBigDecimal(12, orcamento.getValorTotal());
+            comando.setDate(13, data(orcamento.getCreatedAt()));
+            comando.setDate(14, data(orcamento.getUpdatedAt()));
+        });
+
+        List<ItemMaterial> itens = new ArrayList<>();
+        orcamentos.forEach(orcamento -> itens.addAll(orcamento.getItens()));
+        jdbcTemplate.batchUpdate(INSERIR_ITEM, itens, loteItens, (comando, item) -> {
+            comando.setString(1, item.getDescricao());
+            comando.setBigDecimal(2, item.getQuantidade());
+            comando.setBigDecimal(3, item.getValorUnitario());
+            comando.setLong(4, item.getOrcamento().getId());
+            comando.setInt(5, item.getPosicao());
+        });
+        return itens.size();
+    }
+
+    private static Date data(LocalDate data) {
+        return data != null ? Date.valueOf(data) : null;
+    }
+}
@@ -1,25 +1,84 @@
 package com.madeirart.appMadeirart.modules.orcamento.repository;
 
+import com.madeirart.appMadeirart.modules.orcamento.dto.LinhaExportacaoOrcamentoDTO;
 import com.madeirart.appMadeirart.modules.orcamento.entity.Orcamento;
 import com.madeirart.appMadeirart.shared.enums.StatusOrcamento;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository para a entidade Orcamento
  */
 @Repository
-public interface OrcamentoRepository extends JpaRepository<Orcamento, Long> {
+public interface OrcamentoRepository extends JpaRepository<Orcamento, Long>, JpaSpecificationExecutor<Orcamento> {
 
     /**
-     * Busca orçamentos por status
+     * Busca todos os orçamentos ordenados por ID, já com os itens (uma consulta)
      */
+    @EntityGraph(attributePaths = "itens")
+    @Query("SELECT o FROM Orcamento o ORDER BY o.id")
+    List<Orcamento> findAllComItens();
+
+    /**
+     * Busca orçamentos pelos IDs, já com os itens (uma consulta)
+     * Orçamentos já carregados na sessão têm os itens inicializados
+     */
+    @EntityGraph(attributePaths = "itens")
+    List<Orcamento> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Busca orçamentos por status, já com os itens (uma consulta)
+     */
+    @EntityGraph(attributePaths = "itens")
     List<Orcamento> findByStatus(StatusOrcamento status);
 
+    /**
+     * Busca orçamentos sem os totais persistidos, já com os itens
+     */
+    @EntityGraph(attributePaths = "itens")
+    List<Orcamento> findByValorTotalIsNull();
+
+    /**
+     * Conta orçamentos por status
+     */
+    long countByStatus(StatusOrcamento status);
+
+    /**
+     * Busca orçamentos de um status com previsão de entrega até uma data,
+     * ordenados pela previsão (usa o índice status + previsao_entrega)
+     */
+    List<Orcamento> findByStatusAndPrevisaoEntregaLessThanEqualOrderByPrevisaoEntrega(StatusOrcamento status,
+            LocalDate dataLimite);
+
     /**
      * Busca orçamentos por cliente (case insensitive)
      */
     List<Orcamento> findByClienteContainingIgnoreCase(String cliente);
+
+    /**
+     * Lê os orçamentos com ID maior que o informado com seus itens, uma linha
+     * por item, sem carregar entidades. O Stream deve ser fechado dentro de
+     * uma transação; as linhas são lidas à medida que são consumidas
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.madeirart.appMadeirart.modules.orcamento.dto.LinhaExportacaoOrcamentoDTO("
+            + "o.id, o.cliente, o.moveis, o.data, o.previsaoEntrega, o.fatorMaoDeObra, o.custosExtras, o.cpc, "
+            + "o.status, o.subtotalMateriais, o.valorMaoDeObra, o.valorTotal, o.createdAt, o.updatedAt, "
+            + "i.id, i.quantidade, i.descricao, i.valorUnitario) "
+            + "FROM Orcamento o LEFT JOIN o.itens i "
+            + "WHERE o.id > :ultimoId "
+            + "ORDER BY o.id, i.posicao, i.id")
+    Stream<LinhaExportacaoOrcamentoDTO> exportarComItens(@Param("ultimoId") Long ultimoId);
 }
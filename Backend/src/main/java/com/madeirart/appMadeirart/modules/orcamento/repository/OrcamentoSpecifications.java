@@ -0,0 +1,63 @@
+package com.madeirart.appMadeirart.modules.orcamento.repository;
+
+import com.madeirart.appMadeirart.modules.orcamento.dto.FiltroOrcamentoDTO;
+import com.madeirart.appMadeirart.modules.orcamento.entity.Orcamento;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Critérios da listagem paginada de orçamentos
+ * Só entram no SQL os filtros informados
+ */
+public final class OrcamentoSpecifications {
+
+    private OrcamentoSpecifications() {
+    }
+
+    /**
+     * Aplica os filtros informados (status, trecho do cliente, período da data
+     * e janela de previsão de entrega)
+     */
+    public static Specification<Orcamento> comFiltro(FiltroOrcamentoDTO filtro) {
+        return (root, query, cb) -> {
+            List<Predicate> condicoes = new ArrayList<>();
+            if (filtro.status() != null) {
+                condicoes.add(cb.equal(root.get("status"), filtro.status()));
+            }
+            if (filtro.cliente() != null && !filtro.cliente().isBlank()) {
+                String trecho = "%" + escaparLike(filtro.cliente().trim().toLowerCase()) + "%";
+                condicoes.add(cb.like(cb.lower(root.get("cliente")), trecho, '\\'));
+            }
+            if (filtro.dataInicio() != null) {
+                condicoes.add(cb.greaterThanOrEqualTo(root.get("data"), filtro.dataInicio()));
+            }
+            if (filtro.dataFim() != null) {
+                condicoes.add(cb.lessThanOrEqualTo(root.get("data"), filtro.dataFim()));
+            }
+            if (filtro.entregaInicio() != null) {
+                condicoes.add(cb.greaterThanOrEqualTo(root.get("previsaoEntrega"), filtro.entregaInicio()));
+            }
+            if (filtro.entregaFim() != null) {
+                condicoes.add(cb.lessThanOrEqualTo(root.get("previsaoEntrega"), filtro.entregaFim()));
+            }
+            return cb.and(condicoes.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Orçamentos depois do cursor na ordem (data desc, id desc)
+     */
+    public static Specification<Orcamento> aposCursor(LocalDate data, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("data"), data),
+                cb.and(cb.equal(root.get("data"), data), cb.lessThan(root.get("id"), id)));
+    }
+
+    private static String escaparLike(String valor) {
+        return valor.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,12 +1,24 @@
 package com.madeirart.appMadeirart.modules.orcamento.repository;
 
+import com.madeirart.appMadeirart.modules.orcamento.dto.ParcelaResponseDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.TotalParcelasPorDataDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.TotalParcelasPorStatusDTO;
 import com.madeirart.appMadeirart.modules.orcamento.entity.Parcela;
 import com.madeirart.appMadeirart.shared.enums.StatusParcela;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository para acesso aos dados de parcelas
@@ -19,9 +31,87 @@ public interface ParcelaRepository extends JpaRepository<Parcela, Long> {
      */
     List<Parcela> findByOrcamentoIdOrderByNumeroParcela(Long orcamentoId);
 
+    /**
+     * Busca as parcelas de um orçamento com o status informado
+     */
+    List<Parcela> findByOrcamentoIdAndStatus(Long orcamentoId, StatusParcela status);
+
+    /**
+     * Busca as parcelas de vários orçamentos em uma única consulta (IN),
+     * ordenadas por número
+     */
+    List<Parcela> findByOrcamentoIdInOrderByNumeroParcela(Collection<Long> orcamentoIds);
+
     /**
      * Busca todas as parcelas com status específico e data de vencimento anterior a
      * uma data
      */
     List<Parcela> findByStatusAndDataVencimentoBefore(StatusParcela status, LocalDate data);
+
+    /**
+     * Busca parcelas com status específico e vencimento dentro de um período,
+     * ordenadas por data de vencimento
+     */
+    List<Parcela> findByStatusAndDataVencimentoBetweenOrderByDataVencimento(StatusParcela status,
+            LocalDate dataInicio, LocalDate dataFim);
+
+    /**
+     * Busca as parcelas cuja data de referência (pagamento, ou vencimento se não
+     * paga) está no período, já trazendo o orçamento na mesma consulta
+     */
+    @Query("SELECT p FROM Parcela p JOIN FETCH p.orcamento "
+            + "WHERE COALESCE(p.dataPagamento, p.dataVencimento) BETWEEN :dataInicio AND :dataFim "
+            + "ORDER BY p.id")
+    List<Parcela> findComOrcamentoPorDataReferenciaBetween(@Param("dataInicio") LocalDate dataInicio,
+            @Param("dataFim") LocalDate dataFim);
+
+    /**
+     * Busca todas as parcelas com status específico
+     */
+    List<Parcela> findByStatus(StatusParcela status);
+
+    /**
+     * Soma o valor de todas as parcelas com status específico
+     */
+    @Query("SELECT COALESCE(SUM(p.valor), 0) FROM Parcela p WHERE p.status = :status")
+    BigDecimal somarValorPorStatus(@Param("status") StatusParcela status);
+
+    /**
+     * Soma o valor das parcelas por status cuja data de referência (pagamento,
+     * ou vencimento se não paga) está no período
+     * Parcelas pagas sem data de pagamento não entram na soma
+     */
+    @Query("SELECT new com.madeirart.appMadeirart.modules.orcamento.dto.TotalParcelasPorStatusDTO(p.status, SUM(p.valor)) "
+            + "FROM Parcela p "
+            + "WHERE COALESCE(p.dataPagamento, p.dataVencimento) BETWEEN :dataInicio AND :dataFim "
+            + "AND (p.dataPagamento IS NOT NULL OR p.status <> :pago) "
+            + "GROUP BY p.status")
+    List<TotalParcelasPorStatusDTO> somarValorPorStatusNoPeriodo(@Param("dataInicio") LocalDate dataInicio,
+            @Param("dataFim") LocalDate dataFim, @Param("pago") StatusParcela pago);
+
+    /**
+     * Soma o valor das parcelas por data de referência e status no período
+     * Mesmo critério de somarValorPorStatusNoPeriodo, com uma linha por dia para
+     * que o chamador agrupe por mês (as datas ficam gravadas em milissegundos e
+     * o SQLite não extrai o mês delas)
+     */
+    @Query("SELECT new com.madeirart.appMadeirart.modules.orcamento.dto.TotalParcelasPorDataDTO("
+            + "COALESCE(p.dataPagamento, p.dataVencimento), p.status, SUM(p.valor)) "
+            + "FROM Parcela p "
+            + "WHERE COALESCE(p.dataPagamento, p.dataVencimento) BETWEEN :dataInicio AND :dataFim "
+            + "AND (p.dataPagamento IS NOT NULL OR p.status <> :pago) "
+            + "GROUP BY COALESCE(p.dataPagamento, p.dataVencimento), p.status")
+    List<TotalParcelasPorDataDTO> somarValorPorDataEStatusNoPeriodo(@Param("dataInicio") LocalDate dataInicio,
+            @Param("dataFim") LocalDate dataFim, @Param("pago") StatusParcela pago);
+
+    /**
+     * Lê as parcelas com ID maior que o informado, em ordem de ID, sem carregar
+     * entidades. O Stream deve ser fechado e consumido dentro de uma transação
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.madeirart.appMadeirart.modules.orcamento.dto.ParcelaResponseDTO("
+            + "p.id, p.orcamento.id, p.numeroParcela, p.valor, p.dataVencimento, p.dataPagamento, p.status, "
+            + "p.createdAt) "
+            + "FROM Parcela p WHERE p.id > :ultimoId ORDER BY p.id")
+    Stream<ParcelaResponseDTO> exportarApos(@Param("ultimoId") Long ultimoId, Limit limite);
 }
@@ -0,0 +1,235 @@
+package com.madeirart.appMadeirart.modules.orcamento.service;
+
+import com.madeirart.appMadeirart.modules.orcamento.dto.ResultadoBuscaOrcamentoDTO;
+import com.madeirart.appMadeirart.modules.orcamento.entity.Orcamento;
+import com.madeirart.appMadeirart.modules.orcamento.repository.OrcamentoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service da busca textual de orçamentos (SQLite FTS5)
+ * O índice orcamentos_busca tem uma linha por orçamento (rowid = id do
+ * orçamento) com o cliente e a descrição dos móveis, e o índice
+ * itens_material_busca uma linha por item (rowid = id do item) com a descrição
+ * e o orçamento. Triggers nas tabelas orcamentos e itens_material mantêm os
+ * índices atualizados em qualquer escrita, inclusive fora da aplicação; cada
+ * escrita de item altera só a linha do próprio item
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BuscaOrcamentoService {
+
+    public static final int LIMITE_PADRAO = 20;
+    public static final int LIMITE_MAXIMO = 100;
+
+    /**
+     * Peso de cada coluna no ranking bm25: cliente, móveis
+     */
+    private static final String RANKING_ORCAMENTO = "bm25(orcamentos_busca, 10.0, 5.0)";
+
+    /**
+     * Ranking de um item: os dois índices calculam o bm25 separadamente, e a
+     * descrição curta de um item pontua alto sozinha; o fator mantém um item
+     * abaixo do cliente e dos móveis, como peso 1 diante de 10 e 5
+     */
+    private static final String RANKING_ITEM = "bm25(itens_material_busca) * 0.2";
+
+    /**
+     * Orçamentos em que o termo aparece no cliente, nos móveis ou em algum item
+     */
+    private static final String ORCAMENTOS_COM_TERMO = """
+            SELECT id FROM (
+                SELECT rowid AS id FROM orcamentos_busca WHERE orcamentos_busca MATCH ?
+                UNION
+                SELECT orcamento_id FROM itens_material_busca WHERE itens_material_busca MATCH ?)
+            """;
+
+    /**
+     * Triggers da versão com uma linha por orçamento contendo todos os itens
+     */
+    private static final List<String> TRIGGERS_ANTERIORES = List.of(
+            "orcamentos_busca_ai", "orcamentos_busca_au", "orcamentos_busca_ad",
+            "itens_material_busca_ai", "itens_material_busca_au", "itens_material_busca_ad");
+
+    private static final List<String> ESTRUTURA = List.of(
+            """
+            CREATE VIRTUAL TABLE IF NOT EXISTS orcamentos_busca USING fts5(
+                cliente, moveis,
+                tokenize = 'unicode61 remove_diacritics 2',
+                prefix = '2 3')
+            """,
+            """
+            CREATE VIRTUAL TABLE IF NOT EXISTS itens_material_busca USING fts5(
+                descricao, orcamento_id UNINDEXED,
+                tokenize = 'unicode61 remove_diacritics 2',
+                prefix = '2 3')
+            """,
+            "CREATE TRIGGER IF NOT EXISTS orcamentos_busca_ai AFTER INSERT ON orcamentos BEGIN "
+                    + "INSERT INTO orcamentos_busca (rowid, cliente, moveis) VALUES (NEW.id, NEW.cliente, NEW.moveis); END",
+            "CREATE TRIGGER IF NOT EXISTS orcamentos_busca_au AFTER UPDATE OF cliente, moveis ON orcamentos BEGIN "
+                    + "UPDATE orcamentos_busca SET cliente = NEW.cliente, moveis = NEW.moveis WHERE rowid = NEW.id; END",
+            "CREATE TRIGGER IF NOT EXISTS orcamentos_busca_ad AFTER DELETE ON orcamentos BEGIN "
+                    + "DELETE FROM orcamentos_busca WHERE rowid = OLD.id; END",
+            "CREATE TRIGGER IF NOT EXISTS itens_material_busca_ai AFTER INSERT ON itens_material BEGIN "
+                    + "INSERT INTO itens_material_busca (rowid, descricao, orcamento_id) "
+                    + "VALUES (NEW.id, NEW.descricao, NEW.orcamento_id); END",
+            "CREATE TRIGGER IF NOT EXISTS itens_material_busca_au AFTER UPDATE OF descricao, orcamento_id ON itens_material BEGIN "
+                    + "UPDATE itens_material_busca SET descricao = NEW.descricao, orcamento_id = NEW.orcamento_id "
+                    + "WHERE rowid = NEW.id; END",
+            "CREATE TRIGGER IF NOT EXISTS itens_material_busca_ad AFTER DELETE ON itens_material BEGIN "
+                    + "DELETE FROM itens_material_busca WHERE rowid = OLD.id; END");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrcamentoRepository orcamentoRepository;
+
+    /**
+     * Cria os índices e os triggers se ainda não existirem e repopula os
+     * índices quando eles não cobrem todos os orçamentos e itens (primeira
+     * execução, registros gravados sem os triggers ou índice da versão com
+     * todos os itens na linha do orçamento)
+     *
+     * @return true se os índices foram repopulados
+     */
+    @Transactional
+    public boolean inicializarIndice() {
+        Long versaoAnterior = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pragma_table_info('orcamentos_busca') WHERE name = 'itens'", Long.class);
+        if (versaoAnterior != null && versaoAnterior > 0) {
+            TRIGGERS_ANTERIORES.forEach(trigger -> jdbcTemplate.execute("DROP TRIGGER IF EXISTS " + trigger));
+            jdbcTemplate.execute("DROP TABLE orcamentos_busca");
+        }
+        ESTRUTURA.forEach(jdbcTemplate::execute);
+
+        Long orcamentos = jdbcTemplate.queryForObject("SELECT count(*) FROM orcamentos", Long.class);
+        Long itens = jdbcTemplate.queryForObject("SELECT count(*) FROM itens_material", Long.class);
+        if (Objects.equals(jdbcTemplate.queryForObject("SELECT count(*) FROM orcamentos_busca", Long.class), orcamentos)
+                && Objects.equals(jdbcTemplate.queryForObject("SELECT count(*) FROM itens_material_busca", Long.class),
+                        itens)) {
+            return false;
+        }
+
+        jdbcTemplate.update("DELETE FROM orcamentos_busca");
+        jdbcTemplate.update("INSERT INTO orcamentos_busca (rowid, cliente, moveis) SELECT id, cliente, moveis FROM orcamentos");
+        jdbcTemplate.update("DELETE FROM itens_material_busca");
+        jdbcTemplate.update("INSERT INTO itens_material_busca (rowid, descricao, orcamento_id) "
+                + "SELECT id, descricao, orcamento_id FROM itens_material");
+        log.info("Índice de busca de orçamentos repopulado ({} orçamentos, {} itens)", orcamentos, itens);
+        return true;
+    }
+
+    /**
+     * Busca orçamentos pelo texto no cliente, nos móveis e nos itens
+     * Todos os termos precisam aparecer, cada um como prefixo de uma palavra,
+     * sem diferenciar maiúsculas e acentos ("arm coz mdf" encontra "Armário
+     * de cozinha" com item "MDF branco"). Os resultados vêm do mais relevante
+     * para o menos relevante
+     *
+     * @throws IllegalArgumentException se o texto não tiver termos ou o limite
+     *                                  for inválido
+     */
+    @Transactional(readOnly = true)
+    public List<ResultadoBuscaOrcamentoDTO> buscar(String texto, int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("Limite da busca deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+        List<String> termos = montarTermos(texto);
+
+        // Todos os termos precisam aparecer no orçamento (em qualquer coluna ou
+        // item); o ranking soma o peso das linhas encontradas de cada orçamento
+        // e o trecho vem da linha mais relevante
+        String sql = """
+                WITH encontrados AS (
+                    SELECT rowid AS id, %s AS peso,
+                           snippet(orcamentos_busca, -1, '[', ']', '...', 12) AS trecho
+                    FROM orcamentos_busca WHERE orcamentos_busca MATCH ?
+                    UNION ALL
+                    SELECT orcamento_id, %s,
+                           snippet(itens_material_busca, 0, '[', ']', '...', 12)
+                    FROM itens_material_busca WHERE itens_material_busca MATCH ?
+                ),
+                candidatos AS (
+                    %s
+                ),
+                ordenados AS (
+                    SELECT id, trecho,
+                           SUM(peso) OVER (PARTITION BY id) AS total,
+                           ROW_NUMBER() OVER (PARTITION BY id ORDER BY peso) AS posicao
+                    FROM encontrados WHERE id IN candidatos
+                )
+                SELECT id, trecho FROM ordenados WHERE posicao = 1 ORDER BY total, id LIMIT ?
+                """.formatted(RANKING_ORCAMENTO, RANKING_ITEM,
+                        String.join("INTERSECT\n", Collections.nCopies(termos.size(), ORCAMENTOS_COM_TERMO)));
+
+        String qualquerTermo = String.join(" OR ", termos);
+        List<Object> parametros = new ArrayList<>(List.of(qualquerTermo, qualquerTermo));
+        termos.forEach(termo -> parametros.addAll(List.of(termo, termo)));
+        parametros.add(limite);
+
+        Map<Long, String> trechosPorId = new LinkedHashMap<>();
+        jdbcTemplate.query(sql,
+                rs -> {
+                    trechosPorId.put(rs.getLong(1), rs.getString(2));
+                },
+                parametros.toArray());
+
+        if (trechosPorId.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Orcamento> orcamentos = orcamentoRepository.findAllById(trechosPorId.keySet()).stream()
+                .collect(Collectors.toMap(Orcamento::getId, Function.identity()));
+
+        List<ResultadoBuscaOrcamentoDTO> resultados = new ArrayList<>(trechosPorId.size());
+        trechosPorId.forEach((id, trecho) -> {
+            Orcamento orcamento = orcamentos.get(id);
+            if (orcamento != null) {
+                resultados.add(ResultadoBuscaOrcamentoDTO.builder()
+                        .id(id)
+                        .cliente(orcamento.getCliente())
+                        .moveis(orcamento.getMoveis())
+                        .data(orcamento.getData())
+                        .status(orcamento.getStatus())
+                        .valorTotal(orcamento.getValorTotal())
+                        .trecho(trecho)
+                        .build());
+            }
+        });
+        return resultados;
+    }
+
+    /**
+     * Converte o texto digitado em uma consulta FTS5: cada palavra vira um
+     * prefixo entre aspas ("arm"*), o que também neutraliza a sintaxe do FTS5
+     */
+    String montarConsulta(String texto) {
+        return String.join(" ", montarTermos(texto));
+    }
+
+    private List<String> montarTermos(String texto) {
+        List<String> termos = new ArrayList<>();
+        if (texto != null) {
+            for (String palavra : texto.trim().split("[^\\p{L}\\p{N}]+")) {
+                if (!palavra.isEmpty()) {
+                    termos.add("\"" + palavra + "\"*");
+                }
+            }
+        }
+        if (termos.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um termo para a busca");
+        }
+        return termos;
+    }
+}
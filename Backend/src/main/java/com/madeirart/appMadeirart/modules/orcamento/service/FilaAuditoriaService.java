@@ -0,0 +1,300 @@
+package com.madeirart.appMadeirart.modules.orcamento.service;
+
+import com.madeirart.appMadeirart.modules.orcamento.dto.EstatisticasFilaAuditoriaDTO;
+import com.madeirart.appMadeirart.shared.config.AuditoriaProperties;
+import com.madeirart.appMadeirart.shared.event.AuditoriaOrcamentoEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Service da fila de gravação do histórico de auditoria de orçamentos
+ *
+ * O snapshot é capturado na transação da alteração e só entra na fila depois
+ * do commit (alterações desfeitas não geram histórico). Uma única thread grava
+ * a fila em lotes, um lote por transação, mantendo a ordem das alterações; a
+ * requisição não espera pela gravação
+ *
+ * A fila é limitada: cheia, a requisição espera (sem limite de tempo) até
+ * a thread de gravação abrir espaço; nenhum registro é descartado. Com a fila
+ * encerrada, a requisição grava o próprio registro depois que os registros
+ * mais antigos do mesmo orçamento forem gravados, mantendo a ordem das versões.
+ * No encerramento da aplicação a fila é gravada por completo
+ */
+@Slf4j
+@Service
+public class FilaAuditoriaService {
+
+    static final Duration ESPERA_ENCERRAMENTO = Duration.ofSeconds(30);
+
+    private static final long INTERVALO_VERIFICACAO_MS = 500;
+
+    private final OrcamentoAuditoriaService auditoriaService;
+    private final BlockingQueue<AuditoriaOrcamentoEvent> fila;
+    private final int capacidade;
+    private final int tamanhoLote;
+    private final ExecutorService gravacao =
+            Executors.newSingleThreadExecutor(new CustomizableThreadFactory("auditoria-fila-"));
+
+    /**
+     * Registros enfileirados e ainda não gravados (inclui o lote em gravação),
+     * por orçamento e no total; acessados sincronizados em naoGravados
+     */
+    private final Map<Long, Integer> naoGravados = new HashMap<>();
+    private int totalNaoGravados;
+    private final AtomicInteger maiorProfundidade = new AtomicInteger();
+    private final AtomicLong gravados = new AtomicLong();
+    private final AtomicLong lotes = new AtomicLong();
+    private final AtomicLong gravadosSemFila = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+
+    private volatile boolean ativa = true;
+
+    public FilaAuditoriaService(OrcamentoAuditoriaService auditoriaService, AuditoriaProperties auditoriaProperties) {
+        this.auditoriaService = auditoriaService;
+        this.capacidade = auditoriaProperties.capacidadeFila();
+        this.tamanhoLote = auditoriaProperties.tamanhoLote();
+        this.fila = new ArrayBlockingQueue<>(capacidade);
+    }
+
+    @PostConstruct
+    void iniciar() {
+        gravacao.execute(this::gravarContinuamente);
+    }
+
+    /**
+     * Enfileira o registro após o commit da transação que o capturou
+     * Com a fila cheia, espera até haver espaço
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void enfileirar(AuditoriaOrcamentoEvent registro) {
+        if (ativa) {
+            adicionarNaoGravado(registro.snapshot().id());
+            if (aguardarEspaco(registro)) {
+                maiorProfundidade.accumulateAndGet(fila.size(), Math::max);
+                return;
+            }
+            concluir(List.of(registro));
+        }
+
+        // Gravar antes dos registros mais antigos do mesmo orçamento inverteria a ordem das versões
+        aguardar(() -> !naoGravados.containsKey(registro.snapshot().id()), null);
+        gravadosSemFila.incrementAndGet();
+        gravarIndividualmente(List.of(registro));
+    }
+
+    /**
+     * Coloca o registro na fila, esperando enquanto ela estiver cheia
+     *
+     * @return false se a fila foi encerrada antes que o registro fosse retirado
+     * por ela (o registro deve ser gravado pela própria requisição)
+     */
+    private boolean aguardarEspaco(AuditoriaOrcamentoEvent registro) {
+        boolean avisado = false;
+        boolean interrompida = false;
+        try {
+            while (ativa) {
+                try {
+                    if (fila.offer(registro, INTERVALO_VERIFICACAO_MS, TimeUnit.MILLISECONDS)) {
+                        // Enfileirado durante o encerramento, depois da última retirada: não seria gravado
+                        return ativa || !fila.remove(registro);
+                    }
+                } catch (InterruptedException e) {
+                    interrompida = true;
+                }
+                if (!avisado) {
+                    avisado = true;
+                    log.warn("Fila de auditoria cheia ({} registros), aguardando espaço", capacidade);
+                }
+            }
+            return false;
+        } finally {
+            if (interrompida) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Espera até que todos os registros enfileirados sejam gravados
+     *
+     * @return false se o tempo acabou antes
+     */
+    public boolean aguardarGravacao(Duration espera) {
+        return aguardar(() -> totalNaoGravados == 0, espera);
+    }
+
+    /**
+     * Espera até que os registros enfileirados de um orçamento sejam gravados
+     *
+     * @return false se o tempo acabou antes
+     */
+    public boolean aguardarGravacao(Long orcamentoId, Duration espera) {
+        return aguardar(() -> !naoGravados.containsKey(orcamentoId), espera);
+    }
+
+    /**
+     * @param espera tempo máximo de espera; null espera sem limite (uma
+     *               interrupção não encerra a espera, só é repassada à thread)
+     */
+    private boolean aguardar(BooleanSupplier gravados, Duration espera) {
+        long limite = espera == null ? 0 : System.nanoTime() + espera.toNanos();
+        boolean interrompida = false;
+        try {
+            synchronized (naoGravados) {
+                while (!gravados.getAsBoolean()) {
+                    long restante = espera == null ? 0 : TimeUnit.NANOSECONDS.toMillis(limite - System.nanoTime());
+                    if (espera != null && restante <= 0) {
+                        return false;
+                    }
+                    try {
+                        naoGravados.wait(restante);
+                    } catch (InterruptedException e) {
+                        if (espera != null) {
+                            Thread.currentThread().interrupt();
+                            return false;
+                        }
+                        interrompida = true;
+                    }
+                }
+            }
+            return true;
+        } finally {
+            if (interrompida) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public EstatisticasFilaAuditoriaDTO getEstatisticas() {
+        return EstatisticasFilaAuditoriaDTO.builder()
+                .pendentes(fila.size())
+                .capacidade(capacidade)
+                .maiorProfundidade(maiorProfundidade.get())
+                .gravados(gravados.get())
+                .lotes(lotes.get())
+                .gravadosSemFila(gravadosSemFila.get())
+                .falhas(falhas.get())
+                .build();
+    }
+
+    /**
+     * Laço da thread de gravação: retira até tamanhoLote registros por vez
+     * Após o encerramento, continua até a fila esvaziar
+     */
+    private void gravarContinuamente() {
+        while (ativa || !fila.isEmpty()) {
+            List<AuditoriaOrcamentoEvent> lote = new ArrayList<>(tamanhoLote);
+            try {
+                AuditoriaOrcamentoEvent primeiro = fila.poll(INTERVALO_VERIFICACAO_MS, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                lote.add(primeiro);
+                fila.drainTo(lote, tamanhoLote - 1);
+                gravarLote(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Erro inesperado na gravação da fila de auditoria", e);
+            } finally {
+                concluir(lote);
+            }
+        }
+    }
+
+    /**
+     * Grava o lote em uma transação; se falhar, grava um registro por vez para
+     * perder só os registros com problema
+     */
+    private void gravarLote(List<AuditoriaOrcamentoEvent> lote) {
+        try {
+            auditoriaService.registrarLote(lote);
+            gravados.addAndGet(lote.size());
+            lotes.incrementAndGet();
+            log.debug("Lote de {} registros de auditoria gravado ({} na fila)", lote.size(), fila.size());
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar lote de {} registros de auditoria, gravando individualmente: {}",
+                    lote.size(), e.getMessage());
+            gravarIndividualmente(lote);
+        }
+    }
+
+    private void gravarIndividualmente(List<AuditoriaOrcamentoEvent> registros) {
+        for (AuditoriaOrcamentoEvent registro : registros) {
+            try {
+                auditoriaService.registrar(registro.snapshot(), registro.descricao(), registro.dataAlteracao());
+                gravados.incrementAndGet();
+            } catch (RuntimeException e) {
+                falhas.incrementAndGet();
+                log.error("Erro ao gravar auditoria do orçamento {}", registro.snapshot().id(), e);
+            }
+        }
+    }
+
+    private void adicionarNaoGravado(Long orcamentoId) {
+        synchronized (naoGravados) {
+            naoGravados.merge(orcamentoId, 1, Integer::sum);
+            totalNaoGravados++;
+        }
+    }
+
+    private void concluir(List<AuditoriaOrcamentoEvent> registros) {
+        if (registros.isEmpty()) {
+            return;
+        }
+        synchronized (naoGravados) {
+            for (AuditoriaOrcamentoEvent registro : registros) {
+                naoGravados.computeIfPresent(registro.snapshot().id(),
+                        (id, quantidade) -> quantidade > 1 ? quantidade - 1 : null);
+                totalNaoGravados--;
+            }
+            naoGravados.notifyAll();
+        }
+    }
+
+    /**
+     * Para de aceitar registros na fila e espera a gravação dos pendentes
+     * O que sobrar após a espera é gravado nesta thread, em um último lote
+     */
+    @PreDestroy
+    void encerrar() {
+        ativa = false;
+        gravacao.shutdown();
+        try {
+            if (!gravacao.awaitTermination(ESPERA_ENCERRAMENTO.toMillis(), TimeUnit.MILLISECONDS)) {
+                gravacao.shutdownNow();
+                gravacao.awaitTermination(ESPERA_ENCERRAMENTO.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<AuditoriaOrcamentoEvent> restantes = new ArrayList<>();
+        fila.drainTo(restantes);
+        if (!restantes.isEmpty()) {
+            gravarLote(restantes);
+            concluir(restantes);
+        }
+        log.info("Fila de auditoria encerrada: {} registros gravados em {} lotes, {} falhas",
+                gravados.get(), lotes.get(), falhas.get());
+    }
+}
@@ -0,0 +1,457 @@
+package com.madeirart.appMadeirart.modules.orcamento.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.madeirart.appMadeirart.modules.orcamento.dto.ErroImportacaoDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.ItemMaterialDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoRequestDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.ResultadoImportacaoDTO;
+import com.madeirart.appMadeirart.modules.orcamento.entity.ItemMaterial;
+import com.madeirart.appMadeirart.modules.orcamento.entity.Orcamento;
+import com.madeirart.appMadeirart.modules.orcamento.repository.OrcamentoLoteRepository;
+import com.madeirart.appMadeirart.shared.config.ImportacaoProperties;
+import com.madeirart.appMadeirart.shared.enums.FormatoArquivo;
+import com.madeirart.appMadeirart.shared.enums.StatusOrcamento;
+import com.madeirart.appMadeirart.shared.event.DashboardAlteradoEvent;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Service para importação de orçamentos em massa (NDJSON ou CSV)
+ *
+ * O arquivo é lido linha a linha; cada orçamento é validado com as mesmas
+ * regras do cadastro e os válidos são gravados em lotes de
+ * importacao.lote-orcamentos, uma transação por lote. Só o lote em formação
+ * fica em memória. Registros inválidos são rejeitados com o número da linha,
+ * sem interromper a importação
+ *
+ * NDJSON: um orçamento por linha, no formato do POST /api/orcamentos
+ * CSV: um item por linha, com cabeçalho e separador vírgula ou ponto e
+ * vírgula. A coluna orcamento identifica o orçamento; linhas consecutivas com
+ * o mesmo valor formam um orçamento e os dados do orçamento são lidos da
+ * primeira delas. Campos entre aspas podem ter quebra de linha; uma linha
+ * com as colunas do item vazias (orçamento exportado sem itens) não vira item
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportacaoOrcamentoService {
+
+    static final List<String> COLUNAS_OBRIGATORIAS = List.of(
+            "orcamento", "cliente", "moveis", "data", "fatorMaoDeObra", "quantidade", "descricao", "valorUnitario");
+    static final List<String> COLUNAS_OPCIONAIS = List.of("previsaoEntrega", "custosExtras", "cpc");
+
+    private static final DateTimeFormatter DATA_BRASILEIRA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final OrcamentoLoteRepository loteRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ImportacaoProperties importacaoProperties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Importa os orçamentos do arquivo
+     *
+     * @throws IllegalArgumentException se o cabeçalho do CSV não tiver as
+     *                                  colunas obrigatórias
+     */
+    public ResultadoImportacaoDTO importar(InputStream entrada, FormatoArquivo formato) throws IOException {
+        BufferedReader leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        Importacao importacao = new Importacao();
+        if (formato == FormatoArquivo.CSV) {
+            lerCsv(leitor, importacao);
+        } else {
+            lerNdjson(leitor, importacao);
+        }
+        importacao.gravarPendentes();
+
+        ResultadoImportacaoDTO resultado = importacao.resultado();
+        log.info("Importação {} concluída: {} orçamentos e {} itens gravados, {} registros rejeitados",
+                formato, resultado.importados(), resultado.itens(), resultado.rejeitados());
+        return resultado;
+    }
+
+    private void lerNdjson(BufferedReader leitor, Importacao importacao) throws IOException {
+        long numeroLinha = 0;
+        String linha;
+        while ((linha = leitor.readLine()) != null) {
+            numeroLinha++;
+            linha = semBom(linha, numeroLinha);
+            if (linha.isBlank()) {
+                continue;
+            }
+            try {
+                importacao.adicionar(numeroLinha, objectMapper.readValue(linha, OrcamentoRequestDTO.class));
+            } catch (JsonProcessingException e) {
+                importacao.rejeitar(numeroLinha, "JSON inválido: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private void lerCsv(BufferedReader leitor, Importacao importacao) throws IOException {
+        String cabecalho = leitor.readLine();
+        if (cabecalho == null) {
+            return;
+        }
+        cabecalho = semBom(cabecalho, 1);
+        char separador = cabecalho.indexOf(';') >= 0 ? ';' : ',';
+        Map<String, Integer> colunas = lerCabecalho(separarCampos(cabecalho, separador));
+
+        long numeroLinha = 1;
+        OrcamentoCsv atual = null;
+        String linha;
+        while ((linha = leitor.readLine()) != null) {
+            numeroLinha++;
+            if (linha.isBlank()) {
+                continue;
+            }
+            // Aspas abertas: o registro continua na próxima linha. Os erros
+            // apontam a primeira linha do registro
+            long linhaRegistro = numeroLinha;
+            int aspas = contarAspas(linha);
+            String continuacao;
+            while (aspas % 2 != 0 && (continuacao = leitor.readLine()) != null) {
+                numeroLinha++;
+                linha = linha + '\n' + continuacao;
+                aspas += contarAspas(continuacao);
+            }
+            LinhaCsv campos = new LinhaCsv(separarCampos(linha, separador), colunas);
+            String chave = campos.texto("orcamento");
+
+            if (atual == null || !Objects.equals(atual.chave, chave)) {
+                if (atual != null) {
+                    atual.concluir(importacao);
+                }
+                atual = new OrcamentoCsv(chave, linhaRegistro);
+                try {
+                    atual.lerOrcamento(campos);
+                } catch (IllegalArgumentException e) {
+                    atual.rejeitar(linhaRegistro, e.getMessage());
+                }
+            }
+            try {
+                atual.lerItem(campos);
+            } catch (IllegalArgumentException e) {
+                atual.rejeitar(linhaRegistro, e.getMessage());
+            }
+        }
+        if (atual != null) {
+            atual.concluir(importacao);
+        }
+    }
+
+    /**
+     * Mapeia o nome de cada coluna (sem diferenciar maiúsculas) para a posição
+     */
+    private Map<String, Integer> lerCabecalho(List<String> nomes) {
+        Map<String, Integer> colunas = new HashMap<>();
+        for (int i = 0; i < nomes.size(); i++) {
+            String nome = nomes.get(i).trim();
+            for (String conhecida : COLUNAS_OBRIGATORIAS) {
+                if (conhecida.equalsIgnoreCase(nome)) {
+                    colunas.put(conhecida, i);
+                }
+            }
+            for (String conhecida : COLUNAS_OPCIONAIS) {
+                if (conhecida.equalsIgnoreCase(nome)) {
+                    colunas.put(conhecida, i);
+                }
+            }
+        }
+
+        List<String> ausentes = COLUNAS_OBRIGATORIAS.stream().filter(coluna -> !colunas.containsKey(coluna)).toList();
+        if (!ausentes.isEmpty()) {
+            throw new IllegalArgumentException("Colunas obrigatórias ausentes no CSV: " + String.join(", ", ausentes));
+        }
+        return colunas;
+    }
+
+    /**
+     * Separa os campos de uma linha CSV, respeitando aspas ("" dentro de
+     * aspas é uma aspa)
+     */
+    static List<String> separarCampos(String linha, char separador) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c != '"') {
+                    campo.append(c);
+                } else if (i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else {
+                    entreAspas = false;
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    private static int contarAspas(String linha) {
+        int aspas = 0;
+        for (int i = 0; i < linha.length(); i++) {
+            if (linha.charAt(i) == '"') {
+                aspas++;
+            }
+        }
+        return aspas;
+    }
+
+    private static String semBom(String linha, long numeroLinha) {
+        return numeroLinha == 1 && linha.startsWith("\uFEFF") ? linha.substring(1) : linha;
+    }
+
+    private Orcamento paraEntidade(OrcamentoRequestDTO dto) {
+        Orcamento orcamento = new Orcamento();
+        orcamento.setCliente(dto.cliente());
+        orcamento.setMoveis(dto.moveis());
+        orcamento.setData(dto.data());
+        orcamento.setPrevisaoEntrega(dto.previsaoEntrega());
+        orcamento.setFatorMaoDeObra(dto.fatorMaoDeObra());
+        orcamento.setCustosExtras(dto.custosExtras() != null ? dto.custosExtras() : BigDecimal.ZERO);
+        orcamento.setCpc(dto.cpc() != null ? dto.cpc() : BigDecimal.ZERO);
+        orcamento.setStatus(StatusOrcamento.AGUARDANDO);
+        orcamento.setCreatedAt(LocalDate.now());
+        orcamento.setUpdatedAt(LocalDate.now());
+
+        dto.itens().forEach(itemDTO -> {
+            ItemMaterial item = new ItemMaterial();
+            item.setQuantidade(itemDTO.quantidade());
+            item.setDescricao(itemDTO.descricao());
+            item.setValorUnitario(itemDTO.valorUnitario());
+            orcamento.adicionarItem(item);
+        });
+        orcamento.recalcularTotais();
+        return orcamento;
+    }
+
+    /**
+     * Estado de uma importação: o lote em formação e os totais
+     */
+    private final class Importacao {
+
+        private final List<Orcamento> pendentes = new ArrayList<>();
+        private final List<Long> linhasPendentes = new ArrayList<>();
+        private final List<ErroImportacaoDTO> erros = new ArrayList<>();
+        private int importados;
+        private int itens;
+        private int rejeitados;
+
+        void adicionar(long linha, OrcamentoRequestDTO dto) {
+            String violacoes = validar(dto);
+            if (violacoes != null) {
+                rejeitar(linha, violacoes);
+                return;
+            }
+            pendentes.add(paraEntidade(dto));
+            linhasPendentes.add(linha);
+            if (pendentes.size() >= importacaoProperties.loteOrcamentos()) {
+                gravarPendentes();
+            }
+        }
+
+        void rejeitar(long linha, String mensagem) {
+            rejeitados++;
+            if (erros.size() < importacaoProperties.maximoErros()) {
+                erros.add(new ErroImportacaoDTO(linha, mensagem));
+            }
+        }
+
+        /**
+         * Grava o lote em uma transação; se falhar, todos os registros do lote
+         * são rejeitados
+         */
+        void gravarPendentes() {
+            if (pendentes.isEmpty()) {
+                return;
+            }
+            try {
+                itens += loteRepository.inserir(pendentes, importacaoProperties.loteItens());
+                importados += pendentes.size();
+                pendentes.forEach(orcamento -> eventPublisher.publishEvent(DashboardAlteradoEvent.orcamentoCriado(
+                        orcamento.getId(), orcamento.getCliente(), orcamento.getStatus())));
+            } catch (DataAccessException e) {
+                String mensagem = "Erro ao gravar: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                log.warn("Falha ao gravar lote de {} orçamentos importados: {}", pendentes.size(), mensagem);
+                linhasPendentes.forEach(linha -> rejeitar(linha, mensagem));
+            }
+            pendentes.clear();
+            linhasPendentes.clear();
+        }
+
+        ResultadoImportacaoDTO resultado() {
+            return ResultadoImportacaoDTO.builder()
+                    .importados(importados)
+                    .itens(itens)
+                    .rejeitados(rejeitados)
+                    .erros(erros)
+                    .build();
+        }
+
+        /**
+         * Valida o orçamento com as anotações do DTO
+         *
+         * @return as violações, ou nulo se o orçamento for válido
+         */
+        private String validar(OrcamentoRequestDTO dto) {
+            var violacoes = validator.validate(dto);
+            if (violacoes.isEmpty()) {
+                return null;
+            }
+            return violacoes.stream()
+                    .sorted(Comparator.comparing(violacao -> violacao.getPropertyPath().toString()))
+                    .map(ImportacaoOrcamentoService::descrever)
+                    .collect(Collectors.joining("; "));
+        }
+    }
+
+    private static String descrever(ConstraintViolation<?> violacao) {
+        return violacao.getPropertyPath() + ": " + violacao.getMessage();
+    }
+
+    /**
+     * Orçamento do CSV em formação (linhas consecutivas com a mesma chave)
+     */
+    private static final class OrcamentoCsv {
+
+        private final String chave;
+        private final long primeiraLinha;
+        private final List<ItemMaterialDTO> itens = new ArrayList<>();
+        private LinhaCsv dados;
+        private Long linhaErro;
+        private String erro;
+
+        OrcamentoCsv(String chave, long primeiraLinha) {
+            this.chave = chave;
+            this.primeiraLinha = primeiraLinha;
+        }
+
+        void lerOrcamento(LinhaCsv campos) {
+            // Converte já na primeira linha para acusar o erro nela
+            campos.data("data");
+            campos.data("previsaoEntrega");
+            campos.decimal("fatorMaoDeObra");
+            campos.decimal("custosExtras");
+            campos.decimal("cpc");
+            this.dados = campos;
+        }
+
+        void lerItem(LinhaCsv campos) {
+            if (campos.texto("quantidade") == null && campos.texto("descricao") == null
+                    && campos.texto("valorUnitario") == null) {
+                return;
+            }
+            itens.add(new ItemMaterialDTO(null, campos.decimal("quantidade"), campos.texto("descricao"),
+                    campos.decimal("valorUnitario"), null));
+        }
+
+        void rejeitar(long linha, String mensagem) {
+            if (erro == null) {
+                linhaErro = linha;
+                erro = mensagem;
+            }
+        }
+
+        void concluir(Importacao importacao) {
+            if (erro != null) {
+                importacao.rejeitar(linhaErro, erro);
+                return;
+            }
+            importacao.adicionar(primeiraLinha, new OrcamentoRequestDTO(
+                    dados.texto("cliente"),
+                    dados.texto("moveis"),
+                    dados.data("data"),
+                    dados.data("previsaoEntrega"),
+                    dados.decimal("fatorMaoDeObra"),
+                    dados.decimal("custosExtras"),
+                    dados.decimal("cpc"),
+                    itens));
+        }
+    }
+
+    /**
+     * Campos de uma linha do CSV acessados pelo nome da coluna
+     */
+    private record LinhaCsv(List<String> campos, Map<String, Integer> colunas) {
+
+        /**
+         * Texto da coluna sem espaços nas pontas, ou nulo se vazio ou ausente
+         */
+        String texto(String coluna) {
+            Integer posicao = colunas.get(coluna);
+            if (posicao == null || posicao >= campos.size()) {
+                return null;
+            }
+            String valor = campos.get(posicao).trim();
+            return valor.isEmpty() ? null : valor;
+        }
+
+        /**
+         * Número com ponto ou vírgula decimal (aceita 1.234,56 e 1234.56)
+         */
+        BigDecimal decimal(String coluna) {
+            String valor = texto(coluna);
+            if (valor == null) {
+                return null;
+            }
+            String normalizado = valor.replace(" ", "");
+            if (normalizado.contains(",")) {
+                normalizado = normalizado.replace(".", "").replace(',', '.');
+            }
+            try {
+                return new BigDecimal(normalizado);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Valor inválido na coluna " + coluna + ": " + valor);
+            }
+        }
+
+        /**
+         * Data no formato yyyy-MM-dd ou dd/MM/yyyy
+         */
+        LocalDate data(String coluna) {
+            String valor = texto(coluna);
+            if (valor == null) {
+                return null;
+            }
+            try {
+                return valor.contains("/") ? LocalDate.parse(valor, DATA_BRASILEIRA) : LocalDate.parse(valor);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Data inválida na coluna " + coluna + ": " + valor);
+            }
+        }
+    }
+}
@@ -0,0 +1,422 @@
+package com.madeirart.appMadeirart.modules.orcamento.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoAuditoriaDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoResponseDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.PaginaHistoricoDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.ResumoAuditoriaDTO;
+import com.madeirart.appMadeirart.modules.orcamento.entity.OrcamentoAuditoria;
+import com.madeirart.appMadeirart.modules.orcamento.repository.OrcamentoAuditoriaRepository;
+import com.madeirart.appMadeirart.shared.config.AuditoriaProperties;
+import com.madeirart.appMadeirart.shared.enums.TipoSnapshotAuditoria;
+import com.madeirart.appMadeirart.shared.event.AuditoriaOrcamentoEvent;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service que grava e reconstrói o histórico de auditoria de orçamentos
+ *
+ * Em vez do snapshot inteiro a cada alteração, cada linha guarda só os campos
+ * que mudaram em relação à versão anterior, com um snapshot completo a cada
+ * auditoria.intervalo-checkpoint versões. Qualquer versão é reconstruída a
+ * partir do último snapshot completo anterior a ela, lendo normalmente no
+ * máximo esse intervalo de linhas. Conteúdos grandes são gravados compactados
+ */
+@Service
+public class OrcamentoAuditoriaService {
+
+    /**
+     * Campo da diferença com os nomes dos campos que deixaram de existir
+     */
+    static final String CAMPOS_REMOVIDOS = "_removidos";
+
+    public static final int LIMITE_PAGINA_PADRAO = 20;
+    public static final int LIMITE_PAGINA_MAXIMO = 100;
+
+    private final OrcamentoAuditoriaRepository auditoriaRepository;
+    private final ObjectMapper objectMapper;
+    private final AuditoriaProperties auditoriaProperties;
+
+    public OrcamentoAuditoriaService(OrcamentoAuditoriaRepository auditoriaRepository, ObjectMapper objectMapper,
+            AuditoriaProperties auditoriaProperties) {
+        this.auditoriaRepository = auditoriaRepository;
+        // Decimais lidos e gerados como BigDecimal exatos: o snapshot reconstruído
+        // é igual ao original e valores iguais não aparecem como diferença
+        this.objectMapper = objectMapper.copy()
+                .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                .configure(JsonNodeFeature.STRIP_TRAILING_BIGDECIMAL_ZEROES, false);
+        this.auditoriaProperties = auditoriaProperties;
+    }
+
+    /**
+     * Grava o estado de um orçamento como nova versão do seu histórico, na
+     * transação de quem chamou
+     */
+    @Transactional
+    public OrcamentoAuditoria registrar(OrcamentoResponseDTO snapshot, String descricao) {
+        return registrar(snapshot, descricao, LocalDateTime.now());
+    }
+
+    /**
+     * Grava um lote de registros capturados, na ordem, em uma única transação
+     * Sempre em transação própria: a fila também grava a partir do pós-commit
+     * da alteração, quando a transação original já terminou
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void registrarLote(List<AuditoriaOrcamentoEvent> registros) {
+        for (AuditoriaOrcamentoEvent registro : registros) {
+            registrar(registro.snapshot(), registro.descricao(), registro.dataAlteracao());
+        }
+    }
+
+    /**
+     * Grava o estado de um orçamento capturado em dataAlteracao
+     * Chamado pela fila de auditoria, pelo proxy, roda em transação própria;
+     * chamado pelos outros métodos deste service, participa da transação deles
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public OrcamentoAuditoria registrar(OrcamentoResponseDTO snapshot, String descricao, LocalDateTime dataAlteracao) {
+        Long orcamentoId = snapshot.id();
+        ObjectNode atual = paraArvore(snapshot);
+        int intervalo = auditoriaProperties.intervaloCheckpoint();
+
+        List<OrcamentoAuditoria> recentes = auditoriaRepository.findByOrcamentoIdOrderByIdDesc(orcamentoId,
+                Limit.of(intervalo));
+        int checkpoint = posicaoDoCheckpoint(recentes);
+        ObjectNode alteracao = checkpoint < 0 ? null
+                : diferenca(reconstruir(recentes.subList(0, checkpoint + 1)), atual);
+
+        // Novo snapshot completo quando a cadeia desde o último já tem o tamanho do intervalo
+        boolean completo = checkpoint < 0 || checkpoint + 1 >= intervalo;
+        JsonNode conteudo = completo ? atual : alteracao;
+
+        String json = escrever(conteudo);
+        boolean compactado = json.length() >= auditoriaProperties.tamanhoMinimoCompactacao();
+
+        OrcamentoAuditoria auditoria = OrcamentoAuditoria.builder()
+                .orcamentoId(orcamentoId)
+                .versao(proximaVersao(orcamentoId, recentes))
+                .tipoSnapshot(completo ? TipoSnapshotAuditoria.COMPLETO : TipoSnapshotAuditoria.DIFERENCA)
+                .compactado(compactado)
+                .snapshotJson(compactado ? compactar(json) : json)
+                .dataAlteracao(dataAlteracao)
+                .descricaoAlteracao(descricao)
+                .camposAlterados(alteracao != null ? camposAlterados(alteracao) : null)
+                .build();
+
+        return auditoriaRepository.save(auditoria);
+    }
+
+    /**
+     * Lista o histórico de um orçamento com o snapshot completo de cada versão,
+     * da mais recente para a mais antiga
+     * As versões são reconstruídas em uma única passada na ordem de gravação
+     */
+    @Transactional(readOnly = true)
+    public List<OrcamentoAuditoriaDTO> listarHistorico(Long orcamentoId) {
+        List<OrcamentoAuditoriaDTO> historico = new ArrayList<>();
+        ObjectNode estado = null;
+        for (OrcamentoAuditoria auditoria : auditoriaRepository.findByOrcamentoIdOrderByIdAsc(orcamentoId)) {
+            estado = aplicar(estado, auditoria);
+            historico.add(0, convertToDTO(auditoria, escrever(estado)));
+        }
+        return historico;
+    }
+
+    /**
+     * Lista uma página do histórico de um orçamento sem ler os snapshots, da
+     * versão mais recente para a mais antiga
+     * Paginação por cursor (data de alteração e id da última versão da página
+     * anterior); o total de versões é contado só na primeira página
+     *
+     * @param cursor valor de proximoCursor da página anterior, ou nulo para a
+     *               primeira página
+     * @throws IllegalArgumentException se o cursor ou o limite forem inválidos
+     */
+    @Transactional(readOnly = true)
+    public PaginaHistoricoDTO listarResumos(Long orcamentoId, String cursor, int limite) {
+        if (limite < 1 || limite > LIMITE_PAGINA_MAXIMO) {
+            throw new IllegalArgumentException("Limite da página deve estar entre 1 e " + LIMITE_PAGINA_MAXIMO);
+        }
+
+        // Um registro a mais indica se existe próxima página
+        Limit limiteConsulta = Limit.of(limite + 1);
+        List<ResumoAuditoriaDTO> encontrados;
+        Long total = null;
+        if (cursor == null) {
+            total = auditoriaRepository.countByOrcamentoId(orcamentoId);
+            encontrados = auditoriaRepository.listarResumos(orcamentoId, limiteConsulta);
+        } else {
+            ResumoAuditoriaDTO posicao = decodificarCursor(cursor);
+            encontrados = auditoriaRepository.listarResumosApos(orcamentoId, posicao.dataAlteracao(), posicao.id(),
+                    limiteConsulta);
+        }
+
+        boolean temProxima = encontrados.size() > limite;
+        List<ResumoAuditoriaDTO> pagina = temProxima ? encontrados.subList(0, limite) : encontrados;
+
+        return PaginaHistoricoDTO.builder()
+                .alteracoes(pagina)
+                .proximoCursor(temProxima ? codificarCursor(pagina.get(pagina.size() - 1)) : null)
+                .total(total)
+                .build();
+    }
+
+    /**
+     * Busca uma versão do histórico de um orçamento com o snapshot completo
+     *
+     * @throws EntityNotFoundException se a versão não existir ou for de outro
+     *                                 orçamento
+     */
+    @Transactional(readOnly = true)
+    public OrcamentoAuditoriaDTO buscarVersao(Long orcamentoId, Long auditoriaId) {
+        OrcamentoAuditoria auditoria = auditoriaRepository.findById(auditoriaId)
+                .filter(encontrada -> encontrada.getOrcamentoId().equals(orcamentoId))
+                .orElseThrow(() -> new EntityNotFoundException("Auditoria não encontrada com ID: " + auditoriaId));
+        return convertToDTO(auditoria, escrever(reconstruir(auditoria)));
+    }
+
+    /**
+     * Reconstrói o snapshot completo (JSON) de uma versão do histórico
+     */
+    @Transactional(readOnly = true)
+    public String reconstruirSnapshot(Long auditoriaId) {
+        OrcamentoAuditoria auditoria = auditoriaRepository.findById(auditoriaId)
+                .orElseThrow(() -> new EntityNotFoundException("Auditoria não encontrada com ID: " + auditoriaId));
+        return escrever(reconstruir(auditoria));
+    }
+
+    /**
+     * Reconstrói o estado de uma linha a partir do último snapshot completo
+     * anterior a ela, por mais longe que esteja (o intervalo de checkpoint pode
+     * ter sido aumentado depois da gravação)
+     */
+    ObjectNode reconstruir(OrcamentoAuditoria auditoria) {
+        if (auditoria.isCompleto()) {
+            return lerConteudo(auditoria);
+        }
+        Long checkpoint = auditoriaRepository.buscarUltimoCompletoAte(auditoria.getOrcamentoId(), auditoria.getId(),
+                TipoSnapshotAuditoria.DIFERENCA);
+        if (checkpoint == null) {
+            throw new IllegalStateException("Snapshot completo não encontrado para a auditoria " + auditoria.getId());
+        }
+        return reconstruir(auditoriaRepository.findByOrcamentoIdAndIdBetweenOrderByIdDesc(auditoria.getOrcamentoId(),
+                checkpoint, auditoria.getId()));
+    }
+
+    /**
+     * Aplica as linhas de uma cadeia (da mais recente para a mais antiga,
+     * terminando em um snapshot completo)
+     */
+    private ObjectNode reconstruir(List<OrcamentoAuditoria> cadeia) {
+        ObjectNode estado = null;
+        for (int i = cadeia.size() - 1; i >= 0; i--) {
+            estado = aplicar(estado, cadeia.get(i));
+        }
+        return estado;
+    }
+
+    private ObjectNode aplicar(ObjectNode estado, OrcamentoAuditoria auditoria) {
+        ObjectNode conteudo = lerConteudo(auditoria);
+        if (auditoria.isCompleto() || estado == null) {
+            return conteudo;
+        }
+        aplicarDiferenca(estado, conteudo);
+        return estado;
+    }
+
+    /**
+     * Posição do snapshot completo mais recente em uma lista da linha mais
+     * recente para a mais antiga, ou -1 se não houver
+     */
+    private int posicaoDoCheckpoint(List<OrcamentoAuditoria> recentes) {
+        for (int i = 0; i < recentes.size(); i++) {
+            if (recentes.get(i).isCompleto()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Nomes dos campos de uma diferença, incluindo os removidos
+     */
+    private static String camposAlterados(ObjectNode diferenca) {
+        List<String> campos = new ArrayList<>();
+        diferenca.fieldNames().forEachRemaining(nome -> {
+            if (!CAMPOS_REMOVIDOS.equals(nome)) {
+                campos.add(nome);
+            }
+        });
+        diferenca.path(CAMPOS_REMOVIDOS).forEach(nome -> campos.add(nome.asText()));
+        return String.join(",", campos);
+    }
+
+    private static String codificarCursor(ResumoAuditoriaDTO ultima) {
+        String posicao = ultima.dataAlteracao() + "|" + ultima.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(posicao.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Posição (data de alteração e id) codificada em um cursor
+     */
+    private static ResumoAuditoriaDTO decodificarCursor(String cursor) {
+        try {
+            String posicao = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = posicao.indexOf('|');
+            return ResumoAuditoriaDTO.builder()
+                    .dataAlteracao(LocalDateTime.parse(posicao.substring(0, separador)))
+                    .id(Long.valueOf(posicao.substring(separador + 1)))
+                    .build();
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido: " + cursor);
+        }
+    }
+
+    private int proximaVersao(Long orcamentoId, List<OrcamentoAuditoria> recentes) {
+        if (recentes.isEmpty()) {
+            return 1;
+        }
+        Integer ultima = recentes.get(0).getVersao();
+        // Linhas antigas não têm versão: numera pela quantidade de linhas
+        return ultima != null ? ultima + 1 : (int) auditoriaRepository.countByOrcamentoId(orcamentoId) + 1;
+    }
+
+    /**
+     * Campos de atual que diferem de anterior. Objetos presentes nos dois
+     * lados viram uma diferença aninhada; os demais valores (inclusive listas)
+     * são gravados inteiros
+     */
+    static ObjectNode diferenca(ObjectNode anterior, ObjectNode atual) {
+        ObjectNode diferenca = atual.objectNode();
+        Iterator<Map.Entry<String, JsonNode>> campos = atual.fields();
+        while (campos.hasNext()) {
+            Map.Entry<String, JsonNode> campo = campos.next();
+            JsonNode antes = anterior.get(campo.getKey());
+            JsonNode depois = campo.getValue();
+            if (Objects.equals(antes, depois)) {
+                continue;
+            }
+            if (antes instanceof ObjectNode objetoAntes && depois instanceof ObjectNode objetoDepois) {
+                diferenca.set(campo.getKey(), diferenca(objetoAntes, objetoDepois));
+            } else {
+                diferenca.set(campo.getKey(), depois);
+            }
+        }
+
+        ArrayNode removidos = diferenca.arrayNode();
+        anterior.fieldNames().forEachRemaining(nome -> {
+            if (!atual.has(nome)) {
+                removidos.add(nome);
+            }
+        });
+        if (!removidos.isEmpty()) {
+            diferenca.set(CAMPOS_REMOVIDOS, removidos);
+        }
+        return diferenca;
+    }
+
+    /**
+     * Aplica sobre estado uma diferença gerada por diferenca(estado, novo)
+     */
+    static void aplicarDiferenca(ObjectNode estado, ObjectNode diferenca) {
+        Iterator<Map.Entry<String, JsonNode>> campos = diferenca.fields();
+        while (campos.hasNext()) {
+            Map.Entry<String, JsonNode> campo = campos.next();
+            if (CAMPOS_REMOVIDOS.equals(campo.getKey())) {
+                campo.getValue().forEach(nome -> estado.remove(nome.asText()));
+            } else if (estado.get(campo.getKey()) instanceof ObjectNode objeto
+                    && campo.getValue() instanceof ObjectNode diferencaAninhada) {
+                aplicarDiferenca(objeto, diferencaAninhada);
+            } else {
+                estado.set(campo.getKey(), campo.getValue());
+            }
+        }
+    }
+
+    /**
+     * Converte o snapshot passando pelo JSON gravado, para que os números
+     * tenham os mesmos tipos dos lidos do histórico (ids lidos voltam como
+     * int, não long) e só valores realmente diferentes entrem na diferença
+     */
+    private ObjectNode paraArvore(OrcamentoResponseDTO snapshot) {
+        try {
+            return (ObjectNode) objectMapper.readTree(objectMapper.writeValueAsString(snapshot));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao serializar snapshot de auditoria", e);
+        }
+    }
+
+    private ObjectNode lerConteudo(OrcamentoAuditoria auditoria) {
+        String json = Boolean.TRUE.equals(auditoria.getCompactado())
+                ? descompactar(auditoria.getSnapshotJson())
+                : auditoria.getSnapshotJson();
+        try {
+            return (ObjectNode) objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Snapshot de auditoria inválido (ID " + auditoria.getId() + ")", e);
+        }
+    }
+
+    private String escrever(JsonNode conteudo) {
+        try {
+            return objectMapper.writeValueAsString(conteudo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao serializar snapshot de auditoria", e);
+        }
+    }
+
+    private static String compactar(String json) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(json.length() / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(json.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getEncoder().encodeToString(saida.toByteArray());
+    }
+
+    private static String descompactar(String conteudo) {
+        byte[] compactado = Base64.getDecoder().decode(conteudo);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compactado))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private OrcamentoAuditoriaDTO convertToDTO(OrcamentoAuditoria auditoria, String snapshotJson) {
+        return OrcamentoAuditoriaDTO.builder()
+                .id(auditoria.getId())
+                .orcamentoId(auditoria.getOrcamentoId())
+                .snapshotJson(snapshotJson)
+                .dataAlteracao(auditoria.getDataAlteracao())
+                .descricaoAlteracao(auditoria.getDescricaoAlteracao())
+                .build();
+    }
+}
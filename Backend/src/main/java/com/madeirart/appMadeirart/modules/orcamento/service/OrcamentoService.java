@@ -1,45 +1,81 @@
 package com.madeirart.appMadeirart.modules.orcamento.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.madeirart.appMadeirart.modules.financeiro.service.LivroCaixaService;
+import com.madeirart.appMadeirart.modules.orcamento.dto.EstatisticasItensOrcamentoDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.FiltroOrcamentoDTO;
 import com.madeirart.appMadeirart.modules.orcamento.dto.ItemMaterialDTO;
 import com.madeirart.appMadeirart.modules.orcamento.dto.IniciarProducaoDTO;
 import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoAuditoriaDTO;
 import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoRequestDTO;
 import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoResponseDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.PaginaHistoricoDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.PaginaOrcamentosDTO;
 import com.madeirart.appMadeirart.modules.orcamento.dto.ParcelaResponseDTO;
 import com.madeirart.appMadeirart.modules.orcamento.dto.StatusRecebimentoDTO;
 import com.madeirart.appMadeirart.modules.orcamento.entity.ItemMaterial;
 import com.madeirart.appMadeirart.modules.orcamento.entity.Orcamento;
-import com.madeirart.appMadeirart.modules.orcamento.entity.OrcamentoAuditoria;
 import com.madeirart.appMadeirart.modules.orcamento.entity.Parcela;
-import com.madeirart.appMadeirart.modules.orcamento.repository.OrcamentoAuditoriaRepository;
 import com.madeirart.appMadeirart.modules.orcamento.repository.OrcamentoRepository;
+import com.madeirart.appMadeirart.modules.orcamento.repository.OrcamentoSpecifications;
 import com.madeirart.appMadeirart.modules.orcamento.repository.ParcelaRepository;
 import com.madeirart.appMadeirart.shared.enums.StatusOrcamento;
 import com.madeirart.appMadeirart.shared.enums.StatusParcela;
+import com.madeirart.appMadeirart.shared.event.AuditoriaOrcamentoEvent;
+import com.madeirart.appMadeirart.shared.event.DadosFinanceirosAlteradosEvent;
+import com.madeirart.appMadeirart.shared.event.DashboardAlteradoEvent;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.LocalDateTime;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Service para gerenciamento de orçamentos
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrcamentoService {
 
+    public static final int LIMITE_PAGINA_PADRAO = 50;
+    public static final int LIMITE_PAGINA_MAXIMO = 200;
+
+    private static final Duration ESPERA_HISTORICO = Duration.ofSeconds(2);
+    private static final Sort ORDEM_PAGINA = Sort.by(Sort.Order.desc("data"), Sort.Order.desc("id"));
+
     private final OrcamentoRepository orcamentoRepository;
-    private final OrcamentoAuditoriaRepository auditoriaRepository;
+    private final OrcamentoAuditoriaService auditoriaService;
+    private final FilaAuditoriaService filaAuditoria;
     private final ParcelaRepository parcelaRepository;
-    private final ObjectMapper objectMapper;
+    private final LivroCaixaService livroCaixaService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Linhas de itens afetadas pelas atualizações (GET /api/orcamentos/itens/estatisticas)
+    private final AtomicLong orcamentosAtualizados = new AtomicLong();
+    private final AtomicLong itensInseridos = new AtomicLong();
+    private final AtomicLong itensAlterados = new AtomicLong();
+    private final AtomicLong itensRemovidos = new AtomicLong();
+    private final AtomicLong itensInalterados = new AtomicLong();
 
     /**
      * Cria um novo orçamento
@@ -48,6 +84,8 @@ public class OrcamentoService {
     public OrcamentoResponseDTO criarOrcamento(OrcamentoRequestDTO dto) {
         Orcamento orcamento = convertToEntity(dto);
         Orcamento saved = orcamentoRepository.save(orcamento);
+        eventPublisher.publishEvent(
+                DashboardAlteradoEvent.orcamentoCriado(saved.getId(), saved.getCliente(), saved.getStatus()));
         return convertToResponseDTO(saved);
     }
 
@@ -63,12 +101,12 @@ public class OrcamentoService {
 
     /**
      * Lista todos os orçamentos
+     * Orçamentos com itens e parcelas são lidos com duas consultas, qualquer que
+     * seja a quantidade de orçamentos
      */
     @Transactional(readOnly = true)
     public List<OrcamentoResponseDTO> listarTodos() {
-        return orcamentoRepository.findAll().stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return convertToResponseDTOs(orcamentoRepository.findAllComItens());
     }
 
     /**
@@ -76,9 +114,90 @@ public class OrcamentoService {
      */
     @Transactional(readOnly = true)
     public List<OrcamentoResponseDTO> listarPorStatus(StatusOrcamento status) {
-        return orcamentoRepository.findByStatus(status).stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return convertToResponseDTOs(orcamentoRepository.findByStatus(status));
+    }
+
+    /**
+     * Lista uma página de orçamentos filtrados, do mais recente para o mais
+     * antigo (data desc, id desc)
+     * A página é lida a partir do cursor (keyset), então o custo não depende de
+     * quantas páginas vêm antes. O total de orçamentos do filtro é contado só
+     * na primeira página, com uma consulta COUNT
+     *
+     * @param cursor valor de proximoCursor da página anterior, ou nulo para a
+     *               primeira página
+     * @throws IllegalArgumentException se o cursor, o limite ou os períodos
+     *                                  forem inválidos
+     */
+    @Transactional(readOnly = true)
+    public PaginaOrcamentosDTO listarPagina(FiltroOrcamentoDTO filtro, String cursor, int limite) {
+        if (limite < 1 || limite > LIMITE_PAGINA_MAXIMO) {
+            throw new IllegalArgumentException("Limite da página deve estar entre 1 e " + LIMITE_PAGINA_MAXIMO);
+        }
+        validarPeriodo(filtro.dataInicio(), filtro.dataFim(), "data");
+        validarPeriodo(filtro.entregaInicio(), filtro.entregaFim(), "previsão de entrega");
+
+        Specification<Orcamento> criterios = OrcamentoSpecifications.comFiltro(filtro);
+        Long total = cursor == null ? orcamentoRepository.count(criterios) : null;
+        if (cursor != null) {
+            criterios = criterios.and(aposCursor(cursor));
+        }
+
+        // Um registro a mais indica se existe próxima página
+        List<Orcamento> encontrados = orcamentoRepository.findBy(criterios,
+                consulta -> consulta.sortBy(ORDEM_PAGINA).limit(limite + 1).all());
+        boolean temProxima = encontrados.size() > limite;
+        List<Orcamento> pagina = temProxima ? encontrados.subList(0, limite) : encontrados;
+
+        String proximoCursor = temProxima ? codificarCursor(pagina.get(pagina.size() - 1)) : null;
+
+        return PaginaOrcamentosDTO.builder()
+                .orcamentos(convertToResponseDTOs(comItens(pagina)))
+                .proximoCursor(proximoCursor)
+                .total(total)
+                .build();
+    }
+
+    /**
+     * Carrega os itens de todos os orçamentos da página em uma consulta,
+     * mantendo a ordem da página
+     * O limite é aplicado antes, sem o join com os itens, para que o banco
+     * pagine os orçamentos e não as linhas do join
+     */
+    private List<Orcamento> comItens(List<Orcamento> pagina) {
+        if (pagina.isEmpty()) {
+            return pagina;
+        }
+        Map<Long, Orcamento> porId = orcamentoRepository.findByIdIn(pagina.stream().map(Orcamento::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(Orcamento::getId, Function.identity()));
+        return pagina.stream().map(orcamento -> porId.get(orcamento.getId())).toList();
+    }
+
+    private void validarPeriodo(LocalDate inicio, LocalDate fim, String campo) {
+        if (inicio != null && fim != null && inicio.isAfter(fim)) {
+            throw new IllegalArgumentException("Início do período de " + campo + " deve ser anterior ou igual ao fim");
+        }
+    }
+
+    /**
+     * O cursor é a posição (data, id) do último orçamento da página, em Base64
+     */
+    private String codificarCursor(Orcamento ultimo) {
+        String posicao = ultimo.getData() + ":" + ultimo.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(posicao.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Specification<Orcamento> aposCursor(String cursor) {
+        try {
+            String posicao = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = posicao.indexOf(':');
+            LocalDate data = LocalDate.parse(posicao.substring(0, separador));
+            Long id = Long.valueOf(posicao.substring(separador + 1));
+            return OrcamentoSpecifications.aposCursor(data, id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido: " + cursor);
+        }
     }
 
     /**
@@ -93,6 +212,11 @@ public class OrcamentoService {
 
         salvarAuditoria(orcamento);
 
+        // O nome do cliente aparece no calendário financeiro junto às parcelas
+        if (!Objects.equals(orcamento.getCliente(), dto.cliente())) {
+            publicarAlteracaoDasParcelas(id);
+        }
+
         orcamento.setCliente(dto.cliente());
         orcamento.setMoveis(dto.moveis());
         orcamento.setData(dto.data());
@@ -101,18 +225,115 @@ public class OrcamentoService {
         orcamento.setCustosExtras(dto.custosExtras());
         orcamento.setCpc(dto.cpc());
 
-        orcamento.getItens().clear();
+        MesclagemItens mesclagem = mesclarItens(orcamento, dto.itens());
+        orcamento.recalcularTotais();
 
-        dto.itens().forEach(itemDTO -> {
-            ItemMaterial item = new ItemMaterial();
+        Orcamento saved = orcamentoRepository.save(orcamento);
+        registrarMesclagem(id, mesclagem);
+        publicarAlteracaoDoOrcamento(saved);
+        return convertToResponseDTO(saved);
+    }
+
+    /**
+     * Aplica os itens recebidos sobre os itens gravados, casando pelo ID
+     * Itens com ID existente só são alterados se algum campo ou a posição
+     * mudou; itens sem ID (ou com ID de outro orçamento) são inseridos e os
+     * que não vieram na requisição são removidos. Assim, editar um preço gera
+     * um único UPDATE em vez de apagar e recriar todos os itens. Os itens
+     * ficam na ordem da requisição
+     */
+    private MesclagemItens mesclarItens(Orcamento orcamento, List<ItemMaterialDTO> itensDTO) {
+        Map<Long, ItemMaterial> existentes = new HashMap<>();
+        orcamento.getItens().forEach(item -> existentes.put(item.getId(), item));
+
+        int inseridos = 0;
+        int alterados = 0;
+        int inalterados = 0;
+        List<ItemMaterial> novos = new ArrayList<>();
+        for (int posicao = 0; posicao < itensDTO.size(); posicao++) {
+            ItemMaterialDTO itemDTO = itensDTO.get(posicao);
+            ItemMaterial item = itemDTO.id() != null ? existentes.remove(itemDTO.id()) : null;
+            if (item == null) {
+                item = new ItemMaterial();
+                item.setQuantidade(itemDTO.quantidade());
+                item.setDescricao(itemDTO.descricao());
+                item.setValorUnitario(itemDTO.valorUnitario());
+                item.setPosicao(posicao);
+                novos.add(item);
+                inseridos++;
+            } else if (atualizarItem(item, itemDTO, posicao)) {
+                alterados++;
+            } else {
+                inalterados++;
+            }
+        }
+
+        existentes.values().forEach(orcamento::removerItem);
+        novos.forEach(orcamento::adicionarItem);
+        orcamento.getItens().sort(Comparator.comparing(ItemMaterial::getPosicao));
+        return new MesclagemItens(inseridos, alterados, existentes.size(), inalterados);
+    }
+
+    /**
+     * Copia os campos do DTO e a posição para o item, só onde houver diferença
+     * (valores comparados sem considerar a escala, 10 e 10.00 são iguais)
+     *
+     * @return true se algum campo mudou
+     */
+    private boolean atualizarItem(ItemMaterial item, ItemMaterialDTO itemDTO, int posicao) {
+        boolean alterado = false;
+        if (!mesmoValor(item.getQuantidade(), itemDTO.quantidade())) {
             item.setQuantidade(itemDTO.quantidade());
+            alterado = true;
+        }
+        if (!Objects.equals(item.getDescricao(), itemDTO.descricao())) {
             item.setDescricao(itemDTO.descricao());
+            alterado = true;
+        }
+        if (!mesmoValor(item.getValorUnitario(), itemDTO.valorUnitario())) {
             item.setValorUnitario(itemDTO.valorUnitario());
-            orcamento.adicionarItem(item);
-        });
+            alterado = true;
+        }
+        if (!Objects.equals(item.getPosicao(), posicao)) {
+            item.setPosicao(posicao);
+            alterado = true;
+        }
+        return alterado;
+    }
 
-        Orcamento saved = orcamentoRepository.save(orcamento);
-        return convertToResponseDTO(saved);
+    private boolean mesmoValor(BigDecimal atual, BigDecimal novo) {
+        return atual == null || novo == null ? atual == novo : atual.compareTo(novo) == 0;
+    }
+
+    private void registrarMesclagem(Long orcamentoId, MesclagemItens mesclagem) {
+        orcamentosAtualizados.incrementAndGet();
+        itensInseridos.addAndGet(mesclagem.inseridos());
+        itensAlterados.addAndGet(mesclagem.alterados());
+        itensRemovidos.addAndGet(mesclagem.removidos());
+        itensInalterados.addAndGet(mesclagem.inalterados());
+        log.info("Itens do orçamento {} atualizados: {} inseridos, {} alterados, {} removidos, {} inalterados",
+                orcamentoId, mesclagem.inseridos(), mesclagem.alterados(), mesclagem.removidos(),
+                mesclagem.inalterados());
+    }
+
+    /**
+     * Retorna as contagens acumuladas de linhas de itens afetadas pelas
+     * atualizações de orçamentos desde o início da aplicação
+     */
+    public EstatisticasItensOrcamentoDTO getEstatisticasItens() {
+        return EstatisticasItensOrcamentoDTO.builder()
+                .atualizacoes(orcamentosAtualizados.get())
+                .inseridos(itensInseridos.get())
+                .alterados(itensAlterados.get())
+                .removidos(itensRemovidos.get())
+                .inalterados(itensInalterados.get())
+                .build();
+    }
+
+    /**
+     * Linhas de itens afetadas por uma atualização de orçamento
+     */
+    private record MesclagemItens(int inseridos, int alterados, int removidos, int inalterados) {
     }
 
     /**
@@ -123,7 +344,34 @@ public class OrcamentoService {
         if (!orcamentoRepository.existsById(id)) {
             throw new EntityNotFoundException("Orçamento não encontrado com ID: " + id);
         }
+        publicarAlteracaoDasParcelas(id);
+        // Parcelas já recebidas saem do caixa junto com o orçamento
+        parcelaRepository.findByOrcamentoIdAndStatus(id, StatusParcela.PAGO)
+                .forEach(livroCaixaService::registrarExclusaoParcela);
         orcamentoRepository.deleteById(id);
+        eventPublisher.publishEvent(DashboardAlteradoEvent.orcamentoRemovido(id));
+    }
+
+    /**
+     * Publica a alteração do orçamento para o stream do dashboard
+     */
+    private void publicarAlteracaoDoOrcamento(Orcamento orcamento) {
+        eventPublisher.publishEvent(DashboardAlteradoEvent.orcamentoAlterado(
+                orcamento.getId(), orcamento.getCliente(), orcamento.getStatus()));
+    }
+
+    /**
+     * Publica a alteração dos meses em que o orçamento possui parcelas
+     */
+    private void publicarAlteracaoDasParcelas(Long orcamentoId) {
+        List<LocalDate> datas = new ArrayList<>();
+        for (Parcela parcela : parcelaRepository.findByOrcamentoIdOrderByNumeroParcela(orcamentoId)) {
+            datas.add(parcela.getDataVencimento());
+            datas.add(parcela.getDataPagamento());
+        }
+        if (!datas.isEmpty()) {
+            eventPublisher.publishEvent(DadosFinanceirosAlteradosEvent.dasDatas(datas));
+        }
     }
 
     /**
@@ -146,14 +394,43 @@ public class OrcamentoService {
             item.setValorUnitario(itemDTO.valorUnitario());
             orcamento.adicionarItem(item);
         });
+        orcamento.recalcularTotais();
 
         return orcamento;
     }
 
+    /**
+     * Converte uma lista de orçamentos (com itens já carregados) buscando as
+     * parcelas de todos em uma única consulta
+     */
+    private List<OrcamentoResponseDTO> convertToResponseDTOs(List<Orcamento> orcamentos) {
+        if (orcamentos.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<Parcela>> parcelasPorOrcamento = parcelaRepository
+                .findByOrcamentoIdInOrderByNumeroParcela(orcamentos.stream().map(Orcamento::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(p -> p.getOrcamento().getId()));
+
+        return orcamentos.stream()
+                .map(orcamento -> convertToResponseDTO(orcamento,
+                        parcelasPorOrcamento.getOrDefault(orcamento.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Converte entidade para DTO de response
      */
     private OrcamentoResponseDTO convertToResponseDTO(Orcamento orcamento) {
+        return convertToResponseDTO(orcamento,
+                parcelaRepository.findByOrcamentoIdOrderByNumeroParcela(orcamento.getId()));
+    }
+
+    /**
+     * Converte entidade para DTO de response usando parcelas já carregadas
+     */
+    private OrcamentoResponseDTO convertToResponseDTO(Orcamento orcamento, List<Parcela> parcelas) {
         List<ItemMaterialDTO> itensDTO = orcamento.getItens().stream()
                 .map(item -> new ItemMaterialDTO(
                         item.getId(),
@@ -163,8 +440,9 @@ public class OrcamentoService {
                         item.calcularSubtotal()))
                 .collect(Collectors.toList());
 
-        BigDecimal valorTotal = orcamento.calcularValorTotal();
-        StatusRecebimentoDTO statusRecebimento = calcularStatusRecebimento(orcamento.getId(), valorTotal);
+        garantirTotais(orcamento);
+        BigDecimal valorTotal = orcamento.getValorTotal();
+        StatusRecebimentoDTO statusRecebimento = calcularStatusRecebimento(parcelas, valorTotal);
 
         return OrcamentoResponseDTO.builder()
                 .id(orcamento.getId())
@@ -177,8 +455,8 @@ public class OrcamentoService {
                 .cpc(orcamento.getCpc())
                 .status(orcamento.getStatus())
                 .itens(itensDTO)
-                .subtotalMateriais(orcamento.calcularSubtotalMateriais())
-                .valorMaoDeObra(orcamento.calcularValorMaoDeObra())
+                .subtotalMateriais(orcamento.getSubtotalMateriais())
+                .valorMaoDeObra(orcamento.getValorMaoDeObra())
                 .valorTotal(valorTotal)
                 .statusRecebimento(statusRecebimento)
                 .createdAt(orcamento.getCreatedAt())
@@ -187,25 +465,35 @@ public class OrcamentoService {
     }
 
     /**
-     * Salva um snapshot do orçamento para auditoria
+     * Calcula os totais de orçamentos gravados antes das colunas existirem e
+     * ainda não preenchidos pelo backfill
      */
-    private void salvarAuditoria(Orcamento orcamento) {
-        try {
-            OrcamentoResponseDTO dto = convertToResponseDTO(orcamento);
-
-            String snapshotJson = objectMapper.writeValueAsString(dto);
+    private void garantirTotais(Orcamento orcamento) {
+        if (orcamento.getValorTotal() == null) {
+            orcamento.recalcularTotais();
+        }
+    }
 
-            OrcamentoAuditoria auditoria = OrcamentoAuditoria.builder()
-                    .orcamentoId(orcamento.getId())
-                    .snapshotJson(snapshotJson)
-                    .dataAlteracao(LocalDateTime.now())
-                    .descricaoAlteracao("Atualização de orçamento")
-                    .build();
+    /**
+     * Preenche os totais persistidos dos orçamentos que ainda não os têm
+     *
+     * @return quantidade de orçamentos atualizados
+     */
+    @Transactional
+    public int preencherTotaisPendentes() {
+        List<Orcamento> pendentes = orcamentoRepository.findByValorTotalIsNull();
+        pendentes.forEach(Orcamento::recalcularTotais);
+        orcamentoRepository.saveAll(pendentes);
+        return pendentes.size();
+    }
 
-            auditoriaRepository.save(auditoria);
-        } catch (Exception e) {
-            System.err.println("Erro ao salvar auditoria: " + e.getMessage());
-        }
+    /**
+     * Captura um snapshot do orçamento para auditoria
+     * A gravação acontece depois do commit, pela fila de auditoria
+     */
+    private void salvarAuditoria(Orcamento orcamento) {
+        eventPublisher.publishEvent(
+                AuditoriaOrcamentoEvent.de(convertToResponseDTO(orcamento), "Atualização de orçamento"));
     }
 
     /**
@@ -222,7 +510,8 @@ public class OrcamentoService {
                             + orcamento.getStatus());
         }
 
-        BigDecimal valorTotal = orcamento.calcularValorTotal();
+        garantirTotais(orcamento);
+        BigDecimal valorTotal = orcamento.getValorTotal();
         BigDecimal somaParcelas = dto.parcelas() != null && !dto.parcelas().isEmpty()
                 ? dto.parcelas().stream()
                         .map(p -> p.valor())
@@ -268,6 +557,14 @@ public class OrcamentoService {
 
         orcamento = orcamentoRepository.save(orcamento);
 
+        List<LocalDate> vencimentos = new ArrayList<>();
+        vencimentos.add(dto.dataEntrada());
+        if (dto.parcelas() != null) {
+            dto.parcelas().forEach(p -> vencimentos.add(p.dataVencimento()));
+        }
+        eventPublisher.publishEvent(DadosFinanceirosAlteradosEvent.dasDatas(vencimentos));
+        publicarAlteracaoDoOrcamento(orcamento);
+
         return convertToResponseDTO(orcamento);
     }
 
@@ -282,45 +579,55 @@ public class OrcamentoService {
         salvarAuditoria(orcamento);
         orcamento.setStatus(novoStatus);
         orcamento = orcamentoRepository.save(orcamento);
+        publicarAlteracaoDoOrcamento(orcamento);
 
         return convertToResponseDTO(orcamento);
     }
 
     /**
      * Busca o histórico de auditoria de um orçamento
+     * Espera a fila de auditoria gravar as alterações já confirmadas deste
+     * orçamento; sem transação própria, para não segurar o banco enquanto a
+     * fila grava
      */
-    @Transactional(readOnly = true)
     public List<OrcamentoAuditoriaDTO> buscarHistorico(Long orcamentoId) {
         if (!orcamentoRepository.existsById(orcamentoId)) {
             throw new EntityNotFoundException("Orçamento não encontrado com ID: " + orcamentoId);
         }
 
-        return auditoriaRepository.findByOrcamentoIdOrderByDataAlteracaoDesc(orcamentoId)
-                .stream()
-                .map(this::convertToAuditoriaDTO)
-                .collect(Collectors.toList());
+        filaAuditoria.aguardarGravacao(orcamentoId, ESPERA_HISTORICO);
+        return auditoriaService.listarHistorico(orcamentoId);
     }
 
     /**
-     * Converte entidade de auditoria para DTO
+     * Busca uma página do histórico de auditoria, sem os snapshots
+     *
+     * @throws IllegalArgumentException se o cursor ou o limite forem inválidos
      */
-    private OrcamentoAuditoriaDTO convertToAuditoriaDTO(OrcamentoAuditoria auditoria) {
-        return OrcamentoAuditoriaDTO.builder()
-                .id(auditoria.getId())
-                .orcamentoId(auditoria.getOrcamentoId())
-                .snapshotJson(auditoria.getSnapshotJson())
-                .dataAlteracao(auditoria.getDataAlteracao())
-                .descricaoAlteracao(auditoria.getDescricaoAlteracao())
-                .build();
+    public PaginaHistoricoDTO buscarHistoricoPagina(Long orcamentoId, String cursor, int limite) {
+        if (!orcamentoRepository.existsById(orcamentoId)) {
+            throw new EntityNotFoundException("Orçamento não encontrado com ID: " + orcamentoId);
+        }
+
+        // Só a primeira página espera a fila; as seguintes continuam a mesma leitura
+        if (cursor == null) {
+            filaAuditoria.aguardarGravacao(orcamentoId, ESPERA_HISTORICO);
+        }
+        return auditoriaService.listarResumos(orcamentoId, cursor, limite);
+    }
+
+    /**
+     * Busca uma versão do histórico de auditoria com o snapshot completo
+     */
+    public OrcamentoAuditoriaDTO buscarVersaoHistorico(Long orcamentoId, Long auditoriaId) {
+        return auditoriaService.buscarVersao(orcamentoId, auditoriaId);
     }
 
     /**
      * Calcula o status de recebimento de um orçamento
      * Retorna informações sobre parcelas pagas e pendentes
      */
-    private StatusRecebimentoDTO calcularStatusRecebimento(Long orcamentoId, BigDecimal valorTotalOrcamento) {
-        List<Parcela> parcelas = parcelaRepository.findByOrcamentoIdOrderByNumeroParcela(orcamentoId);
-
+    private StatusRecebimentoDTO calcularStatusRecebimento(List<Parcela> parcelas, BigDecimal valorTotalOrcamento) {
         List<ParcelaResponseDTO> parcelasDTO = parcelas.stream()
                 .map(this::convertParcelaToDTO)
                 .collect(Collectors.toList());
@@ -1,12 +1,16 @@
 package com.madeirart.appMadeirart.modules.orcamento.service;
 
+import com.madeirart.appMadeirart.modules.financeiro.service.LivroCaixaService;
 import com.madeirart.appMadeirart.modules.orcamento.dto.ParcelaResponseDTO;
 import com.madeirart.appMadeirart.modules.orcamento.entity.Parcela;
 import com.madeirart.appMadeirart.modules.orcamento.repository.ParcelaRepository;
 import com.madeirart.appMadeirart.shared.enums.StatusParcela;
+import com.madeirart.appMadeirart.shared.event.DadosFinanceirosAlteradosEvent;
+import com.madeirart.appMadeirart.shared.event.DashboardAlteradoEvent;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +27,8 @@ import java.util.stream.Collectors;
 public class ParcelaService {
 
     private final ParcelaRepository parcelaRepository;
+    private final LivroCaixaService livroCaixaService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Busca todas as parcelas de um orçamento
@@ -61,6 +67,9 @@ public class ParcelaService {
         parcela.setDataPagamento(LocalDate.now());
 
         Parcela saved = parcelaRepository.save(parcela);
+        livroCaixaService.registrarRecebimentoParcela(saved);
+        eventPublisher.publishEvent(
+                DadosFinanceirosAlteradosEvent.dasDatas(saved.getDataVencimento(), saved.getDataPagamento()));
         return convertToDTO(saved);
     }
 
@@ -81,6 +90,10 @@ public class ParcelaService {
 
         parcelasAtrasadas.forEach(parcela -> parcela.setStatus(StatusParcela.ATRASADO));
         parcelaRepository.saveAll(parcelasAtrasadas);
+        eventPublisher.publishEvent(DadosFinanceirosAlteradosEvent.dasDatas(
+                parcelasAtrasadas.stream().map(Parcela::getDataVencimento).toList()));
+        parcelasAtrasadas.forEach(parcela -> eventPublisher.publishEvent(DashboardAlteradoEvent.parcelaAtrasada(
+                parcela.getId(), parcela.getDataVencimento(), parcela.getValor())));
 
         log.info("Total de {} parcela(s) atualizada(s) para status ATRASADO", parcelasAtrasadas.size());
         return parcelasAtrasadas.size();
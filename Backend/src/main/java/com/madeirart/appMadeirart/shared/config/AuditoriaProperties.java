@@ -0,0 +1,48 @@
+package com.madeirart.appMadeirart.shared.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configurações da auditoria de orçamentos (prefixo "auditoria" no
+ * application.properties)
+ *
+ * @param intervaloCheckpoint a cada quantas versões é gravado um snapshot
+ *                            completo; as demais guardam só a diferença para a
+ *                            versão anterior. Padrão 10
+ * @param tamanhoMinimoCompactacao tamanho em caracteres a partir do qual o
+ *                                 conteúdo é gravado compactado (GZIP). Padrão
+ *                                 512
+ * @param capacidadeFila quantidade máxima de registros aguardando gravação;
+ *                       com a fila cheia a requisição espera por espaço.
+ *                       Padrão 1000
+ * @param tamanhoLote quantidade máxima de registros gravados em uma mesma
+ *                    transação. Padrão 50
+ */
+@ConfigurationProperties(prefix = "auditoria")
+public record AuditoriaProperties(
+        Integer intervaloCheckpoint,
+        Integer tamanhoMinimoCompactacao,
+        Integer capacidadeFila,
+        Integer tamanhoLote) {
+
+    public AuditoriaProperties {
+        if (intervaloCheckpoint == null) {
+            intervaloCheckpoint = 10;
+        }
+        if (tamanhoMinimoCompactacao == null) {
+            tamanhoMinimoCompactacao = 512;
+        }
+        if (capacidadeFila == null) {
+            capacidadeFila = 1000;
+        }
+        if (tamanhoLote == null) {
+            tamanhoLote = 50;
+        }
+        if (intervaloCheckpoint < 1) {
+            throw new IllegalArgumentException("auditoria.intervalo-checkpoint deve ser maior que zero");
+        }
+        if (capacidadeFila < 1 || tamanhoLote < 1) {
+            throw new IllegalArgumentException("auditoria.capacidade-fila e auditoria.tamanho-lote devem ser maiores que zero");
+        }
+    }
+}
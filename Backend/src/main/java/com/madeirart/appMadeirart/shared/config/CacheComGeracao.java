@@ -0,0 +1,91 @@
+package com.madeirart.appMadeirart.shared.config;
+
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache em memória que descarta valores calculados antes de uma invalidação
+ * Uma leitura pode terminar de calcular depois que uma escrita confirmou e
+ * invalidou o cache; sem a verificação, o valor antigo seria guardado e
+ * ficaria no cache até a próxima escrita. Cada invalidação avança a geração, e
+ * um valor só é guardado se a geração for a mesma da consulta que o antecedeu
+ * na mesma thread (a consulta ao cache vem antes da leitura do banco, tanto no
+ * {@code @Cacheable} quanto nos usos manuais)
+ */
+class CacheComGeracao extends ConcurrentMapCache {
+
+    private final ThreadLocal<Map<Object, Long>> geracaoDaConsulta = ThreadLocal.withInitial(HashMap::new);
+
+    private long geracao;
+
+    CacheComGeracao(String nome, boolean permitirNulos) {
+        super(nome, permitirNulos);
+    }
+
+    /**
+     * A geração só é guardada quando a consulta não encontra o valor (é o
+     * único caso em que um put da mesma thread vem em seguida); num acerto, a
+     * geração de uma consulta anterior é removida para não ficar presa na
+     * thread (as threads do servidor são reaproveitadas)
+     */
+    @Override
+    protected Object lookup(Object key) {
+        long geracaoAtual;
+        synchronized (this) {
+            geracaoAtual = geracao;
+        }
+        Object valor = super.lookup(key);
+        if (valor == null) {
+            geracaoDaConsulta.get().put(key, geracaoAtual);
+        } else {
+            removerGeracaoDaConsulta(key);
+        }
+        return valor;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Long geracaoConsultada = removerGeracaoDaConsulta(key);
+        synchronized (this) {
+            if (geracaoConsultada != null && geracaoConsultada != geracao) {
+                return;
+            }
+            super.put(key, value);
+        }
+    }
+
+    private Long removerGeracaoDaConsulta(Object key) {
+        Map<Object, Long> consultas = geracaoDaConsulta.get();
+        Long geracaoConsultada = consultas.remove(key);
+        if (consultas.isEmpty()) {
+            geracaoDaConsulta.remove();
+        }
+        return geracaoConsultada;
+    }
+
+    @Override
+    public synchronized void evict(Object key) {
+        geracao++;
+        super.evict(key);
+    }
+
+    @Override
+    public synchronized boolean evictIfPresent(Object key) {
+        geracao++;
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public synchronized void clear() {
+        geracao++;
+        super.clear();
+    }
+
+    @Override
+    public synchronized boolean invalidate() {
+        geracao++;
+        return super.invalidate();
+    }
+}
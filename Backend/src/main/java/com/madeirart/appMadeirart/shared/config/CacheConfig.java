@@ -0,0 +1,37 @@
+package com.madeirart.appMadeirart.shared.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuração dos caches das projeções financeiras
+ * Os caches são invalidados por eventos de escrita (ver
+ * DadosFinanceirosAlteradosEvent) e limpos na virada do dia; valores calculados
+ * antes de uma invalidação não são guardados (ver CacheComGeracao)
+ */
+@Configuration
+@EnableCaching
+@EnableScheduling
+public class CacheConfig {
+
+    public static final String PROJECAO_CAIXA = "projecaoCaixa";
+    public static final String PROJECAO_FINANCEIRA = "projecaoFinanceira";
+    public static final String PROJECAO_FINANCEIRA_ANUAL = "projecaoFinanceiraAnual";
+    public static final String CALENDARIO_FINANCEIRO = "calendarioFinanceiro";
+
+    @Bean
+    public CacheManager cacheManager() {
+        return new ConcurrentMapCacheManager(PROJECAO_CAIXA, PROJECAO_FINANCEIRA, PROJECAO_FINANCEIRA_ANUAL,
+                CALENDARIO_FINANCEIRO) {
+            @Override
+            protected Cache createConcurrentMapCache(String name) {
+                return new CacheComGeracao(name, isAllowNullValues());
+            }
+        };
+    }
+}
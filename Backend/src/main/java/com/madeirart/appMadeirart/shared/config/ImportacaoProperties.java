@@ -0,0 +1,36 @@
+package com.madeirart.appMadeirart.shared.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configurações da importação de orçamentos (prefixo "importacao" no
+ * application.properties)
+ *
+ * @param loteOrcamentos quantidade de orçamentos gravados por transação.
+ *                       Padrão 200
+ * @param loteItens quantidade de itens enviados ao banco por comando em lote.
+ *                  Padrão 1000
+ * @param maximoErros quantidade máxima de erros detalhados na resposta; os
+ *                    demais só entram na contagem de rejeitados. Padrão 500
+ */
+@ConfigurationProperties(prefix = "importacao")
+public record ImportacaoProperties(
+        Integer loteOrcamentos,
+        Integer loteItens,
+        Integer maximoErros) {
+
+    public ImportacaoProperties {
+        if (loteOrcamentos == null) {
+            loteOrcamentos = 200;
+        }
+        if (loteItens == null) {
+            loteItens = 1000;
+        }
+        if (maximoErros == null) {
+            maximoErros = 500;
+        }
+        if (loteOrcamentos < 1 || loteItens < 1 || maximoErros < 0) {
+            throw new IllegalArgumentException("Lotes da importação devem ser maiores que zero");
+        }
+    }
+}
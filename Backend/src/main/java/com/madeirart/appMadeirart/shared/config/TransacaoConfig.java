@@ -0,0 +1,73 @@
+package com.madeirart.appMadeirart.shared.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.sqlite.SQLiteConfig.TransactionMode;
+import org.sqlite.SQLiteConnection;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.JpaVendorAdapter;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Configuração do início das transações no SQLite
+ * A fila de auditoria grava em paralelo às requisições: as transações de
+ * escrita começam reservando a escrita (BEGIN IMMEDIATE) e esperam o banco
+ * liberar (busy_timeout) em vez de falhar com "database is locked" ao passar
+ * de leitura para escrita. As transações readOnly começam com BEGIN simples e
+ * não disputam a escrita com a fila nem entre si
+ * (o driver ignora Connection.setReadOnly, então o modo é escolhido aqui)
+ */
+@Configuration
+public class TransacaoConfig {
+
+    /**
+     * Mesmo adaptador que o Spring Boot configuraria a partir de spring.jpa.*,
+     * com o dialeto que escolhe o BEGIN de cada transação
+     */
+    @Bean
+    public JpaVendorAdapter jpaVendorAdapter(JpaProperties jpaProperties) {
+        HibernateJpaDialect dialeto = new SQLiteJpaDialect();
+        HibernateJpaVendorAdapter adapter = new HibernateJpaVendorAdapter() {
+            @Override
+            public HibernateJpaDialect getJpaDialect() {
+                return dialeto;
+            }
+        };
+        adapter.setShowSql(jpaProperties.isShowSql());
+        if (jpaProperties.getDatabase() != null) {
+            adapter.setDatabase(jpaProperties.getDatabase());
+        }
+        if (jpaProperties.getDatabasePlatform() != null) {
+            adapter.setDatabasePlatform(jpaProperties.getDatabasePlatform());
+        }
+        adapter.setGenerateDdl(jpaProperties.isGenerateDdl());
+        return adapter;
+    }
+
+    /**
+     * Define o modo da transação na conexão antes do BEGIN: DEFERRED para
+     * readOnly, IMMEDIATE para as demais
+     */
+    static class SQLiteJpaDialect extends HibernateJpaDialect {
+
+        @Override
+        public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+                throws PersistenceException, SQLException {
+            Connection conexao = entityManager.unwrap(SessionImplementor.class)
+                    .getJdbcCoordinator().getLogicalConnection().getPhysicalConnection();
+            if (conexao.isWrapperFor(SQLiteConnection.class)) {
+                conexao.unwrap(SQLiteConnection.class).getConnectionConfig()
+                        .setTransactionMode(definition.isReadOnly() ? TransactionMode.DEFERRED : TransactionMode.IMMEDIATE);
+            }
+            return super.beginTransaction(entityManager, definition);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.madeirart.appMadeirart.shared.enums;
+
+import java.util.Locale;
+
+/**
+ * Formato de arquivo usado na importação e na exportação de dados
+ */
+public enum FormatoArquivo {
+    CSV("CSV", "text/csv"),
+    NDJSON("JSON por linha", "application/x-ndjson");
+
+    private final String descricao;
+    private final String tipoConteudo;
+
+    FormatoArquivo(String descricao, String tipoConteudo) {
+        this.descricao = descricao;
+        this.tipoConteudo = tipoConteudo;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public String getTipoConteudo() {
+        return tipoConteudo;
+    }
+
+    /**
+     * Converte o nome informado na requisição (csv ou ndjson)
+     *
+     * @throws IllegalArgumentException se o formato não for suportado
+     */
+    public static FormatoArquivo deNome(String nome) {
+        try {
+            return valueOf(nome.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Formato não suportado: " + nome + " (use csv ou ndjson)");
+        }
+    }
+}
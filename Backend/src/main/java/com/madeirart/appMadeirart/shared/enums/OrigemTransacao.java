@@ -6,7 +6,8 @@ package com.madeirart.appMadeirart.shared.enums;
 public enum OrigemTransacao {
     PARCELA("Parcela de Orçamento"),
     CUSTO_FIXO("Custo Fixo"),
-    CUSTO_VARIAVEL("Custo Variável");
+    CUSTO_VARIAVEL("Custo Variável"),
+    SALDO_INICIAL("Saldo Inicial");
 
     private final String descricao;
 
@@ -0,0 +1,41 @@
+package com.madeirart.appMadeirart.shared.enums;
+
+/**
+ * Conjunto de dados disponível na exportação (GET /api/export/{caminho})
+ */
+public enum RecursoExportacao {
+    ORCAMENTOS("orcamentos", "Orçamentos e itens"),
+    PARCELAS("parcelas", "Parcelas"),
+    CUSTOS_FIXOS("custos-fixos", "Custos fixos"),
+    CUSTOS_VARIAVEIS("custos-variaveis", "Custos variáveis");
+
+    private final String caminho;
+    private final String descricao;
+
+    RecursoExportacao(String caminho, String descricao) {
+        this.caminho = caminho;
+        this.descricao = descricao;
+    }
+
+    public String getCaminho() {
+        return caminho;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    /**
+     * Converte o caminho da URL no recurso
+     *
+     * @throws IllegalArgumentException se o recurso não existir
+     */
+    public static RecursoExportacao deCaminho(String caminho) {
+        for (RecursoExportacao recurso : values()) {
+            if (recurso.caminho.equals(caminho)) {
+                return recurso;
+            }
+        }
+        throw new IllegalArgumentException("Recurso de exportação desconhecido: " + caminho);
+    }
+}
@@ -0,0 +1,24 @@
+package com.madeirart.appMadeirart.shared.enums;
+
+/**
+ * Tipo da alteração enviada ao dashboard pelo stream de eventos
+ */
+public enum TipoAlteracaoDashboard {
+    SALDO_ALTERADO("Saldo alterado"),
+    PARCELA_ATRASADA("Parcela atrasada"),
+    ORCAMENTO_CRIADO("Novo orçamento"),
+    ORCAMENTO_ALTERADO("Orçamento alterado"),
+    ORCAMENTO_REMOVIDO("Orçamento removido"),
+    PROJECAO_ALTERADA("Projeções alteradas"),
+    RESSINCRONIZAR("Recarregar dashboard");
+
+    private final String descricao;
+
+    TipoAlteracaoDashboard(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+}
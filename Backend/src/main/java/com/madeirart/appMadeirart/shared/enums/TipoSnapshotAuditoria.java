@@ -0,0 +1,19 @@
+package com.madeirart.appMadeirart.shared.enums;
+
+/**
+ * Forma como o estado de um orçamento é guardado em uma linha de auditoria
+ */
+public enum TipoSnapshotAuditoria {
+    COMPLETO("Snapshot completo"),
+    DIFERENCA("Diferença em relação à versão anterior");
+
+    private final String descricao;
+
+    TipoSnapshotAuditoria(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+}
@@ -0,0 +1,25 @@
+package com.madeirart.appMadeirart.shared.event;
+
+import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoResponseDTO;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado quando um orçamento vai ser alterado, com o estado que deve
+ * entrar no histórico de auditoria
+ * O snapshot é capturado na transação da alteração; a gravação acontece
+ * depois do commit, pela fila de auditoria
+ *
+ * @param snapshot      estado do orçamento no momento da captura
+ * @param descricao     descrição da alteração
+ * @param dataAlteracao momento da captura
+ */
+public record AuditoriaOrcamentoEvent(
+        OrcamentoResponseDTO snapshot,
+        String descricao,
+        LocalDateTime dataAlteracao) {
+
+    public static AuditoriaOrcamentoEvent de(OrcamentoResponseDTO snapshot, String descricao) {
+        return new AuditoriaOrcamentoEvent(snapshot, descricao, LocalDateTime.now());
+    }
+}
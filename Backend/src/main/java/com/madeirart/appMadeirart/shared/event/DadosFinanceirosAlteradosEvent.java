@@ -0,0 +1,55 @@
+package com.madeirart.appMadeirart.shared.event;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Evento publicado quando parcelas, custos, orçamentos ou o saldo inicial são
+ * alterados
+ * A projeção de caixa é sempre invalidada; o calendário e a projeção mensal
+ * são invalidados apenas nos meses afetados (ou em todos, para custos fixos)
+ *
+ * @param meses         meses cujas projeções mensais devem ser invalidadas
+ * @param todosOsMeses  indica que todas as projeções mensais foram afetadas
+ */
+public record DadosFinanceirosAlteradosEvent(
+        Set<YearMonth> meses,
+        boolean todosOsMeses) {
+
+    /**
+     * Evento que afeta os meses das datas informadas (datas nulas são ignoradas)
+     */
+    public static DadosFinanceirosAlteradosEvent dasDatas(LocalDate... datas) {
+        return dasDatas(Stream.of(datas).toList());
+    }
+
+    /**
+     * Evento que afeta os meses das datas informadas (datas nulas são ignoradas)
+     */
+    public static DadosFinanceirosAlteradosEvent dasDatas(Collection<LocalDate> datas) {
+        Set<YearMonth> meses = datas.stream()
+                .filter(Objects::nonNull)
+                .map(YearMonth::from)
+                .collect(Collectors.toUnmodifiableSet());
+        return new DadosFinanceirosAlteradosEvent(meses, false);
+    }
+
+    /**
+     * Evento que afeta todos os meses (ex.: custos fixos, que se repetem todo mês)
+     */
+    public static DadosFinanceirosAlteradosEvent deTodosOsMeses() {
+        return new DadosFinanceirosAlteradosEvent(Set.of(), true);
+    }
+
+    /**
+     * Evento que afeta apenas o saldo (ex.: saldo inicial), sem projeções mensais
+     */
+    public static DadosFinanceirosAlteradosEvent doSaldo() {
+        return new DadosFinanceirosAlteradosEvent(Set.of(), false);
+    }
+}
@@ -0,0 +1,46 @@
+package com.madeirart.appMadeirart.shared.event;
+
+import com.madeirart.appMadeirart.shared.enums.StatusOrcamento;
+import com.madeirart.appMadeirart.shared.enums.TipoAlteracaoDashboard;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Evento publicado quando uma alteração deve ser enviada aos dashboards
+ * conectados ao stream (saldo, parcela atrasada, orçamento novo ou alterado)
+ * As alterações de projeção vêm do DadosFinanceirosAlteradosEvent
+ *
+ * @param tipo  tipo da alteração
+ * @param id    registro alterado (nulo para o saldo)
+ * @param dados dados mínimos para o dashboard atualizar a tela sem recalcular
+ */
+public record DashboardAlteradoEvent(
+        TipoAlteracaoDashboard tipo,
+        Long id,
+        Map<String, Object> dados) {
+
+    public static DashboardAlteradoEvent saldoAlterado(BigDecimal saldo) {
+        return new DashboardAlteradoEvent(TipoAlteracaoDashboard.SALDO_ALTERADO, null, Map.of("saldo", saldo));
+    }
+
+    public static DashboardAlteradoEvent parcelaAtrasada(Long id, LocalDate dataVencimento, BigDecimal valor) {
+        return new DashboardAlteradoEvent(TipoAlteracaoDashboard.PARCELA_ATRASADA, id,
+                Map.of("dataVencimento", dataVencimento, "valor", valor));
+    }
+
+    public static DashboardAlteradoEvent orcamentoCriado(Long id, String cliente, StatusOrcamento status) {
+        return new DashboardAlteradoEvent(TipoAlteracaoDashboard.ORCAMENTO_CRIADO, id,
+                Map.of("cliente", cliente, "status", status));
+    }
+
+    public static DashboardAlteradoEvent orcamentoAlterado(Long id, String cliente, StatusOrcamento status) {
+        return new DashboardAlteradoEvent(TipoAlteracaoDashboard.ORCAMENTO_ALTERADO, id,
+                Map.of("cliente", cliente, "status", status));
+    }
+
+    public static DashboardAlteradoEvent orcamentoRemovido(Long id) {
+        return new DashboardAlteradoEvent(TipoAlteracaoDashboard.ORCAMENTO_REMOVIDO, id, Map.of());
+    }
+}
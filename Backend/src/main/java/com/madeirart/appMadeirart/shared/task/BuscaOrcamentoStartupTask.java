@@ -0,0 +1,36 @@
+package com.madeirart.appMadeirart.shared.task;
+
+import com.madeirart.appMadeirart.modules.orcamento.service.BuscaOrcamentoService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Componente que prepara o índice de busca textual de orçamentos
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BuscaOrcamentoStartupTask {
+
+    private final BuscaOrcamentoService buscaOrcamentoService;
+
+    /**
+     * Cria o índice de busca e seus triggers ao iniciar a aplicação,
+     * repopulando-o se necessário
+     */
+    @PostConstruct
+    public void inicializarIndiceDeBusca() {
+        log.info("Verificando índice de busca de orçamentos...");
+        try {
+            if (buscaOrcamentoService.inicializarIndice()) {
+                log.info("Índice de busca de orçamentos repopulado");
+            } else {
+                log.info("Índice de busca de orçamentos já atualizado");
+            }
+        } catch (Exception e) {
+            log.error("Erro ao inicializar o índice de busca de orçamentos", e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.madeirart.appMadeirart.shared.task;
+
+import com.madeirart.appMadeirart.modules.financeiro.service.LivroCaixaService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Componente que popula o livro caixa a partir do histórico na primeira
+ * inicialização após a sua criação
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LivroCaixaStartupTask {
+
+    private final LivroCaixaService livroCaixaService;
+
+    /**
+     * Reconstrói o livro caixa ao iniciar a aplicação caso ele esteja vazio
+     */
+    @PostConstruct
+    public void inicializarLivroCaixa() {
+        log.info("Verificando livro caixa...");
+        try {
+            if (livroCaixaService.reconstruirSeVazio()) {
+                log.info("Livro caixa vazio - reconstruído a partir do histórico");
+            } else {
+                log.info("Livro caixa já inicializado");
+            }
+        } catch (Exception e) {
+            log.error("Erro ao inicializar livro caixa na inicialização", e);
+        }
+    }
+}
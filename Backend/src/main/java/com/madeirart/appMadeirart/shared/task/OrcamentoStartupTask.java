@@ -0,0 +1,34 @@
+package com.madeirart.appMadeirart.shared.task;
+
+import com.madeirart.appMadeirart.modules.orcamento.service.OrcamentoService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Componente que preenche os totais persistidos de orçamentos gravados antes
+ * das colunas de totais existirem
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrcamentoStartupTask {
+
+    private final OrcamentoService orcamentoService;
+
+    /**
+     * Calcula os totais pendentes ao iniciar a aplicação
+     */
+    @PostConstruct
+    public void preencherTotaisNaInicializacao() {
+        log.info("Verificando totais de orçamentos...");
+        try {
+            int quantidadeAtualizada = orcamentoService.preencherTotaisPendentes();
+            log.info("Verificação de totais de orçamentos concluída. Total de orçamentos atualizados: {}",
+                    quantidadeAtualizada);
+        } catch (Exception e) {
+            log.error("Erro ao preencher totais de orçamentos na inicialização", e);
+        }
+    }
+}
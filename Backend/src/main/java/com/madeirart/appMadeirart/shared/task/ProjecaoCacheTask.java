@@ -0,0 +1,75 @@
+package com.madeirart.appMadeirart.shared.task;
+
+import com.madeirart.appMadeirart.shared.config.CacheConfig;
+import com.madeirart.appMadeirart.shared.event.DadosFinanceirosAlteradosEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.YearMonth;
+import java.util.Optional;
+
+/**
+ * Componente que mantém os caches das projeções financeiras atualizados
+ * Invalida as entradas afetadas após cada escrita confirmada e limpa tudo à
+ * meia-noite, já que as projeções dependem da data atual
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjecaoCacheTask {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Invalida os caches após o commit da transação que alterou os dados
+     * Roda antes do stream do dashboard: o cliente que recarrega ao receber
+     * SALDO_ALTERADO já lê a projeção com o novo saldo
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void invalidar(DadosFinanceirosAlteradosEvent event) {
+        limpar(CacheConfig.PROJECAO_CAIXA);
+
+        if (event.todosOsMeses()) {
+            limpar(CacheConfig.PROJECAO_FINANCEIRA);
+            limpar(CacheConfig.PROJECAO_FINANCEIRA_ANUAL);
+            limpar(CacheConfig.CALENDARIO_FINANCEIRO);
+            log.debug("Caches de projeção invalidados para todos os meses");
+            return;
+        }
+
+        for (YearMonth mes : event.meses()) {
+            cache(CacheConfig.PROJECAO_FINANCEIRA).ifPresent(cache -> cache.evict(mes));
+            cache(CacheConfig.PROJECAO_FINANCEIRA_ANUAL).ifPresent(cache -> cache.evict(mes.getYear()));
+            cache(CacheConfig.CALENDARIO_FINANCEIRO).ifPresent(cache -> cache.evict(mes));
+        }
+        log.debug("Caches de projeção invalidados para os meses {}", event.meses());
+    }
+
+    /**
+     * Limpa todos os caches de projeção na virada do dia
+     */
+    @Scheduled(cron = "0 0 0 * * *")
+    public void limparNaViradaDoDia() {
+        limpar(CacheConfig.PROJECAO_CAIXA);
+        limpar(CacheConfig.PROJECAO_FINANCEIRA);
+        limpar(CacheConfig.PROJECAO_FINANCEIRA_ANUAL);
+        limpar(CacheConfig.CALENDARIO_FINANCEIRO);
+        log.info("Caches de projeção limpos na virada do dia");
+    }
+
+    private void limpar(String nome) {
+        cache(nome).ifPresent(Cache::clear);
+    }
+
+    private Optional<Cache> cache(String nome) {
+        return Optional.ofNullable(cacheManager.getCache(nome));
+    }
+}
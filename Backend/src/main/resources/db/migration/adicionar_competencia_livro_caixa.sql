@@ -0,0 +1,12 @@
+-- Adicionar o mês de competência às movimentações do livro caixa
+-- Custos fixos são pagos uma vez por mês: a competência separa o pagamento de
+-- cada mês, e voltar o custo a PENDENTE em um mês novo não estorna o anterior
+-- Execute este script se você já tem o banco de dados criado
+
+ALTER TABLE livro_caixa ADD COLUMN competencia DATE;
+
+-- Movimentações de custo fixo já registradas valem para o mês em que ocorreram
+-- (datas gravadas em milissegundos, meia-noite no fuso local)
+UPDATE livro_caixa
+SET competencia = strftime('%s', date(data_movimento / 1000, 'unixepoch', 'localtime', 'start of month'), 'utc') * 1000
+WHERE origem = 'CUSTO_FIXO' AND competencia IS NULL;
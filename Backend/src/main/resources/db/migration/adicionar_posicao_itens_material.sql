@@ -0,0 +1,19 @@
+-- Adicionar a posição dos itens no orçamento (ordem em que foram informados)
+-- Execute este script se você já tem o banco de dados criado
+-- (sem ele, os itens antigos ficam com posição nula e seguem a ordem do ID)
+
+ALTER TABLE itens_material ADD COLUMN posicao INTEGER;
+
+-- Itens existentes: posição pela ordem do ID dentro do orçamento
+UPDATE itens_material
+SET posicao = (
+    SELECT count(*)
+    FROM itens_material anterior
+    WHERE anterior.orcamento_id = itens_material.orcamento_id
+      AND anterior.id < itens_material.id
+)
+WHERE posicao IS NULL;
+
+-- Itens de um orçamento na ordem (carregamento dos itens e exportação)
+CREATE INDEX IF NOT EXISTS idx_itens_material_orcamento_posicao
+    ON itens_material (orcamento_id, posicao);
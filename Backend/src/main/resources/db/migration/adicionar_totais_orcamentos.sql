@@ -0,0 +1,23 @@
+-- Adicionar os totais persistidos dos orçamentos e preencher os já existentes
+-- Execute este script se você já tem o banco de dados criado
+-- (a aplicação também preenche, na inicialização, os orçamentos sem total)
+
+ALTER TABLE orcamentos ADD COLUMN subtotal_materiais DECIMAL(12, 2);
+ALTER TABLE orcamentos ADD COLUMN valor_mao_obra DECIMAL(12, 2);
+ALTER TABLE orcamentos ADD COLUMN valor_total DECIMAL(12, 2);
+
+-- Subtotal = soma de quantidade × valor unitário dos itens
+UPDATE orcamentos
+SET subtotal_materiais = (
+    SELECT COALESCE(SUM(i.quantidade * i.valor_unitario), 0)
+    FROM itens_material i
+    WHERE i.orcamento_id = orcamentos.id
+)
+WHERE valor_total IS NULL;
+
+-- Mão de obra = subtotal × fator; Total = subtotal + mão de obra + extras + CPC
+UPDATE orcamentos
+SET valor_mao_obra = subtotal_materiais * fator_mao_obra,
+    valor_total = subtotal_materiais + subtotal_materiais * fator_mao_obra
+        + COALESCE(custos_extras, 0) + COALESCE(cpc, 0)
+WHERE valor_total IS NULL;
@@ -0,0 +1,7 @@
+-- Adicionar o versionamento do histórico de auditoria dos orçamentos
+-- Execute este script se você já tem o banco de dados criado
+-- Linhas antigas ficam sem versão e são tratadas como snapshots completos
+
+ALTER TABLE orcamentos_auditoria ADD COLUMN versao INTEGER;
+ALTER TABLE orcamentos_auditoria ADD COLUMN tipo_snapshot VARCHAR(20);
+ALTER TABLE orcamentos_auditoria ADD COLUMN compactado BOOLEAN;
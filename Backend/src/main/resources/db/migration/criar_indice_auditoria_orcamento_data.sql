@@ -0,0 +1,9 @@
+-- Adicionar os campos alterados e o índice do histórico de auditoria
+-- Execute este script se você já tem o banco de dados criado
+-- A listagem do histórico lê só os dados das versões, sem o snapshot, por
+-- orçamento e data de alteração (linhas antigas ficam sem campos alterados)
+
+ALTER TABLE orcamentos_auditoria ADD COLUMN campos_alterados VARCHAR(1000);
+
+CREATE INDEX IF NOT EXISTS idx_auditoria_orcamento_data
+ON orcamentos_auditoria (orcamento_id, data_alteracao);
@@ -0,0 +1,60 @@
+-- Migration para criar os índices de busca textual de orçamentos (FTS5)
+-- orcamentos_busca: uma linha por orçamento (rowid = id) com cliente e móveis
+-- itens_material_busca: uma linha por item (rowid = id) com a descrição e o orçamento
+-- Os triggers mantêm os índices atualizados alterando só a linha do registro
+-- escrito. A aplicação também cria os índices na inicialização e os repopula
+-- quando não cobrem todos os orçamentos e itens
+
+-- Remover o índice anterior, que tinha todos os itens na linha do orçamento
+DROP TRIGGER IF EXISTS orcamentos_busca_ai;
+DROP TRIGGER IF EXISTS orcamentos_busca_au;
+DROP TRIGGER IF EXISTS orcamentos_busca_ad;
+DROP TRIGGER IF EXISTS itens_material_busca_ai;
+DROP TRIGGER IF EXISTS itens_material_busca_au;
+DROP TRIGGER IF EXISTS itens_material_busca_ad;
+DROP TABLE IF EXISTS orcamentos_busca;
+
+CREATE VIRTUAL TABLE IF NOT EXISTS orcamentos_busca USING fts5(
+    cliente, moveis,
+    tokenize = 'unicode61 remove_diacritics 2',
+    prefix = '2 3');
+
+CREATE VIRTUAL TABLE IF NOT EXISTS itens_material_busca USING fts5(
+    descricao, orcamento_id UNINDEXED,
+    tokenize = 'unicode61 remove_diacritics 2',
+    prefix = '2 3');
+
+CREATE TRIGGER IF NOT EXISTS orcamentos_busca_ai AFTER INSERT ON orcamentos BEGIN
+    INSERT INTO orcamentos_busca (rowid, cliente, moveis) VALUES (NEW.id, NEW.cliente, NEW.moveis);
+END;
+
+CREATE TRIGGER IF NOT EXISTS orcamentos_busca_au AFTER UPDATE OF cliente, moveis ON orcamentos BEGIN
+    UPDATE orcamentos_busca SET cliente = NEW.cliente, moveis = NEW.moveis WHERE rowid = NEW.id;
+END;
+
+CREATE TRIGGER IF NOT EXISTS orcamentos_busca_ad AFTER DELETE ON orcamentos BEGIN
+    DELETE FROM orcamentos_busca WHERE rowid = OLD.id;
+END;
+
+CREATE TRIGGER IF NOT EXISTS itens_material_busca_ai AFTER INSERT ON itens_material BEGIN
+    INSERT INTO itens_material_busca (rowid, descricao, orcamento_id)
+    VALUES (NEW.id, NEW.descricao, NEW.orcamento_id);
+END;
+
+CREATE TRIGGER IF NOT EXISTS itens_material_busca_au AFTER UPDATE OF descricao, orcamento_id ON itens_material BEGIN
+    UPDATE itens_material_busca SET descricao = NEW.descricao, orcamento_id = NEW.orcamento_id
+    WHERE rowid = NEW.id;
+END;
+
+CREATE TRIGGER IF NOT EXISTS itens_material_busca_ad AFTER DELETE ON itens_material BEGIN
+    DELETE FROM itens_material_busca WHERE rowid = OLD.id;
+END;
+
+-- Popular os índices com os registros existentes
+DELETE FROM orcamentos_busca;
+INSERT INTO orcamentos_busca (rowid, cliente, moveis)
+SELECT id, cliente, moveis FROM orcamentos;
+
+DELETE FROM itens_material_busca;
+INSERT INTO itens_material_busca (rowid, descricao, orcamento_id)
+SELECT id, descricao, orcamento_id FROM itens_material;
@@ -0,0 +1,4 @@
+-- Migration para criar o índice usado pela listagem paginada de orçamentos
+-- (ordem data desc, id desc com cursor)
+CREATE INDEX IF NOT EXISTS idx_orcamentos_data_id
+    ON orcamentos (data, id);
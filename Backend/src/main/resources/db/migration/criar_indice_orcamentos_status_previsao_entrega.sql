@@ -0,0 +1,4 @@
+-- Migration para criar o índice usado pelo dashboard na busca de orçamentos
+-- próximos da entrega (status + previsão de entrega)
+CREATE INDEX IF NOT EXISTS idx_orcamentos_status_previsao_entrega
+    ON orcamentos (status, previsao_entrega);
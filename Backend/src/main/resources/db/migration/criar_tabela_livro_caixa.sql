@@ -0,0 +1,20 @@
+-- Migration para criar a tabela do livro caixa
+-- Cada linha é uma movimentação real de caixa com o saldo acumulado após ela;
+-- o saldo atual é o saldo_apos da última linha (maior id)
+CREATE TABLE
+    livro_caixa (
+        id INTEGER PRIMARY KEY AUTOINCREMENT,
+        data_movimento DATE NOT NULL,
+        tipo VARCHAR(20) NOT NULL CHECK (tipo IN ('ENTRADA', 'SAIDA')),
+        origem VARCHAR(20) NOT NULL CHECK (
+            origem IN ('PARCELA', 'CUSTO_FIXO', 'CUSTO_VARIAVEL', 'SALDO_INICIAL')
+        ),
+        origem_id BIGINT,
+        valor DECIMAL(12, 2) NOT NULL,
+        saldo_apos DECIMAL(14, 2) NOT NULL,
+        descricao VARCHAR(500),
+        data_registro TIMESTAMP NOT NULL
+    );
+
+-- O livro caixa é populado na próxima inicialização (LivroCaixaStartupTask)
+-- ou via POST /api/financeiro/livro-caixa/reconstruir
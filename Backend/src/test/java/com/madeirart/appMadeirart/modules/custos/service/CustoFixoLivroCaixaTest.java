@@ -0,0 +1,87 @@
+package com.madeirart.appMadeirart.modules.custos.service;
+
+import com.madeirart.appMadeirart.modules.custos.dto.CustoFixoRequestDTO;
+import com.madeirart.appMadeirart.modules.custos.dto.CustoFixoResponseDTO;
+import com.madeirart.appMadeirart.modules.financeiro.entity.MovimentacaoCaixa;
+import com.madeirart.appMadeirart.modules.financeiro.repository.MovimentacaoCaixaRepository;
+import com.madeirart.appMadeirart.modules.financeiro.service.LivroCaixaService;
+import com.madeirart.appMadeirart.shared.enums.OrigemTransacao;
+import com.madeirart.appMadeirart.shared.enums.TipoTransacao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes do registro mensal dos custos fixos no livro caixa contra o banco SQLite
+ * Cada teste roda em uma transação desfeita ao final
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:sqlite:target/custo-fixo-livro-caixa-test.db")
+@Transactional
+@DisplayName("Testes do livro caixa dos custos fixos")
+class CustoFixoLivroCaixaTest {
+
+    @Autowired
+    private CustoFixoService custoFixoService;
+
+    @Autowired
+    private LivroCaixaService livroCaixaService;
+
+    @Autowired
+    private MovimentacaoCaixaRepository movimentacaoCaixaRepository;
+
+    @Test
+    @DisplayName("Pago no mês passado, pendente e pago no mês atual deve descontar os dois meses")
+    void deveRegistrarUmPagamentoPorMes() {
+        CustoFixoResponseDTO aluguel = custoFixoService.criar(
+                new CustoFixoRequestDTO("Aluguel", new BigDecimal("2000.00"), 5, null));
+        custoFixoService.marcarComoPago(aluguel.id());
+        // O pagamento registrado passa a ser do mês passado
+        MovimentacaoCaixa pagamento = movimentacoes(aluguel.id()).get(0);
+        pagamento.setCompetencia(LocalDate.now().withDayOfMonth(1).minusMonths(1));
+        movimentacaoCaixaRepository.saveAndFlush(pagamento);
+        BigDecimal saldoAntes = livroCaixaService.getSaldoAtual();
+
+        // Virada do mês: voltar a pendente não estorna o mês passado
+        custoFixoService.marcarComoPendente(aluguel.id());
+        assertThat(movimentacoes(aluguel.id())).hasSize(1);
+
+        custoFixoService.marcarComoPago(aluguel.id());
+        custoFixoService.marcarComoPago(aluguel.id());
+        assertThat(livroCaixaService.getSaldoAtual())
+                .isEqualByComparingTo(saldoAntes.subtract(new BigDecimal("2000.00")));
+
+        // No mesmo mês, voltar a pendente estorna só o mês atual
+        custoFixoService.marcarComoPendente(aluguel.id());
+        assertThat(livroCaixaService.getSaldoAtual()).isEqualByComparingTo(saldoAntes);
+
+        custoFixoService.marcarComoPago(aluguel.id());
+        custoFixoService.atualizar(aluguel.id(),
+                new CustoFixoRequestDTO("Aluguel", new BigDecimal("2300.00"), 5, null));
+        assertThat(livroCaixaService.getSaldoAtual())
+                .isEqualByComparingTo(saldoAntes.subtract(new BigDecimal("2300.00")));
+
+        // Excluir estorna todos os meses pagos
+        custoFixoService.excluir(aluguel.id());
+        List<MovimentacaoCaixa> registradas = movimentacoes(aluguel.id());
+        assertThat(registradas).extracting(MovimentacaoCaixa::getTipo).containsExactly(
+                TipoTransacao.SAIDA, TipoTransacao.SAIDA, TipoTransacao.ENTRADA, TipoTransacao.SAIDA,
+                TipoTransacao.SAIDA, TipoTransacao.ENTRADA);
+        assertThat(registradas.get(registradas.size() - 1).getValor()).isEqualByComparingTo("4300.00");
+        assertThat(livroCaixaService.getSaldoAtual())
+                .isEqualByComparingTo(saldoAntes.add(new BigDecimal("2000.00")));
+    }
+
+    private List<MovimentacaoCaixa> movimentacoes(Long custoId) {
+        return movimentacaoCaixaRepository.findByOrigemOrderById(OrigemTransacao.CUSTO_FIXO).stream()
+                .filter(movimentacao -> movimentacao.getOrigemId().equals(custoId))
+                .toList();
+    }
+}
@@ -4,6 +4,7 @@ import com.madeirart.appMadeirart.modules.custos.dto.CustoFixoRequestDTO;
 import com.madeirart.appMadeirart.modules.custos.dto.CustoFixoResponseDTO;
 import com.madeirart.appMadeirart.modules.custos.entity.CustoFixo;
 import com.madeirart.appMadeirart.modules.custos.repository.CustoFixoRepository;
+import com.madeirart.appMadeirart.modules.financeiro.service.LivroCaixaService;
 import com.madeirart.appMadeirart.shared.enums.StatusCusto;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -33,6 +35,12 @@ class CustoFixoServiceTest {
     @Mock
     private CustoFixoRepository custoFixoRepository;
 
+    @Mock
+    private LivroCaixaService livroCaixaService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CustoFixoService custoFixoService;
 
@@ -270,24 +278,23 @@ class CustoFixoServiceTest {
     @Test
     @DisplayName("Deve excluir custo fixo com sucesso")
     void deveExcluirCustoFixoComSucesso() {
-        when(custoFixoRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(custoFixoRepository).deleteById(1L);
+        when(custoFixoRepository.findById(1L)).thenReturn(Optional.of(custoFixo));
 
         custoFixoService.excluir(1L);
 
-        verify(custoFixoRepository).existsById(1L);
-        verify(custoFixoRepository).deleteById(1L);
+        verify(livroCaixaService).registrarExclusaoCustoFixo(custoFixo);
+        verify(custoFixoRepository).delete(custoFixo);
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao excluir custo fixo inexistente")
     void deveLancarExcecaoAoExcluirCustoFixoInexistente() {
-        when(custoFixoRepository.existsById(999L)).thenReturn(false);
+        when(custoFixoRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> custoFixoService.excluir(999L))
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessageContaining("Custo fixo não encontrado com ID: 999");
 
-        verify(custoFixoRepository, never()).deleteById(any());
+        verify(custoFixoRepository, never()).delete(any());
     }
 }
@@ -4,6 +4,7 @@ import com.madeirart.appMadeirart.modules.custos.dto.CustoVariavelRequestDTO;
 import com.madeirart.appMadeirart.modules.custos.dto.CustoVariavelResponseDTO;
 import com.madeirart.appMadeirart.modules.custos.entity.CustoVariavel;
 import com.madeirart.appMadeirart.modules.custos.repository.CustoVariavelRepository;
+import com.madeirart.appMadeirart.modules.financeiro.service.LivroCaixaService;
 import com.madeirart.appMadeirart.shared.enums.StatusCusto;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -33,6 +35,12 @@ class CustoVariavelServiceTest {
     @Mock
     private CustoVariavelRepository custoVariavelRepository;
 
+    @Mock
+    private LivroCaixaService livroCaixaService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CustoVariavelService custoVariavelService;
 
@@ -218,24 +226,23 @@ class CustoVariavelServiceTest {
     @Test
     @DisplayName("Deve excluir custo variável com sucesso")
     void deveExcluirCustoVariavelComSucesso() {
-        when(custoVariavelRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(custoVariavelRepository).deleteById(1L);
+        when(custoVariavelRepository.findById(1L)).thenReturn(Optional.of(custoVariavel));
 
         custoVariavelService.excluir(1L);
 
-        verify(custoVariavelRepository).existsById(1L);
-        verify(custoVariavelRepository).deleteById(1L);
+        verify(livroCaixaService).registrarExclusaoCustoVariavel(custoVariavel);
+        verify(custoVariavelRepository).delete(custoVariavel);
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao excluir custo variável inexistente")
     void deveLancarExcecaoAoExcluirCustoVariavelInexistente() {
-        when(custoVariavelRepository.existsById(999L)).thenReturn(false);
+        when(custoVariavelRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> custoVariavelService.excluir(999L))
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessageContaining("Custo variável não encontrado com ID: 999");
 
-        verify(custoVariavelRepository, never()).deleteById(any());
+        verify(custoVariavelRepository, never()).delete(any());
     }
 }
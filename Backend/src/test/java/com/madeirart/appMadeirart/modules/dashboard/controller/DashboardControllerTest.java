@@ -0,0 +1,144 @@
+package com.madeirart.appMadeirart.modules.dashboard.controller;
+
+import com.madeirart.appMadeirart.modules.dashboard.dto.DashboardResumoDTO;
+import com.madeirart.appMadeirart.modules.dashboard.dto.DashboardSnapshotDTO;
+import com.madeirart.appMadeirart.modules.dashboard.dto.ProjecaoFinanceiraDTO;
+import com.madeirart.appMadeirart.modules.dashboard.service.DashboardService;
+import com.madeirart.appMadeirart.modules.dashboard.service.DashboardSnapshotService;
+import com.madeirart.appMadeirart.modules.dashboard.service.DashboardStreamService;
+import com.madeirart.appMadeirart.modules.dashboard.service.ProjecaoFinanceiraService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes para DashboardController
+ */
+@WebMvcTest(DashboardController.class)
+@DisplayName("Testes do DashboardController")
+class DashboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private DashboardService dashboardService;
+
+    @MockitoBean
+    private ProjecaoFinanceiraService projecaoFinanceiraService;
+
+    @MockitoBean
+    private DashboardSnapshotService dashboardSnapshotService;
+
+    @MockitoBean
+    private DashboardStreamService dashboardStreamService;
+
+    @Test
+    @DisplayName("GET /api/dashboard/resumo deve usar a janela de entrega informada")
+    void deveRetornarResumoComJanelaInformada() throws Exception {
+        when(dashboardService.getResumoOrcamentos(15)).thenReturn(new DashboardResumoDTO(3L, 1L, List.of()));
+
+        mockMvc.perform(get("/api/dashboard/resumo").param("diasEntrega", "15"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalOrcamentosAtivos").value(3));
+    }
+
+    @Test
+    @DisplayName("GET /api/dashboard/resumo deve usar 5 dias por padrão")
+    void deveRetornarResumoComJanelaPadrao() throws Exception {
+        when(dashboardService.getResumoOrcamentos(5)).thenReturn(new DashboardResumoDTO(0L, 0L, List.of()));
+
+        mockMvc.perform(get("/api/dashboard/resumo"))
+                .andExpect(status().isOk());
+
+        verify(dashboardService).getResumoOrcamentos(5);
+    }
+
+    @Test
+    @DisplayName("GET /api/dashboard/resumo deve rejeitar janela negativa")
+    void deveRejeitarJanelaNegativa() throws Exception {
+        mockMvc.perform(get("/api/dashboard/resumo").param("diasEntrega", "-1"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(dashboardService);
+    }
+
+    @Test
+    @DisplayName("GET /api/dashboard/projecao/anual deve retornar os doze meses")
+    void deveRetornarProjecaoAnual() throws Exception {
+        List<ProjecaoFinanceiraDTO> projecoes = IntStream.rangeClosed(1, 12)
+                .mapToObj(mes -> new ProjecaoFinanceiraDTO(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                        BigDecimal.ZERO, "mês " + mes))
+                .toList();
+        when(projecaoFinanceiraService.calcularProjecaoAnual(2026)).thenReturn(projecoes);
+
+        mockMvc.perform(get("/api/dashboard/projecao/anual").param("ano", "2026"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(12))
+                .andExpect(jsonPath("$[11].mesReferencia").value("mês 12"));
+    }
+
+    @Test
+    @DisplayName("GET /api/dashboard/projecao/anual deve rejeitar ano inválido")
+    void deveRejeitarAnoInvalido() throws Exception {
+        mockMvc.perform(get("/api/dashboard/projecao/anual").param("ano", "0"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(projecaoFinanceiraService);
+    }
+
+    @Test
+    @DisplayName("GET /api/dashboard/snapshot deve usar o mês atual por padrão")
+    void deveRetornarSnapshotDoMesAtual() throws Exception {
+        when(dashboardSnapshotService.getSnapshot(YearMonth.now(), 2, 5)).thenReturn(DashboardSnapshotDTO.builder()
+                .resumo(new DashboardResumoDTO(3L, 1L, List.of()))
+                .build());
+
+        mockMvc.perform(get("/api/dashboard/snapshot"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resumo.totalOrcamentosAtivos").value(3));
+    }
+
+    @Test
+    @DisplayName("GET /api/dashboard/snapshot deve rejeitar parâmetros inválidos")
+    void deveRejeitarSnapshotComParametrosInvalidos() throws Exception {
+        mockMvc.perform(get("/api/dashboard/snapshot").param("mes", "13").param("ano", "2026"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/dashboard/snapshot").param("meses", "0"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(dashboardSnapshotService);
+    }
+
+    @Test
+    @DisplayName("GET /api/dashboard/stream deve abrir o stream de eventos")
+    void deveAbrirStream() throws Exception {
+        when(dashboardStreamService.conectar()).thenReturn(new SseEmitter(0L));
+
+        mockMvc.perform(get("/api/dashboard/stream"))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    @DisplayName("GET /api/dashboard/stream deve retornar 503 quando o limite de clientes foi atingido")
+    void deveRecusarStreamAcimaDoLimite() throws Exception {
+        when(dashboardStreamService.conectar()).thenThrow(new IllegalStateException("Limite atingido"));
+
+        mockMvc.perform(get("/api/dashboard/stream"))
+                .andExpect(status().isServiceUnavailable());
+    }
+}
@@ -0,0 +1,71 @@
+package com.madeirart.appMadeirart.modules.dashboard.controller;
+
+import com.madeirart.appMadeirart.modules.dashboard.dto.CalendarioDTO;
+import com.madeirart.appMadeirart.modules.dashboard.service.CalendarioFinanceiroService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes para FinanceiroController
+ */
+@WebMvcTest(FinanceiroController.class)
+@DisplayName("Testes do FinanceiroController")
+class FinanceiroControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CalendarioFinanceiroService calendarioFinanceiroService;
+
+    @Test
+    @DisplayName("GET /api/financeiro/calendario deve rejeitar mês inválido")
+    void deveRejeitarMesInvalido() throws Exception {
+        mockMvc.perform(get("/api/financeiro/calendario").param("mes", "13").param("ano", "2026"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(calendarioFinanceiroService);
+    }
+
+    @Test
+    @DisplayName("GET /api/financeiro/calendario/intervalo deve retornar todos os meses")
+    void deveRetornarCalendarioIntervalo() throws Exception {
+        when(calendarioFinanceiroService.getCalendarioIntervalo(YearMonth.of(2026, 1), YearMonth.of(2026, 2)))
+                .thenReturn(List.of(new CalendarioDTO(2026, 1, Map.of()), new CalendarioDTO(2026, 2, Map.of())));
+
+        mockMvc.perform(get("/api/financeiro/calendario/intervalo")
+                .param("inicio", "2026-01")
+                .param("fim", "2026-02"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].mes").value(1))
+                .andExpect(jsonPath("$[1].mes").value(2));
+    }
+
+    @Test
+    @DisplayName("GET /api/financeiro/calendario/intervalo deve rejeitar intervalo inválido")
+    void deveRejeitarIntervaloInvalido() throws Exception {
+        doThrow(new IllegalArgumentException("inválido"))
+                .when(calendarioFinanceiroService).validarIntervalo(any(), any());
+
+        mockMvc.perform(get("/api/financeiro/calendario/intervalo")
+                .param("inicio", "2026-12")
+                .param("fim", "2026-01"))
+                .andExpect(status().isBadRequest());
+
+        verify(calendarioFinanceiroService, never()).getCalendarioIntervalo(any(), any());
+    }
+}
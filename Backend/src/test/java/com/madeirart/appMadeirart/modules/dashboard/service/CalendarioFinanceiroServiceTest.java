@@ -0,0 +1,210 @@
+package com.madeirart.appMadeirart.modules.dashboard.service;
+
+import com.madeirart.appMadeirart.modules.custos.entity.CustoFixo;
+import com.madeirart.appMadeirart.modules.custos.entity.CustoVariavel;
+import com.madeirart.appMadeirart.modules.custos.repository.CustoFixoRepository;
+import com.madeirart.appMadeirart.modules.custos.repository.CustoVariavelRepository;
+import com.madeirart.appMadeirart.modules.dashboard.dto.CalendarioDTO;
+import com.madeirart.appMadeirart.modules.dashboard.dto.DiaDadosDTO;
+import com.madeirart.appMadeirart.modules.orcamento.entity.Orcamento;
+import com.madeirart.appMadeirart.modules.orcamento.entity.Parcela;
+import com.madeirart.appMadeirart.modules.orcamento.repository.ParcelaRepository;
+import com.madeirart.appMadeirart.shared.enums.StatusCusto;
+import com.madeirart.appMadeirart.shared.enums.StatusParcela;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para CalendarioFinanceiroService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do CalendarioFinanceiroService")
+class CalendarioFinanceiroServiceTest {
+
+    @Mock
+    private ParcelaRepository parcelaRepository;
+
+    @Mock
+    private CustoFixoRepository custoFixoRepository;
+
+    @Mock
+    private CustoVariavelRepository custoVariavelRepository;
+
+    @InjectMocks
+    private CalendarioFinanceiroService calendarioFinanceiroService;
+
+    @Test
+    @DisplayName("Deve agrupar entradas e saídas por dia mantendo a ordem das transações")
+    void deveAgruparTransacoesPorDia() {
+        Orcamento orcamento = new Orcamento();
+        orcamento.setId(1L);
+        orcamento.setCliente("João Silva");
+
+        List<Parcela> parcelas = new ArrayList<>();
+        for (int i = 1; i <= 2000; i++) {
+            parcelas.add(Parcela.builder()
+                    .id((long) i)
+                    .orcamento(orcamento)
+                    .numeroParcela(i)
+                    .valor(new BigDecimal("10.00"))
+                    .dataVencimento(LocalDate.of(2026, 3, 15))
+                    .status(StatusParcela.PENDENTE)
+                    .build());
+        }
+        // Parcela paga em outro dia usa a data de pagamento
+        parcelas.add(Parcela.builder()
+                .id(3000L)
+                .orcamento(orcamento)
+                .numeroParcela(1)
+                .valor(new BigDecimal("500.00"))
+                .dataVencimento(LocalDate.of(2026, 2, 28))
+                .dataPagamento(LocalDate.of(2026, 3, 2))
+                .status(StatusParcela.PAGO)
+                .build());
+
+        CustoFixo aluguel = CustoFixo.builder()
+                .id(1L)
+                .nome("Aluguel")
+                .valor(new BigDecimal("2000.00"))
+                .diaVencimento(15)
+                .ativo(true)
+                .status(StatusCusto.PENDENTE)
+                .build();
+        CustoVariavel madeira = CustoVariavel.builder()
+                .id(1L)
+                .nome("Madeira")
+                .valor(new BigDecimal("300.00"))
+                .dataLancamento(LocalDate.of(2026, 3, 20))
+                .parcelado(true)
+                .numeroParcela(1)
+                .totalParcelas(3)
+                .status(StatusCusto.PENDENTE)
+                .build();
+
+        LocalDate inicio = LocalDate.of(2026, 3, 1);
+        LocalDate fim = LocalDate.of(2026, 3, 31);
+        when(parcelaRepository.findComOrcamentoPorDataReferenciaBetween(inicio, fim)).thenReturn(parcelas);
+        when(custoFixoRepository.findByAtivoTrueOrderByDiaVencimento()).thenReturn(List.of(aluguel));
+        when(custoVariavelRepository.findByDataLancamentoBetween(inicio, fim)).thenReturn(List.of(madeira));
+
+        CalendarioDTO calendario = calendarioFinanceiroService.getCalendarioMensal(3, 2026);
+
+        assertThat(calendario.dias()).containsOnlyKeys(2, 15, 20);
+
+        DiaDadosDTO dia15 = calendario.dias().get(15);
+        assertThat(dia15.temEntradas()).isTrue();
+        assertThat(dia15.temSaidas()).isTrue();
+        assertThat(dia15.entradas()).hasSize(2000);
+        assertThat(dia15.entradas().get(0).id()).isEqualTo(1L);
+        assertThat(dia15.entradas().get(1999).id()).isEqualTo(2000L);
+        assertThat(dia15.saidas()).singleElement()
+                .satisfies(saida -> assertThat(saida.descricao()).isEqualTo("Aluguel"));
+
+        DiaDadosDTO dia2 = calendario.dias().get(2);
+        assertThat(dia2.temEntradas()).isTrue();
+        assertThat(dia2.temSaidas()).isFalse();
+        assertThat(dia2.entradas().get(0).descricao()).isEqualTo("Parcela 1 - João Silva");
+
+        DiaDadosDTO dia20 = calendario.dias().get(20);
+        assertThat(dia20.temEntradas()).isFalse();
+        assertThat(dia20.saidas().get(0).descricao()).isEqualTo("Madeira (Parcela 1/3)");
+    }
+
+    @Test
+    @DisplayName("Deve consultar cada fonte uma única vez limitada ao mês")
+    void deveConsultarFontesLimitadasAoMes() {
+        LocalDate inicio = LocalDate.of(2026, 2, 1);
+        LocalDate fim = LocalDate.of(2026, 2, 28);
+        when(parcelaRepository.findComOrcamentoPorDataReferenciaBetween(inicio, fim)).thenReturn(List.of());
+        when(custoFixoRepository.findByAtivoTrueOrderByDiaVencimento()).thenReturn(List.of());
+        when(custoVariavelRepository.findByDataLancamentoBetween(inicio, fim)).thenReturn(List.of());
+
+        CalendarioDTO calendario = calendarioFinanceiroService.getCalendarioMensal(2, 2026);
+
+        assertThat(calendario.dias()).isEmpty();
+        verify(parcelaRepository, times(1)).findComOrcamentoPorDataReferenciaBetween(inicio, fim);
+        verify(parcelaRepository, never()).findAll();
+        verify(custoFixoRepository, never()).findAll();
+        verify(custoVariavelRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Deve montar todos os meses do intervalo com uma consulta por fonte")
+    void deveMontarIntervaloComUmaConsultaPorFonte() {
+        Orcamento orcamento = new Orcamento();
+        orcamento.setId(1L);
+        orcamento.setCliente("Maria");
+
+        Parcela parcelaJaneiro = Parcela.builder()
+                .id(1L)
+                .orcamento(orcamento)
+                .numeroParcela(1)
+                .valor(new BigDecimal("100.00"))
+                .dataVencimento(LocalDate.of(2026, 1, 10))
+                .status(StatusParcela.PENDENTE)
+                .build();
+        Parcela parcelaMarco = Parcela.builder()
+                .id(2L)
+                .orcamento(orcamento)
+                .numeroParcela(2)
+                .valor(new BigDecimal("100.00"))
+                .dataVencimento(LocalDate.of(2026, 2, 25))
+                .dataPagamento(LocalDate.of(2026, 3, 3))
+                .status(StatusParcela.PAGO)
+                .build();
+        CustoFixo aluguel = CustoFixo.builder()
+                .id(1L)
+                .nome("Aluguel")
+                .valor(new BigDecimal("2000.00"))
+                .diaVencimento(5)
+                .ativo(true)
+                .status(StatusCusto.PENDENTE)
+                .build();
+
+        LocalDate inicio = LocalDate.of(2026, 1, 1);
+        LocalDate fim = LocalDate.of(2026, 3, 31);
+        when(parcelaRepository.findComOrcamentoPorDataReferenciaBetween(inicio, fim))
+                .thenReturn(List.of(parcelaJaneiro, parcelaMarco));
+        when(custoFixoRepository.findByAtivoTrueOrderByDiaVencimento()).thenReturn(List.of(aluguel));
+        when(custoVariavelRepository.findByDataLancamentoBetween(inicio, fim)).thenReturn(List.of());
+
+        List<CalendarioDTO> calendarios = calendarioFinanceiroService.getCalendarioIntervalo(
+                YearMonth.of(2026, 1), YearMonth.of(2026, 3));
+
+        assertThat(calendarios).extracting(CalendarioDTO::mes).containsExactly(1, 2, 3);
+        assertThat(calendarios.get(0).dias()).containsOnlyKeys(5, 10);
+        assertThat(calendarios.get(1).dias()).containsOnlyKeys(5);
+        assertThat(calendarios.get(2).dias()).containsOnlyKeys(3, 5);
+        verify(parcelaRepository, times(1)).findComOrcamentoPorDataReferenciaBetween(any(), any());
+        verify(custoFixoRepository, times(1)).findByAtivoTrueOrderByDiaVencimento();
+        verify(custoVariavelRepository, times(1)).findByDataLancamentoBetween(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar intervalo invertido ou longo demais")
+    void deveRejeitarIntervaloInvalido() {
+        assertThatThrownBy(() -> calendarioFinanceiroService.getCalendarioIntervalo(
+                YearMonth.of(2026, 5), YearMonth.of(2026, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> calendarioFinanceiroService.getCalendarioIntervalo(
+                YearMonth.of(2026, 1), YearMonth.of(2029, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(parcelaRepository, custoFixoRepository, custoVariavelRepository);
+    }
+}
@@ -0,0 +1,80 @@
+package com.madeirart.appMadeirart.modules.dashboard.service;
+
+import com.madeirart.appMadeirart.modules.dashboard.dto.DashboardResumoDTO;
+import com.madeirart.appMadeirart.modules.orcamento.entity.Orcamento;
+import com.madeirart.appMadeirart.modules.orcamento.repository.OrcamentoRepository;
+import com.madeirart.appMadeirart.shared.enums.StatusOrcamento;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para DashboardService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do DashboardService")
+class DashboardServiceTest {
+
+    @Mock
+    private OrcamentoRepository orcamentoRepository;
+
+    @InjectMocks
+    private DashboardService dashboardService;
+
+    @Test
+    @DisplayName("Deve montar o resumo com contagens e consulta limitada, sem carregar todos os orçamentos")
+    void deveMontarResumoComContagens() {
+        LocalDate dataLimite = LocalDate.now().plusDays(10);
+        Orcamento orcamento = new Orcamento();
+        orcamento.setId(1L);
+        orcamento.setCliente("João Silva");
+        orcamento.setMoveis("Armário");
+        orcamento.setPrevisaoEntrega(LocalDate.now().plusDays(3));
+        orcamento.setStatus(StatusOrcamento.INICIADA);
+
+        when(orcamentoRepository.countByStatus(StatusOrcamento.AGUARDANDO)).thenReturn(4L);
+        when(orcamentoRepository.countByStatus(StatusOrcamento.INICIADA)).thenReturn(2L);
+        when(orcamentoRepository.findByStatusAndPrevisaoEntregaLessThanEqualOrderByPrevisaoEntrega(
+                StatusOrcamento.INICIADA, dataLimite)).thenReturn(List.of(orcamento));
+
+        DashboardResumoDTO resumo = dashboardService.getResumoOrcamentos(10);
+
+        assertThat(resumo.totalOrcamentosAtivos()).isEqualTo(4L);
+        assertThat(resumo.totalEmProducao()).isEqualTo(2L);
+        assertThat(resumo.orcamentosProximosEntrega()).hasSize(1);
+        assertThat(resumo.orcamentosProximosEntrega().get(0).cliente()).isEqualTo("João Silva");
+        verify(orcamentoRepository, never()).findAll();
+        verify(orcamentoRepository, never()).findByStatus(any());
+    }
+
+    @Test
+    @DisplayName("Deve usar a janela padrão de 5 dias")
+    void deveUsarJanelaPadrao() {
+        when(orcamentoRepository.findByStatusAndPrevisaoEntregaLessThanEqualOrderByPrevisaoEntrega(
+                StatusOrcamento.INICIADA, LocalDate.now().plusDays(5))).thenReturn(List.of());
+
+        DashboardResumoDTO resumo = dashboardService.getResumoOrcamentos();
+
+        assertThat(resumo.orcamentosProximosEntrega()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar número de dias negativo")
+    void deveRejeitarDiasNegativos() {
+        assertThatThrownBy(() -> dashboardService.getOrcamentosProximosEntrega(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(orcamentoRepository);
+    }
+}
@@ -0,0 +1,126 @@
+package com.madeirart.appMadeirart.modules.dashboard.service;
+
+import com.madeirart.appMadeirart.modules.dashboard.dto.CalendarioDTO;
+import com.madeirart.appMadeirart.modules.dashboard.dto.DashboardResumoDTO;
+import com.madeirart.appMadeirart.modules.dashboard.dto.DashboardSnapshotDTO;
+import com.madeirart.appMadeirart.modules.dashboard.dto.ProjecaoFinanceiraDTO;
+import com.madeirart.appMadeirart.modules.financeiro.dto.ProjecaoCaixaDTO;
+import com.madeirart.appMadeirart.modules.financeiro.service.ProjecaoCaixaService;
+import com.madeirart.appMadeirart.shared.config.CacheConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para DashboardSnapshotService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do DashboardSnapshotService")
+class DashboardSnapshotServiceTest {
+
+    private static final YearMonth MARCO = YearMonth.of(2026, 3);
+
+    @Mock
+    private DashboardService dashboardService;
+
+    @Mock
+    private ProjecaoFinanceiraService projecaoFinanceiraService;
+
+    @Mock
+    private CalendarioFinanceiroService calendarioFinanceiroService;
+
+    @Mock
+    private ProjecaoCaixaService projecaoCaixaService;
+
+    private CacheManager cacheManager;
+    private DashboardSnapshotService dashboardSnapshotService;
+
+    private final DadosFinanceirosMes dados = new DadosFinanceirosMes(MARCO, List.of(), List.of(), List.of());
+    private final CalendarioDTO calendario = new CalendarioDTO(2026, 3, Map.of());
+    private final ProjecaoFinanceiraDTO projecao = new ProjecaoFinanceiraDTO(BigDecimal.ONE, BigDecimal.ZERO,
+            BigDecimal.ZERO, BigDecimal.ONE, "março de 2026");
+    private final DashboardResumoDTO resumo = new DashboardResumoDTO(3L, 1L, List.of());
+    private final ProjecaoCaixaDTO projecaoCaixa = ProjecaoCaixaDTO.builder()
+            .saldoAtual(BigDecimal.TEN)
+            .mesesProjetados(List.of())
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CacheConfig().cacheManager();
+        dashboardSnapshotService = new DashboardSnapshotService(dashboardService, projecaoFinanceiraService,
+                calendarioFinanceiroService, projecaoCaixaService, cacheManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dashboardSnapshotService.encerrar();
+    }
+
+    @Test
+    @DisplayName("Deve montar o snapshot lendo as linhas do mês uma única vez")
+    void deveMontarSnapshotComLeituraUnicaDoMes() {
+        when(dashboardService.getResumoOrcamentos(5)).thenReturn(resumo);
+        when(projecaoCaixaService.getProjecaoCaixa(2)).thenReturn(projecaoCaixa);
+        when(calendarioFinanceiroService.carregarDadosDoMes(MARCO)).thenReturn(dados);
+        when(calendarioFinanceiroService.montarCalendario(dados)).thenReturn(calendario);
+        when(projecaoFinanceiraService.calcularProjecaoMensal(dados)).thenReturn(projecao);
+
+        DashboardSnapshotDTO snapshot = dashboardSnapshotService.getSnapshot(MARCO, 2, 5);
+
+        assertThat(snapshot.resumo()).isEqualTo(resumo);
+        assertThat(snapshot.calendario()).isEqualTo(calendario);
+        assertThat(snapshot.projecao()).isEqualTo(projecao);
+        assertThat(snapshot.projecaoCaixa()).isEqualTo(projecaoCaixa);
+        assertThat(snapshot.dataCalculo()).isNotNull();
+
+        verify(calendarioFinanceiroService, times(1)).carregarDadosDoMes(MARCO);
+        verify(calendarioFinanceiroService, never()).getCalendarioMensal(anyInt(), anyInt());
+        verify(projecaoFinanceiraService, never()).calcularProjecaoMensal(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar os caches mensais preenchidos pelo snapshot anterior")
+    void deveReaproveitarCachesMensais() {
+        when(dashboardService.getResumoOrcamentos(5)).thenReturn(resumo);
+        when(projecaoCaixaService.getProjecaoCaixa(2)).thenReturn(projecaoCaixa);
+        when(calendarioFinanceiroService.carregarDadosDoMes(MARCO)).thenReturn(dados);
+        when(calendarioFinanceiroService.montarCalendario(dados)).thenReturn(calendario);
+        when(projecaoFinanceiraService.calcularProjecaoMensal(dados)).thenReturn(projecao);
+
+        dashboardSnapshotService.getSnapshot(MARCO, 2, 5);
+        DashboardSnapshotDTO segundo = dashboardSnapshotService.getSnapshot(MARCO, 2, 5);
+
+        assertThat(segundo.calendario()).isEqualTo(calendario);
+        assertThat(cacheManager.getCache(CacheConfig.CALENDARIO_FINANCEIRO).get(MARCO).get()).isEqualTo(calendario);
+        assertThat(cacheManager.getCache(CacheConfig.PROJECAO_FINANCEIRA).get(MARCO).get()).isEqualTo(projecao);
+        verify(calendarioFinanceiroService, times(1)).carregarDadosDoMes(MARCO);
+    }
+
+    @Test
+    @DisplayName("Deve propagar a exceção de uma das partes do snapshot")
+    void devePropagarExcecaoDaParte() {
+        when(dashboardService.getResumoOrcamentos(5)).thenReturn(resumo);
+        when(calendarioFinanceiroService.carregarDadosDoMes(MARCO)).thenReturn(dados);
+        when(projecaoCaixaService.getProjecaoCaixa(2))
+                .thenThrow(new IllegalArgumentException("Horizonte inválido"));
+
+        assertThatThrownBy(() -> dashboardSnapshotService.getSnapshot(MARCO, 2, 5))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Horizonte inválido");
+    }
+}
@@ -0,0 +1,152 @@
+package com.madeirart.appMadeirart.modules.dashboard.service;
+
+import com.madeirart.appMadeirart.modules.dashboard.dto.AlteracaoDashboardDTO;
+import com.madeirart.appMadeirart.shared.enums.StatusOrcamento;
+import com.madeirart.appMadeirart.shared.enums.TipoAlteracaoDashboard;
+import com.madeirart.appMadeirart.shared.event.DadosFinanceirosAlteradosEvent;
+import com.madeirart.appMadeirart.shared.event.DashboardAlteradoEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para DashboardStreamService
+ */
+@DisplayName("Testes do DashboardStreamService")
+class DashboardStreamServiceTest {
+
+    /**
+     * Envios agendados; executados manualmente para simular rajadas
+     */
+    private final Queue<Runnable> envios = new ArrayDeque<>();
+
+    private DashboardStreamService dashboardStreamService;
+    private SseEmitter emitter;
+
+    @BeforeEach
+    void setUp() {
+        dashboardStreamService = new DashboardStreamService(envios::add);
+        emitter = mock(SseEmitter.class);
+        dashboardStreamService.registrar(emitter);
+    }
+
+    private void executarEnvios() {
+        while (!envios.isEmpty()) {
+            envios.poll().run();
+        }
+    }
+
+    /**
+     * Extrai as alterações enviadas ao emitter, na ordem de envio
+     */
+    private List<AlteracaoDashboardDTO> alteracoesEnviadas() throws IOException {
+        ArgumentCaptor<SseEmitter.SseEventBuilder> captor = ArgumentCaptor.forClass(SseEmitter.SseEventBuilder.class);
+        verify(emitter, atLeastOnce()).send(captor.capture());
+        return captor.getAllValues().stream()
+                .flatMap(evento -> evento.build().stream())
+                .map(SseEmitter.DataWithMediaType::getData)
+                .filter(AlteracaoDashboardDTO.class::isInstance)
+                .map(AlteracaoDashboardDTO.class::cast)
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Deve enviar a alteração ao cliente conectado")
+    void deveEnviarAlteracao() throws IOException {
+        dashboardStreamService.publicar(DashboardAlteradoEvent.orcamentoCriado(7L, "João", StatusOrcamento.AGUARDANDO));
+        executarEnvios();
+
+        List<AlteracaoDashboardDTO> enviadas = alteracoesEnviadas();
+        assertThat(enviadas).hasSize(1);
+        assertThat(enviadas.get(0).tipo()).isEqualTo(TipoAlteracaoDashboard.ORCAMENTO_CRIADO);
+        assertThat(enviadas.get(0).id()).isEqualTo(7L);
+        assertThat(enviadas.get(0).dados()).containsEntry("cliente", "João");
+    }
+
+    @Test
+    @DisplayName("Deve agrupar rajadas mantendo apenas o saldo mais recente")
+    void deveAgruparRajadaDeSaldo() throws IOException {
+        for (int i = 1; i <= 50; i++) {
+            dashboardStreamService.publicar(DashboardAlteradoEvent.saldoAlterado(BigDecimal.valueOf(i)));
+        }
+        dashboardStreamService.publicar(DashboardAlteradoEvent.parcelaAtrasada(3L, LocalDate.of(2026, 3, 5),
+                BigDecimal.TEN));
+
+        assertThat(envios).hasSize(1);
+        executarEnvios();
+
+        List<AlteracaoDashboardDTO> enviadas = alteracoesEnviadas();
+        assertThat(enviadas).extracting(AlteracaoDashboardDTO::tipo)
+                .containsExactly(TipoAlteracaoDashboard.SALDO_ALTERADO, TipoAlteracaoDashboard.PARCELA_ATRASADA);
+        assertThat(enviadas.get(0).dados()).containsEntry("saldo", BigDecimal.valueOf(50));
+    }
+
+    @Test
+    @DisplayName("Deve trocar a fila cheia por um único RESSINCRONIZAR")
+    void deveRessincronizarQuandoFilaEnche() throws IOException {
+        for (long id = 1; id <= DashboardStreamService.MAX_PENDENTES_POR_CLIENTE + 10; id++) {
+            dashboardStreamService.publicar(DashboardAlteradoEvent.orcamentoRemovido(id));
+        }
+        executarEnvios();
+
+        List<AlteracaoDashboardDTO> enviadas = alteracoesEnviadas();
+        assertThat(enviadas).hasSize(1);
+        assertThat(enviadas.get(0).tipo()).isEqualTo(TipoAlteracaoDashboard.RESSINCRONIZAR);
+    }
+
+    @Test
+    @DisplayName("Deve enviar uma alteração de projeção por mês e ignorar eventos só de saldo")
+    void deveEnviarProjecaoPorMes() throws IOException {
+        dashboardStreamService.publicar(DashboardAlteradoEvent.saldoAlterado(BigDecimal.ONE));
+        executarEnvios();
+        clearInvocations(emitter);
+
+        dashboardStreamService.publicar(DadosFinanceirosAlteradosEvent.doSaldo());
+        assertThat(envios).isEmpty();
+
+        dashboardStreamService.publicar(DadosFinanceirosAlteradosEvent.dasDatas(
+                LocalDate.of(2026, 3, 5), LocalDate.of(2026, 4, 1), LocalDate.of(2026, 3, 20)));
+        executarEnvios();
+
+        assertThat(alteracoesEnviadas())
+                .extracting(alteracao -> alteracao.dados().get("mes"))
+                .containsExactlyInAnyOrder("2026-03", "2026-04");
+    }
+
+    @Test
+    @DisplayName("Deve remover o cliente quando o envio falha")
+    void deveRemoverClienteQuandoEnvioFalha() throws IOException {
+        doThrow(new IOException("Conexão encerrada")).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+
+        dashboardStreamService.publicar(DashboardAlteradoEvent.orcamentoRemovido(1L));
+        executarEnvios();
+
+        assertThat(dashboardStreamService.quantidadeClientes()).isZero();
+        verify(emitter).complete();
+    }
+
+    @Test
+    @DisplayName("Deve recusar conexões acima do limite de clientes")
+    void deveRecusarConexoesAcimaDoLimite() {
+        for (int i = 1; i < DashboardStreamService.MAX_CLIENTES; i++) {
+            dashboardStreamService.registrar(mock(SseEmitter.class));
+        }
+
+        assertThatThrownBy(dashboardStreamService::conectar)
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
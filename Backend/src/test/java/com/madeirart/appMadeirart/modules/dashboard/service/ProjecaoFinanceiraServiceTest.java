@@ -0,0 +1,157 @@
+package com.madeirart.appMadeirart.modules.dashboard.service;
+
+import com.madeirart.appMadeirart.modules.custos.dto.CustoVariavelTotalPorDataDTO;
+import com.madeirart.appMadeirart.modules.custos.entity.CustoFixo;
+import com.madeirart.appMadeirart.modules.custos.entity.CustoVariavel;
+import com.madeirart.appMadeirart.modules.custos.repository.CustoFixoRepository;
+import com.madeirart.appMadeirart.modules.custos.repository.CustoVariavelRepository;
+import com.madeirart.appMadeirart.modules.dashboard.dto.ProjecaoFinanceiraDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.TotalParcelasPorDataDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.TotalParcelasPorStatusDTO;
+import com.madeirart.appMadeirart.modules.orcamento.entity.Parcela;
+import com.madeirart.appMadeirart.modules.orcamento.repository.ParcelaRepository;
+import com.madeirart.appMadeirart.shared.enums.StatusParcela;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para ProjecaoFinanceiraService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do ProjecaoFinanceiraService")
+class ProjecaoFinanceiraServiceTest {
+
+    @Mock
+    private ParcelaRepository parcelaRepository;
+
+    @Mock
+    private CustoFixoRepository custoFixoRepository;
+
+    @Mock
+    private CustoVariavelRepository custoVariavelRepository;
+
+    @InjectMocks
+    private ProjecaoFinanceiraService projecaoFinanceiraService;
+
+    private static final LocalDate INICIO = LocalDate.of(2026, 3, 1);
+    private static final LocalDate FIM = LocalDate.of(2026, 3, 31);
+
+    @Test
+    @DisplayName("Deve calcular a projeção do mês a partir das consultas agregadas")
+    void deveCalcularProjecaoComConsultasAgregadas() {
+        when(parcelaRepository.somarValorPorStatusNoPeriodo(INICIO, FIM, StatusParcela.PAGO)).thenReturn(List.of(
+                new TotalParcelasPorStatusDTO(StatusParcela.PAGO, new BigDecimal("200.2")),
+                new TotalParcelasPorStatusDTO(StatusParcela.PENDENTE, new BigDecimal("1500"))));
+        when(custoFixoRepository.somarValorAtivos()).thenReturn(new BigDecimal("800"));
+        when(custoVariavelRepository.somarValorNoPeriodo(INICIO, FIM)).thenReturn(new BigDecimal("150.5"));
+
+        ProjecaoFinanceiraDTO projecao = projecaoFinanceiraService.calcularProjecaoMensal(3, 2026);
+
+        assertThat(projecao.receitaPrevista()).isEqualTo(new BigDecimal("1500.00"));
+        assertThat(projecao.receitaRecebida()).isEqualTo(new BigDecimal("200.20"));
+        assertThat(projecao.despesaPrevista()).isEqualTo(new BigDecimal("950.50"));
+        assertThat(projecao.saldoProjetado()).isEqualTo(new BigDecimal("749.70"));
+        assertThat(projecao.mesReferencia()).isEqualTo("março de 2026");
+
+        verify(parcelaRepository, times(1)).somarValorPorStatusNoPeriodo(INICIO, FIM, StatusParcela.PAGO);
+        verify(custoFixoRepository, times(1)).somarValorAtivos();
+        verify(custoVariavelRepository, times(1)).somarValorNoPeriodo(INICIO, FIM);
+        verify(parcelaRepository, never()).findAll();
+        verify(custoFixoRepository, never()).findAll();
+        verify(custoVariavelRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Deve retornar zeros quando o mês não tem parcelas nem custos")
+    void deveRetornarZerosSemMovimento() {
+        when(parcelaRepository.somarValorPorStatusNoPeriodo(INICIO, FIM, StatusParcela.PAGO)).thenReturn(List.of());
+        when(custoFixoRepository.somarValorAtivos()).thenReturn(BigDecimal.ZERO);
+        when(custoVariavelRepository.somarValorNoPeriodo(INICIO, FIM)).thenReturn(BigDecimal.ZERO);
+
+        ProjecaoFinanceiraDTO projecao = projecaoFinanceiraService.calcularProjecaoMensal(3, 2026);
+
+        assertThat(projecao.receitaPrevista()).isEqualTo(new BigDecimal("0.00"));
+        assertThat(projecao.receitaRecebida()).isEqualTo(new BigDecimal("0.00"));
+        assertThat(projecao.despesaPrevista()).isEqualTo(new BigDecimal("0.00"));
+        assertThat(projecao.saldoProjetado()).isEqualTo(new BigDecimal("0.00"));
+    }
+
+    @Test
+    @DisplayName("Deve calcular os doze meses do ano com uma consulta por fonte")
+    void deveCalcularProjecaoAnualComUmaConsultaPorFonte() {
+        LocalDate inicioDoAno = LocalDate.of(2026, 1, 1);
+        LocalDate fimDoAno = LocalDate.of(2026, 12, 31);
+        when(parcelaRepository.somarValorPorDataEStatusNoPeriodo(inicioDoAno, fimDoAno, StatusParcela.PAGO))
+                .thenReturn(List.of(
+                        new TotalParcelasPorDataDTO(LocalDate.of(2026, 3, 5), StatusParcela.PENDENTE,
+                                new BigDecimal("1000")),
+                        new TotalParcelasPorDataDTO(LocalDate.of(2026, 3, 20), StatusParcela.PENDENTE,
+                                new BigDecimal("500")),
+                        new TotalParcelasPorDataDTO(LocalDate.of(2026, 3, 7), StatusParcela.PAGO,
+                                new BigDecimal("200.2")),
+                        new TotalParcelasPorDataDTO(LocalDate.of(2026, 12, 31), StatusParcela.PENDENTE,
+                                new BigDecimal("50"))));
+        when(custoFixoRepository.somarValorAtivos()).thenReturn(new BigDecimal("800"));
+        when(custoVariavelRepository.somarValorPorDataNoPeriodo(inicioDoAno, fimDoAno)).thenReturn(List.of(
+                new CustoVariavelTotalPorDataDTO(LocalDate.of(2026, 3, 10), new BigDecimal("100.5")),
+                new CustoVariavelTotalPorDataDTO(LocalDate.of(2026, 3, 11), new BigDecimal("50"))));
+
+        List<ProjecaoFinanceiraDTO> projecoes = projecaoFinanceiraService.calcularProjecaoAnual(2026);
+
+        assertThat(projecoes).hasSize(12);
+        assertThat(projecoes.get(0).mesReferencia()).isEqualTo("janeiro de 2026");
+        assertThat(projecoes.get(0).receitaPrevista()).isEqualTo(new BigDecimal("0.00"));
+        assertThat(projecoes.get(0).despesaPrevista()).isEqualTo(new BigDecimal("800.00"));
+
+        ProjecaoFinanceiraDTO marco = projecoes.get(2);
+        assertThat(marco.mesReferencia()).isEqualTo("março de 2026");
+        assertThat(marco.receitaPrevista()).isEqualTo(new BigDecimal("1500.00"));
+        assertThat(marco.receitaRecebida()).isEqualTo(new BigDecimal("200.20"));
+        assertThat(marco.despesaPrevista()).isEqualTo(new BigDecimal("950.50"));
+        assertThat(marco.saldoProjetado()).isEqualTo(new BigDecimal("749.70"));
+
+        assertThat(projecoes.get(11).receitaPrevista()).isEqualTo(new BigDecimal("50.00"));
+
+        verify(parcelaRepository, times(1)).somarValorPorDataEStatusNoPeriodo(inicioDoAno, fimDoAno,
+                StatusParcela.PAGO);
+        verify(custoFixoRepository, times(1)).somarValorAtivos();
+        verify(custoVariavelRepository, times(1)).somarValorPorDataNoPeriodo(inicioDoAno, fimDoAno);
+        verifyNoMoreInteractions(parcelaRepository, custoFixoRepository, custoVariavelRepository);
+    }
+
+    @Test
+    @DisplayName("Deve calcular a projeção do mês a partir de linhas já carregadas, sem consultar o banco")
+    void deveCalcularProjecaoComLinhasCarregadas() {
+        DadosFinanceirosMes dados = new DadosFinanceirosMes(
+                YearMonth.of(2026, 3),
+                List.of(
+                        Parcela.builder().valor(new BigDecimal("1500")).status(StatusParcela.PENDENTE).build(),
+                        Parcela.builder().valor(new BigDecimal("200.2")).status(StatusParcela.PAGO)
+                                .dataPagamento(LocalDate.of(2026, 3, 7)).build(),
+                        // Paga sem data de pagamento: fora da receita, como nas consultas agregadas
+                        Parcela.builder().valor(new BigDecimal("999")).status(StatusParcela.PAGO).build()),
+                List.of(CustoFixo.builder().valor(new BigDecimal("800")).build()),
+                List.of(CustoVariavel.builder().valor(new BigDecimal("150.5")).build()));
+
+        ProjecaoFinanceiraDTO projecao = projecaoFinanceiraService.calcularProjecaoMensal(dados);
+
+        assertThat(projecao.receitaPrevista()).isEqualTo(new BigDecimal("1500.00"));
+        assertThat(projecao.receitaRecebida()).isEqualTo(new BigDecimal("200.20"));
+        assertThat(projecao.despesaPrevista()).isEqualTo(new BigDecimal("950.50"));
+        assertThat(projecao.saldoProjetado()).isEqualTo(new BigDecimal("749.70"));
+        assertThat(projecao.mesReferencia()).isEqualTo("março de 2026");
+        verifyNoInteractions(parcelaRepository, custoFixoRepository, custoVariavelRepository);
+    }
+}
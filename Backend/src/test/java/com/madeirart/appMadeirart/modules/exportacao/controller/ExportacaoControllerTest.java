@@ -0,0 +1,70 @@
+package com.madeirart.appMadeirart.modules.exportacao.controller;
+
+import com.madeirart.appMadeirart.modules.exportacao.service.ExportacaoService;
+import com.madeirart.appMadeirart.shared.enums.FormatoArquivo;
+import com.madeirart.appMadeirart.shared.enums.RecursoExportacao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes para ExportacaoController
+ */
+@WebMvcTest(ExportacaoController.class)
+@DisplayName("Testes do ExportacaoController")
+class ExportacaoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ExportacaoService exportacaoService;
+
+    @Test
+    @DisplayName("GET /api/export/parcelas?formato=ndjson deve escrever o arquivo na resposta")
+    void deveExportarParcelas() throws Exception {
+        when(exportacaoService.exportar(eq(RecursoExportacao.PARCELAS), eq(FormatoArquivo.NDJSON), any()))
+                .thenAnswer(invocation -> {
+                    OutputStream saida = invocation.getArgument(2);
+                    saida.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+                    return 2L;
+                });
+
+        MvcResult resultado = mockMvc.perform(get("/api/export/parcelas").param("formato", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"parcelas.ndjson\""))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    @Test
+    @DisplayName("GET /api/export/{recurso} deve rejeitar recurso ou formato desconhecido")
+    void deveRejeitarExportacaoInvalida() throws Exception {
+        mockMvc.perform(get("/api/export/clientes"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/export/orcamentos").param("formato", "xlsx"))
+                .andExpect(status().isBadRequest());
+
+        verify(exportacaoService, never()).exportar(any(), any(), any());
+    }
+}
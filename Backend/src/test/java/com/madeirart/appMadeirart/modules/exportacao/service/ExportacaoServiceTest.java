@@ -0,0 +1,215 @@
+package com.madeirart.appMadeirart.modules.exportacao.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.madeirart.appMadeirart.modules.custos.entity.CustoFixo;
+import com.madeirart.appMadeirart.modules.custos.repository.CustoFixoRepository;
+import com.madeirart.appMadeirart.modules.orcamento.dto.ItemMaterialDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoRequestDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoResponseDTO;
+import com.madeirart.appMadeirart.modules.orcamento.entity.ItemMaterial;
+import com.madeirart.appMadeirart.modules.orcamento.entity.Orcamento;
+import com.madeirart.appMadeirart.modules.orcamento.entity.Parcela;
+import com.madeirart.appMadeirart.modules.orcamento.repository.OrcamentoRepository;
+import com.madeirart.appMadeirart.modules.orcamento.repository.ParcelaRepository;
+import com.madeirart.appMadeirart.modules.orcamento.service.ImportacaoOrcamentoService;
+import com.madeirart.appMadeirart.modules.orcamento.service.OrcamentoService;
+import com.madeirart.appMadeirart.shared.enums.FormatoArquivo;
+import com.madeirart.appMadeirart.shared.enums.RecursoExportacao;
+import com.madeirart.appMadeirart.shared.enums.StatusOrcamento;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes da exportação em CSV e NDJSON contra o banco SQLite
+ * Cada teste roda em uma transação desfeita ao final
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:sqlite:target/exportacao-test.db")
+@Transactional
+@DisplayName("Testes do ExportacaoService")
+class ExportacaoServiceTest {
+
+    @Autowired
+    private ExportacaoService exportacaoService;
+
+    @Autowired
+    private OrcamentoService orcamentoService;
+
+    @Autowired
+    private ImportacaoOrcamentoService importacaoService;
+
+    @Autowired
+    private OrcamentoRepository orcamentoRepository;
+
+    @Autowired
+    private ParcelaRepository parcelaRepository;
+
+    @Autowired
+    private CustoFixoRepository custoFixoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Deve exportar orçamentos em CSV com uma linha por item, importável de volta")
+    void deveExportarOrcamentosEmCsv() throws IOException {
+        OrcamentoResponseDTO armario = criar("Ana, filha", "MDF \"branco\"", "Dobradiça");
+        criar("Bruno", "Compensado\ncru");
+        entityManager.flush();
+        entityManager.clear();
+
+        String csv = exportar(RecursoExportacao.ORCAMENTOS, FormatoArquivo.CSV);
+
+        // A quebra de linha da descrição fica entre aspas, no mesmo registro
+        List<String> linhas = csv.lines().toList();
+        assertThat(linhas).hasSize(5);
+        assertThat(linhas.get(0)).isEqualTo(String.join(",", ExportacaoService.COLUNAS_ORCAMENTO));
+        assertThat(linhas.get(1))
+                .startsWith(armario.id() + ",\"Ana, filha\",Armário," + armario.data() + ",")
+                .endsWith(",2,\"MDF \"\"branco\"\"\",10");
+        assertThat(linhas.get(2)).endsWith(",2,Dobradiça,10");
+        assertThat(linhas.get(3)).endsWith(",2,\"Compensado");
+        assertThat(linhas.get(4)).isEqualTo("cru\",10");
+
+        long antes = orcamentoRepository.count();
+        assertThat(importacaoService.importar(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), FormatoArquivo.CSV).importados())
+                .isEqualTo(2);
+        assertThat(orcamentoRepository.count()).isEqualTo(antes + 2);
+    }
+
+    @Test
+    @DisplayName("Deve exportar orçamentos em NDJSON com os itens agrupados e parcelas com o orçamento")
+    void deveExportarEmNdjson() throws IOException {
+        OrcamentoResponseDTO orcamento = criar("Carla", "MDF", "Puxador", "Cola");
+        parcelaRepository.save(Parcela.builder()
+                .orcamento(orcamentoRepository.getReferenceById(orcamento.id()))
+                .numeroParcela(1)
+                .valor(new BigDecimal("50.00"))
+                .dataVencimento(LocalDate.of(2030, 1, 10))
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<String> orcamentos = exportar(RecursoExportacao.ORCAMENTOS, FormatoArquivo.NDJSON).lines().toList();
+        assertThat(orcamentos).hasSize(1);
+        JsonNode json = objectMapper.readTree(orcamentos.get(0));
+        assertThat(json.get("id").asLong()).isEqualTo(orcamento.id());
+        assertThat(json.get("itens")).hasSize(3);
+        assertThat(json.get("itens").get(1).get("descricao").asText()).isEqualTo("Puxador");
+        assertThat(json.get("itens").get(1).get("subtotal").decimalValue()).isEqualByComparingTo("20.00");
+        assertThat(json.get("valorTotal").decimalValue()).isEqualByComparingTo(orcamento.valorTotal());
+        assertThat(json.has("statusRecebimento")).isFalse();
+
+        List<String> parcelas = exportar(RecursoExportacao.PARCELAS, FormatoArquivo.NDJSON).lines().toList();
+        assertThat(parcelas).hasSize(1);
+        JsonNode parcela = objectMapper.readTree(parcelas.get(0));
+        assertThat(parcela.get("orcamentoId").asLong()).isEqualTo(orcamento.id());
+        assertThat(parcela.get("dataVencimento").asText()).isEqualTo("2030-01-10");
+        assertThat(parcela.get("status").asText()).isEqualTo("PENDENTE");
+    }
+
+    @Test
+    @DisplayName("Deve ler em várias fatias sem repetir nem perder registros")
+    void deveExportarEmFatias() throws IOException {
+        int quantidade = ExportacaoService.TAMANHO_FATIA * 2 + 1;
+        List<CustoFixo> custos = new ArrayList<>();
+        IntStream.rangeClosed(1, quantidade).forEach(i -> custos.add(CustoFixo.builder()
+                .nome("Custo " + i)
+                .valor(new BigDecimal("10.00"))
+                .diaVencimento(5)
+                .build()));
+        custoFixoRepository.saveAll(custos);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<String> linhas = exportar(RecursoExportacao.CUSTOS_FIXOS, FormatoArquivo.CSV).lines().toList();
+
+        assertThat(linhas).hasSize(quantidade + 1);
+        List<Long> ids = linhas.stream().skip(1).map(linha -> Long.valueOf(linha.split(",")[0])).toList();
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+        assertThat(linhas.get(quantidade)).contains(",Custo " + quantidade + ",10,5,,true,PENDENTE,");
+    }
+
+    @Test
+    @DisplayName("Deve dividir os orçamentos em fatias sem separar os itens de um orçamento")
+    void deveExportarOrcamentosEmFatias() throws IOException {
+        // 3 itens por orçamento: a primeira fatia passa de TAMANHO_FATIA linhas
+        // no meio de um orçamento
+        int quantidade = ExportacaoService.TAMANHO_FATIA / 3 + 2;
+        List<Orcamento> orcamentos = new ArrayList<>();
+        IntStream.rangeClosed(1, quantidade).forEach(i -> {
+            Orcamento orcamento = Orcamento.builder()
+                    .cliente("Cliente " + i)
+                    .moveis("Armário")
+                    .data(LocalDate.of(2025, 5, 20))
+                    .fatorMaoDeObra(new BigDecimal("0.50"))
+                    .status(StatusOrcamento.AGUARDANDO)
+                    .build();
+            IntStream.rangeClosed(1, 3).forEach(j -> {
+                ItemMaterial item = new ItemMaterial();
+                item.setQuantidade(BigDecimal.ONE);
+                item.setDescricao("Item " + j);
+                item.setValorUnitario(BigDecimal.TEN);
+                orcamento.adicionarItem(item);
+            });
+            orcamento.recalcularTotais();
+            orcamentos.add(orcamento);
+        });
+        orcamentoRepository.saveAll(orcamentos);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<String> linhas = exportar(RecursoExportacao.ORCAMENTOS, FormatoArquivo.NDJSON).lines().toList();
+
+        assertThat(linhas).hasSize(quantidade);
+        List<Long> ids = new ArrayList<>();
+        for (String linha : linhas) {
+            JsonNode json = objectMapper.readTree(linha);
+            ids.add(json.get("id").asLong());
+            assertThat(json.get("itens")).hasSize(3);
+        }
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+    }
+
+    private String exportar(RecursoExportacao recurso, FormatoArquivo formato) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        exportacaoService.exportar(recurso, formato, saida);
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+
+    private OrcamentoResponseDTO criar(String cliente, String... itens) {
+        return orcamentoService.criarOrcamento(new OrcamentoRequestDTO(
+                cliente,
+                "Armário",
+                LocalDate.of(2025, 5, 20),
+                null,
+                new BigDecimal("0.50"),
+                null,
+                null,
+                Arrays.stream(itens)
+                        .map(descricao -> new ItemMaterialDTO(null, new BigDecimal("2.00"), descricao,
+                                new BigDecimal("10.00"), null))
+                        .toList()));
+    }
+}
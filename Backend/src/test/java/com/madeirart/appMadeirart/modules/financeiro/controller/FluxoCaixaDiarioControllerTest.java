@@ -0,0 +1,89 @@
+package com.madeirart.appMadeirart.modules.financeiro.controller;
+
+import com.madeirart.appMadeirart.modules.financeiro.dto.ResumoFluxoDiarioDTO;
+import com.madeirart.appMadeirart.modules.financeiro.dto.SaldoDiarioDTO;
+import com.madeirart.appMadeirart.modules.financeiro.service.FluxoCaixaDiarioService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes para FluxoCaixaDiarioController
+ */
+@WebMvcTest(FluxoCaixaDiarioController.class)
+@DisplayName("Testes do FluxoCaixaDiarioController")
+class FluxoCaixaDiarioControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private FluxoCaixaDiarioService fluxoCaixaDiarioService;
+
+    @Test
+    @DisplayName("GET /api/financeiro/fluxo-diario deve escrever os dias e o resumo")
+    void deveRetornarFluxoDiario() throws Exception {
+        LocalDate inicio = LocalDate.of(2030, 1, 1);
+        LocalDate fim = LocalDate.of(2030, 1, 2);
+        when(fluxoCaixaDiarioService.gerarFluxoDiario(eq(inicio), eq(fim), any())).thenAnswer(invocation -> {
+            Consumer<SaldoDiarioDTO> consumidor = invocation.getArgument(2);
+            consumidor.accept(new SaldoDiarioDTO(inicio, BigDecimal.ZERO, new BigDecimal("500.00"),
+                    new BigDecimal("-500.00")));
+            consumidor.accept(new SaldoDiarioDTO(fim, new BigDecimal("1000.00"), BigDecimal.ZERO,
+                    new BigDecimal("500.00")));
+            return ResumoFluxoDiarioDTO.builder()
+                    .inicio(inicio)
+                    .fim(fim)
+                    .saldoInicial(BigDecimal.ZERO)
+                    .saldoFinal(new BigDecimal("500.00"))
+                    .menorSaldo(new BigDecimal("-500.00"))
+                    .dataMenorSaldo(inicio)
+                    .primeiraDataNegativa(inicio)
+                    .build();
+        });
+
+        MvcResult resultado = mockMvc.perform(get("/api/financeiro/fluxo-diario")
+                .param("inicio", "2030-01-01")
+                .param("fim", "2030-01-02"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dias.length()").value(2))
+                .andExpect(jsonPath("$.dias[0].data").value("2030-01-01"))
+                .andExpect(jsonPath("$.dias[0].saldo").value(-500.00))
+                .andExpect(jsonPath("$.dias[1].entradas").value(1000.00))
+                .andExpect(jsonPath("$.resumo.menorSaldo").value(-500.00))
+                .andExpect(jsonPath("$.resumo.primeiraDataNegativa").value("2030-01-01"));
+    }
+
+    @Test
+    @DisplayName("GET /api/financeiro/fluxo-diario deve rejeitar período inválido")
+    void deveRejeitarPeriodoInvalido() throws Exception {
+        doThrow(new IllegalArgumentException("inválido"))
+                .when(fluxoCaixaDiarioService).validarPeriodo(any(), any());
+
+        mockMvc.perform(get("/api/financeiro/fluxo-diario")
+                .param("inicio", "2030-02-01")
+                .param("fim", "2030-01-01"))
+                .andExpect(status().isBadRequest());
+
+        verify(fluxoCaixaDiarioService, never()).gerarFluxoDiario(any(), any(), any());
+    }
+}
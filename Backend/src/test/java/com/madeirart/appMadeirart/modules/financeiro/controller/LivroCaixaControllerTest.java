@@ -0,0 +1,83 @@
+package com.madeirart.appMadeirart.modules.financeiro.controller;
+
+import com.madeirart.appMadeirart.modules.financeiro.dto.ConsistenciaLivroCaixaDTO;
+import com.madeirart.appMadeirart.modules.financeiro.dto.LivroCaixaResumoDTO;
+import com.madeirart.appMadeirart.modules.financeiro.service.LivroCaixaService;
+import com.madeirart.appMadeirart.modules.financeiro.service.ProjecaoCaixaService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes para LivroCaixaController
+ */
+@WebMvcTest(LivroCaixaController.class)
+@DisplayName("Testes do LivroCaixaController")
+class LivroCaixaControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private LivroCaixaService livroCaixaService;
+
+    @MockitoBean
+    private ProjecaoCaixaService projecaoCaixaService;
+
+    @Test
+    @DisplayName("GET /api/financeiro/livro-caixa deve retornar resumo")
+    void deveRetornarResumo() throws Exception {
+        when(livroCaixaService.getResumo()).thenReturn(LivroCaixaResumoDTO.builder()
+                .saldoAtual(new BigDecimal("5500.00"))
+                .totalMovimentacoes(3L)
+                .ultimaMovimentacao(LocalDateTime.now())
+                .build());
+
+        mockMvc.perform(get("/api/financeiro/livro-caixa"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.saldoAtual").value(5500.00))
+                .andExpect(jsonPath("$.totalMovimentacoes").value(3));
+    }
+
+    @Test
+    @DisplayName("POST /api/financeiro/livro-caixa/reconstruir deve reconstruir o livro caixa")
+    void deveReconstruirLivroCaixa() throws Exception {
+        when(livroCaixaService.reconstruir()).thenReturn(LivroCaixaResumoDTO.builder()
+                .saldoAtual(new BigDecimal("1200.00"))
+                .totalMovimentacoes(12L)
+                .build());
+
+        mockMvc.perform(post("/api/financeiro/livro-caixa/reconstruir"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalMovimentacoes").value(12));
+
+        verify(livroCaixaService).reconstruir();
+    }
+
+    @Test
+    @DisplayName("GET /api/financeiro/livro-caixa/consistencia deve retornar verificação")
+    void deveRetornarConsistencia() throws Exception {
+        when(projecaoCaixaService.verificarConsistenciaLivroCaixa()).thenReturn(ConsistenciaLivroCaixaDTO.builder()
+                .saldoLivroCaixa(new BigDecimal("5500.00"))
+                .saldoFormula(new BigDecimal("5300.00"))
+                .diferenca(new BigDecimal("200.00"))
+                .consistente(false)
+                .dataVerificacao(LocalDateTime.now())
+                .build());
+
+        mockMvc.perform(get("/api/financeiro/livro-caixa/consistencia"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.consistente").value(false))
+                .andExpect(jsonPath("$.diferenca").value(200.00));
+    }
+}
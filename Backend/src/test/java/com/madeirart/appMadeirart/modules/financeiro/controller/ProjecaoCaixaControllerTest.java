@@ -3,6 +3,7 @@ package com.madeirart.appMadeirart.modules.financeiro.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.madeirart.appMadeirart.modules.financeiro.dto.*;
 import com.madeirart.appMadeirart.modules.financeiro.service.ProjecaoCaixaService;
+import com.madeirart.appMadeirart.modules.financeiro.service.SimulacaoCaixaService;
 import com.madeirart.appMadeirart.shared.enums.OrigemTransacao;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,6 +21,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -40,6 +43,9 @@ class ProjecaoCaixaControllerTest {
     @MockitoBean
     private ProjecaoCaixaService projecaoCaixaService;
 
+    @MockitoBean
+    private SimulacaoCaixaService simulacaoCaixaService;
+
     private ProjecaoCaixaDTO projecaoCaixaDTO;
     private SaldoInicialResponseDTO saldoInicialResponseDTO;
     private SaldoInicialRequestDTO saldoInicialRequestDTO;
@@ -118,7 +124,7 @@ class ProjecaoCaixaControllerTest {
     @Test
     @DisplayName("GET /api/financeiro/projecao-caixa deve retornar projeção completa")
     void deveRetornarProjecaoCaixa() throws Exception {
-        when(projecaoCaixaService.getProjecaoCaixa()).thenReturn(projecaoCaixaDTO);
+        when(projecaoCaixaService.getProjecaoCaixa(2)).thenReturn(projecaoCaixaDTO);
 
         mockMvc.perform(get("/api/financeiro/projecao-caixa"))
                 .andExpect(status().isOk())
@@ -135,13 +141,13 @@ class ProjecaoCaixaControllerTest {
                 .andExpect(jsonPath("$.mesesProjetados[0].detalhesEntradas").isArray())
                 .andExpect(jsonPath("$.mesesProjetados[0].detalhesSaidas").isArray());
 
-        verify(projecaoCaixaService).getProjecaoCaixa();
+        verify(projecaoCaixaService).getProjecaoCaixa(2);
     }
 
     @Test
     @DisplayName("GET /api/financeiro/projecao-caixa deve incluir detalhes das transações")
     void deveIncluirDetalhesTransacoes() throws Exception {
-        when(projecaoCaixaService.getProjecaoCaixa()).thenReturn(projecaoCaixaDTO);
+        when(projecaoCaixaService.getProjecaoCaixa(2)).thenReturn(projecaoCaixaDTO);
 
         mockMvc.perform(get("/api/financeiro/projecao-caixa"))
                 .andExpect(status().isOk())
@@ -155,7 +161,68 @@ class ProjecaoCaixaControllerTest {
                 .andExpect(jsonPath("$.mesesProjetados[0].detalhesSaidas[0].valor").value(2000.00))
                 .andExpect(jsonPath("$.mesesProjetados[0].detalhesSaidas[0].origem").value("CUSTO_FIXO"));
 
-        verify(projecaoCaixaService).getProjecaoCaixa();
+        verify(projecaoCaixaService).getProjecaoCaixa(2);
+    }
+
+    @Test
+    @DisplayName("GET /api/financeiro/projecao-caixa?meses=N deve repassar o horizonte ao service")
+    void deveRepassarHorizonteDaProjecao() throws Exception {
+        when(projecaoCaixaService.getProjecaoCaixa(12)).thenReturn(projecaoCaixaDTO);
+
+        mockMvc.perform(get("/api/financeiro/projecao-caixa").param("meses", "12"))
+                .andExpect(status().isOk());
+
+        verify(projecaoCaixaService).getProjecaoCaixa(12);
+    }
+
+    @Test
+    @DisplayName("GET /api/financeiro/projecao-caixa deve rejeitar horizonte acima de 36 meses")
+    void deveRejeitarHorizonteAcimaDoLimite() throws Exception {
+        mockMvc.perform(get("/api/financeiro/projecao-caixa").param("meses", "37"))
+                .andExpect(status().isBadRequest());
+
+        verify(projecaoCaixaService, never()).getProjecaoCaixa(anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /api/financeiro/projecao-caixa/simulacao deve retornar faixas de percentis")
+    void deveRetornarSimulacaoCaixa() throws Exception {
+        SimulacaoCaixaDTO simulacao = SimulacaoCaixaDTO.builder()
+                .saldoAtual(new BigDecimal("5000.00"))
+                .probabilidadeSaldoNegativo(0.1)
+                .mesesSimulados(List.of(MesSimulacaoDTO.builder()
+                        .mesReferencia(1)
+                        .anoReferencia(2027)
+                        .saldoPercentil5(new BigDecimal("-500.00"))
+                        .saldoMediano(new BigDecimal("4000.00"))
+                        .probabilidadeSaldoNegativo(0.1)
+                        .build()))
+                .build();
+        when(simulacaoCaixaService.simular(any())).thenReturn(simulacao);
+
+        mockMvc.perform(get("/api/financeiro/projecao-caixa/simulacao")
+                .param("cenarios", "5000")
+                .param("meses", "6")
+                .param("probabilidadeInadimplencia", "0.1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.probabilidadeSaldoNegativo").value(0.1))
+                .andExpect(jsonPath("$.mesesSimulados[0].saldoPercentil5").value(-500.00))
+                .andExpect(jsonPath("$.mesesSimulados[0].saldoMediano").value(4000.00));
+
+        verify(simulacaoCaixaService).simular(argThat(parametros -> parametros.quantidadeCenarios() == 5000
+                && parametros.meses() == 6
+                && parametros.probabilidadeInadimplencia() == 0.1
+                && parametros.probabilidadeAtraso() == 0.2
+                && parametros.mesesAtraso() == 1));
+    }
+
+    @Test
+    @DisplayName("GET /api/financeiro/projecao-caixa/simulacao deve rejeitar parâmetros inválidos")
+    void deveRejeitarParametrosInvalidosDaSimulacao() throws Exception {
+        when(simulacaoCaixaService.simular(any())).thenThrow(new IllegalArgumentException("inválido"));
+
+        mockMvc.perform(get("/api/financeiro/projecao-caixa/simulacao").param("probabilidadeAtraso", "1.5"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -252,7 +319,7 @@ class ProjecaoCaixaControllerTest {
     @Test
     @DisplayName("GET /api/financeiro/projecao-caixa deve retornar meses em ordem correta")
     void deveRetornarMesesEmOrdemCorreta() throws Exception {
-        when(projecaoCaixaService.getProjecaoCaixa()).thenReturn(projecaoCaixaDTO);
+        when(projecaoCaixaService.getProjecaoCaixa(2)).thenReturn(projecaoCaixaDTO);
 
         mockMvc.perform(get("/api/financeiro/projecao-caixa"))
                 .andExpect(status().isOk())
@@ -261,13 +328,13 @@ class ProjecaoCaixaControllerTest {
                 .andExpect(jsonPath("$.mesesProjetados[0].anoReferencia").exists())
                 .andExpect(jsonPath("$.mesesProjetados[1].anoReferencia").exists());
 
-        verify(projecaoCaixaService).getProjecaoCaixa();
+        verify(projecaoCaixaService).getProjecaoCaixa(2);
     }
 
     @Test
     @DisplayName("GET /api/financeiro/projecao-caixa deve retornar saldo acumulado correto")
     void deveRetornarSaldoAcumuladoCorreto() throws Exception {
-        when(projecaoCaixaService.getProjecaoCaixa()).thenReturn(projecaoCaixaDTO);
+        when(projecaoCaixaService.getProjecaoCaixa(2)).thenReturn(projecaoCaixaDTO);
 
         mockMvc.perform(get("/api/financeiro/projecao-caixa"))
                 .andExpect(status().isOk())
@@ -276,6 +343,6 @@ class ProjecaoCaixaControllerTest {
                 .andExpect(jsonPath("$.mesesProjetados[1].saldoInicial").value(4000.00))
                 .andExpect(jsonPath("$.mesesProjetados[1].saldoFinalProjetado").value(2000.00));
 
-        verify(projecaoCaixaService).getProjecaoCaixa();
+        verify(projecaoCaixaService).getProjecaoCaixa(2);
     }
 }
@@ -0,0 +1,155 @@
+package com.madeirart.appMadeirart.modules.financeiro.service;
+
+import com.madeirart.appMadeirart.modules.custos.entity.CustoFixo;
+import com.madeirart.appMadeirart.modules.custos.entity.CustoVariavel;
+import com.madeirart.appMadeirart.modules.custos.repository.CustoFixoRepository;
+import com.madeirart.appMadeirart.modules.custos.repository.CustoVariavelRepository;
+import com.madeirart.appMadeirart.modules.financeiro.dto.ResumoFluxoDiarioDTO;
+import com.madeirart.appMadeirart.modules.financeiro.dto.SaldoDiarioDTO;
+import com.madeirart.appMadeirart.modules.orcamento.entity.Parcela;
+import com.madeirart.appMadeirart.modules.orcamento.repository.ParcelaRepository;
+import com.madeirart.appMadeirart.shared.enums.StatusCusto;
+import com.madeirart.appMadeirart.shared.enums.StatusParcela;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para FluxoCaixaDiarioService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do FluxoCaixaDiarioService")
+class FluxoCaixaDiarioServiceTest {
+
+    @Mock
+    private ParcelaRepository parcelaRepository;
+
+    @Mock
+    private CustoFixoRepository custoFixoRepository;
+
+    @Mock
+    private CustoVariavelRepository custoVariavelRepository;
+
+    @Mock
+    private LivroCaixaService livroCaixaService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private FluxoCaixaDiarioService fluxoCaixaDiarioService;
+
+    @Test
+    @DisplayName("Deve detectar o menor saldo e a primeira data negativa dentro do mês")
+    void deveDetectarMenorSaldoEPrimeiraDataNegativa() {
+        LocalDate hoje = LocalDate.now();
+        Parcela parcela = Parcela.builder()
+                .id(1L)
+                .valor(new BigDecimal("2000.00"))
+                .dataVencimento(hoje.plusDays(10))
+                .status(StatusParcela.PENDENTE)
+                .build();
+        CustoVariavel variavel = CustoVariavel.builder()
+                .id(1L)
+                .valor(new BigDecimal("1500.00"))
+                .dataLancamento(hoje.plusDays(5))
+                .status(StatusCusto.PENDENTE)
+                .build();
+        CustoVariavel variavelAtrasado = CustoVariavel.builder()
+                .id(2L)
+                .valor(new BigDecimal("200.00"))
+                .dataLancamento(hoje.minusDays(3))
+                .status(StatusCusto.ATRASADO)
+                .build();
+
+        when(livroCaixaService.getSaldoAtual()).thenReturn(new BigDecimal("1000.00"));
+        when(parcelaRepository.findByStatusAndDataVencimentoBetweenOrderByDataVencimento(
+                eq(StatusParcela.PENDENTE), any(), any())).thenReturn(List.of(parcela));
+        when(custoVariavelRepository.findByStatusNotAndDataLancamentoLessThanEqualOrderByDataLancamento(
+                StatusCusto.PAGO, hoje.plusDays(15))).thenReturn(List.of(variavelAtrasado, variavel));
+        when(custoFixoRepository.findByAtivoTrueOrderByDiaVencimento()).thenReturn(List.of());
+
+        List<SaldoDiarioDTO> dias = new ArrayList<>();
+        ResumoFluxoDiarioDTO resumo = fluxoCaixaDiarioService.gerarFluxoDiario(hoje, hoje.plusDays(15), dia -> {
+            // A leitura já terminou quando o consumidor recebe o primeiro dia
+            verify(transactionManager).commit(any());
+            dias.add(dia);
+        });
+
+        assertThat(dias).hasSize(16);
+        // O custo variável atrasado e não pago sai hoje
+        assertThat(dias.get(0).saidas()).isEqualByComparingTo(new BigDecimal("200.00"));
+        assertThat(dias.get(5).saidas()).isEqualByComparingTo(new BigDecimal("1500.00"));
+        assertThat(dias.get(6).saidas()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(dias.get(10).entradas()).isEqualByComparingTo(new BigDecimal("2000.00"));
+        assertThat(resumo.saldoInicial()).isEqualByComparingTo(new BigDecimal("1000.00"));
+        assertThat(resumo.menorSaldo()).isEqualByComparingTo(new BigDecimal("-700.00"));
+        assertThat(resumo.dataMenorSaldo()).isEqualTo(hoje.plusDays(5));
+        assertThat(resumo.primeiraDataNegativa()).isEqualTo(hoje.plusDays(5));
+        assertThat(resumo.saldoFinal()).isEqualByComparingTo(new BigDecimal("1300.00"));
+    }
+
+    @Test
+    @DisplayName("Deve lançar custos fixos no dia de vencimento de cada mês")
+    void deveLancarCustosFixosNoDiaDeVencimento() {
+        YearMonth proximoMes = YearMonth.now().plusMonths(1);
+        CustoFixo aluguel = CustoFixo.builder()
+                .id(1L)
+                .valor(new BigDecimal("300.00"))
+                .diaVencimento(10)
+                .ativo(true)
+                .status(StatusCusto.PAGO)
+                .createdAt(LocalDate.now().minusYears(1))
+                .build();
+
+        when(livroCaixaService.getSaldoAtual()).thenReturn(new BigDecimal("100.00"));
+        when(parcelaRepository.findByStatusAndDataVencimentoBetweenOrderByDataVencimento(
+                eq(StatusParcela.PENDENTE), any(), any())).thenReturn(List.of());
+        when(custoVariavelRepository.findByStatusNotAndDataLancamentoLessThanEqualOrderByDataLancamento(
+                eq(StatusCusto.PAGO), any())).thenReturn(List.of());
+        when(custoFixoRepository.findByAtivoTrueOrderByDiaVencimento()).thenReturn(List.of(aluguel));
+
+        List<SaldoDiarioDTO> dias = new ArrayList<>();
+        ResumoFluxoDiarioDTO resumo = fluxoCaixaDiarioService.gerarFluxoDiario(
+                proximoMes.atDay(1), proximoMes.atDay(15), dias::add);
+
+        // Já pago no mês atual: só conta a partir do próximo mês
+        assertThat(dias).hasSize(15);
+        assertThat(dias.get(0).data()).isEqualTo(proximoMes.atDay(1));
+        assertThat(resumo.saldoInicial()).isEqualByComparingTo(new BigDecimal("100.00"));
+        assertThat(resumo.primeiraDataNegativa()).isEqualTo(proximoMes.atDay(10));
+        assertThat(resumo.menorSaldo()).isEqualByComparingTo(new BigDecimal("-200.00"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar períodos inválidos")
+    void deveRejeitarPeriodosInvalidos() {
+        LocalDate hoje = LocalDate.now();
+
+        assertThatThrownBy(() -> fluxoCaixaDiarioService.gerarFluxoDiario(hoje.plusDays(5), hoje, dia -> {
+        })).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> fluxoCaixaDiarioService.gerarFluxoDiario(
+                hoje.minusDays(10), hoje.minusDays(1), dia -> {
+                })).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> fluxoCaixaDiarioService.gerarFluxoDiario(hoje, hoje.plusYears(11), dia -> {
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        verify(livroCaixaService, never()).getSaldoAtual();
+    }
+}
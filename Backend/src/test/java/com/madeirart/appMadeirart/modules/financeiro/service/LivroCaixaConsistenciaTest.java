@@ -0,0 +1,148 @@
+package com.madeirart.appMadeirart.modules.financeiro.service;
+
+import com.madeirart.appMadeirart.modules.custos.dto.CustoFixoRequestDTO;
+import com.madeirart.appMadeirart.modules.custos.dto.CustoFixoResponseDTO;
+import com.madeirart.appMadeirart.modules.custos.dto.CustoVariavelRequestDTO;
+import com.madeirart.appMadeirart.modules.custos.dto.CustoVariavelResponseDTO;
+import com.madeirart.appMadeirart.modules.custos.service.CustoFixoService;
+import com.madeirart.appMadeirart.modules.custos.service.CustoVariavelService;
+import com.madeirart.appMadeirart.modules.financeiro.dto.ConsistenciaLivroCaixaDTO;
+import com.madeirart.appMadeirart.modules.financeiro.dto.MesProjecaoDTO;
+import com.madeirart.appMadeirart.modules.financeiro.dto.ResumoFluxoDiarioDTO;
+import com.madeirart.appMadeirart.modules.financeiro.dto.SaldoInicialRequestDTO;
+import com.madeirart.appMadeirart.modules.orcamento.entity.Orcamento;
+import com.madeirart.appMadeirart.modules.orcamento.entity.Parcela;
+import com.madeirart.appMadeirart.modules.orcamento.repository.OrcamentoRepository;
+import com.madeirart.appMadeirart.modules.orcamento.repository.ParcelaRepository;
+import com.madeirart.appMadeirart.modules.orcamento.service.ParcelaService;
+import com.madeirart.appMadeirart.shared.enums.StatusOrcamento;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes da consistência entre o livro caixa, a fórmula de saldo, a projeção e
+ * o fluxo diário contra o banco SQLite
+ * Cada teste roda em uma transação desfeita ao final
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:sqlite:target/livro-caixa-consistencia-test.db")
+@Transactional
+@DisplayName("Testes da consistência do livro caixa")
+class LivroCaixaConsistenciaTest {
+
+    @Autowired
+    private ProjecaoCaixaService projecaoCaixaService;
+
+    @Autowired
+    private LivroCaixaService livroCaixaService;
+
+    @Autowired
+    private FluxoCaixaDiarioService fluxoCaixaDiarioService;
+
+    @Autowired
+    private CustoFixoService custoFixoService;
+
+    @Autowired
+    private CustoVariavelService custoVariavelService;
+
+    @Autowired
+    private ParcelaService parcelaService;
+
+    @Autowired
+    private OrcamentoRepository orcamentoRepository;
+
+    @Autowired
+    private ParcelaRepository parcelaRepository;
+
+    @Test
+    @DisplayName("Livro caixa reconstruído deve bater com a fórmula e com o saldo da projeção")
+    void deveBaterComAFormulaDepoisDeReconstruir() {
+        LocalDate hoje = LocalDate.now();
+        projecaoCaixaService.setSaldoInicial(new SaldoInicialRequestDTO(new BigDecimal("5000.00"), null));
+
+        Orcamento orcamento = orcamentoRepository.save(Orcamento.builder()
+                .cliente("Marina")
+                .moveis("Armário")
+                .data(hoje)
+                .fatorMaoDeObra(new BigDecimal("1.5"))
+                .status(StatusOrcamento.INICIADA)
+                .build());
+        Parcela paga = parcelaRepository.save(Parcela.builder()
+                .orcamento(orcamento).numeroParcela(1).valor(new BigDecimal("1200.00")).dataVencimento(hoje).build());
+        parcelaRepository.save(Parcela.builder()
+                .orcamento(orcamento).numeroParcela(2).valor(new BigDecimal("800.00"))
+                .dataVencimento(hoje.plusMonths(1)).build());
+        parcelaService.confirmarPagamento(paga.getId());
+
+        CustoFixoResponseDTO aluguel = custoFixoService.criar(
+                new CustoFixoRequestDTO("Aluguel", new BigDecimal("2000.00"), 5, null));
+        custoFixoService.marcarComoPago(aluguel.id());
+        custoFixoService.criar(new CustoFixoRequestDTO("Internet", new BigDecimal("100.00"), 10, null));
+
+        CustoVariavelResponseDTO frete = custoVariavelService.criar(
+                new CustoVariavelRequestDTO("Frete", new BigDecimal("150.25"), hoje, null, null)).get(0);
+        custoVariavelService.marcarComoPago(frete.id());
+        custoVariavelService.criar(
+                new CustoVariavelRequestDTO("Cola", new BigDecimal("80.00"), hoje.minusDays(3), null, null));
+
+        // 5000 + 1200 - 2000 - 150.25: só o que foi pago
+        BigDecimal esperado = new BigDecimal("4049.75");
+        assertThat(livroCaixaService.getSaldoAtual()).isEqualByComparingTo(esperado);
+        assertThat(projecaoCaixaService.verificarConsistenciaLivroCaixa().diferenca())
+                .isEqualByComparingTo(BigDecimal.ZERO);
+
+        livroCaixaService.reconstruir();
+
+        ConsistenciaLivroCaixaDTO consistencia = projecaoCaixaService.verificarConsistenciaLivroCaixa();
+        assertThat(consistencia.saldoLivroCaixa()).isEqualByComparingTo(esperado);
+        assertThat(consistencia.diferenca()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(consistencia.consistente()).isTrue();
+        assertThat(projecaoCaixaService.getProjecaoCaixa(5).saldoAtual()).isEqualByComparingTo(esperado);
+    }
+
+    @Test
+    @DisplayName("Fluxo diário e projeção devem partir do mesmo saldo e chegar ao mesmo fim de mês")
+    void deveCoincidirFluxoDiarioEProjecao() {
+        LocalDate hoje = LocalDate.now();
+        YearMonth proximoMes = YearMonth.from(hoje).plusMonths(1);
+        projecaoCaixaService.setSaldoInicial(new SaldoInicialRequestDTO(new BigDecimal("3000.00"), null));
+
+        Orcamento orcamento = orcamentoRepository.save(Orcamento.builder()
+                .cliente("Otávio")
+                .moveis("Mesa")
+                .data(hoje)
+                .fatorMaoDeObra(new BigDecimal("1.5"))
+                .status(StatusOrcamento.INICIADA)
+                .build());
+        parcelaRepository.save(Parcela.builder()
+                .orcamento(orcamento).numeroParcela(1).valor(new BigDecimal("900.00"))
+                .dataVencimento(proximoMes.atDay(20)).build());
+
+        CustoFixoResponseDTO aluguel = custoFixoService.criar(
+                new CustoFixoRequestDTO("Aluguel", new BigDecimal("1000.00"), 5, null));
+        custoFixoService.marcarComoPago(aluguel.id());
+        custoFixoService.criar(new CustoFixoRequestDTO("Internet", new BigDecimal("100.00"), 28, null));
+        custoVariavelService.criar(
+                new CustoVariavelRequestDTO("Cola", new BigDecimal("80.00"), hoje.minusDays(3), null, null));
+        custoVariavelService.criar(
+                new CustoVariavelRequestDTO("Verniz", new BigDecimal("45.50"), proximoMes.atDay(2), null, null));
+
+        MesProjecaoDTO primeiroMes = projecaoCaixaService.getProjecaoCaixa(1).mesesProjetados().get(0);
+        ResumoFluxoDiarioDTO resumo = fluxoCaixaDiarioService.gerarFluxoDiario(hoje, proximoMes.atEndOfMonth(),
+                dia -> {
+                });
+
+        assertThat(resumo.saldoInicial()).isEqualByComparingTo(primeiroMes.saldoInicial());
+        // 3000 - 1000 (aluguel pago) + 900 - 1000 - 100 x 2 - 80 - 45.50
+        assertThat(primeiroMes.saldoFinalProjetado()).isEqualByComparingTo(new BigDecimal("1574.50"));
+        assertThat(resumo.saldoFinal()).isEqualByComparingTo(primeiroMes.saldoFinalProjetado());
+    }
+}
@@ -0,0 +1,406 @@
+package com.madeirart.appMadeirart.modules.financeiro.service;
+
+import com.madeirart.appMadeirart.modules.custos.entity.CustoFixo;
+import com.madeirart.appMadeirart.modules.custos.entity.CustoVariavel;
+import com.madeirart.appMadeirart.modules.custos.repository.CustoFixoRepository;
+import com.madeirart.appMadeirart.modules.custos.repository.CustoVariavelRepository;
+import com.madeirart.appMadeirart.modules.financeiro.dto.LivroCaixaResumoDTO;
+import com.madeirart.appMadeirart.modules.financeiro.entity.MovimentacaoCaixa;
+import com.madeirart.appMadeirart.modules.financeiro.entity.SaldoInicial;
+import com.madeirart.appMadeirart.modules.financeiro.repository.MovimentacaoCaixaRepository;
+import com.madeirart.appMadeirart.modules.financeiro.repository.SaldoInicialRepository;
+import com.madeirart.appMadeirart.modules.orcamento.entity.Orcamento;
+import com.madeirart.appMadeirart.modules.orcamento.entity.Parcela;
+import com.madeirart.appMadeirart.modules.orcamento.repository.ParcelaRepository;
+import com.madeirart.appMadeirart.shared.enums.OrigemTransacao;
+import com.madeirart.appMadeirart.shared.enums.StatusCusto;
+import com.madeirart.appMadeirart.shared.enums.StatusParcela;
+import com.madeirart.appMadeirart.shared.enums.TipoTransacao;
+import com.madeirart.appMadeirart.shared.event.DadosFinanceirosAlteradosEvent;
+import com.madeirart.appMadeirart.shared.event.DashboardAlteradoEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para LivroCaixaService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do LivroCaixaService")
+class LivroCaixaServiceTest {
+
+    @Mock
+    private MovimentacaoCaixaRepository movimentacaoCaixaRepository;
+
+    @Mock
+    private SaldoInicialRepository saldoInicialRepository;
+
+    @Mock
+    private ParcelaRepository parcelaRepository;
+
+    @Mock
+    private CustoFixoRepository custoFixoRepository;
+
+    @Mock
+    private CustoVariavelRepository custoVariavelRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private LivroCaixaService livroCaixaService;
+
+    private Parcela parcela;
+    private MovimentacaoCaixa ultimaMovimentacao;
+
+    @BeforeEach
+    void setUp() {
+        Orcamento orcamento = Orcamento.builder().id(7L).cliente("João Silva").build();
+
+        parcela = Parcela.builder()
+                .id(1L)
+                .orcamento(orcamento)
+                .numeroParcela(2)
+                .valor(new BigDecimal("1000.00"))
+                .dataVencimento(LocalDate.now())
+                .dataPagamento(LocalDate.now())
+                .status(StatusParcela.PAGO)
+                .build();
+
+        ultimaMovimentacao = MovimentacaoCaixa.builder()
+                .id(10L)
+                .tipo(TipoTransacao.ENTRADA)
+                .origem(OrigemTransacao.SALDO_INICIAL)
+                .valor(new BigDecimal("5000.00"))
+                .saldoApos(new BigDecimal("5000.00"))
+                .dataMovimento(LocalDate.now())
+                .dataRegistro(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve retornar saldo da última movimentação")
+    void deveRetornarSaldoDaUltimaMovimentacao() {
+        when(movimentacaoCaixaRepository.findTopByOrderByIdDesc()).thenReturn(Optional.of(ultimaMovimentacao));
+
+        assertThat(livroCaixaService.getSaldoAtual()).isEqualTo(new BigDecimal("5000.00"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar saldo zero quando livro caixa está vazio")
+    void deveRetornarSaldoZeroQuandoVazio() {
+        when(movimentacaoCaixaRepository.findTopByOrderByIdDesc()).thenReturn(Optional.empty());
+
+        assertThat(livroCaixaService.getSaldoAtual()).isEqualTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("Deve registrar recebimento de parcela acumulando o saldo")
+    void deveRegistrarRecebimentoDeParcela() {
+        when(movimentacaoCaixaRepository.findTopByOrderByIdDesc()).thenReturn(Optional.of(ultimaMovimentacao));
+        when(movimentacaoCaixaRepository.save(any(MovimentacaoCaixa.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        MovimentacaoCaixa resultado = livroCaixaService.registrarRecebimentoParcela(parcela);
+
+        assertThat(resultado.getTipo()).isEqualTo(TipoTransacao.ENTRADA);
+        assertThat(resultado.getOrigem()).isEqualTo(OrigemTransacao.PARCELA);
+        assertThat(resultado.getSaldoApos()).isEqualByComparingTo(new BigDecimal("6000.00"));
+        assertThat(resultado.getDescricao()).isEqualTo("Parcela 2 - Orçamento #7");
+    }
+
+    @Test
+    @DisplayName("Deve invalidar a projeção antes de publicar o novo saldo")
+    void deveInvalidarProjecaoAntesDePublicarSaldo() {
+        when(movimentacaoCaixaRepository.findTopByOrderByIdDesc()).thenReturn(Optional.of(ultimaMovimentacao));
+        when(movimentacaoCaixaRepository.save(any(MovimentacaoCaixa.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        livroCaixaService.registrarRecebimentoParcela(parcela);
+
+        InOrder ordem = inOrder(eventPublisher);
+        ordem.verify(eventPublisher).publishEvent(DadosFinanceirosAlteradosEvent.doSaldo());
+        ordem.verify(eventPublisher).publishEvent(DashboardAlteradoEvent.saldoAlterado(new BigDecimal("6000.00")));
+    }
+
+    @Test
+    @DisplayName("Deve registrar pagamento de custo fixo como saída do mês atual")
+    void deveRegistrarPagamentoDeCustoFixo() {
+        CustoFixo custoFixo = aluguel();
+        LocalDate competencia = LocalDate.now().withDayOfMonth(1);
+
+        when(movimentacaoCaixaRepository.somarEfeitoPorOrigemECompetencia(OrigemTransacao.CUSTO_FIXO, 3L,
+                competencia, TipoTransacao.ENTRADA)).thenReturn(BigDecimal.ZERO);
+        when(movimentacaoCaixaRepository.findTopByOrderByIdDesc()).thenReturn(Optional.of(ultimaMovimentacao));
+        when(movimentacaoCaixaRepository.save(any(MovimentacaoCaixa.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        MovimentacaoCaixa resultado = livroCaixaService.registrarPagamentoCustoFixo(custoFixo).orElseThrow();
+
+        assertThat(resultado.getTipo()).isEqualTo(TipoTransacao.SAIDA);
+        assertThat(resultado.getCompetencia()).isEqualTo(competencia);
+        assertThat(resultado.getDescricao()).isEqualTo("Aluguel (Fixo)");
+        assertThat(resultado.getSaldoApos()).isEqualByComparingTo(new BigDecimal("3000.00"));
+    }
+
+    @Test
+    @DisplayName("Não deve registrar de novo o pagamento de custo fixo já pago no mês")
+    void naoDeveRegistrarPagamentoDeCustoFixoJaPagoNoMes() {
+        when(movimentacaoCaixaRepository.somarEfeitoPorOrigemECompetencia(eq(OrigemTransacao.CUSTO_FIXO), eq(3L),
+                any(), eq(TipoTransacao.ENTRADA))).thenReturn(new BigDecimal("-2000.00"));
+
+        assertThat(livroCaixaService.registrarPagamentoCustoFixo(aluguel())).isEmpty();
+
+        verify(movimentacaoCaixaRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deve estornar custo fixo pago no mês atual")
+    void deveEstornarCustoFixoPagoNoMes() {
+        when(movimentacaoCaixaRepository.somarEfeitoPorOrigemECompetencia(eq(OrigemTransacao.CUSTO_FIXO), eq(3L),
+                any(), eq(TipoTransacao.ENTRADA))).thenReturn(new BigDecimal("-2000.00"));
+        when(movimentacaoCaixaRepository.findTopByOrderByIdDesc()).thenReturn(Optional.of(ultimaMovimentacao));
+        when(movimentacaoCaixaRepository.save(any(MovimentacaoCaixa.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        MovimentacaoCaixa resultado = livroCaixaService.registrarEstornoCustoFixo(aluguel()).orElseThrow();
+
+        assertThat(resultado.getTipo()).isEqualTo(TipoTransacao.ENTRADA);
+        assertThat(resultado.getValor()).isEqualByComparingTo(new BigDecimal("2000.00"));
+        assertThat(resultado.getDescricao()).isEqualTo("Estorno - Aluguel (Fixo)");
+    }
+
+    @Test
+    @DisplayName("Não deve estornar custo fixo que volta a pendente em um mês novo")
+    void naoDeveEstornarCustoFixoPagoEmMesAnterior() {
+        when(movimentacaoCaixaRepository.somarEfeitoPorOrigemECompetencia(eq(OrigemTransacao.CUSTO_FIXO), eq(3L),
+                any(), eq(TipoTransacao.ENTRADA))).thenReturn(BigDecimal.ZERO);
+
+        assertThat(livroCaixaService.registrarEstornoCustoFixo(aluguel())).isEmpty();
+
+        verify(movimentacaoCaixaRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deve acertar pela diferença o pagamento do mês de custo fixo com valor alterado")
+    void deveAcertarPagamentoDeCustoFixoAlterado() {
+        CustoFixo custoFixo = aluguel();
+        custoFixo.setValor(new BigDecimal("2300.00"));
+
+        when(movimentacaoCaixaRepository.somarEfeitoPorOrigemECompetencia(eq(OrigemTransacao.CUSTO_FIXO), eq(3L),
+                any(), eq(TipoTransacao.ENTRADA))).thenReturn(new BigDecimal("-2000.00"));
+        when(movimentacaoCaixaRepository.findTopByOrderByIdDesc()).thenReturn(Optional.of(ultimaMovimentacao));
+        when(movimentacaoCaixaRepository.save(any(MovimentacaoCaixa.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        MovimentacaoCaixa resultado = livroCaixaService.registrarAlteracaoCustoFixo(custoFixo).orElseThrow();
+
+        assertThat(resultado.getTipo()).isEqualTo(TipoTransacao.SAIDA);
+        assertThat(resultado.getValor()).isEqualByComparingTo(new BigDecimal("300.00"));
+        assertThat(resultado.getDescricao()).isEqualTo("Acerto - Aluguel (Fixo)");
+    }
+
+    @Test
+    @DisplayName("Não deve registrar alteração de custo fixo não pago no mês")
+    void naoDeveRegistrarAlteracaoDeCustoFixoNaoPago() {
+        when(movimentacaoCaixaRepository.somarEfeitoPorOrigemECompetencia(eq(OrigemTransacao.CUSTO_FIXO), eq(3L),
+                any(), eq(TipoTransacao.ENTRADA))).thenReturn(BigDecimal.ZERO);
+
+        assertThat(livroCaixaService.registrarAlteracaoCustoFixo(aluguel())).isEmpty();
+
+        verify(movimentacaoCaixaRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deve estornar todos os meses pagos de custo fixo excluído")
+    void deveEstornarCustoFixoExcluido() {
+        when(movimentacaoCaixaRepository.somarEfeitoPorOrigem(OrigemTransacao.CUSTO_FIXO, 3L,
+                TipoTransacao.ENTRADA)).thenReturn(new BigDecimal("-6000.00"));
+        when(movimentacaoCaixaRepository.findTopByOrderByIdDesc()).thenReturn(Optional.of(ultimaMovimentacao));
+        when(movimentacaoCaixaRepository.save(any(MovimentacaoCaixa.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        MovimentacaoCaixa resultado = livroCaixaService.registrarExclusaoCustoFixo(aluguel()).orElseThrow();
+
+        assertThat(resultado.getTipo()).isEqualTo(TipoTransacao.ENTRADA);
+        assertThat(resultado.getValor()).isEqualByComparingTo(new BigDecimal("6000.00"));
+        assertThat(resultado.getCompetencia()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve estornar como saída parcela recebida de orçamento excluído")
+    void deveEstornarParcelaExcluida() {
+        when(movimentacaoCaixaRepository.somarEfeitoPorOrigem(OrigemTransacao.PARCELA, 1L, TipoTransacao.ENTRADA))
+                .thenReturn(new BigDecimal("1000.00"));
+        when(movimentacaoCaixaRepository.findTopByOrderByIdDesc()).thenReturn(Optional.of(ultimaMovimentacao));
+        when(movimentacaoCaixaRepository.save(any(MovimentacaoCaixa.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        MovimentacaoCaixa resultado = livroCaixaService.registrarExclusaoParcela(parcela).orElseThrow();
+
+        assertThat(resultado.getTipo()).isEqualTo(TipoTransacao.SAIDA);
+        assertThat(resultado.getSaldoApos()).isEqualByComparingTo(new BigDecimal("4000.00"));
+        assertThat(resultado.getDescricao()).isEqualTo("Estorno - Parcela 2 - Orçamento #7");
+    }
+
+    @Test
+    @DisplayName("Deve acertar custo variável pago com valor alterado e ignorar o não pago")
+    void deveAcertarCustoVariavelAlterado() {
+        CustoVariavel custoVariavel = CustoVariavel.builder()
+                .id(4L)
+                .nome("Compra de ferramentas")
+                .valor(new BigDecimal("450.00"))
+                .status(StatusCusto.PAGO)
+                .build();
+
+        when(movimentacaoCaixaRepository.somarEfeitoPorOrigem(OrigemTransacao.CUSTO_VARIAVEL, 4L,
+                TipoTransacao.ENTRADA)).thenReturn(new BigDecimal("-500.00"));
+        when(movimentacaoCaixaRepository.findTopByOrderByIdDesc()).thenReturn(Optional.of(ultimaMovimentacao));
+        when(movimentacaoCaixaRepository.save(any(MovimentacaoCaixa.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        MovimentacaoCaixa resultado = livroCaixaService.registrarAlteracaoCustoVariavel(custoVariavel).orElseThrow();
+
+        assertThat(resultado.getTipo()).isEqualTo(TipoTransacao.ENTRADA);
+        assertThat(resultado.getValor()).isEqualByComparingTo(new BigDecimal("50.00"));
+
+        custoVariavel.setStatus(StatusCusto.PENDENTE);
+        assertThat(livroCaixaService.registrarAlteracaoCustoVariavel(custoVariavel)).isEmpty();
+        verify(movimentacaoCaixaRepository, times(1)).save(any());
+    }
+
+    @Test
+    @DisplayName("Deve registrar redução do saldo inicial como saída pela diferença")
+    void deveRegistrarAjusteDeSaldoInicial() {
+        when(movimentacaoCaixaRepository.findTopByOrderByIdDesc()).thenReturn(Optional.of(ultimaMovimentacao));
+        when(movimentacaoCaixaRepository.save(any(MovimentacaoCaixa.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        livroCaixaService.registrarAjusteSaldoInicial(1L, new BigDecimal("5000.00"), new BigDecimal("4200.00"));
+
+        ArgumentCaptor<MovimentacaoCaixa> captor = ArgumentCaptor.forClass(MovimentacaoCaixa.class);
+        verify(movimentacaoCaixaRepository).save(captor.capture());
+        assertThat(captor.getValue().getTipo()).isEqualTo(TipoTransacao.SAIDA);
+        assertThat(captor.getValue().getValor()).isEqualByComparingTo(new BigDecimal("800.00"));
+        assertThat(captor.getValue().getSaldoApos()).isEqualByComparingTo(new BigDecimal("4200.00"));
+    }
+
+    @Test
+    @DisplayName("Não deve registrar ajuste quando o saldo inicial não muda")
+    void naoDeveRegistrarAjusteSemDiferenca() {
+        livroCaixaService.registrarAjusteSaldoInicial(1L, new BigDecimal("5000.00"), new BigDecimal("5000.0"));
+
+        verify(movimentacaoCaixaRepository, never()).save(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Deve reconstruir livro caixa em ordem cronológica")
+    void deveReconstruirLivroCaixaEmOrdemCronologica() {
+        LocalDate hoje = LocalDate.now();
+        SaldoInicial saldoInicial = SaldoInicial.builder()
+                .id(1L)
+                .valor(new BigDecimal("5000.00"))
+                .dataRegistro(hoje.minusMonths(3).atStartOfDay())
+                .build();
+        parcela.setDataPagamento(hoje.minusDays(2));
+        CustoVariavel custoVariavel = CustoVariavel.builder()
+                .id(4L)
+                .nome("Compra de ferramentas")
+                .valor(new BigDecimal("500.00"))
+                .dataLancamento(hoje.minusDays(10))
+                .updatedAt(hoje.minusDays(10))
+                .status(StatusCusto.PAGO)
+                .build();
+
+        when(saldoInicialRepository.findFirst()).thenReturn(Optional.of(saldoInicial));
+        when(parcelaRepository.findByStatus(StatusParcela.PAGO)).thenReturn(List.of(parcela));
+        when(custoVariavelRepository.findByStatus(StatusCusto.PAGO)).thenReturn(List.of(custoVariavel));
+
+        LivroCaixaResumoDTO resultado = livroCaixaService.reconstruir();
+
+        ArgumentCaptor<List<MovimentacaoCaixa>> captor = ArgumentCaptor.forClass(List.class);
+        verify(movimentacaoCaixaRepository).apagarTodas();
+        verify(movimentacaoCaixaRepository).saveAll(captor.capture());
+
+        List<MovimentacaoCaixa> movimentacoes = captor.getValue();
+        assertThat(movimentacoes).extracting(MovimentacaoCaixa::getOrigem)
+                .containsExactly(OrigemTransacao.SALDO_INICIAL, OrigemTransacao.CUSTO_VARIAVEL,
+                        OrigemTransacao.PARCELA);
+        assertThat(movimentacoes).extracting(MovimentacaoCaixa::getSaldoApos)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("5000.00"), new BigDecimal("4500.00"), new BigDecimal("5500.00"));
+        assertThat(resultado.totalMovimentacoes()).isEqualTo(3L);
+        assertThat(resultado.saldoAtual()).isEqualByComparingTo(new BigDecimal("5500.00"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Deve reconstruir um pagamento por mês pago de cada custo fixo existente")
+    void deveReconstruirCustosFixosPorMes() {
+        LocalDate mesAtual = LocalDate.now().withDayOfMonth(1);
+        LocalDate mesPassado = mesAtual.minusMonths(1);
+        CustoFixo custoFixo = aluguel();
+        custoFixo.setStatus(StatusCusto.PAGO);
+        custoFixo.setUpdatedAt(mesAtual);
+
+        when(custoFixoRepository.findAll()).thenReturn(List.of(custoFixo));
+        when(movimentacaoCaixaRepository.findByOrigemOrderById(OrigemTransacao.CUSTO_FIXO)).thenReturn(List.of(
+                // Mês passado: pago, estornado e pago de novo
+                movimentacaoFixo(3L, TipoTransacao.SAIDA, "2000.00", mesPassado),
+                movimentacaoFixo(3L, TipoTransacao.ENTRADA, "2000.00", mesPassado),
+                movimentacaoFixo(3L, TipoTransacao.SAIDA, "2000.00", mesPassado),
+                // Custo já excluído
+                movimentacaoFixo(9L, TipoTransacao.SAIDA, "100.00", mesPassado)));
+        when(saldoInicialRepository.findFirst()).thenReturn(Optional.empty());
+
+        LivroCaixaResumoDTO resultado = livroCaixaService.reconstruir();
+
+        ArgumentCaptor<List<MovimentacaoCaixa>> captor = ArgumentCaptor.forClass(List.class);
+        verify(movimentacaoCaixaRepository).saveAll(captor.capture());
+
+        // Um pagamento no mês passado (do livro caixa) e um no mês atual (custo PAGO)
+        assertThat(captor.getValue()).extracting(MovimentacaoCaixa::getCompetencia)
+                .containsExactly(mesPassado, mesAtual);
+        assertThat(resultado.saldoAtual()).isEqualByComparingTo(new BigDecimal("-4000.00"));
+    }
+
+    @Test
+    @DisplayName("Não deve reconstruir livro caixa que já possui movimentações")
+    void naoDeveReconstruirLivroCaixaPopulado() {
+        when(movimentacaoCaixaRepository.count()).thenReturn(3L);
+
+        assertThat(livroCaixaService.reconstruirSeVazio()).isFalse();
+
+        verify(movimentacaoCaixaRepository, never()).apagarTodas();
+    }
+
+    private CustoFixo aluguel() {
+        return CustoFixo.builder()
+                .id(3L)
+                .nome("Aluguel")
+                .valor(new BigDecimal("2000.00"))
+                .status(StatusCusto.PENDENTE)
+                .build();
+    }
+
+    private MovimentacaoCaixa movimentacaoFixo(Long custoId, TipoTransacao tipo, String valor, LocalDate competencia) {
+        return MovimentacaoCaixa.builder()
+                .tipo(tipo)
+                .origem(OrigemTransacao.CUSTO_FIXO)
+                .origemId(custoId)
+                .valor(new BigDecimal(valor))
+                .dataMovimento(competencia.plusDays(4))
+                .competencia(competencia)
+                .build();
+    }
+}
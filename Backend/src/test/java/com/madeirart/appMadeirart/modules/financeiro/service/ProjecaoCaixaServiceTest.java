@@ -21,16 +21,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -52,6 +55,12 @@ class ProjecaoCaixaServiceTest {
     @Mock
     private CustoVariavelRepository custoVariavelRepository;
 
+    @Mock
+    private LivroCaixaService livroCaixaService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProjecaoCaixaService projecaoCaixaService;
 
@@ -65,6 +74,7 @@ class ProjecaoCaixaServiceTest {
     @BeforeEach
     void setUp() {
         LocalDate hoje = LocalDate.now();
+        lenient().when(livroCaixaService.getSaldoAtual()).thenReturn(new BigDecimal("5000.00"));
 
         saldoInicial = SaldoInicial.builder()
                 .id(1L)
@@ -123,21 +133,25 @@ class ProjecaoCaixaServiceTest {
     @DisplayName("Deve calcular projeção de caixa com saldo inicial")
     void deveCalcularProjecaoCaixaComSaldoInicial() {
         when(saldoInicialRepository.findFirst()).thenReturn(Optional.of(saldoInicial));
-        when(parcelaRepository.findAll()).thenReturn(List.of(parcelaPaga, parcelaPendente));
-        when(custoVariavelRepository.findAll()).thenReturn(List.of(custoVariavel));
+        when(parcelaRepository.findByStatusAndDataVencimentoBetweenOrderByDataVencimento(eq(StatusParcela.PENDENTE), any(), any()))
+                .thenReturn(List.of(parcelaPendente));
+        when(livroCaixaService.getSaldoAtual()).thenReturn(new BigDecimal("3500.00"));
         when(custoFixoRepository.findByAtivoTrueOrderByDiaVencimento()).thenReturn(List.of(custoFixo));
 
-        ProjecaoCaixaDTO resultado = projecaoCaixaService.getProjecaoCaixa();
+        ProjecaoCaixaDTO resultado = projecaoCaixaService.getProjecaoCaixa(2);
 
         assertThat(resultado).isNotNull();
+        assertThat(resultado.saldoAtual()).isEqualTo(new BigDecimal("3500.00"));
         assertThat(resultado.saldoInicialCadastrado()).isEqualTo(new BigDecimal("5000.00"));
         assertThat(resultado.saldoAtual()).isNotNull();
         assertThat(resultado.dataCalculo()).isNotNull();
         assertThat(resultado.mesesProjetados()).hasSize(2);
 
         verify(saldoInicialRepository).findFirst();
-        verify(parcelaRepository, atLeastOnce()).findAll();
-        verify(custoVariavelRepository, atLeastOnce()).findAll();
+        verify(parcelaRepository).findByStatusAndDataVencimentoBetweenOrderByDataVencimento(
+                eq(StatusParcela.PENDENTE), any(), any());
+        verify(livroCaixaService).getSaldoAtual();
+        verify(parcelaRepository, never()).somarValorPorStatus(any());
         verify(custoFixoRepository, atLeastOnce()).findByAtivoTrueOrderByDiaVencimento();
     }
 
@@ -145,11 +159,11 @@ class ProjecaoCaixaServiceTest {
     @DisplayName("Deve calcular projeção de caixa sem saldo inicial cadastrado")
     void deveCalcularProjecaoCaixaSemSaldoInicial() {
         when(saldoInicialRepository.findFirst()).thenReturn(Optional.empty());
-        when(parcelaRepository.findAll()).thenReturn(List.of(parcelaPaga));
-        when(custoVariavelRepository.findAll()).thenReturn(List.of(custoVariavel));
+        when(parcelaRepository.findByStatusAndDataVencimentoBetweenOrderByDataVencimento(eq(StatusParcela.PENDENTE), any(), any()))
+                .thenReturn(List.of());
         when(custoFixoRepository.findByAtivoTrueOrderByDiaVencimento()).thenReturn(List.of());
 
-        ProjecaoCaixaDTO resultado = projecaoCaixaService.getProjecaoCaixa();
+        ProjecaoCaixaDTO resultado = projecaoCaixaService.getProjecaoCaixa(2);
 
         assertThat(resultado).isNotNull();
         assertThat(resultado.saldoInicialCadastrado()).isEqualTo(BigDecimal.ZERO);
@@ -158,6 +172,89 @@ class ProjecaoCaixaServiceTest {
         verify(saldoInicialRepository).findFirst();
     }
 
+    @Test
+    @DisplayName("Deve indicar livro caixa consistente quando o saldo bate com a fórmula")
+    void deveIndicarLivroCaixaConsistente() {
+        when(saldoInicialRepository.findFirst()).thenReturn(Optional.of(saldoInicial));
+        when(parcelaRepository.somarValorPorStatus(StatusParcela.PAGO)).thenReturn(new BigDecimal("1000.00"));
+        when(custoVariavelRepository.somarValorPorStatus(StatusCusto.PAGO)).thenReturn(new BigDecimal("500.00"));
+        when(livroCaixaService.getTotalPagoCustosFixos()).thenReturn(new BigDecimal("2000.00"));
+        when(livroCaixaService.getSaldoAtual()).thenReturn(new BigDecimal("3500.00"));
+
+        ConsistenciaLivroCaixaDTO resultado = projecaoCaixaService.verificarConsistenciaLivroCaixa();
+
+        // 5000 (inicial) + 1000 (pagas) - 500 (variáveis pagas) - 2000 (fixos pagos)
+        assertThat(resultado.saldoFormula()).isEqualByComparingTo(new BigDecimal("3500.00"));
+        assertThat(resultado.diferenca()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(resultado.consistente()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve indicar divergência entre livro caixa e fórmula")
+    void deveIndicarDivergenciaLivroCaixa() {
+        when(saldoInicialRepository.findFirst()).thenReturn(Optional.of(saldoInicial));
+        when(parcelaRepository.somarValorPorStatus(StatusParcela.PAGO)).thenReturn(new BigDecimal("1000.00"));
+        when(livroCaixaService.getTotalPagoCustosFixos()).thenReturn(BigDecimal.ZERO);
+        when(livroCaixaService.getSaldoAtual()).thenReturn(new BigDecimal("5800.00"));
+
+        ConsistenciaLivroCaixaDTO resultado = projecaoCaixaService.verificarConsistenciaLivroCaixa();
+
+        assertThat(resultado.consistente()).isFalse();
+        assertThat(resultado.diferenca()).isEqualByComparingTo(new BigDecimal("-200.00"));
+    }
+
+    @Test
+    @DisplayName("Deve incluir no primeiro mês projetado o que está em aberto no mês atual")
+    void deveIncluirNoPrimeiroMesOQueEstaEmAbertoNoMesAtual() {
+        LocalDate hoje = LocalDate.now();
+        Parcela parcelaHoje = Parcela.builder()
+                .id(5L)
+                .orcamento(orcamento)
+                .numeroParcela(5)
+                .valor(new BigDecimal("700.00"))
+                .dataVencimento(hoje)
+                .status(StatusParcela.PENDENTE)
+                .build();
+        CustoVariavel variavelAtrasado = CustoVariavel.builder()
+                .id(2L)
+                .nome("Frete")
+                .valor(new BigDecimal("150.00"))
+                .dataLancamento(hoje.minusMonths(1))
+                .status(StatusCusto.ATRASADO)
+                .build();
+        CustoFixo custoFixoPago = CustoFixo.builder()
+                .id(2L)
+                .nome("Internet")
+                .valor(new BigDecimal("100.00"))
+                .diaVencimento(1)
+                .ativo(true)
+                .status(StatusCusto.PAGO)
+                .createdAt(hoje.minusMonths(2))
+                .build();
+
+        when(saldoInicialRepository.findFirst()).thenReturn(Optional.of(saldoInicial));
+        when(livroCaixaService.getSaldoAtual()).thenReturn(new BigDecimal("3000.00"));
+        when(parcelaRepository.findByStatusAndDataVencimentoBetweenOrderByDataVencimento(
+                StatusParcela.PENDENTE, hoje, YearMonth.from(hoje).plusMonths(1).atEndOfMonth()))
+                .thenReturn(List.of(parcelaHoje));
+        when(custoVariavelRepository.findByStatusNotAndDataLancamentoLessThanEqualOrderByDataLancamento(
+                eq(StatusCusto.PAGO), any()))
+                .thenReturn(List.of(variavelAtrasado));
+        when(custoFixoRepository.findByAtivoTrueOrderByDiaVencimento()).thenReturn(List.of(custoFixo, custoFixoPago));
+
+        ProjecaoCaixaDTO resultado = projecaoCaixaService.getProjecaoCaixa(1);
+
+        MesProjecaoDTO primeiroMes = resultado.mesesProjetados().get(0);
+        assertThat(primeiroMes.saldoInicial()).isEqualByComparingTo(new BigDecimal("3000.00"));
+        assertThat(primeiroMes.detalhesEntradas()).extracting(ItemProjecaoDTO::id).containsExactly(5L);
+        // Aluguel pendente do mês atual e do próximo, Internet só no próximo, frete atrasado
+        assertThat(primeiroMes.detalhesSaidas()).hasSize(4);
+        assertThat(primeiroMes.detalhesSaidas().get(0).data())
+                .isEqualTo(YearMonth.from(hoje).atDay(Math.max(5, hoje.getDayOfMonth())));
+        // 3000 + 700 - (2000 + 2000 + 100 + 150)
+        assertThat(primeiroMes.saldoFinalProjetado()).isEqualByComparingTo(new BigDecimal("-550.00"));
+    }
+
     @Test
     @DisplayName("Deve incluir parcelas pendentes na projeção futura")
     void deveIncluirParcelasPendentesNaProjecao() {
@@ -172,12 +269,14 @@ class ProjecaoCaixaServiceTest {
                 .build();
 
         when(saldoInicialRepository.findFirst()).thenReturn(Optional.of(saldoInicial));
-        when(parcelaRepository.findAll()).thenReturn(List.of(parcelaPaga, parcelaProximoMes));
-        when(custoVariavelRepository.findAll()).thenReturn(List.of());
+        when(parcelaRepository.findByStatusAndDataVencimentoBetweenOrderByDataVencimento(eq(StatusParcela.PENDENTE), any(), any()))
+                .thenReturn(List.of(parcelaProximoMes));
         when(custoFixoRepository.findByAtivoTrueOrderByDiaVencimento()).thenReturn(List.of());
-        when(custoVariavelRepository.findByDataLancamentoBetween(any(), any())).thenReturn(List.of());
+        when(custoVariavelRepository.findByStatusNotAndDataLancamentoLessThanEqualOrderByDataLancamento(
+                eq(StatusCusto.PAGO), any()))
+                .thenReturn(List.of());
 
-        ProjecaoCaixaDTO resultado = projecaoCaixaService.getProjecaoCaixa();
+        ProjecaoCaixaDTO resultado = projecaoCaixaService.getProjecaoCaixa(2);
 
         assertThat(resultado.mesesProjetados()).isNotEmpty();
 
@@ -192,12 +291,14 @@ class ProjecaoCaixaServiceTest {
     @DisplayName("Deve incluir custos fixos na projeção futura")
     void deveIncluirCustosFixosNaProjecao() {
         when(saldoInicialRepository.findFirst()).thenReturn(Optional.of(saldoInicial));
-        when(parcelaRepository.findAll()).thenReturn(List.of(parcelaPaga));
-        when(custoVariavelRepository.findAll()).thenReturn(List.of());
+        when(parcelaRepository.findByStatusAndDataVencimentoBetweenOrderByDataVencimento(eq(StatusParcela.PENDENTE), any(), any()))
+                .thenReturn(List.of());
         when(custoFixoRepository.findByAtivoTrueOrderByDiaVencimento()).thenReturn(List.of(custoFixo));
-        when(custoVariavelRepository.findByDataLancamentoBetween(any(), any())).thenReturn(List.of());
+        when(custoVariavelRepository.findByStatusNotAndDataLancamentoLessThanEqualOrderByDataLancamento(
+                eq(StatusCusto.PAGO), any()))
+                .thenReturn(List.of());
 
-        ProjecaoCaixaDTO resultado = projecaoCaixaService.getProjecaoCaixa();
+        ProjecaoCaixaDTO resultado = projecaoCaixaService.getProjecaoCaixa(2);
 
         assertThat(resultado.mesesProjetados()).hasSize(2);
 
@@ -253,6 +354,8 @@ class ProjecaoCaixaServiceTest {
         assertThat(resultado).isNotNull();
         assertThat(resultado.valor()).isEqualTo(new BigDecimal("15000.00"));
         assertThat(resultado.observacao()).isEqualTo("Saldo atualizado");
+        verify(livroCaixaService).registrarAjusteSaldoInicial(1L, new BigDecimal("5000.00"),
+                new BigDecimal("15000.00"));
 
         verify(saldoInicialRepository).findFirst();
         verify(saldoInicialRepository).save(any(SaldoInicial.class));
@@ -299,12 +402,14 @@ class ProjecaoCaixaServiceTest {
                 .build();
 
         when(saldoInicialRepository.findFirst()).thenReturn(Optional.of(saldoInicial));
-        when(parcelaRepository.findAll()).thenReturn(List.of(entrada));
-        when(custoVariavelRepository.findAll()).thenReturn(List.of());
+        when(parcelaRepository.findByStatusAndDataVencimentoBetweenOrderByDataVencimento(eq(StatusParcela.PENDENTE), any(), any()))
+                .thenReturn(List.of(entrada));
         when(custoFixoRepository.findByAtivoTrueOrderByDiaVencimento()).thenReturn(List.of(custoFixo));
-        when(custoVariavelRepository.findByDataLancamentoBetween(any(), any())).thenReturn(List.of());
+        when(custoVariavelRepository.findByStatusNotAndDataLancamentoLessThanEqualOrderByDataLancamento(
+                eq(StatusCusto.PAGO), any()))
+                .thenReturn(List.of());
 
-        ProjecaoCaixaDTO resultado = projecaoCaixaService.getProjecaoCaixa();
+        ProjecaoCaixaDTO resultado = projecaoCaixaService.getProjecaoCaixa(2);
 
         MesProjecaoDTO primeiroMes = resultado.mesesProjetados().get(0);
 
@@ -320,12 +425,14 @@ class ProjecaoCaixaServiceTest {
     @DisplayName("Deve usar saldo final do mês anterior como inicial do próximo")
     void deveUsarSaldoFinalComoInicialProximo() {
         when(saldoInicialRepository.findFirst()).thenReturn(Optional.of(saldoInicial));
-        when(parcelaRepository.findAll()).thenReturn(List.of(parcelaPaga));
-        when(custoVariavelRepository.findAll()).thenReturn(List.of());
+        when(parcelaRepository.findByStatusAndDataVencimentoBetweenOrderByDataVencimento(eq(StatusParcela.PENDENTE), any(), any()))
+                .thenReturn(List.of());
         when(custoFixoRepository.findByAtivoTrueOrderByDiaVencimento()).thenReturn(List.of());
-        when(custoVariavelRepository.findByDataLancamentoBetween(any(), any())).thenReturn(List.of());
+        when(custoVariavelRepository.findByStatusNotAndDataLancamentoLessThanEqualOrderByDataLancamento(
+                eq(StatusCusto.PAGO), any()))
+                .thenReturn(List.of());
 
-        ProjecaoCaixaDTO resultado = projecaoCaixaService.getProjecaoCaixa();
+        ProjecaoCaixaDTO resultado = projecaoCaixaService.getProjecaoCaixa(2);
 
         assertThat(resultado.mesesProjetados()).hasSize(2);
 
@@ -340,12 +447,14 @@ class ProjecaoCaixaServiceTest {
     @DisplayName("Deve projetar exatamente 2 meses futuros")
     void deveProjetarDoisMesesFuturos() {
         when(saldoInicialRepository.findFirst()).thenReturn(Optional.empty());
-        when(parcelaRepository.findAll()).thenReturn(List.of());
-        when(custoVariavelRepository.findAll()).thenReturn(List.of());
+        when(parcelaRepository.findByStatusAndDataVencimentoBetweenOrderByDataVencimento(eq(StatusParcela.PENDENTE), any(), any()))
+                .thenReturn(List.of());
         when(custoFixoRepository.findByAtivoTrueOrderByDiaVencimento()).thenReturn(List.of());
-        when(custoVariavelRepository.findByDataLancamentoBetween(any(), any())).thenReturn(List.of());
+        when(custoVariavelRepository.findByStatusNotAndDataLancamentoLessThanEqualOrderByDataLancamento(
+                eq(StatusCusto.PAGO), any()))
+                .thenReturn(List.of());
 
-        ProjecaoCaixaDTO resultado = projecaoCaixaService.getProjecaoCaixa();
+        ProjecaoCaixaDTO resultado = projecaoCaixaService.getProjecaoCaixa(2);
 
         assertThat(resultado.mesesProjetados()).hasSize(2);
 
@@ -356,4 +465,53 @@ class ProjecaoCaixaServiceTest {
         assertThat(resultado.mesesProjetados().get(0).mesReferencia()).isEqualTo(proximoMes.getMonthValue());
         assertThat(resultado.mesesProjetados().get(1).mesReferencia()).isEqualTo(mesDepois.getMonthValue());
     }
+
+    @Test
+    @DisplayName("Deve projetar horizonte configurável com uma consulta por fonte")
+    void deveProjetarHorizonteConfiguravelComUmaConsultaPorFonte() {
+        YearMonth mesInicio = YearMonth.now().plusMonths(1);
+        YearMonth mesFim = mesInicio.plusMonths(11);
+        Parcela parcelaDecimoMes = Parcela.builder()
+                .id(4L)
+                .orcamento(orcamento)
+                .numeroParcela(4)
+                .valor(new BigDecimal("800.00"))
+                .dataVencimento(mesInicio.plusMonths(9).atDay(10))
+                .status(StatusParcela.PENDENTE)
+                .build();
+
+        when(saldoInicialRepository.findFirst()).thenReturn(Optional.of(saldoInicial));
+        when(parcelaRepository.findByStatusAndDataVencimentoBetweenOrderByDataVencimento(
+                StatusParcela.PENDENTE, LocalDate.now(), mesFim.atEndOfMonth()))
+                .thenReturn(List.of(parcelaDecimoMes));
+        when(custoVariavelRepository.findByStatusNotAndDataLancamentoLessThanEqualOrderByDataLancamento(
+                StatusCusto.PAGO, mesFim.atEndOfMonth()))
+                .thenReturn(List.of());
+        when(custoFixoRepository.findByAtivoTrueOrderByDiaVencimento()).thenReturn(List.of(custoFixo));
+
+        ProjecaoCaixaDTO resultado = projecaoCaixaService.getProjecaoCaixa(12);
+
+        assertThat(resultado.mesesProjetados()).hasSize(12);
+        assertThat(resultado.mesesProjetados().get(9).detalhesEntradas()).hasSize(1);
+        assertThat(resultado.mesesProjetados().get(8).detalhesEntradas()).isEmpty();
+        // O custo fixo ainda não pago no mês atual entra também no primeiro mês
+        assertThat(resultado.mesesProjetados().get(0).detalhesSaidas()).hasSize(2);
+        assertThat(resultado.mesesProjetados().subList(1, 12))
+                .allSatisfy(mes -> assertThat(mes.detalhesSaidas()).hasSize(1));
+
+        verify(parcelaRepository, times(1)).findByStatusAndDataVencimentoBetweenOrderByDataVencimento(
+                any(), any(), any());
+        verify(custoVariavelRepository, times(1))
+                .findByStatusNotAndDataLancamentoLessThanEqualOrderByDataLancamento(any(), any());
+        verify(custoFixoRepository, times(1)).findByAtivoTrueOrderByDiaVencimento();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar horizonte de projeção fora do limite")
+    void deveRejeitarHorizonteForaDoLimite() {
+        assertThatThrownBy(() -> projecaoCaixaService.getProjecaoCaixa(37))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> projecaoCaixaService.getProjecaoCaixa(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
 }
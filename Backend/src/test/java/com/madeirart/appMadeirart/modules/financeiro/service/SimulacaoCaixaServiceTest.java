@@ -0,0 +1,168 @@
+package com.madeirart.appMadeirart.modules.financeiro.service;
+
+import com.madeirart.appMadeirart.modules.financeiro.dto.*;
+import com.madeirart.appMadeirart.shared.enums.OrigemTransacao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para SimulacaoCaixaService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do SimulacaoCaixaService")
+class SimulacaoCaixaServiceTest {
+
+    @Mock
+    private ProjecaoCaixaService projecaoCaixaService;
+
+    @InjectMocks
+    private SimulacaoCaixaService simulacaoCaixaService;
+
+    private ProjecaoCaixaDTO projecao;
+
+    @BeforeEach
+    void setUp() {
+        LocalDate proximoMes = LocalDate.now().plusMonths(1);
+        LocalDate mesDepois = LocalDate.now().plusMonths(2);
+
+        // Saldo 1000; mês 1: +3000 (parcela) -2000; mês 2: -2000
+        MesProjecaoDTO mes1 = MesProjecaoDTO.builder()
+                .mesReferencia(proximoMes.getMonthValue())
+                .anoReferencia(proximoMes.getYear())
+                .totalSaidasPrevistas(new BigDecimal("2000.00"))
+                .detalhesEntradas(List.of(ItemProjecaoDTO.builder()
+                        .id(1L)
+                        .valor(new BigDecimal("3000.00"))
+                        .data(proximoMes)
+                        .origem(OrigemTransacao.PARCELA)
+                        .build()))
+                .build();
+        MesProjecaoDTO mes2 = MesProjecaoDTO.builder()
+                .mesReferencia(mesDepois.getMonthValue())
+                .anoReferencia(mesDepois.getYear())
+                .totalSaidasPrevistas(new BigDecimal("2000.00"))
+                .detalhesEntradas(List.of())
+                .build();
+
+        projecao = ProjecaoCaixaDTO.builder()
+                .saldoAtual(new BigDecimal("1000.00"))
+                .dataCalculo(LocalDateTime.now())
+                .mesesProjetados(List.of(mes1, mes2))
+                .build();
+    }
+
+    private ParametrosSimulacaoDTO parametros(int cenarios, double atraso, double inadimplencia) {
+        return parametros(cenarios, atraso, inadimplencia, 1);
+    }
+
+    private ParametrosSimulacaoDTO parametros(int cenarios, double atraso, double inadimplencia, int mesesAtraso) {
+        return ParametrosSimulacaoDTO.builder()
+                .quantidadeCenarios(cenarios)
+                .meses(2)
+                .probabilidadeAtraso(atraso)
+                .probabilidadeInadimplencia(inadimplencia)
+                .mesesAtraso(mesesAtraso)
+                .semente(42L)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve reproduzir a projeção quando todas as parcelas são pagas em dia")
+    void deveReproduzirProjecaoSemRisco() {
+        when(projecaoCaixaService.getProjecaoCaixa(2)).thenReturn(projecao);
+
+        SimulacaoCaixaDTO resultado = simulacaoCaixaService.simular(parametros(1000, 0.0, 0.0));
+
+        assertThat(resultado.probabilidadeSaldoNegativo()).isZero();
+        assertThat(resultado.mesesSimulados()).hasSize(2);
+        MesSimulacaoDTO mes1 = resultado.mesesSimulados().get(0);
+        assertThat(mes1.saldoPercentil5()).isEqualByComparingTo(new BigDecimal("2000.00"));
+        assertThat(mes1.saldoPercentil95()).isEqualByComparingTo(new BigDecimal("2000.00"));
+        assertThat(resultado.mesesSimulados().get(1).saldoMediano()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("Deve indicar saldo negativo certo quando nenhuma parcela é paga")
+    void deveIndicarSaldoNegativoComInadimplenciaTotal() {
+        when(projecaoCaixaService.getProjecaoCaixa(2)).thenReturn(projecao);
+
+        SimulacaoCaixaDTO resultado = simulacaoCaixaService.simular(parametros(1000, 0.0, 1.0));
+
+        assertThat(resultado.probabilidadeSaldoNegativo()).isEqualTo(1.0);
+        MesSimulacaoDTO mes1 = resultado.mesesSimulados().get(0);
+        assertThat(mes1.saldoMediano()).isEqualByComparingTo(new BigDecimal("-1000.00"));
+        assertThat(mes1.probabilidadeSaldoNegativo()).isEqualTo(1.0);
+        assertThat(resultado.mesesSimulados().get(1).saldoMediano())
+                .isEqualByComparingTo(new BigDecimal("-3000.00"));
+    }
+
+    @Test
+    @DisplayName("Deve deslocar a parcela atrasada para o mês seguinte")
+    void deveDeslocarParcelaAtrasada() {
+        when(projecaoCaixaService.getProjecaoCaixa(2)).thenReturn(projecao);
+
+        SimulacaoCaixaDTO resultado = simulacaoCaixaService.simular(parametros(1000, 1.0, 0.0));
+
+        // Mês 1 sem a parcela (-1000), mês 2 recebe a parcela (0)
+        assertThat(resultado.mesesSimulados().get(0).saldoMediano())
+                .isEqualByComparingTo(new BigDecimal("-1000.00"));
+        assertThat(resultado.mesesSimulados().get(1).saldoMediano()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(resultado.probabilidadeSaldoNegativo()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve deixar fora do horizonte a parcela atrasada pelo máximo de meses")
+    void deveDeixarForaDoHorizonteAtrasoMaximo() {
+        when(projecaoCaixaService.getProjecaoCaixa(2)).thenReturn(projecao);
+        SimulacaoCaixaDTO resultado = simulacaoCaixaService.simular(
+                parametros(100, 1.0, 0.0, ProjecaoCaixaService.MESES_PROJECAO_MAXIMO));
+
+        // A parcela não chega em nenhum mês simulado
+        assertThat(resultado.mesesSimulados().get(1).saldoMediano())
+                .isEqualByComparingTo(new BigDecimal("-3000.00"));
+    }
+
+    @Test
+    @DisplayName("Deve produzir o mesmo resultado para a mesma semente")
+    void deveSerReprodutivelComSemente() {
+        when(projecaoCaixaService.getProjecaoCaixa(2)).thenReturn(projecao);
+
+        SimulacaoCaixaDTO primeira = simulacaoCaixaService.simular(parametros(10_000, 0.3, 0.2));
+        SimulacaoCaixaDTO segunda = simulacaoCaixaService.simular(parametros(10_000, 0.3, 0.2));
+
+        assertThat(primeira.mesesSimulados()).isEqualTo(segunda.mesesSimulados());
+        assertThat(primeira.probabilidadeSaldoNegativo()).isEqualTo(segunda.probabilidadeSaldoNegativo());
+        // Parcela não recebida no mês 1 com chance de 50%
+        assertThat(primeira.mesesSimulados().get(0).probabilidadeSaldoNegativo()).isBetween(0.45, 0.55);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar parâmetros inválidos")
+    void deveRejeitarParametrosInvalidos() {
+        assertThatThrownBy(() -> simulacaoCaixaService.simular(parametros(0, 0.1, 0.1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> simulacaoCaixaService.simular(parametros(100, 0.7, 0.5)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> simulacaoCaixaService.simular(parametros(100, -0.1, 0.0)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> simulacaoCaixaService.simular(parametros(100, 0.5, 0.0, Integer.MAX_VALUE)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verify(projecaoCaixaService, never()).getProjecaoCaixa(anyInt());
+    }
+}
@@ -1,13 +1,27 @@
 package com.madeirart.appMadeirart.modules.orcamento.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.madeirart.appMadeirart.modules.orcamento.dto.EstatisticasFilaAuditoriaDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.EstatisticasItensOrcamentoDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.FiltroOrcamentoDTO;
 import com.madeirart.appMadeirart.modules.orcamento.dto.IniciarProducaoDTO;
 import com.madeirart.appMadeirart.modules.orcamento.dto.ItemMaterialDTO;
 import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoAuditoriaDTO;
 import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoRequestDTO;
 import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoResponseDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.PaginaHistoricoDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.PaginaOrcamentosDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.ResultadoBuscaOrcamentoDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.ErroImportacaoDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.ResultadoImportacaoDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.ResumoAuditoriaDTO;
+import com.madeirart.appMadeirart.modules.orcamento.service.BuscaOrcamentoService;
+import com.madeirart.appMadeirart.modules.orcamento.service.FilaAuditoriaService;
+import com.madeirart.appMadeirart.modules.orcamento.service.ImportacaoOrcamentoService;
+import com.madeirart.appMadeirart.modules.orcamento.service.OrcamentoAuditoriaService;
 import com.madeirart.appMadeirart.modules.orcamento.dto.ParcelaDTO;
 import com.madeirart.appMadeirart.modules.orcamento.service.OrcamentoService;
+import com.madeirart.appMadeirart.shared.enums.FormatoArquivo;
 import com.madeirart.appMadeirart.shared.enums.StatusOrcamento;
 
 import jakarta.persistence.EntityNotFoundException;
@@ -27,6 +41,7 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -48,6 +63,15 @@ class OrcamentoControllerTest {
         @MockitoBean
         private OrcamentoService orcamentoService;
 
+        @MockitoBean
+        private BuscaOrcamentoService buscaOrcamentoService;
+
+        @MockitoBean
+        private FilaAuditoriaService filaAuditoria;
+
+        @MockitoBean
+        private ImportacaoOrcamentoService importacaoService;
+
         private OrcamentoRequestDTO requestDTO;
         private OrcamentoResponseDTO responseDTO;
 
@@ -116,6 +140,34 @@ class OrcamentoControllerTest {
                                 .andExpect(status().isBadRequest());
         }
 
+        @Test
+        @DisplayName("POST /api/orcamentos/import - Deve importar CSV pelo Content-Type")
+        void deveImportarCsvPeloTipoDeConteudo() throws Exception {
+                ResultadoImportacaoDTO resultado = ResultadoImportacaoDTO.builder()
+                                .importados(2)
+                                .itens(5)
+                                .rejeitados(1)
+                                .erros(List.of(new ErroImportacaoDTO(4, "Valor inválido na coluna quantidade: abc")))
+                                .build();
+                when(importacaoService.importar(any(), eq(FormatoArquivo.CSV))).thenReturn(resultado);
+
+                mockMvc.perform(post("/api/orcamentos/import")
+                                .contentType("text/csv")
+                                .content("orcamento;cliente;moveis;data;fatorMaoDeObra;quantidade;descricao;valorUnitario"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.importados").value(2))
+                                .andExpect(jsonPath("$.erros[0].linha").value(4));
+        }
+
+        @Test
+        @DisplayName("POST /api/orcamentos/import?formato=... - Deve rejeitar formato desconhecido")
+        void deveRejeitarFormatoDeImportacaoDesconhecido() throws Exception {
+                mockMvc.perform(post("/api/orcamentos/import")
+                                .param("formato", "xml")
+                                .content("<orcamentos/>"))
+                                .andExpect(status().isBadRequest());
+        }
+
         @Test
         @DisplayName("GET /api/orcamentos/{id} - Deve buscar orçamento")
         void deveBuscarOrcamento() throws Exception {
@@ -159,6 +211,80 @@ class OrcamentoControllerTest {
                                 .andExpect(jsonPath("$[0].status").value("AGUARDANDO"));
         }
 
+        @Test
+        @DisplayName("GET /api/orcamentos?limite=20 - Deve retornar página com total e próximo cursor")
+        void deveListarPaginaComHeaders() throws Exception {
+                FiltroOrcamentoDTO filtro = FiltroOrcamentoDTO.builder()
+                                .status(StatusOrcamento.AGUARDANDO)
+                                .cliente("silva")
+                                .dataInicio(LocalDate.of(2025, 1, 1))
+                                .build();
+                when(orcamentoService.listarPagina(eq(filtro), isNull(), eq(20)))
+                                .thenReturn(new PaginaOrcamentosDTO(List.of(responseDTO), "cursor-2", 35L));
+
+                mockMvc.perform(get("/api/orcamentos")
+                                .param("status", "AGUARDANDO")
+                                .param("cliente", "silva")
+                                .param("dataInicio", "2025-01-01")
+                                .param("limite", "20"))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("X-Total-Count", "35"))
+                                .andExpect(header().string("X-Proximo-Cursor", "cursor-2"))
+                                .andExpect(jsonPath("$[0].id").value(1));
+        }
+
+        @Test
+        @DisplayName("GET /api/orcamentos?cursor=... - Última página não deve ter próximo cursor")
+        void deveListarUltimaPaginaSemCursor() throws Exception {
+                when(orcamentoService.listarPagina(any(), eq("cursor-2"), eq(OrcamentoService.LIMITE_PAGINA_PADRAO)))
+                                .thenReturn(new PaginaOrcamentosDTO(List.of(responseDTO), null, null));
+
+                mockMvc.perform(get("/api/orcamentos").param("cursor", "cursor-2"))
+                                .andExpect(status().isOk())
+                                .andExpect(header().doesNotExist("X-Proximo-Cursor"))
+                                .andExpect(header().doesNotExist("X-Total-Count"))
+                                .andExpect(jsonPath("$.length()").value(1));
+        }
+
+        @Test
+        @DisplayName("GET /api/orcamentos?cursor=... - Deve rejeitar cursor inválido")
+        void deveRejeitarCursorInvalido() throws Exception {
+                when(orcamentoService.listarPagina(any(), eq("invalido"), eq(OrcamentoService.LIMITE_PAGINA_PADRAO)))
+                                .thenThrow(new IllegalArgumentException("Cursor de paginação inválido"));
+
+                mockMvc.perform(get("/api/orcamentos").param("cursor", "invalido"))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("GET /api/orcamentos/busca - Deve buscar orçamentos por texto")
+        void deveBuscarPorTexto() throws Exception {
+                ResultadoBuscaOrcamentoDTO resultado = ResultadoBuscaOrcamentoDTO.builder()
+                                .id(1L)
+                                .cliente("João Silva")
+                                .moveis("Armário planejado")
+                                .status(StatusOrcamento.AGUARDANDO)
+                                .trecho("[Armário] planejado")
+                                .build();
+                when(buscaOrcamentoService.buscar("armario", BuscaOrcamentoService.LIMITE_PADRAO))
+                                .thenReturn(List.of(resultado));
+
+                mockMvc.perform(get("/api/orcamentos/busca").param("q", "armario"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].id").value(1))
+                                .andExpect(jsonPath("$[0].trecho").value("[Armário] planejado"));
+        }
+
+        @Test
+        @DisplayName("GET /api/orcamentos/busca - Deve rejeitar busca sem termos")
+        void deveRejeitarBuscaSemTermos() throws Exception {
+                when(buscaOrcamentoService.buscar("  ", BuscaOrcamentoService.LIMITE_PADRAO))
+                                .thenThrow(new IllegalArgumentException("Informe ao menos um termo para a busca"));
+
+                mockMvc.perform(get("/api/orcamentos/busca").param("q", "  "))
+                                .andExpect(status().isBadRequest());
+        }
+
         @Test
         @DisplayName("PUT /api/orcamentos/{id} - Deve atualizar orçamento")
         void deveAtualizarOrcamento() throws Exception {
@@ -216,6 +342,98 @@ class OrcamentoControllerTest {
                                 .andExpect(status().isNotFound());
         }
 
+        @Test
+        @DisplayName("GET /api/orcamentos/{id}/historico?limite= - Deve retornar página sem snapshots")
+        void deveBuscarHistoricoPaginado() throws Exception {
+                ResumoAuditoriaDTO resumo = ResumoAuditoriaDTO.builder()
+                                .id(7L)
+                                .orcamentoId(1L)
+                                .versao(3)
+                                .dataAlteracao(LocalDateTime.now())
+                                .descricaoAlteracao("Atualização de orçamento")
+                                .camposAlterados(List.of("cliente", "itens"))
+                                .build();
+                when(orcamentoService.buscarHistoricoPagina(1L, null, 1)).thenReturn(PaginaHistoricoDTO.builder()
+                                .alteracoes(List.of(resumo))
+                                .proximoCursor("abc")
+                                .total(3L)
+                                .build());
+
+                mockMvc.perform(get("/api/orcamentos/1/historico").param("limite", "1"))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string(OrcamentoController.HEADER_TOTAL, "3"))
+                                .andExpect(header().string(OrcamentoController.HEADER_PROXIMO_CURSOR, "abc"))
+                                .andExpect(jsonPath("$[0].versao").value(3))
+                                .andExpect(jsonPath("$[0].camposAlterados[0]").value("cliente"))
+                                .andExpect(jsonPath("$[0].snapshotJson").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("GET /api/orcamentos/{id}/historico?cursor= - Deve retornar 400 para cursor inválido")
+        void deveRetornar400ParaCursorDoHistoricoInvalido() throws Exception {
+                when(orcamentoService.buscarHistoricoPagina(1L, "x", OrcamentoAuditoriaService.LIMITE_PAGINA_PADRAO))
+                                .thenThrow(new IllegalArgumentException("Cursor de paginação inválido: x"));
+
+                mockMvc.perform(get("/api/orcamentos/1/historico").param("cursor", "x"))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("GET /api/orcamentos/{id}/historico/{auditoriaId} - Deve buscar uma versão com snapshot")
+        void deveBuscarVersaoDoHistorico() throws Exception {
+                when(orcamentoService.buscarVersaoHistorico(1L, 7L)).thenReturn(OrcamentoAuditoriaDTO.builder()
+                                .id(7L)
+                                .orcamentoId(1L)
+                                .snapshotJson("{\"id\":1,\"cliente\":\"João Silva\"}")
+                                .dataAlteracao(LocalDateTime.now())
+                                .descricaoAlteracao("Atualização de orçamento")
+                                .build());
+                when(orcamentoService.buscarVersaoHistorico(1L, 8L))
+                                .thenThrow(new EntityNotFoundException("Auditoria não encontrada"));
+
+                mockMvc.perform(get("/api/orcamentos/1/historico/7"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.snapshotJson").value("{\"id\":1,\"cliente\":\"João Silva\"}"));
+                mockMvc.perform(get("/api/orcamentos/1/historico/8"))
+                                .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("GET /api/orcamentos/auditoria/fila - Deve retornar as métricas da fila de auditoria")
+        void deveRetornarEstatisticasDaFilaDeAuditoria() throws Exception {
+                when(filaAuditoria.getEstatisticas()).thenReturn(EstatisticasFilaAuditoriaDTO.builder()
+                                .pendentes(3)
+                                .capacidade(1000)
+                                .maiorProfundidade(12)
+                                .gravados(40)
+                                .lotes(5)
+                                .build());
+
+                mockMvc.perform(get("/api/orcamentos/auditoria/fila"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.pendentes").value(3))
+                                .andExpect(jsonPath("$.maiorProfundidade").value(12))
+                                .andExpect(jsonPath("$.lotes").value(5));
+        }
+
+        @Test
+        @DisplayName("GET /api/orcamentos/itens/estatisticas - Deve retornar as linhas de itens afetadas")
+        void deveRetornarEstatisticasDeItens() throws Exception {
+                when(orcamentoService.getEstatisticasItens()).thenReturn(EstatisticasItensOrcamentoDTO.builder()
+                                .atualizacoes(2)
+                                .inseridos(1)
+                                .alterados(3)
+                                .removidos(1)
+                                .inalterados(58)
+                                .build());
+
+                mockMvc.perform(get("/api/orcamentos/itens/estatisticas"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.atualizacoes").value(2))
+                                .andExpect(jsonPath("$.alterados").value(3))
+                                .andExpect(jsonPath("$.inalterados").value(58));
+        }
+
         @Test
         @DisplayName("GET /api/orcamentos/{id}/historico - Deve retornar lista vazia para orçamento sem histórico")
         void deveRetornarListaVaziaParaOrcamentoSemHistorico() throws Exception {
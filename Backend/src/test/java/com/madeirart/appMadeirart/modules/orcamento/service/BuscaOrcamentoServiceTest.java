@@ -0,0 +1,99 @@
+package com.madeirart.appMadeirart.modules.orcamento.service;
+
+import com.madeirart.appMadeirart.modules.orcamento.dto.ItemMaterialDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoRequestDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoResponseDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.ResultadoBuscaOrcamentoDTO;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes da busca textual de orçamentos contra o banco SQLite (FTS5)
+ * Cada teste roda em uma transação desfeita ao final
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:sqlite:target/orcamento-busca-test.db")
+@Transactional
+@DisplayName("Testes do BuscaOrcamentoService")
+class BuscaOrcamentoServiceTest {
+
+    @Autowired
+    private BuscaOrcamentoService buscaOrcamentoService;
+
+    @Autowired
+    private OrcamentoService orcamentoService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Deve encontrar por prefixo, sem acentos, em cliente, móveis e itens, com ranking")
+    void deveBuscarPorPrefixoComRanking() {
+        OrcamentoResponseDTO cozinha = criar("Ana Cozinha Ltda", "Armário de cozinha", "MDF branco 15mm", "Dobradiça");
+        OrcamentoResponseDTO quarto = criar("Bruno Lima", "Guarda-roupa", "MDF branco 18mm", "Puxador cozinha");
+        criar("Carla Dias", "Mesa de jantar", "Madeira maciça");
+        entityManager.flush();
+
+        List<ResultadoBuscaOrcamentoDTO> resultados = buscaOrcamentoService.buscar("armario coz mdf branc", 20);
+
+        assertThat(resultados).extracting(ResultadoBuscaOrcamentoDTO::id).containsExactly(cozinha.id());
+        assertThat(resultados.get(0).trecho()).contains("[");
+        assertThat(resultados.get(0).valorTotal()).isNotNull();
+
+        // "cozinha" aparece no cliente de um e só nos itens do outro: cliente pesa mais
+        assertThat(buscaOrcamentoService.buscar("cozinha", 20))
+                .extracting(ResultadoBuscaOrcamentoDTO::id)
+                .containsExactly(cozinha.id(), quarto.id());
+    }
+
+    @Test
+    @DisplayName("Deve manter o índice atualizado ao editar e remover orçamentos")
+    void deveAcompanharAlteracoes() {
+        OrcamentoResponseDTO orcamento = criar("Diego Alves", "Estante", "Compensado naval");
+        entityManager.flush();
+        assertThat(buscaOrcamentoService.buscar("naval", 20)).hasSize(1);
+
+        orcamentoService.atualizarOrcamento(orcamento.id(), requisicao("Diego Alves", "Estante", "Laminado freijó"));
+        entityManager.flush();
+        assertThat(buscaOrcamentoService.buscar("naval", 20)).isEmpty();
+        assertThat(buscaOrcamentoService.buscar("freijo", 20)).hasSize(1);
+
+        orcamentoService.deletarOrcamento(orcamento.id());
+        entityManager.flush();
+        assertThat(buscaOrcamentoService.buscar("freijo", 20)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve neutralizar a sintaxe do FTS5 e rejeitar busca sem termos")
+    void deveTratarTextoDigitado() {
+        assertThat(buscaOrcamentoService.montarConsulta("armário \"cozinha\" OR -mdf*"))
+                .isEqualTo("\"armário\"* \"cozinha\"* \"OR\"* \"mdf\"*");
+        assertThatThrownBy(() -> buscaOrcamentoService.buscar(" *\" ", 20))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> buscaOrcamentoService.buscar("mesa", 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private OrcamentoResponseDTO criar(String cliente, String moveis, String... itens) {
+        return orcamentoService.criarOrcamento(requisicao(cliente, moveis, itens));
+    }
+
+    private OrcamentoRequestDTO requisicao(String cliente, String moveis, String... itens) {
+        List<ItemMaterialDTO> itensDTO = Arrays.stream(itens)
+                .map(descricao -> new ItemMaterialDTO(null, BigDecimal.ONE, descricao, new BigDecimal("100.00"), null))
+                .toList();
+        return new OrcamentoRequestDTO(cliente, moveis, LocalDate.now(), LocalDate.now().plusDays(30),
+                new BigDecimal("1.5"), BigDecimal.ZERO, BigDecimal.ZERO, itensDTO);
+    }
+}
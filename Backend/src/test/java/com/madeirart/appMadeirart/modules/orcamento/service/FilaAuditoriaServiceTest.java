@@ -0,0 +1,162 @@
+package com.madeirart.appMadeirart.modules.orcamento.service;
+
+import com.madeirart.appMadeirart.modules.orcamento.dto.EstatisticasFilaAuditoriaDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoResponseDTO;
+import com.madeirart.appMadeirart.shared.config.AuditoriaProperties;
+import com.madeirart.appMadeirart.shared.event.AuditoriaOrcamentoEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para FilaAuditoriaService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do FilaAuditoriaService")
+class FilaAuditoriaServiceTest {
+
+    @Mock
+    private OrcamentoAuditoriaService auditoriaService;
+
+    private FilaAuditoriaService fila;
+
+    @AfterEach
+    void tearDown() {
+        if (fila != null) {
+            fila.encerrar();
+        }
+    }
+
+    private FilaAuditoriaService criarFila(int capacidade, int tamanhoLote) {
+        fila = new FilaAuditoriaService(auditoriaService, new AuditoriaProperties(null, null, capacidade, tamanhoLote));
+        return fila;
+    }
+
+    private List<AuditoriaOrcamentoEvent> registros(int quantidade) {
+        return IntStream.rangeClosed(1, quantidade)
+                .mapToObj(id -> AuditoriaOrcamentoEvent.de(
+                        OrcamentoResponseDTO.builder().id((long) id).build(), "Atualização de orçamento"))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Deve gravar os registros em lotes, na ordem em que foram enfileirados")
+    void deveGravarEmLotesNaOrdem() {
+        FilaAuditoriaService fila = criarFila(10, 2);
+        List<AuditoriaOrcamentoEvent> registros = registros(5);
+        registros.forEach(fila::enfileirar);
+
+        fila.iniciar();
+
+        assertThat(fila.aguardarGravacao(Duration.ofSeconds(5))).isTrue();
+        InOrder ordem = inOrder(auditoriaService);
+        ordem.verify(auditoriaService).registrarLote(registros.subList(0, 2));
+        ordem.verify(auditoriaService).registrarLote(registros.subList(2, 4));
+        ordem.verify(auditoriaService).registrarLote(registros.subList(4, 5));
+
+        EstatisticasFilaAuditoriaDTO estatisticas = fila.getEstatisticas();
+        assertThat(estatisticas.pendentes()).isZero();
+        assertThat(estatisticas.maiorProfundidade()).isEqualTo(5);
+        assertThat(estatisticas.gravados()).isEqualTo(5);
+        assertThat(estatisticas.lotes()).isEqualTo(3);
+        assertThat(estatisticas.falhas()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve gravar individualmente quando o lote falha, perdendo só o registro com erro")
+    void deveGravarIndividualmenteQuandoLoteFalha() {
+        FilaAuditoriaService fila = criarFila(10, 10);
+        doThrow(new IllegalStateException("falha")).when(auditoriaService).registrarLote(anyList());
+        doAnswer(invocacao -> {
+            OrcamentoResponseDTO snapshot = invocacao.getArgument(0);
+            if (snapshot.id() == 2L) {
+                throw new IllegalStateException("falha");
+            }
+            return null;
+        }).when(auditoriaService).registrar(any(), any(), any());
+        registros(3).forEach(fila::enfileirar);
+
+        fila.iniciar();
+
+        assertThat(fila.aguardarGravacao(Duration.ofSeconds(5))).isTrue();
+        verify(auditoriaService, times(3)).registrar(any(), any(), any());
+        assertThat(fila.getEstatisticas().gravados()).isEqualTo(2);
+        assertThat(fila.getEstatisticas().falhas()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve gravar os pendentes no encerramento e gravar direto depois dele")
+    void deveGravarPendentesNoEncerramento() {
+        FilaAuditoriaService fila = criarFila(10, 2);
+        List<AuditoriaOrcamentoEvent> registros = registros(4);
+        registros.subList(0, 3).forEach(fila::enfileirar);
+
+        fila.encerrar();
+        fila.enfileirar(registros.get(3));
+
+        verify(auditoriaService).registrarLote(registros.subList(0, 3));
+        verify(auditoriaService).registrar(registros.get(3).snapshot(), registros.get(3).descricao(),
+                registros.get(3).dataAlteracao());
+        assertThat(fila.aguardarGravacao(Duration.ZERO)).isTrue();
+        assertThat(fila.getEstatisticas().gravadosSemFila()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve esperar só pelos registros do orçamento informado")
+    void deveAguardarGravacaoDoOrcamento() {
+        FilaAuditoriaService fila = criarFila(10, 2);
+        fila.enfileirar(registros(1).get(0));
+
+        assertThat(fila.aguardarGravacao(2L, Duration.ZERO)).isTrue();
+        assertThat(fila.aguardarGravacao(1L, Duration.ZERO)).isFalse();
+
+        fila.iniciar();
+        assertThat(fila.aguardarGravacao(1L, Duration.ofSeconds(5))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Com a fila cheia, deve esperar por espaço e gravar todas as versões na ordem")
+    void deveGravarTodasAsVersoesNaOrdemComFilaCheia() throws InterruptedException {
+        FilaAuditoriaService fila = criarFila(2, 1);
+        OrcamentoResponseDTO snapshot = OrcamentoResponseDTO.builder().id(1L).build();
+        List<AuditoriaOrcamentoEvent> versoes = IntStream.rangeClosed(1, 6)
+                .mapToObj(versao -> AuditoriaOrcamentoEvent.de(snapshot, "Alteração " + versao))
+                .toList();
+        List<AuditoriaOrcamentoEvent> gravadas = new CopyOnWriteArrayList<>();
+        doAnswer(invocacao -> gravadas.addAll(invocacao.getArgument(0)))
+                .when(auditoriaService).registrarLote(anyList());
+
+        Thread requisicao = new Thread(() -> versoes.forEach(fila::enfileirar));
+        requisicao.start();
+
+        // A gravação não foi iniciada: a requisição fica esperando com a fila cheia
+        requisicao.join(1000);
+        assertThat(requisicao.isAlive()).isTrue();
+        assertThat(fila.getEstatisticas().pendentes()).isEqualTo(2);
+
+        fila.iniciar();
+        requisicao.join(5000);
+
+        assertThat(requisicao.isAlive()).isFalse();
+        assertThat(fila.aguardarGravacao(Duration.ofSeconds(5))).isTrue();
+        assertThat(gravadas).containsExactlyElementsOf(versoes);
+        assertThat(fila.getEstatisticas().gravados()).isEqualTo(6);
+        assertThat(fila.getEstatisticas().gravadosSemFila()).isZero();
+        assertThat(fila.getEstatisticas().falhas()).isZero();
+        verify(auditoriaService, never()).registrar(any(), any(), any());
+    }
+}
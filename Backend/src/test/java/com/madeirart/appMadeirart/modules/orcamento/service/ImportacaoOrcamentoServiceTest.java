@@ -0,0 +1,162 @@
+package com.madeirart.appMadeirart.modules.orcamento.service;
+
+import com.madeirart.appMadeirart.modules.orcamento.dto.ErroImportacaoDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.ItemMaterialDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoResponseDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.ResultadoImportacaoDTO;
+import com.madeirart.appMadeirart.shared.enums.FormatoArquivo;
+import com.madeirart.appMadeirart.shared.enums.StatusOrcamento;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes da importação de orçamentos em massa contra o banco SQLite
+ * Lotes de 2 orçamentos para exercitar várias transações por importação
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:target/orcamento-importacao-test.db",
+        "importacao.lote-orcamentos=2",
+        "importacao.lote-itens=3"
+})
+@Transactional
+@DisplayName("Testes do ImportacaoOrcamentoService")
+class ImportacaoOrcamentoServiceTest {
+
+    @Autowired
+    private ImportacaoOrcamentoService importacaoService;
+
+    @Autowired
+    private OrcamentoService orcamentoService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Deve importar NDJSON e rejeitar as linhas inválidas com o número da linha")
+    void deveImportarNdjson() throws IOException {
+        String arquivo = String.join("\n",
+                linhaJson("Importado Ana", "2025-03-10", "[{\"quantidade\":2,\"descricao\":\"MDF\",\"valorUnitario\":100.00},"
+                        + "{\"quantidade\":1,\"descricao\":\"Puxador\",\"valorUnitario\":50.00}]"),
+                "{ json quebrado",
+                "",
+                linhaJson("", "2025-03-11", "[{\"quantidade\":1,\"descricao\":\"MDF\",\"valorUnitario\":10}]"),
+                linhaJson("Importado Bruno", "2025-03-12", "[{\"quantidade\":3,\"descricao\":\"Cola\",\"valorUnitario\":5}]"),
+                linhaJson("Importado Carla", "2025-03-13", "[]"),
+                linhaJson("Importado Diego", "2025-03-14", "[{\"quantidade\":1,\"descricao\":\"Verniz\",\"valorUnitario\":30}]"));
+
+        ResultadoImportacaoDTO resultado = importar(arquivo, FormatoArquivo.NDJSON);
+
+        assertThat(resultado.importados()).isEqualTo(3);
+        assertThat(resultado.itens()).isEqualTo(4);
+        assertThat(resultado.rejeitados()).isEqualTo(3);
+        assertThat(resultado.erros()).extracting(ErroImportacaoDTO::linha).containsExactly(2L, 4L, 6L);
+        assertThat(resultado.erros().get(0).mensagem()).startsWith("JSON inválido");
+        assertThat(resultado.erros().get(1).mensagem()).contains("cliente");
+        assertThat(resultado.erros().get(2).mensagem()).contains("itens");
+
+        OrcamentoResponseDTO ana = buscarPorCliente("Importado Ana");
+        assertThat(ana.status()).isEqualTo(StatusOrcamento.AGUARDANDO);
+        assertThat(ana.itens()).extracting(ItemMaterialDTO::descricao).containsExactly("MDF", "Puxador");
+        assertThat(ana.subtotalMateriais()).isEqualByComparingTo("250.00");
+        assertThat(ana.valorTotal()).isEqualByComparingTo("325.00");
+        assertThat(buscarPorCliente("Importado Diego").data()).isEqualTo(LocalDate.of(2025, 3, 14));
+    }
+
+    @Test
+    @DisplayName("Deve agrupar as linhas do CSV por orçamento e aceitar vírgula decimal e data brasileira")
+    void deveImportarCsv() throws IOException {
+        String arquivo = String.join("\n",
+                "\uFEFForcamento;cliente;moveis;data;fatorMaoDeObra;cpc;quantidade;descricao;valorUnitario",
+                "A1;Importado Elisa;\"Armário; cozinha\";05/04/2025;0,5;10;2;MDF 15mm;1.234,50",
+                "A1;;;;;;1;\"Puxador \"\"inox\"\"\";20",
+                "B2;Importado Fábio;Mesa;2025-04-06;1;;abc;Madeira;300",
+                "B2;;;;;;1;Cola;10",
+                "C3;Importado Gabi;Estante;2025-04-07;1;;4;Prateleira;25.5");
+
+        ResultadoImportacaoDTO resultado = importar(arquivo, FormatoArquivo.CSV);
+
+        assertThat(resultado.importados()).isEqualTo(2);
+        assertThat(resultado.itens()).isEqualTo(3);
+        assertThat(resultado.rejeitados()).isEqualTo(1);
+        assertThat(resultado.erros()).containsExactly(
+                new ErroImportacaoDTO(4, "Valor inválido na coluna quantidade: abc"));
+
+        OrcamentoResponseDTO elisa = buscarPorCliente("Importado Elisa");
+        assertThat(elisa.moveis()).isEqualTo("Armário; cozinha");
+        assertThat(elisa.data()).isEqualTo(LocalDate.of(2025, 4, 5));
+        assertThat(elisa.fatorMaoDeObra()).isEqualByComparingTo("0.5");
+        assertThat(elisa.cpc()).isEqualByComparingTo("10");
+        assertThat(elisa.itens()).extracting(ItemMaterialDTO::descricao)
+                .containsExactly("MDF 15mm", "Puxador \"inox\"");
+        assertThat(elisa.subtotalMateriais()).isEqualByComparingTo("2489.00");
+
+        assertThat(buscarPorCliente("Importado Gabi").subtotalMateriais()).isEqualByComparingTo(new BigDecimal("102.00"));
+    }
+
+    @Test
+    @DisplayName("Deve aceitar quebra de linha entre aspas e rejeitar orçamento sem itens")
+    void deveImportarCsvComQuebraDeLinha() throws IOException {
+        String arquivo = String.join("\r\n",
+                "orcamento,cliente,moveis,data,fatorMaoDeObra,quantidade,descricao,valorUnitario",
+                "7,Importado Hugo,\"Painel",
+                "sala\",2025-04-08,1,1,\"Ripado",
+                "\"\"freijó\"\"\",80",
+                "8,Importado Iris,Mesa,2025-04-09,1,,,",
+                "9,Importado João,Banco,2025-04-10,1,x,Pinus,5");
+
+        ResultadoImportacaoDTO resultado = importar(arquivo, FormatoArquivo.CSV);
+
+        assertThat(resultado.importados()).isEqualTo(1);
+        assertThat(resultado.rejeitados()).isEqualTo(2);
+        assertThat(resultado.erros()).extracting(ErroImportacaoDTO::linha).containsExactly(5L, 6L);
+        assertThat(resultado.erros().get(0).mensagem()).startsWith("itens: ");
+        assertThat(resultado.erros().get(1).mensagem()).isEqualTo("Valor inválido na coluna quantidade: x");
+
+        OrcamentoResponseDTO hugo = buscarPorCliente("Importado Hugo");
+        assertThat(hugo.moveis()).isEqualTo("Painel\nsala");
+        assertThat(hugo.itens()).extracting(ItemMaterialDTO::descricao).containsExactly("Ripado\n\"freijó\"");
+    }
+
+    @Test
+    @DisplayName("Deve recusar CSV sem as colunas obrigatórias")
+    void deveRecusarCsvSemColunas() {
+        assertThatThrownBy(() -> importar("orcamento,cliente,data\nA,Ana,2025-01-01", FormatoArquivo.CSV))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("moveis")
+                .hasMessageContaining("valorUnitario");
+    }
+
+    private ResultadoImportacaoDTO importar(String arquivo, FormatoArquivo formato) throws IOException {
+        ResultadoImportacaoDTO resultado = importacaoService.importar(
+                new ByteArrayInputStream(arquivo.getBytes(StandardCharsets.UTF_8)), formato);
+        entityManager.clear();
+        return resultado;
+    }
+
+    private OrcamentoResponseDTO buscarPorCliente(String cliente) {
+        List<OrcamentoResponseDTO> encontrados = orcamentoService.listarTodos().stream()
+                .filter(orcamento -> orcamento.cliente().equals(cliente))
+                .toList();
+        assertThat(encontrados).hasSize(1);
+        return orcamentoService.buscarPorId(encontrados.get(0).id());
+    }
+
+    private String linhaJson(String cliente, String data, String itens) {
+        return "{\"cliente\":\"" + cliente + "\",\"moveis\":\"Móveis\",\"data\":\"" + data
+                + "\",\"fatorMaoDeObra\":0.3,\"itens\":" + itens + "}";
+    }
+}
@@ -0,0 +1,231 @@
+package com.madeirart.appMadeirart.modules.orcamento.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.madeirart.appMadeirart.modules.orcamento.dto.ItemMaterialDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoAuditoriaDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoRequestDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoResponseDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.PaginaHistoricoDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.ResumoAuditoriaDTO;
+import com.madeirart.appMadeirart.modules.orcamento.entity.OrcamentoAuditoria;
+import com.madeirart.appMadeirart.modules.orcamento.repository.OrcamentoAuditoriaRepository;
+import com.madeirart.appMadeirart.shared.enums.StatusOrcamento;
+import com.madeirart.appMadeirart.shared.enums.TipoSnapshotAuditoria;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes do histórico de auditoria por diferenças contra o banco SQLite
+ * Checkpoint a cada 4 versões e compactação a partir de 200 caracteres
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:target/orcamento-auditoria-test.db",
+        "auditoria.intervalo-checkpoint=4",
+        "auditoria.tamanho-minimo-compactacao=200"
+})
+@Transactional
+@DisplayName("Testes do OrcamentoAuditoriaService")
+class OrcamentoAuditoriaServiceTest {
+
+    @Autowired
+    private OrcamentoAuditoriaService auditoriaService;
+
+    @Autowired
+    private OrcamentoService orcamentoService;
+
+    @Autowired
+    private OrcamentoAuditoriaRepository auditoriaRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Deve gravar diferenças com checkpoints e reconstruir cada versão igual ao original")
+    void deveReconstruirTodasAsVersoes() throws Exception {
+        OrcamentoResponseDTO orcamento = orcamentoService.criarOrcamento(requisicao("Ana", 20, 0));
+
+        // Cada edição lê o orçamento do banco, como em requisições separadas
+        // A transação do teste não é confirmada, então a fila não grava: o registro é feito aqui
+        List<String> esperados = new ArrayList<>();
+        for (int edicao = 1; edicao <= 9; edicao++) {
+            entityManager.flush();
+            entityManager.clear();
+            OrcamentoResponseDTO anterior = orcamentoService.buscarPorId(orcamento.id());
+            esperados.add(objectMapper.writeValueAsString(anterior));
+            auditoriaService.registrar(anterior, "Atualização de orçamento");
+            if (edicao == 5) {
+                orcamentoService.alterarStatus(orcamento.id(), StatusOrcamento.CANCELADA);
+            } else {
+                orcamentoService.atualizarOrcamento(orcamento.id(), requisicao("Ana " + edicao, 20, edicao));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<OrcamentoAuditoria> linhas = auditoriaRepository.findByOrcamentoIdOrderByIdAsc(orcamento.id());
+        assertThat(linhas).extracting(OrcamentoAuditoria::getVersao).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(linhas).extracting(OrcamentoAuditoria::getTipoSnapshot).containsExactly(
+                TipoSnapshotAuditoria.COMPLETO, TipoSnapshotAuditoria.DIFERENCA, TipoSnapshotAuditoria.DIFERENCA,
+                TipoSnapshotAuditoria.DIFERENCA, TipoSnapshotAuditoria.COMPLETO, TipoSnapshotAuditoria.DIFERENCA,
+                TipoSnapshotAuditoria.DIFERENCA, TipoSnapshotAuditoria.DIFERENCA, TipoSnapshotAuditoria.COMPLETO);
+
+        // Snapshots completos são compactados; diferenças ocupam menos que o checkpoint anterior
+        assertThat(linhas.get(0).getCompactado()).isTrue();
+        assertThat(linhas.get(0).getSnapshotJson()).doesNotStartWith("{");
+        assertThat(linhas.get(1).getSnapshotJson().length()).isLessThan(linhas.get(0).getSnapshotJson().length());
+        assertThat(linhas.get(5).getSnapshotJson().length()).isLessThan(linhas.get(4).getSnapshotJson().length());
+
+        for (int i = 0; i < linhas.size(); i++) {
+            assertThat(auditoriaService.reconstruirSnapshot(linhas.get(i).getId()))
+                    .as("versão %d", i + 1)
+                    .isEqualTo(esperados.get(i));
+        }
+
+        List<String> maisRecentePrimeiro = new ArrayList<>(esperados);
+        Collections.reverse(maisRecentePrimeiro);
+        List<OrcamentoAuditoriaDTO> historico = auditoriaService.listarHistorico(orcamento.id());
+        assertThat(historico).extracting(OrcamentoAuditoriaDTO::snapshotJson)
+                .containsExactlyElementsOf(maisRecentePrimeiro);
+    }
+
+    @Test
+    @DisplayName("Deve continuar o histórico de linhas antigas gravadas sem versão")
+    void deveContinuarHistoricoAntigo() throws Exception {
+        OrcamentoResponseDTO orcamento = orcamentoService.criarOrcamento(requisicao("Bruno", 3, 0));
+        String antigo = objectMapper.writeValueAsString(orcamento);
+        auditoriaRepository.save(OrcamentoAuditoria.builder()
+                .orcamentoId(orcamento.id())
+                .snapshotJson(antigo)
+                .dataAlteracao(LocalDateTime.now().minusDays(1))
+                .descricaoAlteracao("Atualização de orçamento")
+                .build());
+
+        auditoriaService.registrar(orcamento, "Atualização de orçamento");
+        OrcamentoResponseDTO atual = orcamentoService.atualizarOrcamento(orcamento.id(), requisicao("Bruno", 3, 1));
+        OrcamentoAuditoria nova = auditoriaService.registrar(atual, "Atualização de orçamento");
+
+        assertThat(nova.getTipoSnapshot()).isEqualTo(TipoSnapshotAuditoria.DIFERENCA);
+        assertThat(nova.getVersao()).isEqualTo(3);
+        assertThat(auditoriaService.reconstruirSnapshot(nova.getId()))
+                .isEqualTo(objectMapper.writeValueAsString(atual));
+        assertThat(auditoriaService.listarHistorico(orcamento.id()).get(2).snapshotJson()).isEqualTo(antigo);
+    }
+
+    @Test
+    @DisplayName("Deve gravar diferença vazia quando o estado não mudou")
+    void deveGravarDiferencaVaziaSemAlteracao() {
+        OrcamentoResponseDTO orcamento = orcamentoService.criarOrcamento(requisicao("Daniel", 3, 0));
+
+        auditoriaService.registrar(orcamento, "Atualização de orçamento");
+        OrcamentoAuditoria repetida = auditoriaService.registrar(orcamento, "Alteração de status");
+
+        // Ids e valores iguais ao gravado não entram na diferença
+        assertThat(repetida.getTipoSnapshot()).isEqualTo(TipoSnapshotAuditoria.DIFERENCA);
+        assertThat(repetida.getSnapshotJson()).isEqualTo("{}");
+    }
+
+    @Test
+    @DisplayName("Deve listar o histórico em páginas sem snapshot e buscar uma versão sob demanda")
+    void deveListarHistoricoEmPaginas() throws Exception {
+        OrcamentoResponseDTO orcamento = orcamentoService.criarOrcamento(requisicao("Carla", 2, 0));
+        List<String> esperados = new ArrayList<>();
+        for (int edicao = 1; edicao <= 5; edicao++) {
+            entityManager.flush();
+            entityManager.clear();
+            OrcamentoResponseDTO anterior = orcamentoService.buscarPorId(orcamento.id());
+            esperados.add(objectMapper.writeValueAsString(anterior));
+            auditoriaService.registrar(anterior, "Atualização de orçamento");
+            orcamentoService.atualizarOrcamento(orcamento.id(), requisicao("Carla " + edicao, 2, 0));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ResumoAuditoriaDTO> resumos = new ArrayList<>();
+        PaginaHistoricoDTO pagina = auditoriaService.listarResumos(orcamento.id(), null, 2);
+        assertThat(pagina.total()).isEqualTo(5);
+        resumos.addAll(pagina.alteracoes());
+        while (pagina.proximoCursor() != null) {
+            pagina = auditoriaService.listarResumos(orcamento.id(), pagina.proximoCursor(), 2);
+            assertThat(pagina.total()).isNull();
+            resumos.addAll(pagina.alteracoes());
+        }
+
+        assertThat(resumos).extracting(ResumoAuditoriaDTO::versao).containsExactly(5, 4, 3, 2, 1);
+        assertThat(resumos.get(4).camposAlterados()).isNull();
+        assertThat(resumos.get(0).camposAlterados()).contains("cliente").doesNotContain("moveis", "valorTotal");
+
+        OrcamentoAuditoriaDTO versao = auditoriaService.buscarVersao(orcamento.id(), resumos.get(2).id());
+        assertThat(versao.snapshotJson()).isEqualTo(esperados.get(2));
+
+        assertThatThrownBy(() -> auditoriaService.buscarVersao(orcamento.id() + 1, resumos.get(2).id()))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> auditoriaService.listarResumos(orcamento.id(), "invalido", 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir versões cuja cadeia de diferenças é maior que o intervalo atual")
+    void deveReconstruirCadeiaMaiorQueIntervalo() throws Exception {
+        OrcamentoResponseDTO orcamento = orcamentoService.criarOrcamento(requisicao("Diego", 1, 0));
+        entityManager.flush();
+        entityManager.clear();
+        orcamento = orcamentoService.buscarPorId(orcamento.id());
+
+        // Linhas gravadas com um intervalo maior: 6 diferenças depois do snapshot completo
+        OrcamentoAuditoria ultima = auditoriaService.registrar(orcamento, "Atualização de orçamento");
+        for (int edicao = 1; edicao <= 6; edicao++) {
+            ultima = auditoriaRepository.save(OrcamentoAuditoria.builder()
+                    .orcamentoId(orcamento.id())
+                    .versao(edicao + 1)
+                    .tipoSnapshot(TipoSnapshotAuditoria.DIFERENCA)
+                    .compactado(false)
+                    .snapshotJson("{\"cliente\":\"Diego " + edicao + "\"}")
+                    .dataAlteracao(LocalDateTime.now())
+                    .descricaoAlteracao("Atualização de orçamento")
+                    .camposAlterados("cliente")
+                    .build());
+        }
+
+        String reconstruido = auditoriaService.reconstruirSnapshot(ultima.getId());
+        assertThat(objectMapper.readTree(reconstruido).get("cliente").asText()).isEqualTo("Diego 6");
+        assertThat(objectMapper.readTree(reconstruido).get("id").asLong()).isEqualTo(orcamento.id());
+
+        // O mesmo estado gravado de novo não tem campos alterados (ids e decimais comparados pelo JSON)
+        OrcamentoResponseDTO atual = orcamentoService.atualizarOrcamento(orcamento.id(), requisicao("Diego 6", 1, 0));
+        entityManager.flush();
+        entityManager.clear();
+        atual = orcamentoService.buscarPorId(atual.id());
+        auditoriaService.registrar(atual, "Atualização de orçamento");
+        OrcamentoAuditoria repetida = auditoriaService.registrar(atual, "Atualização de orçamento");
+        assertThat(repetida.getTipoSnapshot()).isEqualTo(TipoSnapshotAuditoria.DIFERENCA);
+        assertThat(repetida.getCamposAlterados()).isEmpty();
+    }
+
+    private OrcamentoRequestDTO requisicao(String cliente, int quantidadeItens, int precoAlterado) {
+        List<ItemMaterialDTO> itens = IntStream.range(0, quantidadeItens)
+                .mapToObj(i -> new ItemMaterialDTO(null, new BigDecimal("2"), "Placa MDF " + i,
+                        new BigDecimal(i == 0 ? 100 + precoAlterado : 100), null))
+                .toList();
+        return new OrcamentoRequestDTO(cliente, "Armário", LocalDate.of(2026, 1, 10), LocalDate.of(2026, 2, 10),
+                new BigDecimal("1.5"), BigDecimal.ZERO, BigDecimal.ZERO, itens);
+    }
+}
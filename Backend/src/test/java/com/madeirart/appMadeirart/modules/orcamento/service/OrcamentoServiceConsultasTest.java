@@ -0,0 +1,244 @@
+package com.madeirart.appMadeirart.modules.orcamento.service;
+
+import com.madeirart.appMadeirart.modules.orcamento.dto.FiltroOrcamentoDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.ItemMaterialDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoRequestDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoResponseDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.PaginaOrcamentosDTO;
+import com.madeirart.appMadeirart.modules.orcamento.entity.ItemMaterial;
+import com.madeirart.appMadeirart.modules.orcamento.entity.Orcamento;
+import com.madeirart.appMadeirart.modules.orcamento.entity.Parcela;
+import com.madeirart.appMadeirart.shared.enums.StatusOrcamento;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes de quantidade de consultas do OrcamentoService contra o banco SQLite
+ * Cada teste roda em uma transação desfeita ao final
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:target/orcamento-consultas-test.db",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional
+@DisplayName("Testes de consultas do OrcamentoService")
+class OrcamentoServiceConsultasTest {
+
+    @Autowired
+    private OrcamentoService orcamentoService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Listagem deve executar a mesma quantidade de consultas para 5 ou 50 orçamentos")
+    void deveListarComQuantidadeConstanteDeConsultas() {
+        criarOrcamentos(5);
+        long consultasCom5 = contarConsultasDaListagem(5);
+
+        criarOrcamentos(45);
+        long consultasCom50 = contarConsultasDaListagem(50);
+
+        assertThat(consultasCom50).isEqualTo(consultasCom5);
+        assertThat(consultasCom50).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Paginação deve percorrer o filtro em ordem, sem repetir, com consultas constantes por página")
+    void devePaginarComCursor() {
+        criarOrcamentos(25);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Data dos orçamentos vai de hoje - 0 a hoje - 4 (5 por dia); "Cliente 1x" casa com 1 e 10..19
+        FiltroOrcamentoDTO filtro = FiltroOrcamentoDTO.builder()
+                .cliente("CLIENTE 1")
+                .status(StatusOrcamento.AGUARDANDO)
+                .build();
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<OrcamentoResponseDTO> lidos = new ArrayList<>();
+        List<Long> consultasPorPagina = new ArrayList<>();
+        String cursor = null;
+        Long total = null;
+        do {
+            estatisticas.clear();
+            PaginaOrcamentosDTO pagina = orcamentoService.listarPagina(filtro, cursor, 4);
+            consultasPorPagina.add(estatisticas.getPrepareStatementCount());
+            if (cursor == null) {
+                total = pagina.total();
+            } else {
+                assertThat(pagina.total()).isNull();
+            }
+            assertThat(pagina.orcamentos()).allSatisfy(o -> assertThat(o.itens()).hasSize(2));
+            lidos.addAll(pagina.orcamentos());
+            cursor = pagina.proximoCursor();
+        } while (cursor != null);
+
+        assertThat(total).isEqualTo(11L);
+        assertThat(lidos).hasSize(11);
+        assertThat(lidos).extracting(OrcamentoResponseDTO::id).doesNotHaveDuplicates();
+        assertThat(lidos).isSortedAccordingTo((a, b) -> a.data().equals(b.data())
+                ? b.id().compareTo(a.id())
+                : b.data().compareTo(a.data()));
+        // Primeira página conta o total; as demais só leem orçamentos, itens e parcelas
+        assertThat(consultasPorPagina.get(0)).isEqualTo(4L);
+        assertThat(consultasPorPagina.subList(1, consultasPorPagina.size())).containsOnly(3L);
+    }
+
+    @Test
+    @DisplayName("Paginação deve filtrar pela janela de previsão de entrega e rejeitar cursor inválido")
+    void deveFiltrarPorEntregaERejeitarCursorInvalido() {
+        criarOrcamentos(10);
+        entityManager.flush();
+        entityManager.clear();
+
+        FiltroOrcamentoDTO filtro = FiltroOrcamentoDTO.builder()
+                .entregaInicio(LocalDate.now().plusDays(2))
+                .entregaFim(LocalDate.now().plusDays(3))
+                .build();
+
+        PaginaOrcamentosDTO pagina = orcamentoService.listarPagina(filtro, null, 50);
+
+        assertThat(pagina.total()).isEqualTo(pagina.orcamentos().size());
+        assertThat(pagina.orcamentos()).isNotEmpty().allSatisfy(o -> assertThat(o.previsaoEntrega())
+                .isBetween(LocalDate.now().plusDays(2), LocalDate.now().plusDays(3)));
+        assertThat(pagina.proximoCursor()).isNull();
+        assertThatThrownBy(() -> orcamentoService.listarPagina(filtro, "nao-e-cursor", 50))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Editar um preço em um orçamento de 60 itens deve alterar só a linha desse item")
+    void deveAtualizarSoOsItensAlterados() {
+        List<ItemMaterialDTO> itens = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            itens.add(new ItemMaterialDTO(null, BigDecimal.ONE, "Item " + i, new BigDecimal("10.00"), null));
+        }
+        OrcamentoResponseDTO criado = orcamentoService.criarOrcamento(requisicao(itens));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ItemMaterialDTO> editados = new ArrayList<>(orcamentoService.buscarPorId(criado.id()).itens());
+        ItemMaterialDTO editado = editados.get(5);
+        editados.set(5, new ItemMaterialDTO(editado.id(), editado.quantidade(), editado.descricao(),
+                new BigDecimal("12.50"), null));
+        ItemMaterialDTO removido = editados.remove(59);
+        editados.add(new ItemMaterialDTO(null, BigDecimal.ONE, "Item novo", new BigDecimal("7.00"), null));
+        entityManager.clear();
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+        orcamentoService.atualizarOrcamento(criado.id(), requisicao(editados));
+        entityManager.flush();
+
+        EntityStatistics itensAfetados = estatisticas.getEntityStatistics(ItemMaterial.class.getName());
+        assertThat(itensAfetados.getUpdateCount()).isEqualTo(1);
+        assertThat(itensAfetados.getInsertCount()).isEqualTo(1);
+        assertThat(itensAfetados.getDeleteCount()).isEqualTo(1);
+
+        entityManager.clear();
+        OrcamentoResponseDTO atualizado = orcamentoService.buscarPorId(criado.id());
+        assertThat(atualizado.itens()).hasSize(60);
+        assertThat(atualizado.itens()).extracting(ItemMaterialDTO::id)
+                .contains(editado.id())
+                .doesNotContain(removido.id());
+        // 59 × 10 − 10 + 12,50 + 7
+        assertThat(atualizado.subtotalMateriais()).isEqualByComparingTo("599.50");
+    }
+
+    @Test
+    @DisplayName("Itens novos e reordenados devem ficar na ordem da requisição")
+    void deveManterAOrdemDosItensDaRequisicao() {
+        List<ItemMaterialDTO> itens = new ArrayList<>();
+        for (String descricao : List.of("Porta", "Gaveta", "Puxador")) {
+            itens.add(new ItemMaterialDTO(null, BigDecimal.ONE, descricao, new BigDecimal("10.00"), null));
+        }
+        OrcamentoResponseDTO criado = orcamentoService.criarOrcamento(requisicao(itens));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ItemMaterialDTO> gravados = orcamentoService.buscarPorId(criado.id()).itens();
+        List<ItemMaterialDTO> editados = new ArrayList<>(List.of(gravados.get(2), gravados.get(0), gravados.get(1)));
+        editados.add(1, new ItemMaterialDTO(null, BigDecimal.ONE, "Dobradiça", new BigDecimal("5.00"), null));
+        entityManager.clear();
+
+        OrcamentoResponseDTO resposta = orcamentoService.atualizarOrcamento(criado.id(), requisicao(editados));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(resposta.itens()).extracting(ItemMaterialDTO::descricao)
+                .containsExactly("Puxador", "Dobradiça", "Porta", "Gaveta");
+        assertThat(orcamentoService.buscarPorId(criado.id()).itens()).extracting(ItemMaterialDTO::descricao)
+                .containsExactly("Puxador", "Dobradiça", "Porta", "Gaveta");
+    }
+
+    private long contarConsultasDaListagem(int quantidadeEsperada) {
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        List<OrcamentoResponseDTO> orcamentos = orcamentoService.listarTodos();
+
+        assertThat(orcamentos).hasSize(quantidadeEsperada);
+        assertThat(orcamentos).allSatisfy(orcamento -> {
+            assertThat(orcamento.itens()).hasSize(2);
+            assertThat(orcamento.statusRecebimento().parcelas()).hasSize(2);
+        });
+        return estatisticas.getPrepareStatementCount();
+    }
+
+    private void criarOrcamentos(int quantidade) {
+        for (int i = 0; i < quantidade; i++) {
+            Orcamento orcamento = new Orcamento();
+            orcamento.setCliente("Cliente " + i);
+            orcamento.setMoveis("Armário");
+            orcamento.setData(LocalDate.now().minusDays(i % 5));
+            orcamento.setPrevisaoEntrega(LocalDate.now().plusDays(i % 7));
+            orcamento.setFatorMaoDeObra(new BigDecimal("1.5"));
+            for (int item = 1; item <= 2; item++) {
+                ItemMaterial material = new ItemMaterial();
+                material.setQuantidade(BigDecimal.valueOf(item));
+                material.setDescricao("Placa MDF " + item);
+                material.setValorUnitario(new BigDecimal("100.00"));
+                orcamento.adicionarItem(material);
+            }
+            entityManager.persist(orcamento);
+
+            for (int numero = 1; numero <= 2; numero++) {
+                entityManager.persist(Parcela.builder()
+                        .orcamento(orcamento)
+                        .numeroParcela(numero)
+                        .valor(new BigDecimal("225.00"))
+                        .dataVencimento(LocalDate.now().plusMonths(numero))
+                        .build());
+            }
+        }
+    }
+
+    private OrcamentoRequestDTO requisicao(List<ItemMaterialDTO> itens) {
+        return new OrcamentoRequestDTO("Cliente grande", "Cozinha completa", LocalDate.now(), null,
+                new BigDecimal("1.5"), null, null, itens);
+    }
+}
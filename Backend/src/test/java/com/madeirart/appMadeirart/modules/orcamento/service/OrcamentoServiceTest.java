@@ -1,19 +1,22 @@
 package com.madeirart.appMadeirart.modules.orcamento.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.madeirart.appMadeirart.modules.financeiro.service.LivroCaixaService;
+import com.madeirart.appMadeirart.modules.orcamento.dto.EstatisticasItensOrcamentoDTO;
 import com.madeirart.appMadeirart.modules.orcamento.dto.IniciarProducaoDTO;
 import com.madeirart.appMadeirart.modules.orcamento.dto.ItemMaterialDTO;
 import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoAuditoriaDTO;
 import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoRequestDTO;
 import com.madeirart.appMadeirart.modules.orcamento.dto.OrcamentoResponseDTO;
+import com.madeirart.appMadeirart.modules.orcamento.dto.PaginaHistoricoDTO;
 import com.madeirart.appMadeirart.modules.orcamento.dto.ParcelaDTO;
 import com.madeirart.appMadeirart.modules.orcamento.entity.ItemMaterial;
 import com.madeirart.appMadeirart.modules.orcamento.entity.Orcamento;
-import com.madeirart.appMadeirart.modules.orcamento.entity.OrcamentoAuditoria;
-import com.madeirart.appMadeirart.modules.orcamento.repository.OrcamentoAuditoriaRepository;
+import com.madeirart.appMadeirart.modules.orcamento.entity.Parcela;
 import com.madeirart.appMadeirart.modules.orcamento.repository.OrcamentoRepository;
 import com.madeirart.appMadeirart.modules.orcamento.repository.ParcelaRepository;
 import com.madeirart.appMadeirart.shared.enums.StatusOrcamento;
+import com.madeirart.appMadeirart.shared.enums.StatusParcela;
+import com.madeirart.appMadeirart.shared.event.AuditoriaOrcamentoEvent;
 
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,6 +26,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -32,6 +36,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 /**
@@ -46,13 +51,19 @@ class OrcamentoServiceTest {
     private OrcamentoRepository orcamentoRepository;
 
     @Mock
-    private OrcamentoAuditoriaRepository auditoriaRepository;
+    private OrcamentoAuditoriaService auditoriaService;
+
+    @Mock
+    private FilaAuditoriaService filaAuditoria;
 
     @Mock
     private ParcelaRepository parcelaRepository;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private LivroCaixaService livroCaixaService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private OrcamentoService orcamentoService;
@@ -136,6 +147,37 @@ class OrcamentoServiceTest {
         assertThat(response.get(0).status()).isEqualTo(StatusOrcamento.AGUARDANDO);
     }
 
+    @Test
+    @DisplayName("Deve listar orçamentos buscando as parcelas de todos em uma única consulta")
+    void deveListarTodosComParcelasEmUmaConsulta() {
+        Orcamento outro = new Orcamento();
+        outro.setId(2L);
+        outro.setCliente("Maria Souza");
+        outro.setStatus(StatusOrcamento.INICIADA);
+        outro.setFatorMaoDeObra(new BigDecimal("1.5"));
+        outro.setCustosExtras(BigDecimal.ZERO);
+        outro.setCpc(BigDecimal.ZERO);
+
+        Parcela paga = Parcela.builder()
+                .id(10L)
+                .orcamento(outro)
+                .numeroParcela(1)
+                .valor(new BigDecimal("100.00"))
+                .status(StatusParcela.PAGO)
+                .build();
+
+        when(orcamentoRepository.findAllComItens()).thenReturn(List.of(orcamento, outro));
+        when(parcelaRepository.findByOrcamentoIdInOrderByNumeroParcela(List.of(1L, 2L))).thenReturn(List.of(paga));
+
+        List<OrcamentoResponseDTO> response = orcamentoService.listarTodos();
+
+        assertThat(response).hasSize(2);
+        assertThat(response.get(0).statusRecebimento().parcelas()).isEmpty();
+        assertThat(response.get(1).statusRecebimento().parcelas()).hasSize(1);
+        assertThat(response.get(1).statusRecebimento().totalJaConfirmado()).isEqualByComparingTo("100.00");
+        verify(parcelaRepository, never()).findByOrcamentoIdOrderByNumeroParcela(any());
+    }
+
     @Test
     @DisplayName("Deve atualizar orçamento")
     void deveAtualizarOrcamento() {
@@ -148,6 +190,95 @@ class OrcamentoServiceTest {
         verify(orcamentoRepository).save(any(Orcamento.class));
     }
 
+    @Test
+    @DisplayName("Deve persistir os totais calculados ao criar orçamento")
+    void devePersistirTotaisAoCriar() {
+        when(orcamentoRepository.save(any(Orcamento.class))).thenAnswer(invocation -> {
+            Orcamento salvo = invocation.getArgument(0);
+            salvo.setId(1L);
+            salvo.setStatus(StatusOrcamento.AGUARDANDO);
+            return salvo;
+        });
+
+        OrcamentoResponseDTO response = orcamentoService.criarOrcamento(requestDTO);
+
+        // 4 × 180 = 720; mão de obra 720 × 1,5 = 1080; total 720 + 1080 + 250 + 150
+        verify(orcamentoRepository).save(argThat(salvo -> salvo.getSubtotalMateriais().compareTo(new BigDecimal("720")) == 0
+                && salvo.getValorMaoDeObra().compareTo(new BigDecimal("1080")) == 0
+                && salvo.getValorTotal().compareTo(new BigDecimal("2200")) == 0));
+        assertThat(response.valorTotal()).isEqualByComparingTo("2200");
+    }
+
+    @Test
+    @DisplayName("Deve recalcular os totais persistidos ao atualizar os itens")
+    void deveRecalcularTotaisAoAtualizar() {
+        orcamento.setSubtotalMateriais(new BigDecimal("10.00"));
+        orcamento.setValorMaoDeObra(new BigDecimal("15.00"));
+        orcamento.setValorTotal(new BigDecimal("425.00"));
+        when(orcamentoRepository.findById(1L)).thenReturn(Optional.of(orcamento));
+        when(orcamentoRepository.save(any(Orcamento.class))).thenReturn(orcamento);
+
+        OrcamentoResponseDTO response = orcamentoService.atualizarOrcamento(1L, requestDTO);
+
+        assertThat(orcamento.getSubtotalMateriais()).isEqualByComparingTo("720");
+        assertThat(orcamento.getValorTotal()).isEqualByComparingTo("2200");
+        assertThat(response.valorMaoDeObra()).isEqualByComparingTo("1080");
+    }
+
+    @Test
+    @DisplayName("Deve casar os itens pelo ID e alterar só o que mudou ao atualizar")
+    void deveMesclarItensAoAtualizar() {
+        ItemMaterial inalterado = item(10L, "2", "Placa MDF", "100.00");
+        ItemMaterial alterado = item(11L, "1", "Puxador", "20.00");
+        ItemMaterial removido = item(12L, "3", "Dobradiça", "5.00");
+        List.of(inalterado, alterado, removido).forEach(orcamento::adicionarItem);
+        when(orcamentoRepository.findById(1L)).thenReturn(Optional.of(orcamento));
+        when(orcamentoRepository.save(any(Orcamento.class))).thenReturn(orcamento);
+
+        OrcamentoRequestDTO requisicao = new OrcamentoRequestDTO(
+                "João Silva", "Armário planejado", LocalDate.now(), null, new BigDecimal("1.5"),
+                BigDecimal.ZERO, BigDecimal.ZERO,
+                List.of(new ItemMaterialDTO(10L, new BigDecimal("2.000"), "Placa MDF", new BigDecimal("100"), null),
+                        new ItemMaterialDTO(11L, new BigDecimal("1"), "Puxador", new BigDecimal("25.00"), null),
+                        new ItemMaterialDTO(null, new BigDecimal("1"), "Cola", new BigDecimal("15.00"), null)));
+
+        orcamentoService.atualizarOrcamento(1L, requisicao);
+
+        assertThat(orcamento.getItens()).hasSize(3);
+        assertThat(orcamento.getItens().get(0)).isSameAs(inalterado);
+        assertThat(inalterado.getQuantidade()).isEqualTo(new BigDecimal("2"));
+        assertThat(orcamento.getItens().get(1)).isSameAs(alterado);
+        assertThat(alterado.getValorUnitario()).isEqualByComparingTo("25.00");
+        assertThat(orcamento.getItens().get(2).getId()).isNull();
+        assertThat(orcamento.getItens().get(2).getDescricao()).isEqualTo("Cola");
+        assertThat(removido.getOrcamento()).isNull();
+        // 200 + 25 + 15
+        assertThat(orcamento.getSubtotalMateriais()).isEqualByComparingTo("240");
+
+        EstatisticasItensOrcamentoDTO estatisticas = orcamentoService.getEstatisticasItens();
+        assertThat(estatisticas.atualizacoes()).isEqualTo(1);
+        assertThat(estatisticas.inseridos()).isEqualTo(1);
+        assertThat(estatisticas.alterados()).isEqualTo(1);
+        assertThat(estatisticas.removidos()).isEqualTo(1);
+        assertThat(estatisticas.inalterados()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve preencher os totais de orçamentos gravados sem eles")
+    void devePreencherTotaisPendentes() {
+        ItemMaterial item = new ItemMaterial();
+        item.setQuantidade(new BigDecimal("2"));
+        item.setValorUnitario(new BigDecimal("50.00"));
+        orcamento.adicionarItem(item);
+        when(orcamentoRepository.findByValorTotalIsNull()).thenReturn(List.of(orcamento));
+
+        int atualizados = orcamentoService.preencherTotaisPendentes();
+
+        assertThat(atualizados).isEqualTo(1);
+        assertThat(orcamento.getValorTotal()).isEqualByComparingTo("650.00");
+        verify(orcamentoRepository).saveAll(List.of(orcamento));
+    }
+
     @Test
     @DisplayName("Deve lançar exceção ao atualizar orçamento inexistente")
     void deveLancarExcecaoAoAtualizar() {
@@ -158,12 +289,15 @@ class OrcamentoServiceTest {
     }
 
     @Test
-    @DisplayName("Deve deletar orçamento")
+    @DisplayName("Deve deletar orçamento estornando as parcelas recebidas")
     void deveDeletarOrcamento() {
+        Parcela parcelaPaga = Parcela.builder().id(5L).orcamento(orcamento).status(StatusParcela.PAGO).build();
         when(orcamentoRepository.existsById(1L)).thenReturn(true);
+        when(parcelaRepository.findByOrcamentoIdAndStatus(1L, StatusParcela.PAGO)).thenReturn(List.of(parcelaPaga));
 
         orcamentoService.deletarOrcamento(1L);
 
+        verify(livroCaixaService).registrarExclusaoParcela(parcelaPaga);
         verify(orcamentoRepository).deleteById(1L);
     }
 
@@ -172,18 +306,45 @@ class OrcamentoServiceTest {
     void deveSalvarAuditoriaAoAtualizar() throws Exception {
         when(orcamentoRepository.findById(1L)).thenReturn(Optional.of(orcamento));
         when(orcamentoRepository.save(any(Orcamento.class))).thenReturn(orcamento);
-        when(objectMapper.writeValueAsString(any())).thenReturn("{\"id\":1}");
-        when(auditoriaRepository.save(any(OrcamentoAuditoria.class))).thenReturn(new OrcamentoAuditoria());
 
         orcamentoService.atualizarOrcamento(1L, requestDTO);
 
-        verify(auditoriaRepository).save(any(OrcamentoAuditoria.class));
+        // O snapshot capturado é o estado anterior à atualização; a gravação fica para a fila
+        verify(eventPublisher).publishEvent(argThat((Object evento) -> evento instanceof AuditoriaOrcamentoEvent auditoria
+                && auditoria.snapshot().id().equals(1L)
+                && auditoria.descricao().equals("Atualização de orçamento")));
+        verifyNoInteractions(auditoriaService);
+    }
+
+    @Test
+    @DisplayName("Deve esperar a fila de auditoria só na primeira página do histórico")
+    void deveBuscarHistoricoPaginado() {
+        PaginaHistoricoDTO primeira = PaginaHistoricoDTO.builder().alteracoes(List.of()).proximoCursor("c").total(3L).build();
+        PaginaHistoricoDTO segunda = PaginaHistoricoDTO.builder().alteracoes(List.of()).build();
+        when(orcamentoRepository.existsById(1L)).thenReturn(true);
+        when(auditoriaService.listarResumos(1L, null, 2)).thenReturn(primeira);
+        when(auditoriaService.listarResumos(1L, "c", 2)).thenReturn(segunda);
+
+        assertThat(orcamentoService.buscarHistoricoPagina(1L, null, 2)).isSameAs(primeira);
+        assertThat(orcamentoService.buscarHistoricoPagina(1L, "c", 2)).isSameAs(segunda);
+
+        verify(filaAuditoria, times(1)).aguardarGravacao(eq(1L), any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao buscar página do histórico de orçamento inexistente")
+    void deveLancarExcecaoAoBuscarHistoricoPaginadoDeOrcamentoInexistente() {
+        when(orcamentoRepository.existsById(999L)).thenReturn(false);
+
+        assertThatThrownBy(() -> orcamentoService.buscarHistoricoPagina(999L, null, 20))
+                .isInstanceOf(EntityNotFoundException.class);
+        verifyNoInteractions(auditoriaService);
     }
 
     @Test
     @DisplayName("Deve buscar histórico de auditoria")
     void deveBuscarHistorico() {
-        OrcamentoAuditoria auditoria1 = OrcamentoAuditoria.builder()
+        OrcamentoAuditoriaDTO auditoria1 = OrcamentoAuditoriaDTO.builder()
                 .id(1L)
                 .orcamentoId(1L)
                 .snapshotJson("{\"id\":1,\"cliente\":\"João Silva\"}")
@@ -191,7 +352,7 @@ class OrcamentoServiceTest {
                 .descricaoAlteracao("Atualização de orçamento")
                 .build();
 
-        OrcamentoAuditoria auditoria2 = OrcamentoAuditoria.builder()
+        OrcamentoAuditoriaDTO auditoria2 = OrcamentoAuditoriaDTO.builder()
                 .id(2L)
                 .orcamentoId(1L)
                 .snapshotJson("{\"id\":1,\"cliente\":\"João Silva Atualizado\"}")
@@ -200,15 +361,15 @@ class OrcamentoServiceTest {
                 .build();
 
         when(orcamentoRepository.existsById(1L)).thenReturn(true);
-        when(auditoriaRepository.findByOrcamentoIdOrderByDataAlteracaoDesc(1L))
-                .thenReturn(List.of(auditoria2, auditoria1));
+        when(auditoriaService.listarHistorico(1L)).thenReturn(List.of(auditoria2, auditoria1));
 
         List<OrcamentoAuditoriaDTO> historico = orcamentoService.buscarHistorico(1L);
 
         assertThat(historico).hasSize(2);
         assertThat(historico.get(0).id()).isEqualTo(2L);
         assertThat(historico.get(1).id()).isEqualTo(1L);
-        verify(auditoriaRepository).findByOrcamentoIdOrderByDataAlteracaoDesc(1L);
+        verify(filaAuditoria).aguardarGravacao(eq(1L), any());
+        verify(auditoriaService).listarHistorico(1L);
     }
 
     @Test
@@ -224,8 +385,7 @@ class OrcamentoServiceTest {
     @DisplayName("Deve retornar histórico vazio para orçamento sem alterações")
     void deveRetornarHistoricoVazio() {
         when(orcamentoRepository.existsById(1L)).thenReturn(true);
-        when(auditoriaRepository.findByOrcamentoIdOrderByDataAlteracaoDesc(1L))
-                .thenReturn(List.of());
+        when(auditoriaService.listarHistorico(1L)).thenReturn(List.of());
 
         List<OrcamentoAuditoriaDTO> historico = orcamentoService.buscarHistorico(1L);
 
@@ -251,7 +411,6 @@ class OrcamentoServiceTest {
 
         when(orcamentoRepository.findById(1L)).thenReturn(Optional.of(orcamento));
         when(orcamentoRepository.save(any(Orcamento.class))).thenReturn(orcamento);
-        when(objectMapper.writeValueAsString(any())).thenReturn("{\"id\":1}");
 
         OrcamentoResponseDTO response = orcamentoService.iniciarProducao(1L, dto);
 
@@ -259,7 +418,7 @@ class OrcamentoServiceTest {
         assertThat(orcamento.getStatus()).isEqualTo(StatusOrcamento.INICIADA);
         verify(parcelaRepository).save(any());
         verify(parcelaRepository).saveAll(anyList());
-        verify(auditoriaRepository).save(any());
+        verify(eventPublisher).publishEvent(any(AuditoriaOrcamentoEvent.class));
     }
 
     @Test
@@ -279,7 +438,6 @@ class OrcamentoServiceTest {
 
         when(orcamentoRepository.findById(1L)).thenReturn(Optional.of(orcamento));
         when(orcamentoRepository.save(any(Orcamento.class))).thenReturn(orcamento);
-        when(objectMapper.writeValueAsString(any())).thenReturn("{\"id\":1}");
 
         OrcamentoResponseDTO response = orcamentoService.iniciarProducao(1L, dto);
 
@@ -287,7 +445,7 @@ class OrcamentoServiceTest {
         assertThat(orcamento.getStatus()).isEqualTo(StatusOrcamento.INICIADA);
         verify(parcelaRepository).save(any());
         verify(parcelaRepository, never()).saveAll(anyList());
-        verify(auditoriaRepository).save(any());
+        verify(eventPublisher).publishEvent(any(AuditoriaOrcamentoEvent.class));
     }
 
     @Test
@@ -344,4 +502,13 @@ class OrcamentoServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("soma da entrada");
     }
+
+    private ItemMaterial item(Long id, String quantidade, String descricao, String valorUnitario) {
+        ItemMaterial item = new ItemMaterial();
+        item.setId(id);
+        item.setQuantidade(new BigDecimal(quantidade));
+        item.setDescricao(descricao);
+        item.setValorUnitario(new BigDecimal(valorUnitario));
+        return item;
+    }
 }
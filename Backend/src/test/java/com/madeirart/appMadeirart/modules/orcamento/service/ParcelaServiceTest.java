@@ -1,10 +1,13 @@
 package com.madeirart.appMadeirart.modules.orcamento.service;
 
+import com.madeirart.appMadeirart.modules.financeiro.service.LivroCaixaService;
 import com.madeirart.appMadeirart.modules.orcamento.dto.ParcelaResponseDTO;
 import com.madeirart.appMadeirart.modules.orcamento.entity.Orcamento;
 import com.madeirart.appMadeirart.modules.orcamento.entity.Parcela;
 import com.madeirart.appMadeirart.modules.orcamento.repository.ParcelaRepository;
 import com.madeirart.appMadeirart.shared.enums.StatusParcela;
+import com.madeirart.appMadeirart.shared.event.DadosFinanceirosAlteradosEvent;
+import com.madeirart.appMadeirart.shared.event.DashboardAlteradoEvent;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,11 +16,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -33,6 +39,12 @@ class ParcelaServiceTest {
     @Mock
     private ParcelaRepository parcelaRepository;
 
+    @Mock
+    private LivroCaixaService livroCaixaService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ParcelaService parcelaService;
 
@@ -116,6 +128,19 @@ class ParcelaServiceTest {
         assertThat(resultado.dataPagamento()).isEqualTo(LocalDate.now());
         verify(parcelaRepository).findById(1L);
         verify(parcelaRepository).save(parcela);
+        verify(livroCaixaService).registrarRecebimentoParcela(parcela);
+    }
+
+    @Test
+    @DisplayName("Deve publicar alteração dos meses de vencimento e pagamento ao confirmar parcela")
+    void devePublicarMesesAfetadosAoConfirmarPagamento() {
+        when(parcelaRepository.findById(1L)).thenReturn(Optional.of(parcela));
+        when(parcelaRepository.save(any(Parcela.class))).thenReturn(parcela);
+
+        parcelaService.confirmarPagamento(1L);
+
+        verify(eventPublisher).publishEvent(new DadosFinanceirosAlteradosEvent(
+                Set.of(YearMonth.from(parcela.getDataVencimento()), YearMonth.now()), false));
     }
 
     @Test
@@ -131,6 +156,7 @@ class ParcelaServiceTest {
                 .hasMessageContaining("Parcela já foi confirmada como paga");
 
         verify(parcelaRepository, never()).save(any());
+        verify(livroCaixaService, never()).registrarRecebimentoParcela(any());
     }
 
     @Test
@@ -192,6 +218,10 @@ class ParcelaServiceTest {
         verify(parcelaRepository).findByStatusAndDataVencimentoBefore(
                 eq(StatusParcela.PENDENTE), any(LocalDate.class));
         verify(parcelaRepository).saveAll(parcelasAtrasadas);
+        verify(eventPublisher).publishEvent(DashboardAlteradoEvent.parcelaAtrasada(
+                1L, parcela1.getDataVencimento(), parcela1.getValor()));
+        verify(eventPublisher).publishEvent(DashboardAlteradoEvent.parcelaAtrasada(
+                2L, parcela2.getDataVencimento(), parcela2.getValor()));
     }
 
     @Test
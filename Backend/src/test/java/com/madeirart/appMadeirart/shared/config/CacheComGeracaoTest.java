@@ -0,0 +1,49 @@
+package com.madeirart.appMadeirart.shared.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para CacheComGeracao
+ */
+@DisplayName("Testes do CacheComGeracao")
+class CacheComGeracaoTest {
+
+    private final CacheComGeracao cache = new CacheComGeracao("teste", false);
+
+    @Test
+    @DisplayName("Não deve guardar valor calculado antes de uma invalidação")
+    void naoDeveGuardarValorCalculadoAntesDaInvalidacao() {
+        assertThat(cache.get("chave")).isNull();
+
+        cache.clear();
+        cache.put("chave", "antigo");
+
+        assertThat(cache.get("chave")).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve guardar valor calculado depois de uma consulta sem invalidação")
+    void deveGuardarValorSemInvalidacao() {
+        assertThat(cache.get("chave")).isNull();
+
+        cache.put("chave", "valor");
+
+        assertThat(cache.get("chave").get()).isEqualTo("valor");
+    }
+
+    @Test
+    @DisplayName("Consulta que encontra o valor não deve deixar geração guardada na thread")
+    void naoDeveGuardarGeracaoEmAcerto() {
+        cache.put("chave", "valor");
+        assertThat(cache.get("chave")).isNotNull();
+
+        // Sem consulta pendente, o put depois da invalidação não é de um valor antigo
+        cache.clear();
+        cache.put("chave", "novo");
+
+        assertThat(cache.get("chave").get()).isEqualTo("novo");
+    }
+}
@@ -0,0 +1,68 @@
+package com.madeirart.appMadeirart.shared.config;
+
+import com.madeirart.appMadeirart.modules.orcamento.repository.OrcamentoRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes do modo de início das transações contra o banco SQLite
+ */
+@SpringBootTest(properties = "spring.datasource.url=" + TransacaoConfigTest.URL)
+@DisplayName("Testes do TransacaoConfig")
+class TransacaoConfigTest {
+
+    static final String URL = "jdbc:sqlite:target/transacao-test.db";
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OrcamentoRepository orcamentoRepository;
+
+    @Test
+    @DisplayName("Transação readOnly não deve reservar a escrita; a de escrita deve")
+    void deveReservarEscritaSoNasTransacoesDeEscrita() {
+        TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+        assertThat(leitura.<Boolean>execute(status -> {
+            orcamentoRepository.count();
+            return outraConexaoConsegueEscrever();
+        })).isTrue();
+
+        TransactionTemplate escrita = new TransactionTemplate(transactionManager);
+        assertThat(escrita.<Boolean>execute(status -> {
+            orcamentoRepository.count();
+            return outraConexaoConsegueEscrever();
+        })).isFalse();
+    }
+
+    /**
+     * Tenta reservar a escrita em outra conexão, sem esperar o banco liberar
+     */
+    private static boolean outraConexaoConsegueEscrever() {
+        try (Connection conexao = DriverManager.getConnection(URL);
+                Statement comando = conexao.createStatement()) {
+            comando.execute("PRAGMA busy_timeout = 0");
+            try {
+                comando.execute("BEGIN IMMEDIATE");
+            } catch (SQLException e) {
+                return false;
+            }
+            comando.execute("ROLLBACK");
+            return true;
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
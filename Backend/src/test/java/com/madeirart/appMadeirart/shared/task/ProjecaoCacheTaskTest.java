@@ -0,0 +1,100 @@
+package com.madeirart.appMadeirart.shared.task;
+
+import com.madeirart.appMadeirart.shared.config.CacheConfig;
+import com.madeirart.appMadeirart.shared.event.DadosFinanceirosAlteradosEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para ProjecaoCacheTask
+ */
+@DisplayName("Testes do ProjecaoCacheTask")
+class ProjecaoCacheTaskTest {
+
+    private static final YearMonth JANEIRO = YearMonth.of(2026, 1);
+    private static final YearMonth FEVEREIRO = YearMonth.of(2026, 2);
+
+    private CacheManager cacheManager;
+    private ProjecaoCacheTask projecaoCacheTask;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CacheConfig().cacheManager();
+        projecaoCacheTask = new ProjecaoCacheTask(cacheManager);
+
+        for (String nome : new String[] { CacheConfig.PROJECAO_FINANCEIRA, CacheConfig.CALENDARIO_FINANCEIRO }) {
+            cacheManager.getCache(nome).put(JANEIRO, "janeiro");
+            cacheManager.getCache(nome).put(FEVEREIRO, "fevereiro");
+        }
+        cacheManager.getCache(CacheConfig.PROJECAO_CAIXA).put(2, "projecao");
+        cacheManager.getCache(CacheConfig.PROJECAO_FINANCEIRA_ANUAL).put(2026, "2026");
+        cacheManager.getCache(CacheConfig.PROJECAO_FINANCEIRA_ANUAL).put(2027, "2027");
+    }
+
+    @Test
+    @DisplayName("Deve invalidar apenas os meses afetados e a projeção de caixa")
+    void deveInvalidarApenasMesesAfetados() {
+        projecaoCacheTask.invalidar(DadosFinanceirosAlteradosEvent.dasDatas(LocalDate.of(2026, 1, 15), null));
+
+        assertThat(cacheManager.getCache(CacheConfig.PROJECAO_CAIXA).get(2)).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.CALENDARIO_FINANCEIRO).get(JANEIRO)).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.PROJECAO_FINANCEIRA).get(JANEIRO)).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.CALENDARIO_FINANCEIRO).get(FEVEREIRO)).isNotNull();
+        assertThat(cacheManager.getCache(CacheConfig.PROJECAO_FINANCEIRA).get(FEVEREIRO)).isNotNull();
+        assertThat(cacheManager.getCache(CacheConfig.PROJECAO_FINANCEIRA_ANUAL).get(2026)).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.PROJECAO_FINANCEIRA_ANUAL).get(2027)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Deve manter projeções mensais quando apenas o saldo é alterado")
+    void deveManterProjecoesMensaisQuandoApenasSaldoAlterado() {
+        projecaoCacheTask.invalidar(DadosFinanceirosAlteradosEvent.doSaldo());
+
+        assertThat(cacheManager.getCache(CacheConfig.PROJECAO_CAIXA).get(2)).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.CALENDARIO_FINANCEIRO).get(JANEIRO)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Deve invalidar todos os meses quando custos fixos são alterados")
+    void deveInvalidarTodosOsMeses() {
+        projecaoCacheTask.invalidar(DadosFinanceirosAlteradosEvent.deTodosOsMeses());
+
+        assertThat(cacheManager.getCache(CacheConfig.CALENDARIO_FINANCEIRO).get(FEVEREIRO)).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.PROJECAO_FINANCEIRA).get(JANEIRO)).isNull();
+    }
+
+    @Test
+    @DisplayName("Não deve guardar valor calculado antes de uma invalidação")
+    void naoDeveGuardarValorCalculadoAntesDaInvalidacao() {
+        Cache cache = cacheManager.getCache(CacheConfig.PROJECAO_CAIXA);
+        cache.clear();
+
+        // Leitura consulta o cache, escrita confirma e invalida, leitura guarda o valor antigo
+        assertThat(cache.get(3)).isNull();
+        projecaoCacheTask.invalidar(DadosFinanceirosAlteradosEvent.doSaldo());
+        cache.put(3, "antiga");
+        assertThat(cache.get(3)).isNull();
+
+        // Sem invalidação no meio, o valor é guardado
+        cache.put(3, "atual");
+        assertThat(cache.get(3).get()).isEqualTo("atual");
+    }
+
+    @Test
+    @DisplayName("Deve limpar todos os caches na virada do dia")
+    void deveLimparCachesNaViradaDoDia() {
+        projecaoCacheTask.limparNaViradaDoDia();
+
+        assertThat(cacheManager.getCache(CacheConfig.PROJECAO_CAIXA).get(2)).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.CALENDARIO_FINANCEIRO).get(JANEIRO)).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.PROJECAO_FINANCEIRA).get(FEVEREIRO)).isNull();
+    }
+}